@@ -14,21 +14,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 abstract class DataLoader<T> {
 
-  private static final String CANNOT_CLOSE_ERR = "Unable to close input stream";
-
-  private final Set<File>     filesToLoad;
+  private final Set<File> filesToLoad;
 
   protected DataLoader(final Collection<File> filesToLoad) {
     if ((filesToLoad == null) || filesToLoad.isEmpty()) {
@@ -49,102 +42,103 @@ abstract class DataLoader<T> {
 
   protected abstract T mapToData(Map<String, Object> map);
 
+  /**
+   * Reads the file one record at a time, so only the record being converted
+   * is held in memory rather than the whole document.
+   */
   Set<T> loadData(final File dataLocation) throws ReportAggregationException {
     if (!dataLocation.exists() || !dataLocation.isFile()) {
       throw new ReportAggregationException(dataLocation.getAbsolutePath() + " does not exist or is not a file");
     }
     final Set<T> data = new HashSet<>();
-    try {
-      final InputStream inputStream = new BufferedInputStream(new FileInputStream(dataLocation));
-
-      final Document doc = readDocument(inputStream);
-
-      final Node docNode = doc.getFirstChild();
-      final NodeList nodeList = docNode.getChildNodes();
-      for (int i = 0; i < nodeList.getLength(); i++) {
-        final Node itemNode = nodeList.item(i);
-        if (itemNode.getNodeType() == Node.ELEMENT_NODE) {
-          data.add(mapToData(nodeMap(itemNode)));
+    try (InputStream inputStream = new BufferedInputStream(new FileInputStream(dataLocation))) {
+      final XMLStreamReader reader = createReader(inputStream);
+      try {
+        reader.nextTag();
+        int event = reader.next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            data.add(mapToData(nodeMap(reader)));
+          }
+          event = reader.next();
         }
+        return data;
+      } finally {
+        reader.close();
       }
-      return data;
     } catch (final IOException e) {
       throw new ReportAggregationException("Could not read file: " + dataLocation.getAbsolutePath(), e);
+    } catch (final XMLStreamException e) {
+      throw new ReportAggregationException(e.getMessage(), e);
     }
   }
 
-  /**
-   * Reads the input stream into a document and closes the input stream when
-   * finished.
-   */
-  static Document readDocument(final InputStream inputStream) throws ReportAggregationException {
-    DocumentBuilder docBuilder;
+  static XMLStreamReader createReader(final InputStream inputStream) throws ReportAggregationException {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     try {
-      docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-      return docBuilder.parse(inputStream);
-    } catch (final IOException e) {
-      throw new ReportAggregationException(e.getMessage(), e);
-    } catch (final SAXException e) {
+      return factory.createXMLStreamReader(inputStream);
+    } catch (final XMLStreamException e) {
       throw new ReportAggregationException(e.getMessage(), e);
-    } catch (final ParserConfigurationException e) {
-      throw new ReportAggregationException(e.getMessage(), e);
-    } finally {
-      try {
-        inputStream.close();
-      } catch (final IOException e) {
-        throw new ReportAggregationException(CANNOT_CLOSE_ERR, e);
-      }
     }
   }
 
-  // converts the contents of a node into a map
-  static Map<String, Object> nodeMap(final Node node) {
+  /**
+   * Converts the element the reader is positioned on into a map, leaving the
+   * reader on its end tag.
+   */
+  static Map<String, Object> nodeMap(final XMLStreamReader reader) throws XMLStreamException {
     final HashMap<String, Object> map = new HashMap<>();
 
-    final NamedNodeMap attrs = node.getAttributes();
-    for (int i = 0; i < attrs.getLength(); i++) {
-      final Node attr = attrs.item(i);
-      final String tc = attr.getTextContent().trim();
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      final String tc = reader.getAttributeValue(i).trim();
 
       if (!tc.isEmpty()) {
-        map.put(attr.getNodeName(), tc);
+        map.put(reader.getAttributeLocalName(i), tc);
       }
     }
 
-    final NodeList children = node.getChildNodes();
-
-    for (int i = 0; i < children.getLength(); i++) {
-      final Node child = children.item(i);
-
-      if (child.getNodeType() == Node.ELEMENT_NODE) {
-        final String tc = child.getTextContent().trim();
-        if (!tc.isEmpty()) {
-          map.put(child.getNodeName(), tc);
-        } else {
-          // may have test nodes
-          final List<String> tests = new ArrayList<>();
-          final NodeList testNodeList = child.getChildNodes();
-          for (int j = 0; j < testNodeList.getLength(); j++) {
-            final Node testNode = testNodeList.item(j);
-            if (testNode.getNodeType() == Node.ELEMENT_NODE) {
-              final NamedNodeMap testAttrs = testNode.getAttributes();
-              for (int k = 0; k < testAttrs.getLength(); k++) {
-                final Node attr = testAttrs.item(k);
-                final String tn = attr.getTextContent().trim();
-
-                if (!tn.isEmpty()) {
-                  tests.add(tn);
-                }
-              }
-            }
-          }
-          if (!tests.isEmpty()) {
-            map.put(child.getNodeName(), tests);
+    int event = reader.next();
+    while (event != XMLStreamConstants.END_ELEMENT) {
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        readChild(reader, map);
+      }
+      event = reader.next();
+    }
+
+    return map;
+  }
+
+  private static void readChild(final XMLStreamReader reader, final Map<String, Object> map) throws XMLStreamException {
+    final String name = reader.getLocalName();
+    final StringBuilder text = new StringBuilder();
+    // may have test nodes
+    final List<String> tests = new ArrayList<>();
+
+    int depth = 0;
+    while (depth >= 0) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+          final String tn = reader.getAttributeValue(i).trim();
+          if (!tn.isEmpty()) {
+            tests.add(tn);
           }
         }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      } else if ((event == XMLStreamConstants.CHARACTERS) || (event == XMLStreamConstants.CDATA)) {
+        text.append(reader.getText());
       }
     }
 
-    return map;
+    final String tc = text.toString().trim();
+    if (!tc.isEmpty()) {
+      map.put(name, tc);
+    } else if (!tests.isEmpty()) {
+      map.put(name, tests);
+    }
   }
 }
@@ -5,18 +5,18 @@ import static org.junit.Assert.assertEquals;
 import java.util.Arrays;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.junit.Test;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
 
 public class DataLoaderTest {
 
   @Test
   public void testLoadMutationSnippet() throws Exception {
-    final Document doc = DataLoader.readDocument(DataLoaderTest.class.getResourceAsStream("/snippets/mutation.xml"));
-    final Node node = doc.getFirstChild();
+    final XMLStreamReader reader = DataLoader.createReader(DataLoaderTest.class.getResourceAsStream("/snippets/mutation.xml"));
+    reader.nextTag();
 
-    final Map<String, Object> map = DataLoader.nodeMap(node);
+    final Map<String, Object> map = DataLoader.nodeMap(reader);
 
     assertEquals(13, map.size());
     assertEquals("true", map.get("detected"));
@@ -38,10 +38,10 @@ public class DataLoaderTest {
 
   @Test
   public void testLoadCoverageSnippet() throws Exception {
-    final Document doc = DataLoader.readDocument(DataLoaderTest.class.getResourceAsStream("/snippets/linecoverage.xml"));
-    final Node node = doc.getFirstChild();
+    final XMLStreamReader reader = DataLoader.createReader(DataLoaderTest.class.getResourceAsStream("/snippets/linecoverage.xml"));
+    reader.nextTag();
 
-    final Map<String, Object> map = DataLoader.nodeMap(node);
+    final Map<String, Object> map = DataLoader.nodeMap(reader);
 
     assertEquals(4, map.size());
     assertEquals("com.example.DividerTest", map.get("classname"));
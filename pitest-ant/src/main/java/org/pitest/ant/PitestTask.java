@@ -176,6 +176,10 @@ public class PitestTask extends Task { // NO_UCD (test only)
     this.setOption(ConfigOption.TIMEOUT_CONST, value);
   }
 
+  public void setTimeoutPercentile(final String value) {
+    this.setOption(ConfigOption.TIMEOUT_PERCENTILE, value);
+  }
+
   public void setMaxMutationsPerClass(final String value) {
     this.setOption(ConfigOption.MAX_MUTATIONS_PER_CLASS, value);
   }
@@ -228,6 +232,30 @@ public class PitestTask extends Task { // NO_UCD (test only)
     this.setOption(ConfigOption.MUTATION_THRESHOLD, value);
   }
 
+  public void setMaxMutationsPerMinion(final String value) {
+    this.setOption(ConfigOption.MAX_MUTATIONS_PER_MINION, value);
+  }
+
+  public void setSendPrebuiltMutants(final String value) {
+    this.setOption(ConfigOption.SEND_PREBUILT_MUTANTS, value);
+  }
+
+  public void setMutantSchemata(final String value) {
+    this.setOption(ConfigOption.MUTANT_SCHEMATA, value);
+  }
+
+  public void setMinionThreads(final String value) {
+    this.setOption(ConfigOption.MINION_THREADS, value);
+  }
+
+  public void setBalanceMutationUnits(final String value) {
+    this.setOption(ConfigOption.BALANCE_MUTATION_UNITS, value);
+  }
+
+  public void setReuseCoverage(final String value) {
+    this.setOption(ConfigOption.REUSE_COVERAGE, value);
+  }
+
   public void setMaxSurviving(final String value) {
     this.setOption(ConfigOption.MAX_SURVIVING, value);
   }
@@ -0,0 +1,288 @@
+package org.pitest.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares benchmark results with those of a baseline, both written by JMH
+ * as csv (-rf csv).
+ *
+ * A change is reported only when the confidence intervals of the two scores
+ * do not overlap and the scores differ by more than a threshold, so that
+ * noise is not mistaken for a change in performance.
+ *
+ * Usage: BaselineComparison baseline.csv current.csv [threshold percent]
+ *
+ * Exits with status 1 if any benchmark has regressed.
+ */
+public final class BaselineComparison {
+
+  private static final double DEFAULT_THRESHOLD = 5;
+
+  enum Verdict {
+    IMPROVED, REGRESSED, UNCHANGED, ADDED, REMOVED
+  }
+
+  static final class Result {
+    private final String key;
+    private final String mode;
+    private final double score;
+    private final double error;
+    private final String unit;
+
+    Result(final String key, final String mode, final double score,
+        final double error, final String unit) {
+      this.key = key;
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+
+    boolean higherIsBetter() {
+      return this.mode.equals("thrpt");
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%.3f \u00B1 %.3f %s", this.score,
+          this.error, this.unit);
+    }
+  }
+
+  static final class Comparison {
+    private final String  key;
+    private final Result  baseline;
+    private final Result  current;
+    private final Verdict verdict;
+
+    Comparison(final String key, final Result baseline, final Result current,
+        final Verdict verdict) {
+      this.key = key;
+      this.baseline = baseline;
+      this.current = current;
+      this.verdict = verdict;
+    }
+
+    Verdict getVerdict() {
+      return this.verdict;
+    }
+
+    String getKey() {
+      return this.key;
+    }
+
+    private String change() {
+      if ((this.baseline == null) || (this.current == null)
+          || (this.baseline.score == 0)) {
+        return "";
+      }
+      return String.format(Locale.ROOT, "%+.1f%%",
+          ((this.current.score - this.baseline.score) * 100)
+              / this.baseline.score);
+    }
+  }
+
+  private BaselineComparison() {
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if ((args.length < 2) || (args.length > 3)) {
+      System.err.println("Usage: BaselineComparison baseline.csv current.csv"
+          + " [threshold percent]");
+      System.exit(2);
+    }
+    final double threshold = args.length == 3 ? Double.parseDouble(args[2])
+        : DEFAULT_THRESHOLD;
+
+    final List<Comparison> comparisons = compare(read(args[0]), read(args[1]),
+        threshold);
+    report(comparisons, threshold, System.out);
+
+    for (final Comparison each : comparisons) {
+      if (each.verdict == Verdict.REGRESSED) {
+        System.exit(1);
+      }
+    }
+  }
+
+  static List<Comparison> compare(final Map<String, Result> baseline,
+      final Map<String, Result> current, final double thresholdPercent) {
+    final List<Comparison> comparisons = new ArrayList<>();
+    for (final Result each : current.values()) {
+      final Result before = baseline.get(each.key);
+      if (before == null) {
+        comparisons.add(new Comparison(each.key, null, each, Verdict.ADDED));
+      } else {
+        comparisons.add(new Comparison(each.key, before, each, judge(before,
+            each, thresholdPercent)));
+      }
+    }
+    for (final Result each : baseline.values()) {
+      if (!current.containsKey(each.key)) {
+        comparisons.add(new Comparison(each.key, each, null, Verdict.REMOVED));
+      }
+    }
+    return comparisons;
+  }
+
+  static void report(final List<Comparison> comparisons,
+      final double thresholdPercent, final PrintStream out) {
+    int width = "Benchmark".length();
+    for (final Comparison each : comparisons) {
+      width = Math.max(width, each.key.length());
+    }
+    final String format = "%-" + width + "s  %-28s  %-28s  %8s  %s%n";
+
+    out.printf(format, "Benchmark", "Baseline", "Current", "Change", "");
+    final Map<Verdict, Integer> counts = new LinkedHashMap<>();
+    for (final Verdict each : Verdict.values()) {
+      counts.put(each, 0);
+    }
+    for (final Comparison each : comparisons) {
+      out.printf(format, each.key, describe(each.baseline),
+          describe(each.current), each.change(),
+          each.verdict.name().toLowerCase());
+      counts.put(each.verdict, counts.get(each.verdict) + 1);
+    }
+
+    out.println();
+    out.printf(Locale.ROOT, "Changes within the 99.9%% confidence intervals"
+        + " of the scores, or smaller than %.1f%%, are treated as unchanged.%n",
+        thresholdPercent);
+    final StringBuilder summary = new StringBuilder();
+    for (final Map.Entry<Verdict, Integer> each : counts.entrySet()) {
+      if (summary.length() != 0) {
+        summary.append(", ");
+      }
+      summary.append(each.getValue()).append(' ')
+          .append(each.getKey().name().toLowerCase());
+    }
+    out.println(summary);
+  }
+
+  static Map<String, Result> read(final String file) throws IOException {
+    try (Reader r = Files.newBufferedReader(Paths.get(file),
+        StandardCharsets.UTF_8)) {
+      return parse(r);
+    }
+  }
+
+  static Map<String, Result> parse(final Reader csv) throws IOException {
+    final BufferedReader reader = new BufferedReader(csv);
+    final Map<String, Result> results = new LinkedHashMap<>();
+    final String header = reader.readLine();
+    if (header == null) {
+      return results;
+    }
+
+    final List<String> columns = split(header);
+    final int benchmark = columns.indexOf("Benchmark");
+    final int mode = columns.indexOf("Mode");
+    final int score = columns.indexOf("Score");
+    final int unit = columns.indexOf("Unit");
+    int error = -1;
+    final List<Integer> params = new ArrayList<>();
+    for (int i = 0; i != columns.size(); i++) {
+      if (columns.get(i).startsWith("Score Error")) {
+        error = i;
+      } else if (columns.get(i).startsWith("Param: ")) {
+        params.add(i);
+      }
+    }
+    if ((benchmark == -1) || (mode == -1) || (score == -1) || (unit == -1)) {
+      throw new IOException("Not a JMH csv result file, header was " + header);
+    }
+
+    for (String line = reader.readLine(); line != null; line = reader
+        .readLine()) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      final List<String> values = split(line);
+      final StringBuilder key = new StringBuilder(shorten(values
+          .get(benchmark)));
+      for (final int each : params) {
+        if (!values.get(each).isEmpty()) {
+          key.append(':').append(columns.get(each).substring(7)).append('=')
+              .append(values.get(each));
+        }
+      }
+      key.append(" (").append(values.get(mode)).append(')');
+
+      final Result result = new Result(key.toString(), values.get(mode),
+          number(values.get(score)), error == -1 ? 0
+              : number(values.get(error)), values.get(unit));
+      results.put(result.key, result);
+    }
+    return results;
+  }
+
+  // JMH writes an error of NaN when there are too few samples to give one,
+  // and may write numbers with the decimal separator of the default locale
+  private static double number(final String value) {
+    final double d = Double.parseDouble(value.replace(',', '.'));
+    return Double.isNaN(d) ? 0 : d;
+  }
+
+  private static Verdict judge(final Result baseline, final Result current,
+      final double thresholdPercent) {
+    final double difference = current.score - baseline.score;
+    final boolean overlaps = Math.abs(difference) <= (baseline.error
+        + current.error);
+    final boolean small = Math.abs(difference * 100) < Math
+        .abs(baseline.score * thresholdPercent);
+    if (overlaps || small) {
+      return Verdict.UNCHANGED;
+    }
+    final boolean better = baseline.higherIsBetter() ? difference > 0
+        : difference < 0;
+    return better ? Verdict.IMPROVED : Verdict.REGRESSED;
+  }
+
+  private static String describe(final Result result) {
+    return result == null ? "-" : result.toString();
+  }
+
+  private static String shorten(final String benchmark) {
+    final String prefix = BaselineComparison.class.getPackage().getName()
+        + ".";
+    return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length())
+        : benchmark;
+  }
+
+  private static List<String> split(final String line) {
+    final List<String> values = new ArrayList<>();
+    final StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i != line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c == '"') {
+        if (quoted && ((i + 1) < line.length()) && (line.charAt(i + 1) == '"')) {
+          current.append('"');
+          i++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if ((c == ',') && !quoted) {
+        values.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    values.add(current.toString());
+    return values;
+  }
+
+}
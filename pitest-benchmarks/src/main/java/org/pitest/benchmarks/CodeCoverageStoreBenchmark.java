@@ -0,0 +1,123 @@
+package org.pitest.benchmarks;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+/**
+ * Probe recording and collection as performed by instrumented code in the
+ * coverage minion. Classes are registered as the instrumentation would
+ * register them, then probes are visited in the pattern of a test exercising
+ * a fraction of each class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CodeCoverageStoreBenchmark {
+
+  // typical of a method with a handful of blocks, which is instrumented
+  // with local variables, and of a large method instrumented with an array
+  private static final int METHOD_PROBES = 4;
+  private static final int ARRAY_PROBES  = 24;
+
+  @Param({ "100", "1000" })
+  private int              classes;
+
+  @Param({ "40" })
+  private int              probesPerClass;
+
+  private boolean[]        arrayProbes;
+  private int              next;
+
+  @Setup(Level.Trial)
+  public void registerClasses() {
+    CodeCoverageStore.init(new IgnoreRegistrations());
+    for (int i = 0; i != this.classes; i++) {
+      final int id = CodeCoverageStore.registerClass("com/example/Class" + i);
+      CodeCoverageStore.registerClassProbes(id, this.probesPerClass);
+    }
+
+    final Random random = new Random(1);
+    this.arrayProbes = new boolean[ARRAY_PROBES];
+    for (int i = 0; i != this.arrayProbes.length; i++) {
+      this.arrayProbes[i] = random.nextBoolean();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void hitAThirdOfEachClass() {
+    CodeCoverageStore.reset();
+    for (int i = 0; i != this.classes; i++) {
+      for (int probe = 0; probe < this.probesPerClass; probe += 3) {
+        CodeCoverageStore.visitSingleProbe(i, probe);
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Benchmark
+  public void visitProbes() {
+    final int classId = nextClass();
+    CodeCoverageStore.visitProbes(classId, offsetFor(METHOD_PROBES), true,
+        false, true, true);
+  }
+
+  @Benchmark
+  public void visitProbesArray() {
+    final int classId = nextClass();
+    CodeCoverageStore.visitProbes(classId, offsetFor(ARRAY_PROBES),
+        this.arrayProbes);
+  }
+
+  @Benchmark
+  public Collection<Long> getHits() {
+    return CodeCoverageStore.getHits();
+  }
+
+  private int nextClass() {
+    this.next = (this.next + 1) % this.classes;
+    return this.next;
+  }
+
+  private int offsetFor(final int probes) {
+    return (this.next * 7) % ((this.probesPerClass - probes) + 1);
+  }
+
+  private static final class IgnoreRegistrations implements InvokeReceiver {
+
+    @Override
+    public void registerClass(final int id, final String className) {
+    }
+
+    @Override
+    public void registerProbes(final int classId, final String methodName,
+        final String methodDesc, final int firstProbe, final int lastProbe) {
+    }
+
+  }
+
+}
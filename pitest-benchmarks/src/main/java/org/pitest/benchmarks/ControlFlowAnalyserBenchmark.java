@@ -0,0 +1,55 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.coverage.analysis.ControlFlowAnalyser;
+import org.pitest.reloc.asm.ClassReader;
+import org.pitest.reloc.asm.tree.ClassNode;
+import org.pitest.reloc.asm.tree.MethodNode;
+
+/**
+ * Dividing each method of the fixtures into blocks, as done when
+ * instrumenting classes for coverage and when mapping blocks to lines.
+ * Methods are parsed with the ASM relocated into the pitest jar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ControlFlowAnalyserBenchmark {
+
+  private List<MethodNode> methods;
+
+  @Setup
+  public void readMethods() {
+    this.methods = new ArrayList<>();
+    for (final byte[] each : Fixtures.classBytes()) {
+      final ClassNode node = new ClassNode();
+      new ClassReader(each).accept(node, ClassReader.EXPAND_FRAMES);
+      this.methods.addAll(node.methods);
+    }
+  }
+
+  @Benchmark
+  public void analyze(final Blackhole bh) {
+    for (final MethodNode each : this.methods) {
+      bh.consume(ControlFlowAnalyser.analyze(each));
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassFilter;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.PathFilter;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.analysis.LineMapper;
+import org.pitest.testapi.Description;
+
+/**
+ * Looking up the tests covering the line of a mutant, as done for every
+ * mutant when assigning tests. Coverage is built from the real line map of
+ * the fixtures, with each test covering a random part of their blocks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CoverageDataBenchmark {
+
+  private static final String FIXTURES = "org.pitest.benchmarks.fixtures";
+
+  @Param({ "50", "500" })
+  private int                 tests;
+
+  @Param({ "0.2" })
+  private double              blocksPerTest;
+
+  private CoverageData        coverage;
+  private List<ClassLine>     lines;
+  private int                 next;
+
+  @Setup
+  public void recordCoverage() {
+    final CodeSource code = new CodeSource(new ProjectClassPaths(
+        new ClassPath(), new ClassFilter(name -> false,
+            name -> name.startsWith(FIXTURES)), new PathFilter(root -> true,
+            root -> true)));
+    final LineMapper lm = new LineMapper(code);
+    this.coverage = new CoverageData(code, lm);
+
+    final List<BlockLocation> blocks = new ArrayList<>();
+    this.lines = new ArrayList<>();
+    for (final ClassName each : Fixtures.classNames()) {
+      for (final Map.Entry<BlockLocation, Set<Integer>> block : lm.mapLines(
+          each).entrySet()) {
+        blocks.add(block.getKey());
+        for (final int line : block.getValue()) {
+          this.lines.add(new ClassLine(each, line));
+        }
+      }
+    }
+
+    final Random random = new Random(1);
+    for (int i = 0; i != this.tests; i++) {
+      final List<BlockLocation> covered = new ArrayList<>();
+      for (final BlockLocation each : blocks) {
+        if (random.nextDouble() < this.blocksPerTest) {
+          covered.add(each);
+        }
+      }
+      this.coverage.calculateClassCoverage(new CoverageResult(new Description(
+          "test" + i, "com.example.FixtureTest"), random.nextInt(100), true,
+          covered));
+    }
+
+    // line coverage is derived on first use, which is not measured
+    for (final ClassLine each : this.lines) {
+      this.coverage.getTestsForClassLine(each);
+    }
+  }
+
+  @Benchmark
+  public Collection<TestInfo> getTestsForClassLine() {
+    this.next = (this.next + 1) % this.lines.size();
+    return this.coverage.getTestsForClassLine(this.lines.get(this.next));
+  }
+
+}
@@ -0,0 +1,53 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.pitest.benchmarks.fixtures.Intervals;
+import org.pitest.benchmarks.fixtures.OrderBook;
+import org.pitest.benchmarks.fixtures.TextStatistics;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+
+/**
+ * The classes benchmarks are run against. They are ordinary application
+ * code, so that the benchmarks see the mix of instructions, branches and
+ * loops pitest meets in practice.
+ *
+ * The pitest jar relocates its copy of ASM while pitest-entry uses its own,
+ * so fixtures are handed out as bytes for each benchmark to parse with the
+ * ASM of the code it measures.
+ */
+final class Fixtures {
+
+  static final List<Class<?>> CLASSES = Arrays.<Class<?>> asList(
+      OrderBook.class, OrderBook.Order.class, TextStatistics.class,
+      Intervals.class);
+
+  private Fixtures() {
+  }
+
+  static ClassByteArraySource byteSource() {
+    return new ClassloaderByteArraySource(Fixtures.class.getClassLoader());
+  }
+
+  static List<ClassName> classNames() {
+    final List<ClassName> names = new ArrayList<>();
+    for (final Class<?> each : CLASSES) {
+      names.add(ClassName.fromClass(each));
+    }
+    return names;
+  }
+
+  static List<byte[]> classBytes() {
+    final ClassByteArraySource source = byteSource();
+    final List<byte[]> bytes = new ArrayList<>();
+    for (final Class<?> each : CLASSES) {
+      bytes.add(source.getBytes(each.getName()).get());
+    }
+    return bytes;
+  }
+
+}
@@ -0,0 +1,69 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+/**
+ * Finding the mutations of a class, as done when analysing the classes of a
+ * project, and creating single mutants, as done in the mutation minions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GregorMutaterBenchmark {
+
+  @Param({ "org.pitest.benchmarks.fixtures.OrderBook",
+      "org.pitest.benchmarks.fixtures.TextStatistics",
+      "org.pitest.benchmarks.fixtures.Intervals" })
+  private String                   fixture;
+
+  private GregorMutater            mutater;
+  private ClassName                clazz;
+  private List<MutationIdentifier> ids;
+  private int                      next;
+
+  @Setup
+  public void findIds() {
+    this.mutater = new GregorMutater(Fixtures.byteSource(), m -> true,
+        Mutator.defaults());
+    this.clazz = ClassName.fromString(this.fixture);
+    this.ids = new ArrayList<>();
+    for (final MutationDetails each : this.mutater.findMutations(this.clazz)) {
+      this.ids.add(each.getId());
+    }
+  }
+
+  @Benchmark
+  public List<MutationDetails> findMutations() {
+    return this.mutater.findMutations(this.clazz);
+  }
+
+  @Benchmark
+  public Mutant getMutation() {
+    this.next = (this.next + 1) % this.ids.size();
+    return this.mutater.getMutation(this.ids.get(this.next));
+  }
+
+}
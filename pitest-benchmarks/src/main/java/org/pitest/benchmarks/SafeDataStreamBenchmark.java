@@ -0,0 +1,129 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Writing and reading back the messages minions send to the main process.
+ * Each invocation is a round trip of a batch of messages through a fresh
+ * pair of streams.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SafeDataStreamBenchmark {
+
+  private static final int     PROBES_PER_TEST = 60;
+
+  @Param({ "100" })
+  private int                  messages;
+
+  private MutationIdentifier[] ids;
+  private int[]                probes;
+
+  @Setup
+  public void createMessages() {
+    this.ids = new MutationIdentifier[this.messages];
+    for (int i = 0; i != this.ids.length; i++) {
+      this.ids[i] = new MutationIdentifier(Location.location(
+          ClassName.fromString("com.example.Class" + (i % 10)),
+          MethodName.fromString("method" + (i % 7)), "(I)I"), i,
+          "org.pitest.mutationtest.engine.gregor.mutators.MathMutator");
+    }
+    this.probes = new int[PROBES_PER_TEST];
+    for (int i = 0; i != this.probes.length; i++) {
+      this.probes[i] = (i * 3) + (i / 10);
+    }
+  }
+
+  /**
+   * Test outcomes and the probes they hit, as sent by the coverage minion
+   */
+  @Benchmark
+  public void coverageRoundTrip(final Blackhole bh) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    for (int i = 0; i != this.messages; i++) {
+      dos.writeByte((byte) 1);
+      dos.writeInternedString("com.example.Class" + (i % 10) + "Test");
+      dos.writeString("shouldDoThing" + i);
+      dos.writeBoolean(true);
+      dos.writeVarInt(i * 10);
+      dos.writeVarInt(i + 1);
+      dos.writeVarInt(this.probes.length);
+      int last = 0;
+      for (final int each : this.probes) {
+        dos.writeVarInt(each - last);
+        last = each;
+      }
+    }
+    dos.flush();
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    for (int i = 0; i != this.messages; i++) {
+      bh.consume(dis.readByte());
+      bh.consume(dis.readInternedString());
+      bh.consume(dis.readString());
+      bh.consume(dis.readBoolean());
+      bh.consume(dis.readVarInt());
+      bh.consume(dis.readVarInt());
+      final int probeCount = dis.readVarInt();
+      int probe = 0;
+      for (int j = 0; j != probeCount; j++) {
+        probe += dis.readVarInt();
+        bh.consume(probe);
+      }
+    }
+  }
+
+  /**
+   * Mutants and their results, as sent by the mutation minion
+   */
+  @Benchmark
+  public void mutationResultRoundTrip(final Blackhole bh) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    for (final MutationIdentifier each : this.ids) {
+      dos.writeByte((byte) 2);
+      dos.write(each);
+      dos.write(new MutationStatusTestPair(1, DetectionStatus.KILLED,
+          "shouldDoThing"));
+    }
+    dos.flush();
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    for (int i = 0; i != this.ids.length; i++) {
+      bh.consume(dis.readByte());
+      bh.consume(dis.read(MutationIdentifier.class));
+      bh.consume(dis.read(MutationStatusTestPair.class));
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+package org.pitest.benchmarks;
+
+import static org.pitest.bytecode.analysis.InstructionMatchers.aConditionalJump;
+import static org.pitest.bytecode.analysis.InstructionMatchers.aLabelNode;
+import static org.pitest.bytecode.analysis.InstructionMatchers.anyInstruction;
+import static org.pitest.bytecode.analysis.InstructionMatchers.isA;
+import static org.pitest.bytecode.analysis.InstructionMatchers.jumpsTo;
+import static org.pitest.bytecode.analysis.InstructionMatchers.labelNode;
+import static org.pitest.bytecode.analysis.InstructionMatchers.methodCallTo;
+import static org.pitest.bytecode.analysis.InstructionMatchers.opCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.sequence.Match;
+import org.pitest.sequence.QueryParams;
+import org.pitest.sequence.QueryStart;
+import org.pitest.sequence.SequenceMatcher;
+import org.pitest.sequence.SequenceQuery;
+import org.pitest.sequence.Slot;
+
+/**
+ * Matching the instructions of each method of the fixtures against a query
+ * of the shape used by the loop filters, which finds iterator loops anywhere
+ * in a method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SequenceMatcherBenchmark {
+
+  private static final Match<AbstractInsnNode>           IGNORE        = isA(
+      LineNumberNode.class).or(isA(FrameNode.class));
+
+  private static final ClassName                         ITERATOR      = ClassName
+      .fromString("java/util/Iterator");
+
+  private static final SequenceMatcher<AbstractInsnNode> ITERATOR_LOOP = iteratorLoop()
+      .compile(QueryParams.params(AbstractInsnNode.class).withIgnores(IGNORE));
+
+  private List<List<AbstractInsnNode>>                   methods;
+
+  @Setup
+  public void readInstructions() {
+    this.methods = new ArrayList<>();
+    for (final byte[] each : Fixtures.classBytes()) {
+      final ClassNode node = new ClassNode();
+      new ClassReader(each).accept(node, ClassReader.EXPAND_FRAMES);
+      for (final MethodNode method : node.methods) {
+        this.methods.add(Arrays.asList(method.instructions.toArray()));
+      }
+    }
+  }
+
+  @Benchmark
+  public void matches(final Blackhole bh) {
+    for (final List<AbstractInsnNode> each : this.methods) {
+      bh.consume(ITERATOR_LOOP.matches(each));
+    }
+  }
+
+  private static SequenceQuery<AbstractInsnNode> iteratorLoop() {
+    final Slot<LabelNode> loopStart = Slot.create(LabelNode.class);
+    final Slot<LabelNode> loopEnd = Slot.create(LabelNode.class);
+    return QueryStart
+        .any(AbstractInsnNode.class)
+        .zeroOrMore(QueryStart.match(anyInstruction()))
+        .then(methodCallTo(ClassName.fromString("java/lang/Iterable"),
+            "iterator").or(methodCallTo(ClassName.fromString(
+                "java/util/List"), "iterator")))
+        .then(opCode(Opcodes.ASTORE))
+        .then(aLabelNode(loopStart.write()))
+        .then(opCode(Opcodes.ALOAD))
+        .then(methodCallTo(ITERATOR, "hasNext"))
+        .then(aConditionalJump().and(jumpsTo(loopEnd.write())))
+        .then(opCode(Opcodes.ALOAD))
+        .then(methodCallTo(ITERATOR, "next"))
+        .zeroOrMore(QueryStart.match(anyInstruction()))
+        .then(opCode(Opcodes.GOTO).and(jumpsTo(loopStart.read())))
+        .then(labelNode(loopEnd.read()))
+        .zeroOrMore(QueryStart.match(anyInstruction()));
+  }
+
+}
@@ -0,0 +1,151 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arithmetic over closed ranges of longs. Comparison and maths heavy code
+ * with exceptions.
+ */
+public final class Intervals {
+
+  private final long[] starts;
+  private final long[] ends;
+
+  private Intervals(final long[] starts, final long[] ends) {
+    this.starts = starts;
+    this.ends = ends;
+  }
+
+  public static Intervals of(final long... bounds) {
+    if ((bounds.length % 2) != 0) {
+      throw new IllegalArgumentException("Bounds must come in pairs");
+    }
+    final List<long[]> ranges = new ArrayList<>();
+    for (int i = 0; i < bounds.length; i += 2) {
+      if (bounds[i] > bounds[i + 1]) {
+        throw new IllegalArgumentException("Start after end at " + i);
+      }
+      ranges.add(new long[] { bounds[i], bounds[i + 1] });
+    }
+    ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+    return merge(ranges);
+  }
+
+  public boolean contains(final long value) {
+    final int index = Arrays.binarySearch(this.starts, value);
+    if (index >= 0) {
+      return true;
+    }
+    final int before = -index - 2;
+    return (before >= 0) && (value <= this.ends[before]);
+  }
+
+  public long size() {
+    long total = 0;
+    for (int i = 0; i != this.starts.length; i++) {
+      total = Math.addExact(total, (this.ends[i] - this.starts[i]) + 1);
+    }
+    return total;
+  }
+
+  public Intervals union(final Intervals other) {
+    final List<long[]> ranges = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while ((i < this.starts.length) || (j < other.starts.length)) {
+      if ((j == other.starts.length)
+          || ((i < this.starts.length) && (this.starts[i] <= other.starts[j]))) {
+        ranges.add(new long[] { this.starts[i], this.ends[i] });
+        i++;
+      } else {
+        ranges.add(new long[] { other.starts[j], other.ends[j] });
+        j++;
+      }
+    }
+    return merge(ranges);
+  }
+
+  public Intervals intersection(final Intervals other) {
+    final List<long[]> ranges = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while ((i < this.starts.length) && (j < other.starts.length)) {
+      final long start = Math.max(this.starts[i], other.starts[j]);
+      final long end = Math.min(this.ends[i], other.ends[j]);
+      if (start <= end) {
+        ranges.add(new long[] { start, end });
+      }
+      if (this.ends[i] < other.ends[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return merge(ranges);
+  }
+
+  public Intervals shift(final long distance) {
+    final long[] s = new long[this.starts.length];
+    final long[] e = new long[this.ends.length];
+    for (int i = 0; i != s.length; i++) {
+      try {
+        s[i] = Math.addExact(this.starts[i], distance);
+        e[i] = Math.addExact(this.ends[i], distance);
+      } catch (final ArithmeticException ex) {
+        throw new IllegalArgumentException("Shift overflows range " + i, ex);
+      }
+    }
+    return new Intervals(s, e);
+  }
+
+  public long gapAfter(final long value) {
+    for (int i = 0; i != this.starts.length; i++) {
+      if (this.starts[i] > value) {
+        return this.starts[i] - value;
+      }
+      if (this.ends[i] >= value) {
+        return 0;
+      }
+    }
+    return -1;
+  }
+
+  public int count() {
+    return this.starts.length;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i != this.starts.length; i++) {
+      if (i != 0) {
+        sb.append(", ");
+      }
+      sb.append(this.starts[i]).append("..").append(this.ends[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  private static Intervals merge(final List<long[]> sorted) {
+    final List<long[]> merged = new ArrayList<>();
+    for (final long[] each : sorted) {
+      final long[] last = merged.isEmpty() ? null : merged
+          .get(merged.size() - 1);
+      if ((last != null) && (each[0] <= (last[1] + 1))) {
+        last[1] = Math.max(last[1], each[1]);
+      } else {
+        merged.add(each.clone());
+      }
+    }
+    final long[] s = new long[merged.size()];
+    final long[] e = new long[merged.size()];
+    for (int i = 0; i != s.length; i++) {
+      s[i] = merged.get(i)[0];
+      e[i] = merged.get(i)[1];
+    }
+    return new Intervals(s, e);
+  }
+
+}
@@ -0,0 +1,167 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches buy and sell orders. Collection heavy code with iterator loops.
+ */
+public class OrderBook {
+
+  private final List<Order>          bids   = new ArrayList<>();
+  private final List<Order>          asks   = new ArrayList<>();
+  private final Map<String, Integer> filled = new HashMap<>();
+
+  public static final class Order {
+    private final String owner;
+    private final long   price;
+    private int          quantity;
+
+    public Order(final String owner, final long price, final int quantity) {
+      if (quantity <= 0) {
+        throw new IllegalArgumentException("Quantity must be positive");
+      }
+      this.owner = owner;
+      this.price = price;
+      this.quantity = quantity;
+    }
+
+    public String getOwner() {
+      return this.owner;
+    }
+
+    public long getPrice() {
+      return this.price;
+    }
+
+    public int getQuantity() {
+      return this.quantity;
+    }
+  }
+
+  public int buy(final Order order) {
+    final int traded = match(order, this.asks, true);
+    if (order.quantity > 0) {
+      insert(this.bids, order, Comparator.comparingLong(Order::getPrice)
+          .reversed());
+    }
+    return traded;
+  }
+
+  public int sell(final Order order) {
+    final int traded = match(order, this.bids, false);
+    if (order.quantity > 0) {
+      insert(this.asks, order, Comparator.comparingLong(Order::getPrice));
+    }
+    return traded;
+  }
+
+  public long bestBid() {
+    return this.bids.isEmpty() ? 0 : this.bids.get(0).price;
+  }
+
+  public long bestAsk() {
+    return this.asks.isEmpty() ? Long.MAX_VALUE : this.asks.get(0).price;
+  }
+
+  public long spread() {
+    if (this.bids.isEmpty() || this.asks.isEmpty()) {
+      return -1;
+    }
+    return bestAsk() - bestBid();
+  }
+
+  public int depth(final long from, final long to) {
+    int total = 0;
+    for (final Order each : this.bids) {
+      if ((each.price >= from) && (each.price <= to)) {
+        total += each.quantity;
+      }
+    }
+    for (final Order each : this.asks) {
+      if ((each.price >= from) && (each.price <= to)) {
+        total += each.quantity;
+      }
+    }
+    return total;
+  }
+
+  public int cancel(final String owner) {
+    return cancel(this.bids, owner) + cancel(this.asks, owner);
+  }
+
+  public Map<String, Integer> filledByOwner() {
+    return Collections.unmodifiableMap(this.filled);
+  }
+
+  public List<String> largestTraders(final int count) {
+    final List<Map.Entry<String, Integer>> entries = new ArrayList<>(
+        this.filled.entrySet());
+    entries.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+    final List<String> names = new ArrayList<>();
+    for (final Map.Entry<String, Integer> each : entries) {
+      if (names.size() == count) {
+        break;
+      }
+      names.add(each.getKey());
+    }
+    return names;
+  }
+
+  private int match(final Order order, final List<Order> book,
+      final boolean buying) {
+    int traded = 0;
+    final Iterator<Order> it = book.iterator();
+    while (it.hasNext() && (order.quantity > 0)) {
+      final Order resting = it.next();
+      final boolean crosses = buying ? resting.price <= order.price
+          : resting.price >= order.price;
+      if (!crosses) {
+        break;
+      }
+      final int quantity = Math.min(resting.quantity, order.quantity);
+      resting.quantity -= quantity;
+      order.quantity -= quantity;
+      traded += quantity;
+      record(resting.owner, quantity);
+      record(order.owner, quantity);
+      if (resting.quantity == 0) {
+        it.remove();
+      }
+    }
+    return traded;
+  }
+
+  private void record(final String owner, final int quantity) {
+    final Integer previous = this.filled.get(owner);
+    this.filled.put(owner, previous == null ? quantity : previous + quantity);
+  }
+
+  private static void insert(final List<Order> book, final Order order,
+      final Comparator<Order> priority) {
+    int i = 0;
+    while ((i < book.size()) && (priority.compare(book.get(i), order) <= 0)) {
+      i++;
+    }
+    book.add(i, order);
+  }
+
+  private static int cancel(final List<Order> book, final String owner) {
+    int cancelled = 0;
+    final Iterator<Order> it = book.iterator();
+    while (it.hasNext()) {
+      final Order each = it.next();
+      if (each.owner.equals(owner)) {
+        cancelled += each.quantity;
+        it.remove();
+      }
+    }
+    return cancelled;
+  }
+
+}
@@ -0,0 +1,169 @@
+package org.pitest.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Analyses text. String handling with nested loops, switches and arrays.
+ */
+public class TextStatistics {
+
+  private final String text;
+
+  public TextStatistics(final String text) {
+    this.text = text == null ? "" : text;
+  }
+
+  public int words() {
+    int count = 0;
+    boolean inWord = false;
+    for (int i = 0; i < this.text.length(); i++) {
+      final char c = this.text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        if (!inWord) {
+          count++;
+          inWord = true;
+        }
+      } else {
+        inWord = false;
+      }
+    }
+    return count;
+  }
+
+  public int sentences() {
+    int count = 0;
+    for (final char c : this.text.toCharArray()) {
+      switch (c) {
+      case '.':
+      case '!':
+      case '?':
+        count++;
+        break;
+      default:
+        break;
+      }
+    }
+    return count;
+  }
+
+  public int[] letterHistogram() {
+    final int[] histogram = new int[26];
+    for (final char c : this.text.toLowerCase().toCharArray()) {
+      if ((c >= 'a') && (c <= 'z')) {
+        histogram[c - 'a']++;
+      }
+    }
+    return histogram;
+  }
+
+  public char mostCommonLetter() {
+    final int[] histogram = letterHistogram();
+    int best = -1;
+    for (int i = 0; i != histogram.length; i++) {
+      if ((histogram[i] > 0) && ((best == -1) || (histogram[i] > histogram[best]))) {
+        best = i;
+      }
+    }
+    return best == -1 ? ' ' : (char) ('a' + best);
+  }
+
+  public double averageWordLength() {
+    final List<String> words = split();
+    if (words.isEmpty()) {
+      return 0;
+    }
+    long total = 0;
+    for (final String each : words) {
+      total += each.length();
+    }
+    return (double) total / words.size();
+  }
+
+  public Map<String, Integer> wordFrequencies() {
+    final Map<String, Integer> frequencies = new TreeMap<>();
+    for (final String each : split()) {
+      final String word = each.toLowerCase();
+      final Integer count = frequencies.get(word);
+      frequencies.put(word, count == null ? 1 : count + 1);
+    }
+    return frequencies;
+  }
+
+  public String longestPalindrome() {
+    String longest = "";
+    for (final String each : split()) {
+      if ((each.length() > longest.length()) && isPalindrome(each)) {
+        longest = each;
+      }
+    }
+    return longest;
+  }
+
+  public int readingGrade() {
+    final int words = words();
+    final int sentences = Math.max(1, sentences());
+    int syllables = 0;
+    for (final String each : split()) {
+      syllables += syllables(each);
+    }
+    if (words == 0) {
+      return 0;
+    }
+    final double grade = ((0.39 * words) / sentences)
+        + ((11.8 * syllables) / words) - 15.59;
+    return (int) Math.max(0, Math.round(grade));
+  }
+
+  static int syllables(final String word) {
+    int count = 0;
+    boolean previousVowel = false;
+    for (int i = 0; i < word.length(); i++) {
+      final boolean vowel = "aeiouy".indexOf(Character.toLowerCase(word
+          .charAt(i))) >= 0;
+      if (vowel && !previousVowel) {
+        count++;
+      }
+      previousVowel = vowel;
+    }
+    if (word.endsWith("e") && (count > 1)) {
+      count--;
+    }
+    return Math.max(1, count);
+  }
+
+  static boolean isPalindrome(final String word) {
+    int i = 0;
+    int j = word.length() - 1;
+    while (i < j) {
+      if (Character.toLowerCase(word.charAt(i)) != Character
+          .toLowerCase(word.charAt(j))) {
+        return false;
+      }
+      i++;
+      j--;
+    }
+    return true;
+  }
+
+  private List<String> split() {
+    final List<String> words = new ArrayList<>();
+    final StringBuilder current = new StringBuilder();
+    for (int i = 0; i < this.text.length(); i++) {
+      final char c = this.text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        current.append(c);
+      } else if (current.length() != 0) {
+        words.add(current.toString());
+        current.setLength(0);
+      }
+    }
+    if (current.length() != 0) {
+      words.add(current.toString());
+    }
+    return words;
+  }
+
+}
@@ -0,0 +1,98 @@
+package org.pitest.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.benchmarks.BaselineComparison.Comparison;
+import org.pitest.benchmarks.BaselineComparison.Result;
+import org.pitest.benchmarks.BaselineComparison.Verdict;
+
+public class BaselineComparisonTest {
+
+  private static final String HEADER = "\"Benchmark\",\"Mode\",\"Threads\","
+      + "\"Samples\",\"Score\",\"Score Error (99.9%)\",\"Unit\",\"Param: tests\"\n";
+
+  @Test
+  public void shouldIdentifyResultsByBenchmarkParamsAndMode()
+      throws IOException {
+    final Map<String, Result> actual = parse(row("avgt", 10, 1, "50"));
+    assertThat(actual).containsOnlyKeys(
+        "CoverageDataBenchmark.getTestsForClassLine:tests=50 (avgt)");
+  }
+
+  @Test
+  public void shouldTreatChangesWithinErrorAsUnchanged() throws IOException {
+    assertThat(verdict(row("avgt", 10, 2, "50"), row("avgt", 13, 2, "50")))
+        .isEqualTo(Verdict.UNCHANGED);
+  }
+
+  @Test
+  public void shouldTreatChangesBelowThresholdAsUnchanged() throws IOException {
+    assertThat(verdict(row("avgt", 100, 0.1, "50"), row("avgt", 102, 0.1,
+        "50"))).isEqualTo(Verdict.UNCHANGED);
+  }
+
+  @Test
+  public void shouldReportSlowerAverageTimeAsRegression() throws IOException {
+    assertThat(verdict(row("avgt", 10, 1, "50"), row("avgt", 20, 1, "50")))
+        .isEqualTo(Verdict.REGRESSED);
+  }
+
+  @Test
+  public void shouldReportHigherThroughputAsImprovement() throws IOException {
+    assertThat(verdict(row("thrpt", 10, 1, "50"), row("thrpt", 20, 1, "50")))
+        .isEqualTo(Verdict.IMPROVED);
+  }
+
+  @Test
+  public void shouldReportAddedAndRemovedBenchmarks() throws IOException {
+    final List<Comparison> actual = BaselineComparison.compare(
+        parse(row("avgt", 10, 1, "50")), parse(row("avgt", 10, 1, "500")), 5);
+    assertThat(actual).extracting(c -> c.getVerdict()).containsExactly(
+        Verdict.ADDED, Verdict.REMOVED);
+  }
+
+  @Test
+  public void shouldAcceptErrorOfNaN() throws IOException {
+    assertThat(verdict(row("avgt", 10, Double.NaN, "50"), row("avgt", 20,
+        Double.NaN, "50"))).isEqualTo(Verdict.REGRESSED);
+  }
+
+  @Test
+  public void shouldSummariseVerdictsInReport() throws IOException {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    BaselineComparison.report(BaselineComparison.compare(
+        parse(row("avgt", 10, 1, "50")), parse(row("avgt", 20, 1, "50")), 5),
+        5, new PrintStream(bos, true));
+    assertThat(bos.toString()).contains("+100.0%").contains(
+        "0 improved, 1 regressed, 0 unchanged, 0 added, 0 removed");
+  }
+
+  private static Verdict verdict(final String baseline, final String current)
+      throws IOException {
+    final List<Comparison> actual = BaselineComparison.compare(
+        parse(baseline), parse(current), 5);
+    assertThat(actual).hasSize(1);
+    return actual.get(0).getVerdict();
+  }
+
+  private static Map<String, Result> parse(final String row)
+      throws IOException {
+    return BaselineComparison.parse(new StringReader(HEADER + row));
+  }
+
+  private static String row(final String mode, final double score,
+      final double error, final String tests) {
+    return "\"org.pitest.benchmarks.CoverageDataBenchmark.getTestsForClassLine\",\""
+        + mode + "\",1,20," + score + "," + error + ",\"ns/op\"," + tests
+        + "\n";
+  }
+
+}
@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.commandline;
 
 import static org.pitest.mutationtest.config.ConfigOption.AVOID_CALLS;
+import static org.pitest.mutationtest.config.ConfigOption.BALANCE_MUTATION_UNITS;
 import static org.pitest.mutationtest.config.ConfigOption.CHILD_JVM;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH;
 import static org.pitest.mutationtest.config.ConfigOption.CLASSPATH_FILE;
@@ -26,6 +27,7 @@ import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_GROUPS;
 import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_METHOD;
 import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_TEST_CLASSES;
 import static org.pitest.mutationtest.config.ConfigOption.EXPORT_LINE_COVERAGE;
+import static org.pitest.mutationtest.config.ConfigOption.EXPORT_TIMINGS;
 import static org.pitest.mutationtest.config.ConfigOption.FAIL_WHEN_NOT_MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.FEATURES;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_INPUT_LOCATION;
@@ -35,7 +37,10 @@ import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_TEST_METHODS;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDE_LAUNCH_CLASSPATH;
 import static org.pitest.mutationtest.config.ConfigOption.JVM_PATH;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_CLASS;
+import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_MINION;
 import static org.pitest.mutationtest.config.ConfigOption.MAX_SURVIVING;
+import static org.pitest.mutationtest.config.ConfigOption.MINION_THREADS;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_SCHEMATA;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_ENGINE;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_THRESHOLD;
@@ -43,6 +48,8 @@ import static org.pitest.mutationtest.config.ConfigOption.MUTATION_UNIT_SIZE;
 import static org.pitest.mutationtest.config.ConfigOption.OUTPUT_FORMATS;
 import static org.pitest.mutationtest.config.ConfigOption.PLUGIN_CONFIGURATION;
 import static org.pitest.mutationtest.config.ConfigOption.REPORT_DIR;
+import static org.pitest.mutationtest.config.ConfigOption.REUSE_COVERAGE;
+import static org.pitest.mutationtest.config.ConfigOption.SEND_PREBUILT_MUTANTS;
 import static org.pitest.mutationtest.config.ConfigOption.SOURCE_DIR;
 import static org.pitest.mutationtest.config.ConfigOption.TARGET_CLASSES;
 import static org.pitest.mutationtest.config.ConfigOption.TEST_FILTER;
@@ -50,6 +57,7 @@ import static org.pitest.mutationtest.config.ConfigOption.TEST_PLUGIN;
 import static org.pitest.mutationtest.config.ConfigOption.THREADS;
 import static org.pitest.mutationtest.config.ConfigOption.TIMEOUT_CONST;
 import static org.pitest.mutationtest.config.ConfigOption.TIMEOUT_FACTOR;
+import static org.pitest.mutationtest.config.ConfigOption.TIMEOUT_PERCENTILE;
 import static org.pitest.mutationtest.config.ConfigOption.TIME_STAMPED_REPORTS;
 import static org.pitest.mutationtest.config.ConfigOption.USE_INLINED_CODE_DETECTION;
 import static org.pitest.mutationtest.config.ConfigOption.VERBOSE;
@@ -103,6 +111,7 @@ public class OptionsParser {
   private final OptionSpec<String>                   jvmArgs;
   private final OptionSpec<Float>                    timeoutFactorSpec;
   private final OptionSpec<Long>                     timeoutConstSpec;
+  private final OptionSpec<Integer>                  timeoutPercentileSpec;
   private final OptionSpec<String>                   excludedMethodsSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> verboseSpec;
   private final OptionSpec<String>                   excludedClassesSpec;
@@ -116,6 +125,12 @@ public class OptionsParser {
   private final OptionSpec<String>                   includedGroupsSpec;
   private final OptionSpec<String>                   includedTestMethodsSpec;
   private final OptionSpec<Integer>                  mutationUnitSizeSpec;
+  private final OptionSpec<Integer>                  maxMutationsPerMinionSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> sendPrebuiltMutantsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> mutantSchemataSpec;
+  private final OptionSpec<Integer>                  minionThreadsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> balanceMutationUnitsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> reuseCoverageSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> timestampedReportsSpec;
   private final ArgumentAcceptingOptionSpec<Boolean> detectInlinedCode;
   private final ArgumentAcceptingOptionSpec<Integer> mutationThreshHoldSpec;
@@ -123,6 +138,7 @@ public class OptionsParser {
   private final ArgumentAcceptingOptionSpec<Integer> maxSurvivingSpec;
   private final OptionSpec<String>                   mutationEngine;
   private final ArgumentAcceptingOptionSpec<Boolean> exportLineCoverageSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> exportTimingsSpec;
   private final OptionSpec<String>                   javaExecutable;
   private final OptionSpec<KeyValuePair>             pluginPropertiesSpec;
   private final OptionSpec<String>                   testPluginSpec;
@@ -218,6 +234,13 @@ public class OptionsParser {
         .describedAs("constant to apply to calculate maximum test duration")
         .defaultsTo(TIMEOUT_CONST.getDefault(Long.class));
 
+    this.timeoutPercentileSpec = parserAccepts(TIMEOUT_PERCENTILE)
+        .withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs(
+            "percentile of recorded test times to treat as normal test duration. Zero uses the time recorded during coverage")
+        .defaultsTo(TIMEOUT_PERCENTILE.getDefault(Integer.class));
+
     this.excludedMethodsSpec = parserAccepts(EXCLUDED_METHOD)
         .withRequiredArg()
         .ofType(String.class)
@@ -250,6 +273,13 @@ public class OptionsParser {
         .describedAs(
             "whether or not to dump per test line coverage data to disk");
 
+    this.exportTimingsSpec = parserAccepts(EXPORT_TIMINGS)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to dump histograms of per test run times to disk");
+
     this.includeLaunchClasspathSpec = parserAccepts(INCLUDE_LAUNCH_CLASSPATH)
         .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
         .describedAs("whether or not to analyse launch classpath");
@@ -299,6 +329,48 @@ public class OptionsParser {
             "Maximum number of mutations to include within a single unit of analysis")
             .defaultsTo(MUTATION_UNIT_SIZE.getDefault(Integer.class));
 
+    this.maxMutationsPerMinionSpec = parserAccepts(MAX_MUTATIONS_PER_MINION)
+        .withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs(
+            "Maximum number of mutations a minion may analyse before it is replaced. Zero launches a new minion for each unit of analysis")
+            .defaultsTo(MAX_MUTATIONS_PER_MINION.getDefault(Integer.class));
+
+    this.sendPrebuiltMutantsSpec = parserAccepts(SEND_PREBUILT_MUTANTS)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to send mutants generated while building units of analysis to minions");
+
+    this.mutantSchemataSpec = parserAccepts(MUTANT_SCHEMATA)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to combine the mutants of each class into a single mutant schema");
+
+    this.minionThreadsSpec = parserAccepts(MINION_THREADS)
+        .withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs(
+            "Number of mutants each minion analyses at once, each in its own class loader. Only safe for tests that share no state outside the project's classes")
+            .defaultsTo(MINION_THREADS.getDefault(Integer.class));
+
+    this.balanceMutationUnitsSpec = parserAccepts(BALANCE_MUTATION_UNITS)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to group mutations into units of similar estimated cost when using more than one thread");
+
+    this.reuseCoverageSpec = parserAccepts(REUSE_COVERAGE)
+        .withOptionalArg()
+        .ofType(Boolean.class)
+        .defaultsTo(true)
+        .describedAs(
+            "whether or not to reuse the coverage of unchanged tests stored with the history when nothing on the classpath has changed");
+
     this.historyInputSpec = parserAccepts(HISTORY_INPUT_LOCATION)
         .withRequiredArg().ofType(File.class)
         .describedAs("File to read history from for incremental analysis");
@@ -385,6 +457,7 @@ public class OptionsParser {
     data.setNumberOfThreads(this.threadsSpec.value(userArgs));
     data.setTimeoutFactor(this.timeoutFactorSpec.value(userArgs));
     data.setTimeoutConstant(this.timeoutConstSpec.value(userArgs));
+    data.setTimeoutPercentile(this.timeoutPercentileSpec.value(userArgs));
     data.setLoggingClasses(this.avoidCallsSpec.values(userArgs));
     data.setExcludedMethods(this.excludedMethodsSpec.values(userArgs));
     data.setExcludedClasses(this.excludedClassesSpec.values(userArgs));
@@ -397,6 +470,17 @@ public class OptionsParser {
     data.setFailWhenNoMutations(this.failWhenNoMutations.value(userArgs));
     data.setCodePaths(this.codePaths.values(userArgs));
     data.setMutationUnitSize(this.mutationUnitSizeSpec.value(userArgs));
+    data.setMaxMutationsPerMinion(this.maxMutationsPerMinionSpec
+        .value(userArgs));
+    data.setSendPrebuiltMutants(userArgs.has(this.sendPrebuiltMutantsSpec)
+        && userArgs.valueOf(this.sendPrebuiltMutantsSpec));
+    data.setUseMutantSchemata(userArgs.has(this.mutantSchemataSpec)
+        && userArgs.valueOf(this.mutantSchemataSpec));
+    data.setMinionThreads(this.minionThreadsSpec.value(userArgs));
+    data.setBalanceMutationUnits(userArgs.has(this.balanceMutationUnitsSpec)
+        && userArgs.valueOf(this.balanceMutationUnitsSpec));
+    data.setReuseCoverage(userArgs.has(this.reuseCoverageSpec)
+        && userArgs.valueOf(this.reuseCoverageSpec));
 
     data.setHistoryInputLocation(this.historyInputSpec.value(userArgs));
     data.setHistoryOutputLocation(this.historyOutputSpec.value(userArgs));
@@ -409,6 +493,8 @@ public class OptionsParser {
 
     data.setExportLineCoverage(userArgs.has(this.exportLineCoverageSpec)
         && userArgs.valueOf(this.exportLineCoverageSpec));
+    data.setExportTimings(userArgs.has(this.exportTimingsSpec)
+        && userArgs.valueOf(this.exportTimingsSpec));
 
     setClassPath(userArgs, data);
 
@@ -138,6 +138,18 @@ public class OptionsParserTest {
     assertFalse(actual.isDetectInlinedCode());
   }
 
+  @Test
+  public void shouldNotUseMutantSchemataByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isUseMutantSchemata());
+  }
+
+  @Test
+  public void shouldDetermineIfMutantSchemataFlagIsSet() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantSchemata");
+    assertTrue(actual.isUseMutantSchemata());
+  }
+
   @Test
   public void shouldCreateTimestampedReportsByDefault() {
     final ReportOptions actual = parseAddingRequiredArgs();
@@ -175,6 +187,19 @@ public class OptionsParserTest {
     assertEquals(42, actual.getTimeoutConstant());
   }
 
+  @Test
+  public void shouldParseTimeOutPercentile() {
+    final ReportOptions actual = parseAddingRequiredArgs("--timeoutPercentile",
+        "99");
+    assertEquals(99, actual.getTimeoutPercentile());
+  }
+
+  @Test
+  public void shouldDefaultTimeOutPercentileToZero() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(0, actual.getTimeoutPercentile());
+  }
+
   @Test
   public void shouldParseCommaSeparatedListOfTargetTestClassGlobs() {
     final ReportOptions actual = parseAddingRequiredArgs("--targetTest",
@@ -351,6 +376,44 @@ public class OptionsParserTest {
         actual.getMutationUnitSize());
   }
 
+  @Test
+  public void shouldParseMinionThreads() {
+    final ReportOptions actual = parseAddingRequiredArgs("--minionThreads",
+        "4");
+    assertEquals(4, actual.getMinionThreads());
+  }
+
+  @Test
+  public void shouldDefaultToOneMinionThread() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(1, actual.getMinionThreads());
+  }
+
+  @Test
+  public void shouldNotBalanceMutationUnitsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isBalanceMutationUnits());
+  }
+
+  @Test
+  public void shouldDetermineIfBalanceMutationUnitsFlagIsSet() {
+    final ReportOptions actual = parseAddingRequiredArgs(
+        "--balanceMutationUnits");
+    assertTrue(actual.isBalanceMutationUnits());
+  }
+
+  @Test
+  public void shouldNotReuseCoverageByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isReuseCoverage());
+  }
+
+  @Test
+  public void shouldDetermineIfReuseCoverageFlagIsSet() {
+    final ReportOptions actual = parseAddingRequiredArgs("--reuseCoverage");
+    assertTrue(actual.isReuseCoverage());
+  }
+
   @Test
   public void shouldDefaultToNoHistory() {
     final ReportOptions actual = parseAddingRequiredArgs("");
@@ -430,6 +493,12 @@ public class OptionsParserTest {
     assertFalse(actual.shouldExportLineCoverage());
   }
 
+  @Test
+  public void shouldParseExportTimingsFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--exportTimings");
+    assertTrue(actual.shouldExportTimings());
+  }
+
   @Test
   public void shouldIncludeLaunchClasspathByDefault() {
     final ReportOptions actual = parseAddingRequiredArgs("");
@@ -0,0 +1,112 @@
+package org.pitest.coverage;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of non negative ints, held as a sorted array while sparse and as a
+ * bitmap once the bitmap would be the smaller of the two.
+ *
+ * Values are expected to arrive mostly in ascending order, which makes adding
+ * to the sorted array an append.
+ */
+final class CompactIntSet {
+
+  private static final int INITIAL_CAPACITY = 2;
+
+  private int[]            values           = new int[INITIAL_CAPACITY];
+  private long[]           bits;
+  private int              size;
+
+  void add(final int value) {
+    if (this.bits != null) {
+      addToBitmap(value);
+    } else {
+      addToArray(value);
+      if (this.size > (2 * wordsFor(this.values[this.size - 1]))) {
+        convertToBitmap();
+      }
+    }
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  void forEach(final IntConsumer consumer) {
+    if (this.bits != null) {
+      for (int word = 0; word != this.bits.length; word++) {
+        long w = this.bits[word];
+        while (w != 0) {
+          consumer.accept((word << 6) + Long.numberOfTrailingZeros(w));
+          w = w & (w - 1);
+        }
+      }
+    } else {
+      for (int i = 0; i != this.size; i++) {
+        consumer.accept(this.values[i]);
+      }
+    }
+  }
+
+  boolean isBitmap() {
+    return this.bits != null;
+  }
+
+  private void addToArray(final int value) {
+    if ((this.size == 0) || (value > this.values[this.size - 1])) {
+      ensureCapacity();
+      this.values[this.size] = value;
+      this.size++;
+      return;
+    }
+    final int index = Arrays.binarySearch(this.values, 0, this.size, value);
+    if (index >= 0) {
+      return;
+    }
+    final int insertAt = -(index + 1);
+    ensureCapacity();
+    System.arraycopy(this.values, insertAt, this.values, insertAt + 1,
+        this.size - insertAt);
+    this.values[insertAt] = value;
+    this.size++;
+  }
+
+  private void ensureCapacity() {
+    if (this.size == this.values.length) {
+      this.values = Arrays.copyOf(this.values,
+          this.values.length + (this.values.length >> 1) + 1);
+    }
+  }
+
+  private void addToBitmap(final int value) {
+    final int word = value >>> 6;
+    if (word >= this.bits.length) {
+      this.bits = Arrays.copyOf(this.bits,
+          Math.max(word + 1, this.bits.length + (this.bits.length >> 1)));
+    }
+    final long mask = 1L << value;
+    if ((this.bits[word] & mask) == 0) {
+      this.bits[word] = this.bits[word] | mask;
+      this.size++;
+    }
+  }
+
+  private void convertToBitmap() {
+    this.bits = new long[wordsFor(this.values[this.size - 1])];
+    for (int i = 0; i != this.size; i++) {
+      final int value = this.values[i];
+      this.bits[value >>> 6] = this.bits[value >>> 6] | (1L << value);
+    }
+    this.values = null;
+  }
+
+  private static int wordsFor(final int maxValue) {
+    return (maxValue >>> 6) + 1;
+  }
+
+}
@@ -16,8 +16,12 @@
 package org.pitest.coverage;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -25,61 +29,80 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
 public class CoverageData implements CoverageDatabase {
 
-  private static final Logger                                 LOG           = Log
-      .getLogger();
+  private static final Logger                      LOG           = Log.getLogger();
 
-  // We calculate block coverage, but everything currently runs on line
-  // coverage. Ugly mess of maps below should go when
-  // api changed to work via blocks
-  private final Map<BlockLocation, Set<TestInfo>>             blockCoverage;
-  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<>();
-  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<>();
-  private final Map<String, Collection<ClassInfo>>            classesForFile;
+  // Each distinct test is given an int id, and the tests covering each block
+  // are held as a compact set of those ids. Line coverage is derived lazily
+  // for each class from the blocks covering each line.
+  private final List<TestInfo>                     tests         = new ArrayList<>();
+  private final Map<String, Integer>               testIds       = new HashMap<>();
+  private final Map<ClassName, ClassCoverage>      classCoverage = new LinkedHashMap<>();
+  private final Map<String, Collection<ClassInfo>> classesForFile;
 
-  private final CodeSource                                    code;
+  private final CodeSource                         code;
 
-  private final LineMap                                       lm;
+  private final LineMap                            lm;
+  // mapped outside the lock, so that threads looking up different classes do
+  // not wait on each other reading bytecode
+  private final Map<ClassName, Map<BlockLocation, Set<Integer>>> lineMaps =
+      new ConcurrentHashMap<>();
 
-  private boolean                                             hasFailedTest = false;
+  private final TestTimings                        timings       = new TestTimings();
+
+  // tests sorted by name, and the position of each test id in that order
+  private TestInfo[]                               byName        = new TestInfo[0];
+  private int[]                                    rankOfId      = new int[0];
+
+  private boolean                                  hasFailedTest = false;
 
   public CoverageData(final CodeSource code, final LineMap lm) {
-    this(code, lm, new LinkedHashMap<BlockLocation, Set<TestInfo>>());
+    this(code, lm, Collections.<BlockLocation, Set<TestInfo>> emptyMap());
   }
 
 
   public CoverageData(final CodeSource code, final LineMap lm, Map<BlockLocation, Set<TestInfo>> blockCoverage) {
-    this.blockCoverage = blockCoverage;
     this.code = code;
     this.lm = lm;
     this.classesForFile = FCollection.bucket(this.code.getCode(),
         keyFromClassInfo());
+    for (final Entry<BlockLocation, Set<TestInfo>> each : blockCoverage
+        .entrySet()) {
+      for (final TestInfo ti : each.getValue()) {
+        addTestToBlock(idFor(ti), each.getKey());
+      }
+    }
   }
 
   @Override
-  public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
-    final Collection<TestInfo> result = getTestsForClassName(
-        classLine.getClassName()).get(classLine);
-    if (result == null) {
+  public Collection<TestInfo> getTestsForClassLine(
+      final ClassLine classLine) {
+    final ClassCoverage.Lines lines = linesFor(classLine.getClassName());
+    if (lines == null) {
+      return Collections.emptyList();
+    }
+    final int index = Arrays.binarySearch(lines.lines,
+        classLine.getLineNumber());
+    if (index < 0) {
       return Collections.emptyList();
-    } else {
-      return result;
+    }
+    synchronized (this) {
+      return toTests(Arrays.asList(lines.blocks[index]));
     }
   }
 
@@ -98,52 +121,104 @@ public class CoverageData implements CoverageDatabase {
   }
 
   @Override
-  public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
-    final Set<TestInfo> tis = new TreeSet<>(
-        new TestInfoNameComparator());
-    tis.addAll(this.blockCoverage.entrySet().stream().filter(isFor(clazz))
-        .flatMap(toTests())
-        .collect(Collectors.toList())
-        );
-    return tis;
+  public synchronized Collection<TestInfo> getTestsForClass(
+      final ClassName clazz) {
+    final ClassCoverage coverage = this.classCoverage.get(clazz);
+    if (coverage == null) {
+      return Collections.emptyList();
+    }
+    final List<CompactIntSet> blocks = new ArrayList<>();
+    for (final CompactIntSet[] each : coverage.methods.values()) {
+      for (final CompactIntSet block : each) {
+        if (block != null) {
+          blocks.add(block);
+        }
+      }
+    }
+    return toTests(blocks);
   }
 
-  public void calculateClassCoverage(final CoverageResult cr) {
+  public synchronized void calculateClassCoverage(final CoverageResult cr) {
 
     checkForFailedTest(cr);
     final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
         cr.getExecutionTime(), cr.getNumberOfCoveredBlocks());
+    if (cr.isGreenTest()) {
+      this.timings.record(ti.getName(), cr.getExecutionTime(), cr.getCpuTime());
+    }
+    final int id = idFor(ti);
     for (final BlockLocation each : cr.getCoverage()) {
-      addTestsToBlockMap(ti, each);
+      addTestToBlock(id, each);
     }
   }
 
-  private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
-    Set<TestInfo> tests = this.blockCoverage.get(each);
-    if (tests == null) {
-      tests = new TreeSet<>(new TestInfoNameComparator());
-      this.blockCoverage.put(each, tests);
+  @Override
+  public TestTimings getTestTimings() {
+    return this.timings;
+  }
+
+  private int idFor(final TestInfo ti) {
+    final Integer existing = this.testIds.get(ti.getName());
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.tests.size();
+    this.tests.add(ti);
+    this.testIds.put(ti.getName(), id);
+    return id;
+  }
+
+  private void addTestToBlock(final int id, final BlockLocation each) {
+    final ClassCoverage coverage = this.classCoverage.computeIfAbsent(each
+        .getLocation().getClassName(), k -> new ClassCoverage());
+    CompactIntSet[] blocks = coverage.methods.get(each.getLocation());
+    if ((blocks == null) || (each.getBlock() >= blocks.length)) {
+      blocks = blocks == null ? new CompactIntSet[each.getBlock() + 1]
+          : Arrays.copyOf(blocks, each.getBlock() + 1);
+      coverage.methods.put(each.getLocation(), blocks);
     }
-    tests.add(ti);
+    if (blocks[each.getBlock()] == null) {
+      blocks[each.getBlock()] = new CompactIntSet();
+      // a newly covered block may cover new lines
+      coverage.lines = null;
+    }
+    blocks[each.getBlock()].add(id);
   }
 
   @Override
   public BigInteger getCoverageIdForClass(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> coverage = getTestsForClassName(clazz);
-    if (coverage.isEmpty()) {
+    final ClassCoverage.Lines lines = linesFor(clazz);
+    if ((lines == null) || (lines.lines.length == 0)) {
       return BigInteger.ZERO;
     }
-
-    return generateCoverageNumber(coverage);
-  }
-
-  public List<BlockCoverage> createCoverage() {
-    return FCollection.map(this.blockCoverage.entrySet(), toBlockCoverage());
-  }
-
-  private static Function<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage> toBlockCoverage() {
-    return a -> new BlockCoverage(a.getKey(), FCollection.map(a.getValue(),
-        TestInfo.toName()));
+    final List<CompactIntSet> blocks = new ArrayList<>();
+    for (final CompactIntSet[] each : lines.blocks) {
+      blocks.addAll(Arrays.asList(each));
+    }
+    final List<TestInfo> tests;
+    synchronized (this) {
+      tests = toTests(blocks);
+    }
+    return generateCoverageNumber(tests);
+  }
+
+  public synchronized List<BlockCoverage> createCoverage() {
+    final List<BlockCoverage> blockCoverage = new ArrayList<>();
+    for (final ClassCoverage each : this.classCoverage.values()) {
+      for (final Entry<Location, CompactIntSet[]> method : each.methods
+          .entrySet()) {
+        final CompactIntSet[] blocks = method.getValue();
+        for (int i = 0; i != blocks.length; i++) {
+          if (blocks[i] != null) {
+            blockCoverage.add(new BlockCoverage(new BlockLocation(
+                method.getKey(), i), FCollection.map(
+                toTests(Collections.singletonList(blocks[i])),
+                TestInfo.toName())));
+          }
+        }
+      }
+    }
+    return blockCoverage;
   }
 
   @Override
@@ -167,11 +242,10 @@ public class CoverageData implements CoverageDatabase {
     return new CoverageSummary(numberOfLines(), coveredLines());
   }
 
-  private BigInteger generateCoverageNumber(
-      final Map<ClassLine, Set<TestInfo>> coverage) {
+  private BigInteger generateCoverageNumber(final Collection<TestInfo> tests) {
     BigInteger coverageNumber = BigInteger.ZERO;
     final Set<ClassName> testClasses = new HashSet<>();
-    FCollection.flatMapTo(coverage.values(), testsToClassName(), testClasses);
+    FCollection.mapTo(tests, TestInfo.toDefiningClassName(), testClasses);
 
     for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
       coverageNumber = coverageNumber.add(each.getDeepHash());
@@ -180,10 +254,6 @@ public class CoverageData implements CoverageDatabase {
     return coverageNumber;
   }
 
-  private Function<Set<TestInfo>, Iterable<ClassName>> testsToClassName() {
-    return a -> FCollection.map(a, TestInfo.toDefiningClassName());
-  }
-
   private static Function<ClassInfo, String> keyFromClassInfo() {
 
     return c -> keyFromSourceAndPackage(c.getSourceFileName(), c.getName()
@@ -234,90 +304,123 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private int getNumberOfCoveredLines(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> map = getTestsForClassName(clazz);
-    if (map != null) {
-      return map.size();
-    } else {
+    final ClassCoverage.Lines lines = linesFor(clazz);
+    if (lines == null) {
       return 0;
     }
-
+    return lines.lines.length;
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
-      final ClassName clazz) {
-    // Use any test that provided some coverage of the class
-    // This fails to consider tests that only accessed a static variable
-    // of the class in question as this does not register as coverage.
-    final Map<ClassLine, Set<TestInfo>> map = this.lineCoverage.get(clazz);
-    if (map != null) {
-      return map;
+  // the covered lines of a class, or null if it is not covered. The class is
+  // mapped to lines without holding the lock.
+  private ClassCoverage.Lines linesFor(final ClassName clazz) {
+    synchronized (this) {
+      final ClassCoverage coverage = this.classCoverage.get(clazz);
+      if ((coverage == null) || (coverage.lines != null)) {
+        return coverage == null ? null : coverage.lines;
+      }
+    }
+    final Map<BlockLocation, Set<Integer>> lineMap = this.lineMaps
+        .computeIfAbsent(clazz, this.lm::mapLines);
+    synchronized (this) {
+      return linesFor(this.classCoverage.get(clazz), lineMap);
     }
-
-    return convertBlockCoverageToLineCoverageForClass(clazz);
-
   }
 
-  private Map<ClassLine, Set<TestInfo>> convertBlockCoverageToLineCoverageForClass(
-      ClassName clazz) {
-    final List<Entry<BlockLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.blockCoverage.entrySet(), isFor(clazz));
-
-    final Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<>(
-        0);
+  // Use any test that provided some coverage of the class
+  // This fails to consider tests that only accessed a static variable
+  // of the class in question as this does not register as coverage.
+  private ClassCoverage.Lines linesFor(final ClassCoverage coverage,
+      final Map<BlockLocation, Set<Integer>> lineMap) {
+    if (coverage.lines != null) {
+      return coverage.lines;
+    }
 
-    for (final Entry<BlockLocation, Set<TestInfo>> each : tests) {
-      for (final int line : getLinesForBlock(each.getKey())) {
-        final Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, each, line);
-        tis.addAll(each.getValue());
+    final Map<Integer, List<CompactIntSet>> linesToBlocks = new TreeMap<>();
+    for (final Entry<BlockLocation, Set<Integer>> each : lineMap.entrySet()) {
+      final CompactIntSet block = coverage.blockAt(each.getKey());
+      if (block == null) {
+        continue;
+      }
+      for (final int line : each.getValue()) {
+        linesToBlocks.computeIfAbsent(line, k -> new ArrayList<>(1)).add(
+            block);
       }
     }
 
-    this.lineCoverage.put(clazz, linesToTests);
-    return linesToTests;
-  }
-
-  private static Set<TestInfo> getLineTestSet(ClassName clazz,
-      Map<ClassLine, Set<TestInfo>> linesToTests,
-      Entry<BlockLocation, Set<TestInfo>> each, int line) {
-    final ClassLine cl = new ClassLine(clazz, line);
-    Set<TestInfo> tis = linesToTests.get(cl);
-    if (tis == null) {
-      tis = new TreeSet<>(new TestInfoNameComparator());
-      tis.addAll(each.getValue());
-      linesToTests.put(new ClassLine(clazz, line), tis);
+    final int[] lines = new int[linesToBlocks.size()];
+    final CompactIntSet[][] blocks = new CompactIntSet[linesToBlocks.size()][];
+    int i = 0;
+    for (final Entry<Integer, List<CompactIntSet>> each : linesToBlocks
+        .entrySet()) {
+      lines[i] = each.getKey();
+      blocks[i] = each.getValue().toArray(new CompactIntSet[0]);
+      i++;
     }
-    return tis;
+    coverage.lines = new ClassCoverage.Lines(lines, blocks);
+    return coverage.lines;
   }
 
-  private Set<Integer> getLinesForBlock(BlockLocation bl) {
-    Set<Integer> lines = this.blocksToLines.get(bl);
-    if (lines == null) {
-      calculateLinesForBlocks(bl.getLocation().getClassName());
-      lines = this.blocksToLines.get(bl);
-      if (lines == null) {
-        lines = Collections.emptySet();
-      }
+  // the tests in any of the given blocks, in name order
+  private List<TestInfo> toTests(final Collection<CompactIntSet> blocks) {
+    updateNameOrder();
+    final BitSet ranks = new BitSet(this.byName.length);
+    for (final CompactIntSet each : blocks) {
+      each.forEach(id -> ranks.set(this.rankOfId[id]));
     }
-
-    return lines;
+    final List<TestInfo> found = new ArrayList<>(ranks.cardinality());
+    for (int i = ranks.nextSetBit(0); i >= 0; i = ranks.nextSetBit(i + 1)) {
+      found.add(this.byName[i]);
+    }
+    return found;
   }
 
-  private void calculateLinesForBlocks(ClassName className) {
-    final Map<BlockLocation, Set<Integer>> lines = this.lm.mapLines(className);
-    this.blocksToLines.putAll(lines);
+  private void updateNameOrder() {
+    if (this.byName.length == this.tests.size()) {
+      return;
+    }
+    final Integer[] ids = new Integer[this.tests.size()];
+    for (int i = 0; i != ids.length; i++) {
+      ids[i] = i;
+    }
+    final TestInfoNameComparator byTestName = new TestInfoNameComparator();
+    Arrays.sort(ids, (a, b) -> byTestName.compare(this.tests.get(a),
+        this.tests.get(b)));
+    this.byName = new TestInfo[ids.length];
+    this.rankOfId = new int[ids.length];
+    for (int rank = 0; rank != ids.length; rank++) {
+      this.byName[rank] = this.tests.get(ids[rank]);
+      this.rankOfId[ids[rank]] = rank;
+    }
   }
 
   private void recordTestFailure() {
     this.hasFailedTest = true;
   }
 
-  private Function<Entry<BlockLocation, Set<TestInfo>>, Stream<TestInfo>> toTests() {
-    return a -> a.getValue().stream();
-  }
+  private static final class ClassCoverage {
+    // the tests covering each block of each method, indexed by block
+    private final Map<Location, CompactIntSet[]> methods = new LinkedHashMap<>();
+    private Lines                                lines;
 
-  private Predicate<Entry<BlockLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return a -> a.getKey().isFor(clazz);
+    CompactIntSet blockAt(final BlockLocation block) {
+      final CompactIntSet[] blocks = this.methods.get(block.getLocation());
+      if ((blocks == null) || (block.getBlock() >= blocks.length)) {
+        return null;
+      }
+      return blocks[block.getBlock()];
+    }
+
+    // covered lines in ascending order, and the covered blocks on each
+    private static final class Lines {
+      private final int[]             lines;
+      private final CompactIntSet[][] blocks;
+
+      Lines(final int[] lines, final CompactIntSet[][] blocks) {
+        this.lines = lines;
+        this.blocks = blocks;
+      }
+    }
   }
 
 }
@@ -22,4 +22,10 @@ public interface CoverageDatabase {
 
   CoverageSummary createSummary();
 
+  /**
+   * Times of each test, to which those of later runs of the tests may be
+   * added
+   */
+  TestTimings getTestTimings();
+
 }
@@ -18,25 +18,30 @@ package org.pitest.coverage.execute;
 import java.io.File;
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageData;
 import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.InstrumentedClassCache;
 import org.pitest.coverage.analysis.LineMapper;
-import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.config.TestPluginArguments;
+import org.pitest.mutationtest.incremental.CoverageStore;
 import org.pitest.process.LaunchOptions;
 import org.pitest.process.ProcessArgs;
 import org.pitest.util.ExitCode;
@@ -57,11 +62,43 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   private final File             workingDir;
   private final CoverageExporter exporter;
   private final boolean          showProgress;
+  private final int              threads;
+  private final File             coverageInput;
+  private final File             coverageOutput;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1);
+  }
+
+  /**
+   * @param threads
+   *          maximum number of coverage minions to split the tests across
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int threads) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, threads, null, null);
+  }
+
+  /**
+   * @param coverageInput
+   *          file to read the coverage of an earlier run from, or null. The
+   *          stored coverage of tests that have not changed, and whose covered
+   *          code has not changed, is used instead of running them again
+   * @param coverageOutput
+   *          file to store coverage in for later runs, or null
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress, final int threads,
+      final File coverageInput, final File coverageOutput) {
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -69,6 +106,9 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.threads = threads;
+    this.coverageInput = coverageInput;
+    this.coverageOutput = coverageOutput;
   }
 
   @Override
@@ -83,15 +123,27 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       final CoverageData coverage = new CoverageData(this.code, new LineMapper(
           this.code));
 
+      pruneInstrumentationCache();
+
+      final CoverageStore store = new CoverageStore(this.code,
+          classPathFingerprint());
+
       this.timings.registerStart(Timings.Stage.COVERAGE);
-      gatherCoverageData(tests, coverage);
-      this.timings.registerEnd(Timings.Stage.COVERAGE);
+      final Map<ClassName, List<CoverageResult>> stored = store
+          .read(this.coverageInput);
+      try (CoverageStore.Writer writer = store
+          .writerFor(this.coverageOutput)) {
+        gatherCoverageData(tests, coverage, stored, store, writer);
+        this.timings.registerEnd(Timings.Stage.COVERAGE);
 
-      final long time = (System.currentTimeMillis() - t0) / 1000;
+        final long time = (System.currentTimeMillis() - t0) / 1000;
 
-      LOG.info("Calculated coverage in " + time + " seconds.");
+        LOG.info("Calculated coverage in " + time + " seconds.");
 
-      verifyBuildSuitableForMutationTesting(coverage);
+        verifyBuildSuitableForMutationTesting(coverage);
+
+        writer.commit();
+      }
 
       this.exporter.recordCoverage(coverage.createCoverage());
 
@@ -104,6 +156,23 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  private String classPathFingerprint() {
+    if ((this.coverageInput == null) && (this.coverageOutput == null)) {
+      return "";
+    }
+    return CoverageStore.fingerprintOf(this.code.getClassPath()
+        .getLocalClassPath());
+  }
+
+  // no coverage minion has started, so no entry can be in use
+  private void pruneInstrumentationCache() {
+    final File dir = this.coverageOptions.getInstrumentationCache();
+    if (dir != null) {
+      new InstrumentedClassCache(dir).prune(name -> this.code
+          .fetchClassBytes(ClassName.fromString(name)).isPresent());
+    }
+  }
+
   private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
     if (!coverage.allTestsGreen()) {
       throw new PitHelpError(Help.FAILING_TESTS);
@@ -111,27 +180,81 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   }
 
   private void gatherCoverageData(final Collection<ClassInfo> tests,
-      final CoverageData coverage) throws IOException, InterruptedException,
-      ExecutionException {
-
-    final List<String> filteredTests = FCollection
-        .map(tests, classInfoToName());
+      final CoverageData coverage,
+      final Map<ClassName, List<CoverageResult>> stored,
+      final CoverageStore store, final CoverageStore.Writer writer)
+      throws IOException, InterruptedException, ExecutionException {
+
+    final SideEffect1<CoverageResult> processor = resultProcessor(coverage);
+
+    final List<String> filteredTests = new ArrayList<>();
+    int reused = 0;
+    for (final ClassInfo each : tests) {
+      final List<CoverageResult> previous = stored.get(each.getName());
+      if (previous != null) {
+        for (final CoverageResult cr : previous) {
+          processor.apply(cr);
+          writer.add(cr);
+        }
+        reused++;
+      } else {
+        filteredTests.add(classInfoToName().apply(each));
+      }
+    }
 
-    final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
+    if (reused != 0) {
+      LOG.info("Reusing stored coverage of " + reused + " of " + tests.size()
+          + " test classes");
+      if (filteredTests.isEmpty()) {
+        return;
+      }
+    }
 
-    final SocketFinder sf = new SocketFinder();
-    final ServerSocket socket = sf.getNextAvailableServerSocket();
+    // tests are split by the time they took when their coverage was last
+    // stored, test classes with no stored timing count as a single unit.
+    // Coverage does not depend on the order results arrive in, so each
+    // minion's results are handled as they arrive.
+    final List<List<String>> splits = split(filteredTests,
+        Math.max(1, Math.min(this.threads, filteredTests.size())),
+        test -> store.timeOf(ClassName.fromString(test)));
+
+    final List<CoverageProcess> processes = new ArrayList<>(splits.size());
+    for (int i = 0; i != splits.size(); i++) {
+      final SocketFinder sf = new SocketFinder();
+      final ServerSocket socket = sf.getNextAvailableServerSocket();
+
+      final CoverageProcess process = new CoverageProcess(ProcessArgs
+          .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
+          .andLaunchOptions(this.launchOptions).andStderr(logInfo())
+          .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
+          socket, splits.get(i), handlerFor(processor, writer.batch()));
+      process.start();
+      processes.add(process);
+    }
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
-        .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
-        .andLaunchOptions(this.launchOptions).andStderr(logInfo())
-        .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
+    final List<ExitCode> exitCodes = new ArrayList<>(processes.size());
+    for (final CoverageProcess each : processes) {
+      exitCodes.add(each.waitToDie());
+    }
 
-    process.start();
+    for (final ExitCode exitCode : exitCodes) {
+      checkExitCode(exitCode);
+    }
+    LOG.fine("Coverage generator Minion exited ok");
+  }
 
-    final ExitCode exitCode = process.waitToDie();
+  private static SideEffect1<CoverageResult> handlerFor(
+      final SideEffect1<CoverageResult> processor,
+      final CoverageStore.Writer.Batch batch) {
+    return cr -> {
+      synchronized (processor) {
+        processor.apply(cr);
+      }
+      batch.add(cr);
+    };
+  }
 
+  private static void checkExitCode(final ExitCode exitCode) {
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
       throw new PitError(
@@ -140,11 +263,38 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       LOG.severe("Coverage generator Minion exited abnormally due to "
           + exitCode);
       throw new PitError("Coverage generation minion exited abnormally!");
-    } else {
-      LOG.fine("Coverage generator Minion exited ok");
     }
   }
 
+  /**
+   * Splits tests into at most the given number of contiguous slices of
+   * roughly equal cost, so that running the slices in turn runs the tests in
+   * their original order.
+   */
+  static List<List<String>> split(final List<String> tests, final int parts,
+      final ToLongFunction<String> cost) {
+    long total = 0;
+    for (final String each : tests) {
+      total = total + cost.applyAsLong(each);
+    }
+
+    final List<List<String>> splits = new ArrayList<>(parts);
+    List<String> current = new ArrayList<>();
+    long soFar = 0;
+    for (final String each : tests) {
+      // start a new slice once this one has its share of the total
+      if (!current.isEmpty() && (splits.size() < (parts - 1))
+          && ((soFar * parts) >= (total * (splits.size() + 1)))) {
+        splits.add(current);
+        current = new ArrayList<>();
+      }
+      current.add(each);
+      soFar = soFar + cost.applyAsLong(each);
+    }
+    splits.add(current);
+    return splits;
+  }
+
   private static Function<ClassInfo, String> classInfoToName() {
     return a -> a.getName().asInternalName();
   }
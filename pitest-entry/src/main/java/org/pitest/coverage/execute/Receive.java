@@ -34,7 +34,7 @@ final class Receive implements ReceiveStrategy {
   public void apply(final byte control, final SafeDataInputStream is) {
     switch (control) {
     case Id.CLAZZ:
-      final int id = is.readInt();
+      final int id = is.readVarInt();
       final String name = is.readString();
       this.classIdToName.put(id, ClassName.fromString(name));
       break;
@@ -50,11 +50,11 @@ final class Receive implements ReceiveStrategy {
   }
 
   private void handleProbes(final SafeDataInputStream is) {
-    final int classId = is.readInt();
-    final String methodName = is.readString();
-    final String methodSig = is.readString();
-    final int first = is.readInt();
-    final int last = is.readInt();
+    final int classId = is.readVarInt();
+    final String methodName = is.readInternedString();
+    final String methodSig = is.readInternedString();
+    final int first = is.readVarInt();
+    final int last = is.readVarInt();
     final Location loc = Location.location(this.classIdToName.get(classId),
         MethodName.fromString(methodName), methodSig);
     for (int i = first; i != (last + 1); i++) {
@@ -66,23 +66,28 @@ final class Receive implements ReceiveStrategy {
   }
 
   private void handleTestEnd(final SafeDataInputStream is) {
-    final Description d = is.read(Description.class);
-    final int numberOfResults = is.readInt();
-
-    final Set<BlockLocation> hits = new HashSet<>(numberOfResults);
-
-    for (int i = 0; i != numberOfResults; i++) {
-      readProbeHit(is, hits);
+    final String testClass = is.readInternedString();
+    final Description d = new Description(is.readString(), testClass);
+    final Set<BlockLocation> hits = new HashSet<>();
+
+    int classIdPlusOne = is.readVarInt();
+    while (classIdPlusOne != 0) {
+      readProbeHits(is, classIdPlusOne - 1, hits);
+      classIdPlusOne = is.readVarInt();
     }
 
     this.handler.apply(createCoverageResult(is, d, hits));
   }
 
-  private void readProbeHit(final SafeDataInputStream is,
+  private void readProbeHits(final SafeDataInputStream is, final int classId,
       final Set<BlockLocation> hits) {
-    final long encoded = is.readLong();
-    final BlockLocation location = probeToBlock(encoded);
-    hits.add(location);
+    int probe = -1;
+    int gap = is.readVarInt();
+    while (gap != 0) {
+      probe = probe + gap;
+      hits.add(probeToBlock(CodeCoverageStore.encode(classId, probe)));
+      gap = is.readVarInt();
+    }
   }
 
   private BlockLocation probeToBlock(long encoded) {
@@ -92,9 +97,10 @@ final class Receive implements ReceiveStrategy {
   private CoverageResult createCoverageResult(final SafeDataInputStream is,
       final Description d, Collection<BlockLocation> visitedBlocks) {
     final boolean isGreen = is.readBoolean();
-    final int executionTime = is.readInt();
-    final CoverageResult cr = new CoverageResult(d, executionTime, isGreen,
-        visitedBlocks);
+    final int executionTime = is.readVarInt();
+    final int cpuTime = is.readVarInt() - 1;
+    final CoverageResult cr = new CoverageResult(d, executionTime, cpuTime,
+        isGreen, visitedBlocks);
     return cr;
   }
 
@@ -0,0 +1,63 @@
+package org.pitest.coverage.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
+
+import org.pitest.coverage.TestTimings;
+import org.pitest.util.ResultOutputStrategy;
+import org.pitest.util.StringUtil;
+import org.pitest.util.TimingHistogram;
+import org.pitest.util.Unchecked;
+
+/**
+ * Writes the distribution of wall clock and cpu times of each test, in
+ * milliseconds, as XML
+ */
+public class TimingsExporter {
+
+  private static final double[]      PERCENTILES = { 50, 90, 99, 100 };
+
+  private final ResultOutputStrategy outputStrategy;
+
+  public TimingsExporter(final ResultOutputStrategy outputStrategy) {
+    this.outputStrategy = outputStrategy;
+  }
+
+  public void recordTimings(final TestTimings timings) {
+    final Writer out = this.outputStrategy.createWriterForFile("timings.xml");
+    try {
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      out.write("<timings>\n");
+      for (final String each : timings.tests()) {
+        out.write("<test name='" + StringUtil.escapeBasicHtmlChars(each)
+            + "'>\n");
+        writeHistogram(out, "wall", timings.wallTimeOf(each));
+        writeHistogram(out, "cpu", timings.cpuTimeOf(each));
+        out.write("</test>\n");
+      }
+      out.write("</timings>\n");
+      out.close();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static void writeHistogram(final Writer out, final String name,
+      final Optional<TimingHistogram> histogram) throws IOException {
+    if (!histogram.isPresent()) {
+      return;
+    }
+    final TimingHistogram h = histogram.get();
+    final StringBuilder sb = new StringBuilder();
+    sb.append("<").append(name).append(" runs='").append(h.getCount())
+        .append("' mean='").append(h.getMean()).append("'");
+    for (final double each : PERCENTILES) {
+      sb.append(" p").append((int) each).append("='")
+          .append(h.getValueAtPercentile(each)).append("'");
+    }
+    sb.append("/>\n");
+    out.write(sb.toString());
+  }
+
+}
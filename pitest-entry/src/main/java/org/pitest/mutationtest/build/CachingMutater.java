@@ -0,0 +1,46 @@
+package org.pitest.mutationtest.build;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Keeps the mutants generated while a class is intercepted, so interceptors
+ * that examine the same mutant share one copy rather than each generating it.
+ * One is created for each class, so mutants are held only while their class
+ * is intercepted.
+ */
+class CachingMutater implements Mutater {
+
+  private final Mutater                         child;
+  private final Map<MutationIdentifier, Mutant> generated = new HashMap<>();
+
+  CachingMutater(final Mutater child) {
+    this.child = child;
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    return this.generated.computeIfAbsent(id, this.child::getMutation);
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.child.findMutations(classToMutate);
+  }
+
+  /**
+   * The mutant for the given id if it has already been generated
+   */
+  Optional<Mutant> generated(final MutationIdentifier id) {
+    return Optional.ofNullable(this.generated.get(id));
+  }
+
+}
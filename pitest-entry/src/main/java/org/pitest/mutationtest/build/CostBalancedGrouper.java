@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Groups mutations into units of roughly equal estimated cost, so that a
+ * class covered by slow tests does not leave one thread running long after
+ * the others have finished.
+ *
+ * Mutations are kept together by class where possible. Classes costing more
+ * than a unit's share are split, then the pieces are packed most costly
+ * first into whichever unit currently costs least. Units are returned most
+ * costly first.
+ */
+public class CostBalancedGrouper implements MutationGrouper {
+
+  // more units than threads lets the executor even out poor estimates
+  private static final int UNITS_PER_THREAD = 4;
+
+  private final int        numberOfThreads;
+  private final int        unitSize;
+
+  public CostBalancedGrouper(final int numberOfThreads, final int unitSize) {
+    this.numberOfThreads = Math.max(1, numberOfThreads);
+    this.unitSize = unitSize;
+  }
+
+  @Override
+  public List<List<MutationDetails>> groupMutations(
+      final Collection<ClassName> codeClasses,
+      final Collection<MutationDetails> mutations) {
+    if (mutations.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final long target = Math.max(1, MutationCost.of(mutations)
+        / (this.numberOfThreads * UNITS_PER_THREAD));
+
+    final Map<ClassName, Collection<MutationDetails>> bucketed = FCollection
+        .bucket(mutations, byClass());
+    final List<Unit> pieces = new ArrayList<>();
+    for (final Collection<MutationDetails> each : bucketed.values()) {
+      split(pieces, each, target);
+    }
+    pieces.sort(mostCostlyFirst());
+
+    final List<Unit> units = new ArrayList<>();
+    for (final Unit each : pieces) {
+      final Unit into = cheapestWithRoomFor(units, each, target);
+      if (into == null) {
+        units.add(each);
+      } else {
+        into.add(each);
+      }
+    }
+    units.sort(mostCostlyFirst());
+
+    return FCollection.map(units, a -> a.mutations);
+  }
+
+  private void split(final List<Unit> pieces,
+      final Collection<MutationDetails> mutations, final long target) {
+    Unit current = new Unit();
+    for (final MutationDetails each : mutations) {
+      final long cost = MutationCost.of(each);
+      if (!current.mutations.isEmpty()
+          && (((current.cost + cost) > target) || isFull(current, 1))) {
+        pieces.add(current);
+        current = new Unit();
+      }
+      current.mutations.add(each);
+      current.cost = current.cost + cost;
+    }
+    pieces.add(current);
+  }
+
+  // a new unit is only started while there are fewer than the target number,
+  // after that pieces are added to the cheapest unit that has room
+  private Unit cheapestWithRoomFor(final List<Unit> units, final Unit piece,
+      final long target) {
+    if (units.size() < (this.numberOfThreads * UNITS_PER_THREAD)) {
+      final Unit cheapest = cheapest(units, piece);
+      if ((cheapest == null) || ((cheapest.cost + piece.cost) > target)) {
+        return null;
+      }
+      return cheapest;
+    }
+    return cheapest(units, piece);
+  }
+
+  private Unit cheapest(final List<Unit> units, final Unit piece) {
+    Unit cheapest = null;
+    for (final Unit each : units) {
+      if (!isFull(each, piece.mutations.size())
+          && ((cheapest == null) || (each.cost < cheapest.cost))) {
+        cheapest = each;
+      }
+    }
+    return cheapest;
+  }
+
+  private boolean isFull(final Unit unit, final int adding) {
+    return (this.unitSize > 0)
+        && ((unit.mutations.size() + adding) > this.unitSize);
+  }
+
+  private static Comparator<Unit> mostCostlyFirst() {
+    return (a, b) -> Long.compare(b.cost, a.cost);
+  }
+
+  private static Function<MutationDetails, ClassName> byClass() {
+    return a -> a.getClassName();
+  }
+
+  private static final class Unit {
+    private final List<MutationDetails> mutations = new ArrayList<>();
+    private long                        cost;
+
+    void add(final Unit other) {
+      this.mutations.addAll(other.mutations);
+      this.cost = this.cost + other.cost;
+    }
+  }
+
+}
@@ -6,6 +6,21 @@ import org.pitest.classpath.CodeSource;
 
 public class DefaultMutationGrouperFactory implements MutationGrouperFactory {
 
+  private final boolean balanceUnits;
+
+  public DefaultMutationGrouperFactory() {
+    this(false);
+  }
+
+  /**
+   * @param balanceUnits
+   *          group mutations into units of similar estimated cost when
+   *          analysing in more than one thread
+   */
+  public DefaultMutationGrouperFactory(final boolean balanceUnits) {
+    this.balanceUnits = balanceUnits;
+  }
+
   @Override
   public String description() {
     return "Default mutation grouping";
@@ -14,6 +29,10 @@ public class DefaultMutationGrouperFactory implements MutationGrouperFactory {
   @Override
   public MutationGrouper makeFactory(final Properties props,
       final CodeSource codeSource, final int numberOfThreads, final int unitSize) {
+    // with a single thread there is no other thread to balance against
+    if (this.balanceUnits && (numberOfThreads > 1)) {
+      return new CostBalancedGrouper(numberOfThreads, unitSize);
+    }
     return new DefaultGrouper(unitSize);
   }
 
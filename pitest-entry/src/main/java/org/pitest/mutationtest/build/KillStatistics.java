@@ -0,0 +1,116 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Counts of the mutants each test has killed on each line and in each class,
+ * used to run the tests most likely to kill a mutant before the others.
+ */
+public class KillStatistics {
+
+  private final Map<ClassLine, Map<String, Integer>> lineKills  = new ConcurrentHashMap<>();
+  private final Map<ClassName, Map<String, Integer>> classKills = new ConcurrentHashMap<>();
+
+  /**
+   * Counts the kill of a mutant analysed in this run. Results restored from
+   * history report that no tests were run, and are not counted again as
+   * their kills were counted by the run that analysed them.
+   */
+  public void record(final MutationResult result) {
+    if ((result.getStatus() == DetectionStatus.KILLED)
+        && (result.getNumberOfTestsRun() != 0)
+        && result.getKillingTest().isPresent()) {
+      add(result.getDetails().getClassLine(), result.getKillingTest().get(), 1);
+    }
+  }
+
+  /**
+   * Returns a copy of the mutation with the tests that have killed mutants on
+   * the same line moved to the front, followed by those that have killed
+   * mutants elsewhere in the class. The existing order is otherwise kept. The
+   * mutation itself is returned if there is nothing to reorder.
+   */
+  public MutationDetails orderTests(final MutationDetails mutation) {
+    final Map<String, Integer> inClass = this.classKills.get(mutation
+        .getClassName());
+    if ((inClass == null) || (mutation.getTestsInOrder().size() < 2)) {
+      return mutation;
+    }
+    final Map<String, Integer> onLine = orEmpty(this.lineKills.get(mutation
+        .getClassLine()));
+    final Comparator<TestInfo> byLine = Comparator.comparing(
+        t -> onLine.getOrDefault(t.getName(), 0));
+    final Comparator<TestInfo> byClass = Comparator.comparing(
+        t -> inClass.getOrDefault(t.getName(), 0));
+    final List<TestInfo> tests = new ArrayList<>(mutation.getTestsInOrder());
+    Collections.sort(tests, byLine.thenComparing(byClass).reversed());
+
+    final MutationDetails ordered = mutation.withDescription(mutation
+        .getDescription());
+    ordered.addTestsInOrder(tests);
+    return ordered;
+  }
+
+  public boolean isEmpty() {
+    return this.lineKills.isEmpty();
+  }
+
+  public void write(final SafeDataOutputStream dos) {
+    dos.writeVarInt(this.lineKills.size());
+    for (final Map.Entry<ClassLine, Map<String, Integer>> each : this.lineKills
+        .entrySet()) {
+      dos.writeInternedString(each.getKey().getClassName().asInternalName());
+      dos.writeVarInt(each.getKey().getLineNumber());
+      final Map<String, Integer> tests = each.getValue();
+      dos.writeVarInt(tests.size());
+      for (final Map.Entry<String, Integer> test : tests.entrySet()) {
+        dos.writeInternedString(test.getKey());
+        dos.writeVarInt(test.getValue());
+      }
+    }
+  }
+
+  public static KillStatistics read(final SafeDataInputStream dis) {
+    final KillStatistics stats = new KillStatistics();
+    final int lines = dis.readVarInt();
+    for (int i = 0; i != lines; i++) {
+      final ClassLine line = new ClassLine(ClassName.fromString(dis
+          .readInternedString()), dis.readVarInt());
+      final int tests = dis.readVarInt();
+      for (int j = 0; j != tests; j++) {
+        stats.add(line, dis.readInternedString(), dis.readVarInt());
+      }
+    }
+    return stats;
+  }
+
+  private void add(final ClassLine line, final String test, final int kills) {
+    this.lineKills.computeIfAbsent(line, k -> new ConcurrentHashMap<>())
+        .merge(test, kills, Integer::sum);
+    this.classKills
+        .computeIfAbsent(line.getClassName(), k -> new ConcurrentHashMap<>())
+        .merge(test, kills, Integer::sum);
+  }
+
+  private static Map<String, Integer> orEmpty(final Map<String, Integer> map) {
+    if (map == null) {
+      return Collections.emptyMap();
+    }
+    return map;
+  }
+
+}
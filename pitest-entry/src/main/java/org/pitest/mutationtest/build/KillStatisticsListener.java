@@ -0,0 +1,32 @@
+package org.pitest.mutationtest.build;
+
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+
+public class KillStatisticsListener implements MutationResultListener {
+
+  private final KillStatistics stats;
+
+  public KillStatisticsListener(final KillStatistics stats) {
+    this.stats = stats;
+  }
+
+  @Override
+  public void runStart() {
+
+  }
+
+  @Override
+  public void handleMutationResult(final ClassMutationResults metaData) {
+    for (final MutationResult each : metaData.getMutations()) {
+      this.stats.record(each);
+    }
+  }
+
+  @Override
+  public void runEnd() {
+
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Rough estimate of the time taken to analyse mutations, based on the times
+ * recorded for their tests during coverage.
+ *
+ * A mutation is charged for every test assigned to it, as a surviving
+ * mutation runs them all. Each mutation and each test costs at least one, so
+ * mutations with no tests, or only very fast ones, are still counted.
+ */
+final class MutationCost {
+
+  private MutationCost() {
+  }
+
+  static long of(final MutationDetails mutation) {
+    long cost = 1;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost = cost + Math.max(1, each.getTime());
+    }
+    return cost;
+  }
+
+  static long of(final Collection<MutationDetails> mutations) {
+    long cost = 0;
+    for (final MutationDetails each : mutations) {
+      cost = cost + of(each);
+    }
+    return cost;
+  }
+
+}
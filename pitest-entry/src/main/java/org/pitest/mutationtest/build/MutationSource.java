@@ -24,7 +24,6 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.MutationConfig;
-import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.util.Log;
 
@@ -36,20 +35,37 @@ public class MutationSource {
   private final TestPrioritiser      testPrioritiser;
   private final ClassByteArraySource source;
   private final MutationInterceptor interceptor;
+  private final PrebuiltMutants      prebuilt;
 
   public MutationSource(final MutationConfig mutationConfig,
       final TestPrioritiser testPrioritiser,
       final ClassByteArraySource source,
       final MutationInterceptor interceptor) {
+    this(mutationConfig, testPrioritiser, source, interceptor, null);
+  }
+
+  /**
+   * @param prebuilt
+   *          store for mutants generated by interceptors, so they can be sent
+   *          to minions. May be null, in which case they are discarded.
+   */
+  public MutationSource(final MutationConfig mutationConfig,
+      final TestPrioritiser testPrioritiser,
+      final ClassByteArraySource source,
+      final MutationInterceptor interceptor,
+      final PrebuiltMutants prebuilt) {
     this.mutationConfig = mutationConfig;
     this.testPrioritiser = testPrioritiser;
     this.source = new CachingByteArraySource(source, 200);
     this.interceptor = interceptor;
+    this.prebuilt = prebuilt;
   }
 
   public Collection<MutationDetails> createMutations(final ClassName clazz) {
 
-    final Mutater m = this.mutationConfig.createMutator(this.source);
+    // interceptors may each examine the same mutants
+    final CachingMutater m = new CachingMutater(
+        this.mutationConfig.createMutator(this.source));
 
     final Collection<MutationDetails> availableMutations = m
         .findMutations(clazz);
@@ -66,11 +82,26 @@ public class MutationSource {
       this.interceptor.end();
 
       assignTestsToMutations(updatedMutations);
+      keepPrebuiltMutants(updatedMutations, m);
 
       return updatedMutations;
     }
   }
 
+  // mutations with no tests are never sent to a minion
+  private void keepPrebuiltMutants(final Collection<MutationDetails> mutations,
+      final CachingMutater m) {
+    if (this.prebuilt == null) {
+      return;
+    }
+    for (final MutationDetails each : mutations) {
+      if (!each.getTestsInOrder().isEmpty()) {
+        m.generated(each.getId()).ifPresent(
+            mutant -> this.prebuilt.add(each.getId(), mutant.getBytes()));
+      }
+    }
+  }
+
   private void assignTestsToMutations(
       final Collection<MutationDetails> availableMutations) {
     for (final MutationDetails mutation : availableMutations) {
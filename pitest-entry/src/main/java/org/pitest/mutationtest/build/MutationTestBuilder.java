@@ -21,8 +21,13 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
@@ -33,30 +38,52 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  private final Supplier<MutationSource> mutationSources;
+  private final MutationAnalyser         analyser;
+  private final WorkerFactory            workerFactory;
+  private final MutationGrouper          grouper;
+  private final int                      threads;
+  private final boolean                  prioritiseByCost;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, () -> mutationSource, grouper, 1, false);
+  }
+
+  /**
+   * @param mutationSources
+   *          supplies a mutation source for each thread used to find
+   *          mutations. Sources are not shared between threads.
+   * @param threads
+   *          number of threads to find mutations with
+   * @param prioritiseByCost
+   *          start units in order of the estimated cost of their mutations
+   *          rather than their number of mutations
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final Supplier<MutationSource> mutationSources,
+      final MutationGrouper grouper, final int threads,
+      final boolean prioritiseByCost) {
 
-    this.mutationSource = mutationSource;
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
+    this.threads = threads;
+    this.prioritiseByCost = prioritiseByCost;
   }
 
   public List<MutationAnalysisUnit> createMutationTestUnits(
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<>();
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+    final List<MutationDetails> mutations = findMutations(codeClasses);
 
     Collections.sort(mutations, comparator());
 
@@ -72,6 +99,9 @@ public class MutationTestBuilder {
         Prelude.not(statusNotKnown()));
 
     if (!analysed.isEmpty()) {
+      // mutants resolved from history are never sent to a minion
+      this.workerFactory.discardPrebuiltMutants(FCollection.map(analysed,
+          resultToDetails()));
       tus.add(makePreAnalysedUnit(analysed));
     }
 
@@ -90,8 +120,52 @@ public class MutationTestBuilder {
     return (arg0, arg1) -> arg0.getId().compareTo(arg1.getId());
   }
 
-  private Function<ClassName, Iterable<MutationDetails>> classToMutations() {
-    return a -> MutationTestBuilder.this.mutationSource.createMutations(a);
+  private List<MutationDetails> findMutations(
+      final Collection<ClassName> codeClasses) {
+    if ((this.threads <= 1) || (codeClasses.size() <= 1)) {
+      return FCollection.flatMap(codeClasses,
+          classToMutations(this.mutationSources.get()));
+    }
+
+    final ThreadLocal<MutationSource> sources = ThreadLocal
+        .withInitial(this.mutationSources);
+    final List<Callable<Collection<MutationDetails>>> tasks = new ArrayList<>(
+        codeClasses.size());
+    for (final ClassName each : codeClasses) {
+      tasks.add(() -> sources.get().createMutations(each));
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(this.threads);
+    try {
+      final List<MutationDetails> mutations = new ArrayList<>();
+      for (final Future<Collection<MutationDetails>> each : pool
+          .invokeAll(tasks)) {
+        mutations.addAll(each.get());
+      }
+      return mutations;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      throw rethrow(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static RuntimeException rethrow(final Throwable t) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    return Unchecked.translateCheckedException(t);
+  }
+
+  private static Function<ClassName, Iterable<MutationDetails>> classToMutations(
+      final MutationSource source) {
+    return a -> source.createMutations(a);
   }
 
   private MutationAnalysisUnit makePreAnalysedUnit(
@@ -106,7 +180,7 @@ public class MutationTestBuilder {
         uniqueTestClasses);
 
     return new MutationTestUnit(needAnalysis, uniqueTestClasses,
-        this.workerFactory);
+        this.workerFactory, this.prioritiseByCost);
   }
 
   private static Function<MutationResult, MutationDetails> resultToDetails() {
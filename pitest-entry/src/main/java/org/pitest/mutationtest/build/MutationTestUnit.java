@@ -35,12 +35,26 @@ public class MutationTestUnit implements MutationAnalysisUnit {
   private final WorkerFactory               workerFactory;
 
   private final Collection<ClassName>       testClasses;
+  private final int                         priority;
 
   public MutationTestUnit(final Collection<MutationDetails> availableMutations,
       final Collection<ClassName> testClasses, final WorkerFactory workerFactor) {
+    this(availableMutations, testClasses, workerFactor, false);
+  }
+
+  /**
+   * @param prioritiseByCost
+   *          prioritise the unit by the estimated cost of running its
+   *          mutations rather than by their number
+   */
+  public MutationTestUnit(final Collection<MutationDetails> availableMutations,
+      final Collection<ClassName> testClasses, final WorkerFactory workerFactor,
+      final boolean prioritiseByCost) {
     this.availableMutations = availableMutations;
     this.testClasses = testClasses;
     this.workerFactory = workerFactor;
+    this.priority = prioritiseByCost ? (int) Math.min(Integer.MAX_VALUE - 1,
+        MutationCost.of(availableMutations)) : availableMutations.size();
   }
 
   @Override
@@ -57,43 +71,42 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     return reportResults(mutations);
   }
 
+  /**
+   * The number of mutations in the unit or, when units are balanced by cost,
+   * the estimated cost of running them, so that the longest running units are
+   * started first.
+   */
   @Override
   public int priority() {
-    return this.availableMutations.size();
+    return this.priority;
   }
 
   private void runTestsInSeperateProcess(final MutationStatusMap mutations)
-      throws IOException, InterruptedException {
+      throws IOException {
     while (mutations.hasUnrunMutations()) {
       runTestInSeperateProcessForMutationRange(mutations);
     }
   }
 
   private void runTestInSeperateProcessForMutationRange(
-      final MutationStatusMap mutations) throws IOException,
-      InterruptedException {
+      final MutationStatusMap mutations) throws IOException {
 
     final Collection<MutationDetails> remainingMutations = mutations
         .getUnrunMutations();
-    final MutationTestProcess worker = this.workerFactory.createWorker(
-        remainingMutations, this.testClasses);
-    worker.start();
+    final MutationTestProcess worker = this.workerFactory.acquireWorker();
 
     setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(mutations,
         remainingMutations);
 
-    final ExitCode exitCode = waitForMinionToDie(worker);
+    final ExitCode exitCode = worker.analyse(this.workerFactory
+        .createArguments(remainingMutations, this.testClasses));
+    LOG.fine("Exit code was - " + exitCode);
     worker.results(mutations);
+    this.workerFactory.releaseWorker(worker, exitCode);
 
     correctResultForProcessExitCode(mutations, exitCode);
   }
 
-  private static ExitCode waitForMinionToDie(final MutationTestProcess worker) {
-    final ExitCode exitCode = worker.waitToDie();
-    LOG.fine("Exit code was - " + exitCode);
-    return exitCode;
-  }
-
   private static void setFirstMutationToStatusOfStartedInCaseMinionFailsAtBoot(
       final MutationStatusMap mutations,
       final Collection<MutationDetails> remainingMutations) {
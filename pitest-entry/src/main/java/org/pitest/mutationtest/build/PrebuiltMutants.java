@@ -0,0 +1,43 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Mutant bytes generated while building units of analysis, held until the
+ * mutants are sent to a minion so that it need not generate them again.
+ */
+public class PrebuiltMutants {
+
+  private final Map<MutationIdentifier, byte[]> mutants = new ConcurrentHashMap<>();
+
+  public void add(final MutationIdentifier id, final byte[] bytes) {
+    this.mutants.put(id, bytes);
+  }
+
+  /**
+   * Removes and returns the bytes held for any of the given mutations. A
+   * minion relaunched to finish a batch generates the mutants itself.
+   */
+  public Map<MutationIdentifier, byte[]> take(
+      final Collection<MutationDetails> mutations) {
+    final Map<MutationIdentifier, byte[]> taken = new HashMap<>();
+    for (final MutationDetails each : mutations) {
+      final byte[] bytes = this.mutants.remove(each.getId());
+      if (bytes != null) {
+        taken.put(each.getId(), bytes);
+      }
+    }
+    return taken;
+  }
+
+  int size() {
+    return this.mutants.size();
+  }
+
+}
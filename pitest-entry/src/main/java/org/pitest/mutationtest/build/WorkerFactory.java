@@ -3,9 +3,21 @@ package org.pitest.mutationtest.build;
 import static org.pitest.functional.prelude.Prelude.printWith;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.TestTimings;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.EngineArguments;
@@ -13,14 +25,19 @@ import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.execute.MinionArguments;
 import org.pitest.mutationtest.execute.MutationTestProcess;
 import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 import org.pitest.util.SocketFinder;
+import org.pitest.util.TimingHistogram;
 
 public class WorkerFactory {
 
+  private static final Logger         LOG  = Log.getLogger();
+
   private final String                classPath;
   private final File                  baseDir;
   private final TestPluginArguments   pitConfig;
@@ -28,14 +45,59 @@ public class WorkerFactory {
   private final boolean               verbose;
   private final MutationConfig        config;
   private final EngineArguments       args;
+  private final int                   maxMutationsPerMinion;
+  private final PrebuiltMutants       prebuilt;
+  private final TestTimings           timings;
+  private final int                   timeoutPercentile;
+  private final KillStatistics        kills;
+  private final int                   minionThreads;
+
+  private final Deque<MutationTestProcess> idle = new ConcurrentLinkedDeque<>();
+
+  public WorkerFactory(final File baseDir,
+      final TestPluginArguments pitConfig,
+      final MutationConfig mutationConfig,
+      final EngineArguments args,
+      final TimeoutLengthStrategy timeoutStrategy,
+      final boolean verbose,
+      final String classPath,
+      final int maxMutationsPerMinion) {
+    this(baseDir, pitConfig, mutationConfig, args, timeoutStrategy, verbose,
+        classPath, maxMutationsPerMinion, null, new TestTimings(), 0,
+        new KillStatistics(), 1);
+  }
 
+  /**
+   * @param prebuilt
+   *          mutants generated while building units of analysis, sent on to
+   *          minions. May be null.
+   * @param timings
+   *          times of test runs so far, to which those made by minions are
+   *          added
+   * @param timeoutPercentile
+   *          if above zero, timeouts are calculated from this percentile of
+   *          the recorded wall clock times of each test, rather than from the
+   *          time recorded during coverage
+   * @param kills
+   *          counts of mutants killed by each test, from which the tests of
+   *          each mutation are ordered before being sent to a minion
+   * @param minionThreads
+   *          number of mutants each minion analyses at once, each in its own
+   *          class loader
+   */
   public WorkerFactory(final File baseDir,
       final TestPluginArguments pitConfig,
       final MutationConfig mutationConfig,
       final EngineArguments args,
       final TimeoutLengthStrategy timeoutStrategy,
       final boolean verbose,
-      final String classPath) {
+      final String classPath,
+      final int maxMutationsPerMinion,
+      final PrebuiltMutants prebuilt,
+      final TestTimings timings,
+      final int timeoutPercentile,
+      final KillStatistics kills,
+      final int minionThreads) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
@@ -43,14 +105,71 @@ public class WorkerFactory {
     this.baseDir = baseDir;
     this.config = mutationConfig;
     this.args = args;
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+    this.prebuilt = prebuilt;
+    this.timings = timings;
+    this.timeoutPercentile = timeoutPercentile;
+    this.kills = kills;
+    this.minionThreads = minionThreads;
   }
 
-  public MutationTestProcess createWorker(
+  public MinionArguments createArguments(
       final Collection<MutationDetails> remainingMutations,
       final Collection<ClassName> testClasses) {
-    final MinionArguments fileArgs = new MinionArguments(remainingMutations,
+    // the mutations are shared with the reports, so are not reordered in place
+    final List<MutationDetails> ordered = new ArrayList<>(
+        remainingMutations.size());
+    for (final MutationDetails each : remainingMutations) {
+      ordered.add(this.kills.orderTests(each));
+    }
+    final Map<MutationIdentifier, byte[]> mutants = this.prebuilt == null
+        ? Collections.<MutationIdentifier, byte[]> emptyMap()
+        : this.prebuilt.take(ordered);
+    return new MinionArguments(ordered,
         testClasses, this.config.getEngine().getName(), this.args, this.timeoutStrategy,
-        Log.isVerbose(), this.pitConfig);
+        Log.isVerbose(), this.pitConfig, mutants,
+        expectedTestTimes(ordered), this.minionThreads);
+  }
+
+  /**
+   * Releases any mutants built for the given mutations, which will not be
+   * sent to a minion
+   */
+  public void discardPrebuiltMutants(
+      final Collection<MutationDetails> mutations) {
+    if (this.prebuilt != null) {
+      this.prebuilt.take(mutations);
+    }
+  }
+
+  private Map<String, Long> expectedTestTimes(
+      final Collection<MutationDetails> mutations) {
+    if (this.timeoutPercentile <= 0) {
+      return Collections.emptyMap();
+    }
+    final Map<String, Long> expected = new HashMap<>();
+    for (final MutationDetails each : mutations) {
+      for (final TestInfo test : each.getTestsInOrder()) {
+        final Optional<TimingHistogram> wall = this.timings.wallTimeOf(test
+            .getName());
+        if (wall.isPresent() && !expected.containsKey(test.getName())) {
+          expected.put(test.getName(),
+              wall.get().getValueAtPercentile(this.timeoutPercentile));
+        }
+      }
+    }
+    return expected;
+  }
+
+  /**
+   * Returns an idle minion left running by an earlier unit of analysis if one
+   * is available, otherwise launches a new one.
+   */
+  public MutationTestProcess acquireWorker() throws IOException {
+    final MutationTestProcess existing = this.idle.pollFirst();
+    if (existing != null) {
+      return existing;
+    }
 
     final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
         .andLaunchOptions(this.config.getLaunchOptions())
@@ -59,10 +178,39 @@ public class WorkerFactory {
 
     final SocketFinder sf = new SocketFinder();
     final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
+        sf.getNextAvailableServerSocket(), args, this.timings);
+    worker.start();
     return worker;
   }
 
+  /**
+   * Hands a minion back once a batch has completed. Minions that did not exit
+   * cleanly, or have analysed their quota of mutations, are shut down rather
+   * than reused.
+   */
+  public void releaseWorker(final MutationTestProcess worker,
+      final ExitCode exitCode) {
+    if (exitCode.isOk()
+        && (worker.mutationsAnalysed() < this.maxMutationsPerMinion)) {
+      this.idle.addFirst(worker);
+    } else {
+      LOG.fine("Shutting down minion after "
+          + worker.mutationsAnalysed() + " mutations");
+      worker.destroy();
+    }
+  }
+
+  /**
+   * Shuts down any minions still waiting for work
+   */
+  public void shutdown() {
+    MutationTestProcess each = this.idle.pollFirst();
+    while (each != null) {
+      each.destroy();
+      each = this.idle.pollFirst();
+    }
+  }
+
   private SideEffect1<String> captureStdOutIfVerbose() {
     if (this.verbose) {
       return Prelude.printWith("stdout ");
@@ -78,6 +78,11 @@ public enum ConfigOption {
    */
   TIMEOUT_CONST("timeoutConst",
       PercentAndConstantTimeoutStrategy.DEFAULT_CONSTANT),
+  /**
+   * Percentile of the recorded run times of each test to treat as its normal
+   * runtime. If zero the time recorded during coverage is used.
+   */
+  TIMEOUT_PERCENTILE("timeoutPercentile", 0),
   /**
    * Filter limiting tests to be considered
    */
@@ -149,6 +154,44 @@ public enum ConfigOption {
    */
   MUTATION_UNIT_SIZE("mutationUnitSize", 0),
 
+  /**
+   * Maximum number of mutations a minion process may analyse before it is
+   * replaced. If zero a new minion is launched for each unit of analysis.
+   */
+  MAX_MUTATIONS_PER_MINION("maxMutationsPerMinion", 0),
+
+  /**
+   * Do/don't send mutants already generated while building units of analysis
+   * to the minions, rather than generating them again
+   */
+  SEND_PREBUILT_MUTANTS("sendPrebuiltMutants", false),
+
+  /**
+   * Do/don't combine the mutants of each class into a single mutant schema,
+   * selecting the active mutant at runtime rather than redefining the class
+   * for each one
+   */
+  MUTANT_SCHEMATA("mutantSchemata", false),
+
+  /**
+   * Number of mutants each minion analyses at once, each in its own class
+   * loader. Only safe for tests that share no state outside the classes of
+   * the project. Mutant schemata are not used when above one.
+   */
+  MINION_THREADS("minionThreads", 1),
+
+  /**
+   * Do/don't group mutations into units of similar estimated cost when
+   * analysing in more than one thread, rather than a unit per class
+   */
+  BALANCE_MUTATION_UNITS("balanceMutationUnits", false),
+
+  /**
+   * Do/don't reuse the coverage stored alongside the history file for tests
+   * that have not changed, when nothing on the class path has changed
+   */
+  REUSE_COVERAGE("reuseCoverage", false),
+
   /**
    * Do/don't attempt to detect inlined code from finally blocks
    */
@@ -189,6 +232,11 @@ public enum ConfigOption {
    */
   EXPORT_LINE_COVERAGE("exportLineCoverage", false),
 
+  /**
+   * Dump histograms of per test run times to disk
+   */
+  EXPORT_TIMINGS("exportTimings", false),
+
   /**
    * Include launch classpath in analysis
    */
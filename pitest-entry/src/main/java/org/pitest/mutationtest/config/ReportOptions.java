@@ -18,10 +18,6 @@ import static org.pitest.functional.prelude.Prelude.not;
 import static org.pitest.functional.prelude.Prelude.or;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -38,19 +34,14 @@ import org.pitest.classpath.ClassPathRoot;
 import org.pitest.classpath.PathFilter;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.functional.FCollection;
-import java.util.Optional;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
-import org.pitest.mutationtest.incremental.FileWriterFactory;
-import org.pitest.mutationtest.incremental.NullWriterFactory;
-import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.testapi.execute.Pitest;
 import org.pitest.util.Glob;
 import org.pitest.util.ResultOutputStrategy;
-import org.pitest.util.Unchecked;
 
 // FIXME move all logic to SettingsFactory and turn into simple bean
 
@@ -97,6 +88,7 @@ public class ReportOptions {
   private int                            numberOfThreads                = 0;
   private float                          timeoutFactor                  = PercentAndConstantTimeoutStrategy.DEFAULT_FACTOR;
   private long                           timeoutConstant                = PercentAndConstantTimeoutStrategy.DEFAULT_CONSTANT;
+  private int                            timeoutPercentile;
 
   private Collection<Predicate<String>>  targetTests;
 
@@ -112,9 +104,16 @@ public class ReportOptions {
   private TestGroupConfig                groupConfig;
 
   private int                            mutationUnitSize;
+  private int                            maxMutationsPerMinion;
+  private boolean                        sendPrebuiltMutants;
+  private boolean                        useMutantSchemata;
+  private int                            minionThreads                  = 1;
+  private boolean                        balanceMutationUnits;
+  private boolean                        reuseCoverage;
   private boolean                        shouldCreateTimestampedReports = true;
   private boolean                        detectInlinedCode              = false;
   private boolean                        exportLineCoverage             = false;
+  private boolean                        exportTimings                  = false;
   private int                            mutationThreshold;
   private int                            coverageThreshold;
 
@@ -287,6 +286,14 @@ public class ReportOptions {
     this.timeoutConstant = timeoutConstant;
   }
 
+  public int getTimeoutPercentile() {
+    return this.timeoutPercentile;
+  }
+
+  public void setTimeoutPercentile(final int timeoutPercentile) {
+    this.timeoutPercentile = timeoutPercentile;
+  }
+
   public void setTimeoutFactor(final float timeoutFactor) {
     this.timeoutFactor = timeoutFactor;
   }
@@ -421,6 +428,54 @@ public class ReportOptions {
     this.mutationUnitSize = size;
   }
 
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public void setMaxMutationsPerMinion(final int maxMutationsPerMinion) {
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+  }
+
+  public boolean isSendPrebuiltMutants() {
+    return this.sendPrebuiltMutants;
+  }
+
+  public void setSendPrebuiltMutants(final boolean sendPrebuiltMutants) {
+    this.sendPrebuiltMutants = sendPrebuiltMutants;
+  }
+
+  public boolean isUseMutantSchemata() {
+    return this.useMutantSchemata;
+  }
+
+  public void setUseMutantSchemata(final boolean useMutantSchemata) {
+    this.useMutantSchemata = useMutantSchemata;
+  }
+
+  public int getMinionThreads() {
+    return this.minionThreads;
+  }
+
+  public void setMinionThreads(final int minionThreads) {
+    this.minionThreads = minionThreads;
+  }
+
+  public boolean isBalanceMutationUnits() {
+    return this.balanceMutationUnits;
+  }
+
+  public void setBalanceMutationUnits(final boolean balanceMutationUnits) {
+    this.balanceMutationUnits = balanceMutationUnits;
+  }
+
+  public boolean isReuseCoverage() {
+    return this.reuseCoverage;
+  }
+
+  public void setReuseCoverage(final boolean reuseCoverage) {
+    this.reuseCoverage = reuseCoverage;
+  }
+
   public ResultOutputStrategy getReportDirectoryStrategy() {
     return new DirectoryResultOutputStrategy(getReportDir(),
         pickDirectoryStrategy());
@@ -451,31 +506,6 @@ public class ReportOptions {
     this.detectInlinedCode = b;
   }
 
-  public WriterFactory createHistoryWriter() {
-    if (this.historyOutputLocation == null) {
-      return new NullWriterFactory();
-    }
-
-    return new FileWriterFactory(this.historyOutputLocation);
-  }
-
-  public Optional<Reader> createHistoryReader() {
-    if (this.historyInputLocation == null) {
-      return Optional.empty();
-    }
-
-    try {
-      if (this.historyInputLocation.exists()
-          && (this.historyInputLocation.length() > 0)) {
-        return Optional.<Reader> ofNullable(new InputStreamReader(new FileInputStream(
-            this.historyInputLocation), "UTF-8"));
-      }
-      return Optional.empty();
-    } catch (final IOException ex) {
-      throw Unchecked.translateCheckedException(ex);
-    }
-  }
-
   public void setHistoryInputLocation(final File historyInputLocation) {
     this.historyInputLocation = historyInputLocation;
   }
@@ -500,6 +530,14 @@ public class ReportOptions {
     return this.exportLineCoverage;
   }
 
+  public void setExportTimings(final boolean value) {
+    this.exportTimings = value;
+  }
+
+  public boolean shouldExportTimings() {
+    return this.exportTimings;
+  }
+
   public int getMutationThreshold() {
     return this.mutationThreshold;
   }
@@ -601,14 +639,22 @@ public class ReportOptions {
         + ", dependencyAnalysisMaxDistance=" + this.dependencyAnalysisMaxDistance
         + ", jvmArgs=" + this.jvmArgs + ", numberOfThreads=" + this.numberOfThreads
         + ", timeoutFactor=" + this.timeoutFactor + ", timeoutConstant="
-        + this.timeoutConstant + ", targetTests=" + this.targetTests + ", loggingClasses="
+        + this.timeoutConstant + ", timeoutPercentile=" + this.timeoutPercentile
+        + ", targetTests=" + this.targetTests + ", loggingClasses="
         + this.loggingClasses + ", maxMutationsPerClass=" + this.maxMutationsPerClass
         + ", verbose=" + this.verbose + ", failWhenNoMutations="
         + this.failWhenNoMutations + ", outputs=" + this.outputs + ", groupConfig="
         + this.groupConfig + ", mutationUnitSize=" + this.mutationUnitSize
+        + ", maxMutationsPerMinion=" + this.maxMutationsPerMinion
+        + ", sendPrebuiltMutants=" + this.sendPrebuiltMutants
+        + ", useMutantSchemata=" + this.useMutantSchemata
+        + ", minionThreads=" + this.minionThreads
+        + ", balanceMutationUnits=" + this.balanceMutationUnits
+        + ", reuseCoverage=" + this.reuseCoverage
         + ", shouldCreateTimestampedReports=" + this.shouldCreateTimestampedReports
         + ", detectInlinedCode=" + this.detectInlinedCode + ", exportLineCoverage="
-        + this.exportLineCoverage + ", mutationThreshold=" + this.mutationThreshold
+        + this.exportLineCoverage + ", exportTimings=" + this.exportTimings
+        + ", mutationThreshold=" + this.mutationThreshold
         + ", coverageThreshold=" + this.coverageThreshold + ", mutationEngine="
         + this.mutationEngine + ", javaExecutable=" + this.javaExecutable
         + ", includeLaunchClasspath=" + this.includeLaunchClasspath + ", properties="
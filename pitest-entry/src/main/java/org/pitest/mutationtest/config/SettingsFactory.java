@@ -1,5 +1,6 @@
 package org.pitest.mutationtest.config;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -8,6 +9,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.pitest.coverage.CoverageExporter;
+import org.pitest.coverage.InstrumentedClassCache;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.export.DefaultCoverageExporter;
 import org.pitest.coverage.export.NullCoverageExporter;
@@ -81,7 +83,8 @@ public class SettingsFactory {
   public MutationGrouperFactory getMutationGrouper() {
     final Collection<? extends MutationGrouperFactory> groupers = this.plugins
         .findGroupers();
-    return firstOrDefault(groupers, new DefaultMutationGrouperFactory());
+    return firstOrDefault(groupers, new DefaultMutationGrouperFactory(
+        this.options.isBalanceMutationUnits()));
   }
 
   public void describeFeatures(SideEffect1<Feature> enabled, SideEffect1<Feature> disabled) {
@@ -113,7 +116,16 @@ public class SettingsFactory {
     return new CoverageOptions(
         this.options.getTargetClasses(), this.options.getExcludedClasses(),
         this.options.createMinionSettings(), this.options.isVerbose(),
-        this.options.getDependencyAnalysisMaxDistance());
+        this.options.getDependencyAnalysisMaxDistance(),
+        instrumentationCache());
+  }
+
+  private File instrumentationCache() {
+    if (this.options.getHistoryOutputLocation() == null) {
+      return null;
+    }
+    return InstrumentedClassCache.locationFor(this.options
+        .getHistoryOutputLocation());
   }
 
   public CompoundInterceptorFactory getInterceptor() {
@@ -1,10 +1,10 @@
 package org.pitest.mutationtest.execute;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -40,17 +40,17 @@ public class MutationAnalysisExecutor {
 
     signalRunStartToAllListeners();
 
-    final List<Future<MutationMetaData>> results = new ArrayList<>(
-        testUnits.size());
+    final CompletionService<MutationMetaData> results = new ExecutorCompletionService<>(
+        this.executor);
 
     for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
+      results.submit(unit);
     }
 
     this.executor.shutdown();
 
     try {
-      processResult(results);
+      processResult(results, testUnits.size());
     } catch (final InterruptedException e) {
       throw Unchecked.translateCheckedException(e);
     } catch (final ExecutionException e) {
@@ -61,10 +61,12 @@ public class MutationAnalysisExecutor {
 
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
-      throws InterruptedException, ExecutionException {
-    for (final Future<MutationMetaData> f : results) {
-      final MutationMetaData r = f.get();
+  // results are handled in the order units complete, so listeners work while
+  // slower units are still running and no result is held once handled
+  private void processResult(CompletionService<MutationMetaData> results,
+      int numberOfUnits) throws InterruptedException, ExecutionException {
+    for (int i = 0; i != numberOfUnits; i++) {
+      final MutationMetaData r = results.take().get();
       for (final MutationResultListener l : this.listeners) {
         for (final ClassMutationResults cr : r.toClassResults()) {
           l.handleMutationResult(cr);
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.CommonSuperClassCache;
+import org.pitest.coverage.TestTimings;
+import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.CommunicationChannel;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class MutationTestCommunicationChannel {
+
+  private static final Logger LOG = Log.getLogger();
+
+  private static class SendData implements SideEffect1<SafeDataOutputStream> {
+    private final MinionArguments     arguments;
+    private final Map<String, String> superClasses;
+
+    SendData(final MinionArguments arguments,
+        final Map<String, String> superClasses) {
+      this.arguments = arguments;
+      this.superClasses = superClasses;
+    }
+
+    @Override
+    public void apply(final SafeDataOutputStream dos) {
+      if (!this.superClasses.isEmpty()) {
+        dos.writeByte(Id.SUPER_CLASSES);
+        CommonSuperClassCache.write(dos, this.superClasses);
+      }
+      dos.writeByte(Id.ARGUMENTS);
+      dos.write(this.arguments);
+    }
+  }
+
+  private static class Receive implements ReceiveStrategy {
+
+    private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
+    private final Set<String>                                   minionSuperClasses;
+    private final TestTimings                                   timings;
+
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final Set<String> minionSuperClasses, final TestTimings timings) {
+      this.idMap = idMap;
+      this.minionSuperClasses = minionSuperClasses;
+      this.timings = timings;
+    }
+
+    @Override
+    public void apply(final byte control, final SafeDataInputStream is) {
+      switch (control) {
+      case Id.DESCRIBE:
+        handleDescribe(is);
+        break;
+      case Id.REPORT:
+        handleReport(is);
+        break;
+      case Id.SUPER_CLASSES:
+        handleSuperClasses(is);
+        break;
+      case Id.TIMINGS:
+        this.timings.add(TestTimings.read(is));
+        break;
+      }
+    }
+
+    private void handleSuperClasses(final SafeDataInputStream is) {
+      final Map<String, String> found = CommonSuperClassCache.read(is);
+      this.minionSuperClasses.addAll(found.keySet());
+      CommonSuperClassCache.shared().addAll(found);
+      // entries found by this process are already known, and are never
+      // reported from here
+      CommonSuperClassCache.shared().clearFound();
+    }
+
+    private void handleReport(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = MutationResultCodec
+          .readIdentifier(is);
+      final MutationStatusTestPair value = MutationResultCodec.readStatus(is);
+      this.idMap.put(mutation, value);
+      LOG.fine(mutation + " " + value);
+    }
+
+    private void handleDescribe(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = MutationResultCodec
+          .readIdentifier(is);
+      this.idMap.put(mutation, new MutationStatusTestPair(1,
+          DetectionStatus.STARTED));
+    }
+
+  }
+
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<>();
+  // common super classes the minion already holds
+  private final Set<String>                                   minionSuperClasses = ConcurrentHashMap.newKeySet();
+  private final CommunicationChannel                          channel;
+  private final TestTimings                                   timings;
+
+  public MutationTestCommunicationChannel(final ServerSocket socket) {
+    this(socket, new TestTimings());
+  }
+
+  /**
+   * @param timings
+   *          receives the times of test runs reported by the minion
+   */
+  public MutationTestCommunicationChannel(final ServerSocket socket,
+      final TestTimings timings) {
+    this.timings = timings;
+    this.channel = new CommunicationChannel(socket, new Receive(this.idMap,
+        this.minionSuperClasses, timings));
+  }
+
+  /**
+   * Sends a batch of mutations to the minion and waits for it to report that
+   * it has finished with them. Results from any previous batch are discarded.
+   */
+  public ExitCode analyse(final MinionArguments arguments) {
+    this.idMap.clear();
+    return this.channel.converse(new SendData(arguments, unsentSuperClasses()));
+  }
+
+  private Map<String, String> unsentSuperClasses() {
+    final Map<String, String> unsent = CommonSuperClassCache.shared()
+        .entries();
+    unsent.keySet().removeAll(this.minionSuperClasses);
+    this.minionSuperClasses.addAll(unsent.keySet());
+    return unsent;
+  }
+
+  public MutationStatusTestPair getStatus(final MutationIdentifier id) {
+    return this.idMap.get(id);
+  }
+
+  public int resultCount() {
+    return this.idMap.size();
+  }
+
+  public void close() {
+    this.channel.close();
+  }
+
+}
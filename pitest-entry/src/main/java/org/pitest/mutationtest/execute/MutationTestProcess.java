@@ -2,39 +2,57 @@ package org.pitest.mutationtest.execute;
 
 import java.io.IOException;
 import java.net.ServerSocket;
-import java.util.HashMap;
 
+import org.pitest.coverage.TestTimings;
 import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationDetails;
-import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.process.ProcessArgs;
 import org.pitest.process.WrappingProcess;
 import org.pitest.util.ExitCode;
 
 public class MutationTestProcess {
 
-  private final WrappingProcess                 process;
-  private final MutationTestCommunicationThread thread;
+  private final WrappingProcess                  process;
+  private final MutationTestCommunicationChannel channel;
+
+  private int                                    mutationsAnalysed;
 
   public MutationTestProcess(final ServerSocket socket,
-      final ProcessArgs processArgs, final MinionArguments arguments) {
+      final ProcessArgs processArgs) {
+    this(socket, processArgs, new TestTimings());
+  }
+
+  /**
+   * @param timings
+   *          receives the times of test runs made by the minion
+   */
+  public MutationTestProcess(final ServerSocket socket,
+      final ProcessArgs processArgs, final TestTimings timings) {
     this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
         MutationTestMinion.class);
-    this.thread = new MutationTestCommunicationThread(socket, arguments,
-        new HashMap<MutationIdentifier, MutationStatusTestPair>());
-
+    this.channel = new MutationTestCommunicationChannel(socket, timings);
   }
 
-  public void start() throws IOException, InterruptedException {
-    this.thread.start();
+  public void start() throws IOException {
     this.process.start();
   }
 
+  /**
+   * Sends a batch of mutations to the minion and blocks until it has finished
+   * analysing them. A minion that reports anything other than OK must not be
+   * sent further batches.
+   */
+  public ExitCode analyse(final MinionArguments arguments) {
+    final ExitCode exitCode = this.channel.analyse(arguments);
+    this.mutationsAnalysed += this.channel.resultCount();
+    return exitCode;
+  }
+
   public void results(final MutationStatusMap allmutations) throws IOException {
 
     for (final MutationDetails each : allmutations.allMutations()) {
-      final MutationStatusTestPair status = this.thread.getStatus(each.getId());
+      final MutationStatusTestPair status = this.channel.getStatus(each.getId());
       if (status != null) {
         allmutations.setStatusForMutation(each, status);
       }
@@ -42,13 +60,16 @@ public class MutationTestProcess {
 
   }
 
-  public ExitCode waitToDie() {
+  public int mutationsAnalysed() {
+    return this.mutationsAnalysed;
+  }
+
+  public void destroy() {
     try {
-      return this.thread.waitToFinish();
+      this.channel.close();
     } finally {
       this.process.destroy();
     }
-
   }
 
 }
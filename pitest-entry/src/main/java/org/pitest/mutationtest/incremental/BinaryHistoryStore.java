@@ -0,0 +1,341 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * History store backed by an indexed binary file.
+ *
+ * Previous results are read lazily a class at a time, so the cost of loading
+ * history is proportional to the classes analysed rather than to the size of
+ * the file. When the history is both read from and written to the same file,
+ * only the results that differ from those it holds are appended to it.
+ * Results are written in groups and the file is compacted on close if it holds
+ * too many superseded or badly fragmented records.
+ *
+ * History files in the older text format written by
+ * {@link ObjectOutputStreamHistoryStore} are still read.
+ */
+public class BinaryHistoryStore implements HistoryStore {
+
+  private static final Logger                             LOG                = Log.getLogger();
+
+  static final int                                        DEFAULT_GROUP_SIZE = 1024;
+
+  // number of classes whose results are held in memory once read
+  private static final int                                CACHED_CLASSES     = 64;
+
+  private final File                                      input;
+  private final File                                      output;
+  private final int                                       groupSize;
+
+  private HistoryFileReader                               reader;
+  private HistoryFileWriter                               writer;
+  private boolean                                         appending;
+  private Map<ClassName, ClassHistory>                    previousClassPath  = Collections.emptyMap();
+  private Map<MutationIdentifier, MutationStatusTestPair> previousResults    = Collections.emptyMap();
+
+  public BinaryHistoryStore(final File input, final File output) {
+    this(input, output, DEFAULT_GROUP_SIZE);
+  }
+
+  BinaryHistoryStore(final File input, final File output, final int groupSize) {
+    this.input = input;
+    this.output = output;
+    this.groupSize = groupSize;
+  }
+
+  @Override
+  public void initialize() {
+    if ((this.input == null) || !this.input.exists()
+        || (this.input.length() == 0)) {
+      return;
+    }
+
+    if (HistoryFile.isHistoryFile(this.input)) {
+      openBinaryHistory();
+    } else {
+      readTextHistory();
+    }
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    final List<ClassHistory> classes = new ArrayList<>(ids.size());
+    for (final HierarchicalClassId each : ids) {
+      classes.add(new ClassHistory(each, coverageInfo.getCoverageIdForClass(
+          each.getName()).toString(16)));
+    }
+    final HistoryFileWriter out = writer();
+    if (out != null) {
+      out.writeClassPath(classes);
+    }
+  }
+
+  @Override
+  public void recordResult(final MutationResult result) {
+    final HistoryFileWriter out = writer();
+    if (out == null) {
+      return;
+    }
+    final MutationIdentifier id = result.getDetails().getId();
+    final MutationStatusTestPair status = result.getStatusTestPair();
+    if (!this.appending) {
+      out.writeResult(id, status, false);
+      return;
+    }
+    final MutationStatusTestPair previous = this.previousResults.get(id);
+    if ((previous == null) || !isSameResult(previous, status)) {
+      out.writeResult(id, status, previous != null);
+    }
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  /**
+   * Completes the history file and releases the previous one. Must be called
+   * once results have been recorded.
+   */
+  public void close() {
+    if (this.reader != null) {
+      this.reader.close();
+    }
+    if (this.writer == null) {
+      return;
+    }
+
+    final File written = workingFile();
+    this.writer.close();
+    if (this.writer.needsCompaction()) {
+      compact(written);
+    }
+    if (!written.equals(this.output)) {
+      move(written, this.output);
+    }
+  }
+
+  private HistoryFileWriter writer() {
+    if ((this.writer == null) && (this.output != null)) {
+      if ((this.reader != null) && this.reader.isComplete()
+          && isSameFile(this.input, this.output)) {
+        this.appending = true;
+        this.writer = HistoryFileWriter.appendTo(this.output, this.reader,
+            this.groupSize);
+      } else {
+        this.writer = new HistoryFileWriter(workingFile(), this.groupSize);
+      }
+    }
+    return this.writer;
+  }
+
+  // results are read from the previous file throughout the run, so if it
+  // cannot be appended to the new file is written alongside it
+  private File workingFile() {
+    if (!this.appending && isSameFile(this.input, this.output)) {
+      return new File(this.output.getPath() + ".tmp");
+    }
+    return this.output;
+  }
+
+  private void openBinaryHistory() {
+    try {
+      this.reader = HistoryFileReader.open(this.input);
+      this.previousClassPath = this.reader.classPath();
+      this.previousResults = new LazyResults(this.reader);
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read previous history " + e.getMessage());
+    }
+  }
+
+  private void readTextHistory() {
+    final WriterFactory noOutput = new NullWriterFactory();
+    try (Reader text = new InputStreamReader(new FileInputStream(this.input),
+        "UTF-8")) {
+      final HistoryStore legacy = new ObjectOutputStreamHistoryStore(noOutput,
+          Optional.of(text));
+      legacy.initialize();
+      this.previousClassPath = legacy.getHistoricClassPath();
+      this.previousResults = legacy.getHistoricResults();
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read previous history " + e.getMessage());
+    } finally {
+      noOutput.close();
+    }
+  }
+
+  private void compact(final File file) {
+    final File compacted = new File(file.getPath() + ".compact");
+    HistoryFileReader current = null;
+    try {
+      current = HistoryFileReader.open(file);
+      final HistoryFileWriter out = new HistoryFileWriter(compacted,
+          Integer.MAX_VALUE);
+      final Map<ClassName, ClassHistory> classPath = current.classPath();
+      out.writeClassPath(classPath.values());
+      for (final ClassName each : current.index().keySet()) {
+        if (!classPath.isEmpty() && !classPath.containsKey(each)) {
+          continue;
+        }
+        for (final Map.Entry<MutationIdentifier, MutationStatusTestPair> result : current
+            .readResults(each).entrySet()) {
+          out.writeResult(result.getKey(), result.getValue(), false);
+        }
+        out.commit();
+      }
+      out.close();
+    } catch (final IOException e) {
+      LOG.warning("Could not compact history " + e.getMessage());
+      return;
+    } finally {
+      if (current != null) {
+        current.close();
+      }
+    }
+    move(compacted, file);
+  }
+
+  private static void move(final File from, final File to) {
+    try {
+      Files.move(from.toPath(), to.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  // the number of tests run is not compared as results taken from history
+  // are reported as having run none
+  private static boolean isSameResult(final MutationStatusTestPair a,
+      final MutationStatusTestPair b) {
+    return (a.getStatus() == b.getStatus())
+        && a.getKillingTest().equals(b.getKillingTest());
+  }
+
+  private static boolean isSameFile(final File a, final File b) {
+    if ((a == null) || (b == null)) {
+      return false;
+    }
+    try {
+      return a.getCanonicalFile().equals(b.getCanonicalFile());
+    } catch (final IOException e) {
+      return a.getAbsoluteFile().equals(b.getAbsoluteFile());
+    }
+  }
+
+  /**
+   * Read only view of previous results that reads results for a class the
+   * first time one of its mutations is looked up.
+   */
+  private static class LazyResults extends
+      AbstractMap<MutationIdentifier, MutationStatusTestPair> {
+
+    private final HistoryFileReader reader;
+    private final Map<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> cache;
+
+    LazyResults(final HistoryFileReader reader) {
+      this.reader = reader;
+      this.cache = new LinkedHashMap<ClassName, Map<MutationIdentifier, MutationStatusTestPair>>(
+          16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> eldest) {
+          return size() > CACHED_CLASSES;
+        }
+      };
+    }
+
+    @Override
+    public synchronized MutationStatusTestPair get(final Object key) {
+      if (!(key instanceof MutationIdentifier)) {
+        return null;
+      }
+      final ClassName clazz = ((MutationIdentifier) key).getClassName();
+      Map<MutationIdentifier, MutationStatusTestPair> results = this.cache
+          .get(clazz);
+      if (results == null) {
+        results = read(clazz);
+        this.cache.put(clazz, results);
+      }
+      return results.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public synchronized Set<Map.Entry<MutationIdentifier, MutationStatusTestPair>> entrySet() {
+      final Map<MutationIdentifier, MutationStatusTestPair> all = new HashMap<>();
+      for (final ClassName each : this.reader.index().keySet()) {
+        all.putAll(read(each));
+      }
+      return Collections.unmodifiableMap(all).entrySet();
+    }
+
+    private Map<MutationIdentifier, MutationStatusTestPair> read(
+        final ClassName clazz) {
+      try {
+        return this.reader.readResults(clazz);
+      } catch (final IOException | RuntimeException e) {
+        LOG.warning("Could not read previous results for " + clazz + " "
+            + e.getMessage());
+        return Collections.emptyMap();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,151 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.CommonSuperClassCache;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Keeps common super classes found during a run in a file alongside the
+ * history file, so that the next run need not find them again.
+ *
+ * Each type is stored with a hash of its hierarchy. On reading, an entry is
+ * kept only if the hierarchies of both its types are unchanged.
+ */
+public class CommonSuperClassStore {
+
+  private static final Logger        LOG      = Log.getLogger();
+
+  private static final int           MAGIC    = 0x50495453;
+  private static final String        SUFFIX   = ".superclasses";
+
+  private final ClassByteArraySource source;
+  private final Map<String, Long>    hashes   = new HashMap<>();
+  private final Set<String>          visiting = new HashSet<>();
+
+  public CommonSuperClassStore(final ClassByteArraySource source) {
+    this.source = source;
+  }
+
+  /**
+   * The file common super classes are kept in for the given history file
+   */
+  public static File locationFor(final File history) {
+    return new File(history.getPath() + SUFFIX);
+  }
+
+  /**
+   * Adds entries from the file to the cache where they are still valid.
+   */
+  public void read(final File from, final CommonSuperClassCache into) {
+    if ((from == null) || !from.exists()) {
+      return;
+    }
+    try (InputStream is = new BufferedInputStream(new FileInputStream(from))) {
+      final SafeDataInputStream dis = new SafeDataInputStream(is);
+      if (dis.readInt() != MAGIC) {
+        return;
+      }
+      final Map<String, Long> stored = new HashMap<>();
+      final int types = dis.readVarInt();
+      for (int i = 0; i != types; i++) {
+        stored.put(dis.readInternedString(), dis.readLong());
+      }
+
+      final Map<String, String> valid = new HashMap<>();
+      for (final Map.Entry<String, String> each : CommonSuperClassCache.read(
+          dis).entrySet()) {
+        if (isUnchanged(CommonSuperClassCache.types(each.getKey()), stored)) {
+          valid.put(each.getKey(), each.getValue());
+        }
+      }
+      into.addAll(valid);
+      LOG.fine("Read " + valid.size() + " common super classes");
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read common super classes " + e.getMessage());
+    }
+  }
+
+  public void write(final File to, final CommonSuperClassCache from) {
+    if (to == null) {
+      return;
+    }
+    final Map<String, String> entries = from.entries();
+    final Set<String> types = new HashSet<>();
+    for (final String each : entries.keySet()) {
+      for (final String type : CommonSuperClassCache.types(each)) {
+        types.add(type);
+      }
+    }
+
+    try (OutputStream os = new BufferedOutputStream(new FileOutputStream(to))) {
+      final SafeDataOutputStream dos = new SafeDataOutputStream(os);
+      dos.writeInt(MAGIC);
+      dos.writeVarInt(types.size());
+      for (final String each : types) {
+        dos.writeInternedString(each);
+        dos.writeLong(hierarchyHash(each));
+      }
+      CommonSuperClassCache.write(dos, entries);
+      dos.flush();
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not write common super classes " + e.getMessage());
+    }
+  }
+
+  private boolean isUnchanged(final String[] types,
+      final Map<String, Long> stored) {
+    for (final String each : types) {
+      final Long previous = stored.get(each);
+      if ((previous == null) || (previous != hierarchyHash(each))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Hash of the name and kind of a type and of the hierarchies of its super
+   * class and interfaces. Types that cannot be found hash on their name alone.
+   */
+  long hierarchyHash(final String type) {
+    final Long known = this.hashes.get(type);
+    if (known != null) {
+      return known;
+    }
+    long hash = type.hashCode();
+    final Optional<byte[]> bytes = this.source.getBytes(type);
+    if (bytes.isPresent() && this.visiting.add(type)) {
+      final ClassReader reader = new ClassReader(bytes.get());
+      hash = (31 * hash) + (reader.getAccess() & Opcodes.ACC_INTERFACE);
+      if (reader.getSuperName() != null) {
+        hash = (31 * hash) + hierarchyHash(reader.getSuperName());
+      }
+      for (final String each : reader.getInterfaces()) {
+        hash = (31 * hash) + hierarchyHash(each);
+      }
+      this.visiting.remove(type);
+    }
+    this.hashes.put(type, hash);
+    return hash;
+  }
+
+}
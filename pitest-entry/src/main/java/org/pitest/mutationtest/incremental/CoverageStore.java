@@ -0,0 +1,477 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoSource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Keeps the coverage of each test class in a file alongside the history file,
+ * so that the next run need only gather coverage for the tests that may have
+ * changed.
+ *
+ * A test may depend on classes and resources it does not cover, so stored
+ * coverage is only used if nothing on the class path has changed since it was
+ * written. Each test class is also stored with the hierarchical hashes of
+ * itself and of every class it covered, and its coverage is kept only if none
+ * of these hashes have changed. A class that can no longer be found counts as
+ * changed.
+ *
+ * Results are written as they arrive, a test class at a time, to a temporary
+ * file that replaces the previous one once every result has been written.
+ */
+public class CoverageStore {
+
+  private static final Logger          LOG        = Log.getLogger();
+
+  private static final int             MAGIC      = 0x50495445;
+  private static final String          SUFFIX     = ".coverage";
+
+  private static final byte            END        = 0;
+  private static final byte            TEST_CLASS = 1;
+  private static final byte            FAILED     = 2;
+
+  private final ClassInfoSource        source;
+  private final String                 classPath;
+  private final Map<ClassName, String> hashes     = new HashMap<>();
+  private final Map<ClassName, Long>   times      = new HashMap<>();
+
+  /**
+   * @param classPath
+   *          fingerprint of the class path the tests run on, as given by
+   *          {@link #fingerprintOf(String)}. Coverage stored with a different
+   *          fingerprint is not used. If empty, no stored coverage is used.
+   */
+  public CoverageStore(final ClassInfoSource source, final String classPath) {
+    this.source = source;
+    this.classPath = classPath;
+  }
+
+  /**
+   * The file coverage is kept in for the given history file
+   */
+  public static File locationFor(final File history) {
+    return new File(history.getPath() + SUFFIX);
+  }
+
+  /**
+   * A digest of everything on the class path. The files within each
+   * directory are digested by their path and contents, archives by their
+   * path, size and modification time. Returns an empty string if the class
+   * path cannot be read.
+   */
+  public static String fingerprintOf(final String classPath) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      for (final String each : classPath.split(File.pathSeparator)) {
+        if (each.isEmpty()) {
+          continue;
+        }
+        final File element = new File(each).getAbsoluteFile();
+        update(digest, element.getPath());
+        if (element.isDirectory()) {
+          for (final Path file : filesIn(element.toPath())) {
+            update(digest, element.toPath().relativize(file).toString());
+            digest.update(Files.readAllBytes(file));
+          }
+        } else {
+          update(digest, element.length() + " " + element.lastModified());
+        }
+      }
+      return hex(digest.digest());
+    } catch (final IOException | NoSuchAlgorithmException e) {
+      LOG.warning("Could not read class path to check stored coverage "
+          + e.getMessage());
+      return "";
+    }
+  }
+
+  /**
+   * Reads the coverage results of each test class from the file, omitting
+   * test classes that have changed, that cover code that has changed or that
+   * had a failing test. No results are returned if the class path has
+   * changed.
+   */
+  public Map<ClassName, List<CoverageResult>> read(final File from) {
+    final Map<ClassName, List<CoverageResult>> valid = new LinkedHashMap<>();
+    if ((from == null) || !from.exists()) {
+      return valid;
+    }
+    try (InputStream is = new BufferedInputStream(new FileInputStream(from))) {
+      final SafeDataInputStream dis = new SafeDataInputStream(is);
+      if (dis.readInt() != MAGIC) {
+        return valid;
+      }
+      final String stored = dis.readString();
+      final boolean sameClassPath = !this.classPath.isEmpty()
+          && this.classPath.equals(stored);
+      final Set<ClassName> invalid = new HashSet<>();
+      for (byte record = dis.readByte(); record != END; record = dis
+          .readByte()) {
+        final ClassName test = ClassName.fromString(dis.readInternedString());
+        if (record == FAILED) {
+          invalid.add(test);
+          continue;
+        }
+        boolean unchanged = isUnchanged(test, dis.readString())
+            && sameClassPath;
+        final int covered = dis.readVarInt();
+        for (int j = 0; j != covered; j++) {
+          final ClassName clazz = ClassName.fromString(dis
+              .readInternedString());
+          unchanged = isUnchanged(clazz, dis.readString()) && unchanged;
+        }
+        final List<CoverageResult> results = readResults(dis);
+        this.times.merge(test, totalTime(results), Long::sum);
+        if (unchanged) {
+          valid.computeIfAbsent(test, k -> new ArrayList<>()).addAll(results);
+        } else {
+          invalid.add(test);
+        }
+      }
+      valid.keySet().removeAll(invalid);
+      return valid;
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read stored coverage " + e.getMessage());
+      return new LinkedHashMap<>();
+    }
+  }
+
+  /**
+   * The time in milliseconds the tests of the given class took when their
+   * coverage was last stored, or 1 if it is not known. Available for every
+   * test class in the file once it has been read, including those whose
+   * coverage was dropped because they have changed.
+   */
+  public long timeOf(final ClassName test) {
+    return Math.max(1, this.times.getOrDefault(test, 1L));
+  }
+
+  /**
+   * Writes the results of each test class in which every test passed
+   */
+  public void write(final File to, final Collection<CoverageResult> results) {
+    try (Writer writer = writerFor(to)) {
+      for (final CoverageResult each : results) {
+        writer.add(each);
+      }
+      writer.commit();
+    }
+  }
+
+  /**
+   * Returns a writer that stores results in the given file as they are
+   * added. The file is replaced only once the writer is committed. If the
+   * file is null, results are discarded.
+   */
+  public Writer writerFor(final File to) {
+    return new Writer(to);
+  }
+
+  /**
+   * Writes the results of each test class in which every test passed. Only
+   * the results of the test class currently being added by each batch are
+   * held in memory.
+   */
+  public final class Writer implements Closeable {
+
+    private final File                 to;
+    private final File                 temp;
+    private final List<Batch>          batches = new ArrayList<>();
+    private final Batch                direct;
+    private OutputStream               os;
+    private SafeDataOutputStream       dos;
+
+    private Writer(final File to) {
+      this.to = to;
+      this.temp = to == null ? null : new File(to.getPath() + ".tmp");
+      this.direct = batch();
+      if (to != null) {
+        try {
+          this.os = new BufferedOutputStream(new FileOutputStream(this.temp));
+          this.dos = new SafeDataOutputStream(this.os);
+          this.dos.writeInt(MAGIC);
+          this.dos.writeString(CoverageStore.this.classPath);
+        } catch (final IOException | RuntimeException e) {
+          fail(e);
+        }
+      }
+    }
+
+    /**
+     * Adds a result. The results of each test class are expected to be
+     * added together, results from several sources that may interleave
+     * should each be added through their own batch.
+     */
+    public void add(final CoverageResult result) {
+      this.direct.add(result);
+    }
+
+    /**
+     * Returns a batch to add the results of a single source to, such as a
+     * coverage minion. Batches may be added to from different threads.
+     */
+    public synchronized Batch batch() {
+      final Batch batch = new Batch();
+      this.batches.add(batch);
+      return batch;
+    }
+
+    /**
+     * Writes the remaining results and replaces the file with the one
+     * written
+     */
+    public synchronized void commit() {
+      if (this.dos == null) {
+        return;
+      }
+      for (final Batch each : this.batches) {
+        each.writePending();
+      }
+      if (this.dos == null) {
+        return;
+      }
+      try {
+        this.dos.writeByte(END);
+        this.dos.flush();
+        this.os.close();
+        this.dos = null;
+        Files.move(this.temp.toPath(), this.to.toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (final IOException | RuntimeException e) {
+        fail(e);
+      }
+    }
+
+    /**
+     * Discards the results written unless the writer has been committed
+     */
+    @Override
+    public synchronized void close() {
+      if (this.dos != null) {
+        closeQuietly();
+        this.dos = null;
+        this.temp.delete();
+      }
+    }
+
+    /**
+     * Results of one source, written a test class at a time
+     */
+    public final class Batch {
+
+      private final List<CoverageResult> pending = new ArrayList<>();
+      private ClassName                  current;
+      private boolean                    currentFailed;
+
+      private Batch() {
+      }
+
+      public void add(final CoverageResult result) {
+        synchronized (Writer.this) {
+          if (Writer.this.dos == null) {
+            return;
+          }
+          final String testClass = result.getTestUnitDescription()
+              .getFirstTestClass();
+          if (testClass == null) {
+            return;
+          }
+          final ClassName name = ClassName.fromString(testClass);
+          if (!name.equals(this.current)) {
+            writePending();
+            this.current = name;
+          }
+          this.currentFailed = this.currentFailed || !result.isGreenTest();
+          this.pending.add(result);
+        }
+      }
+
+      // a test class with a failing test is recorded as failed, so that any
+      // results of the class written earlier are not used
+      private void writePending() {
+        if ((this.current == null) || (Writer.this.dos == null)) {
+          return;
+        }
+        try {
+          if (this.currentFailed) {
+            Writer.this.dos.writeByte(FAILED);
+            Writer.this.dos.writeInternedString(this.current.asInternalName());
+          } else {
+            writeTestClass(this.current, this.pending);
+          }
+        } catch (final RuntimeException e) {
+          fail(e);
+        }
+        this.pending.clear();
+        this.current = null;
+        this.currentFailed = false;
+      }
+
+    }
+
+    private void writeTestClass(final ClassName test,
+        final List<CoverageResult> results) {
+      this.dos.writeByte(TEST_CLASS);
+      this.dos.writeInternedString(test.asInternalName());
+      this.dos.writeString(hashOf(test));
+      final Set<ClassName> covered = coveredClasses(results);
+      this.dos.writeVarInt(covered.size());
+      for (final ClassName clazz : covered) {
+        this.dos.writeInternedString(clazz.asInternalName());
+        this.dos.writeString(hashOf(clazz));
+      }
+      writeResults(this.dos, results);
+    }
+
+    private void fail(final Exception e) {
+      LOG.warning("Could not write coverage " + e.getMessage());
+      if (this.os != null) {
+        closeQuietly();
+      }
+      this.dos = null;
+      this.temp.delete();
+    }
+
+    private void closeQuietly() {
+      try {
+        this.os.close();
+      } catch (final IOException e) {
+        // the file is being discarded
+      }
+    }
+
+  }
+
+  private static long totalTime(final List<CoverageResult> results) {
+    long time = 0;
+    for (final CoverageResult each : results) {
+      time = time + each.getExecutionTime();
+    }
+    return time;
+  }
+
+  private static Set<ClassName> coveredClasses(
+      final List<CoverageResult> results) {
+    final Set<ClassName> covered = new TreeSet<>();
+    for (final CoverageResult each : results) {
+      for (final BlockLocation block : each.getCoverage()) {
+        covered.add(block.getLocation().getClassName());
+      }
+    }
+    return covered;
+  }
+
+  private static void writeResults(final SafeDataOutputStream dos,
+      final List<CoverageResult> results) {
+    dos.writeVarInt(results.size());
+    for (final CoverageResult each : results) {
+      dos.writeInternedString(each.getTestUnitDescription()
+          .getFirstTestClass());
+      dos.writeString(each.getTestUnitDescription().getName());
+      dos.writeVarInt(each.getExecutionTime());
+      dos.writeVarInt(each.getCpuTime() + 1);
+      dos.writeVarInt(each.getCoverage().size());
+      for (final BlockLocation block : each.getCoverage()) {
+        final Location loc = block.getLocation();
+        dos.writeInternedString(loc.getClassName().asInternalName());
+        dos.writeInternedString(loc.getMethodName().name());
+        dos.writeInternedString(loc.getMethodDesc());
+        dos.writeVarInt(block.getBlock());
+      }
+    }
+  }
+
+  private static List<CoverageResult> readResults(
+      final SafeDataInputStream dis) {
+    final int count = dis.readVarInt();
+    final List<CoverageResult> results = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      final String testClass = dis.readInternedString();
+      final Description d = new Description(dis.readString(), testClass);
+      final int executionTime = dis.readVarInt();
+      final int cpuTime = dis.readVarInt() - 1;
+      final int blocks = dis.readVarInt();
+      final List<BlockLocation> visited = new ArrayList<>(blocks);
+      for (int j = 0; j != blocks; j++) {
+        final Location loc = Location.location(
+            ClassName.fromString(dis.readInternedString()),
+            MethodName.fromString(dis.readInternedString()),
+            dis.readInternedString());
+        visited.add(new BlockLocation(loc, dis.readVarInt()));
+      }
+      results.add(new CoverageResult(d, executionTime, cpuTime, true,
+          visited));
+    }
+    return results;
+  }
+
+  private static List<Path> filesIn(final Path dir) throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      return files.filter(Files::isRegularFile).sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static void update(final MessageDigest digest, final String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static String hex(final byte[] digest) {
+    final StringBuilder sb = new StringBuilder(digest.length * 2);
+    for (final byte each : digest) {
+      sb.append(Character.forDigit((each >> 4) & 0xf, 16)).append(
+          Character.forDigit(each & 0xf, 16));
+    }
+    return sb.toString();
+  }
+
+  // a class that cannot be found has no hash, and is treated as changed
+  private boolean isUnchanged(final ClassName clazz, final String stored) {
+    final String hash = hashOf(clazz);
+    return !hash.isEmpty() && hash.equals(stored);
+  }
+
+  private String hashOf(final ClassName clazz) {
+    return this.hashes.computeIfAbsent(clazz, c -> this.source.fetchClass(c)
+        .map(ClassInfo::getHierarchicalId)
+        .map(id -> id.getHierarchicalHash()).orElse(""));
+  }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.execute.MutationResultCodec;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Layout of the binary history file.
+ *
+ * <pre>
+ * file    := MAGIC VERSION record*
+ * record  := type(byte) length(int) payload
+ * </pre>
+ *
+ * Each run appends a class path record, then one results record per class for
+ * each group of results committed, then an index of every results record in
+ * the file and finally a trailer locating the index. Records are never
+ * rewritten, so a file cut short by a crash can be recovered by scanning.
+ *
+ * The index also locates the class path of the last run and counts the results
+ * in the file that later records supersede, so that it can be decided when the
+ * file is worth compacting.
+ */
+final class HistoryFile {
+
+  static final int  MAGIC          = 0x50495448;
+  static final byte VERSION        = 2;
+  static final int  HEADER_LENGTH  = 5;
+
+  static final byte CLASS_PATH     = 1;
+  static final byte RESULTS        = 2;
+  static final byte INDEX          = 3;
+  static final byte TRAILER        = 4;
+
+  static final int  RECORD_HEADER  = 5;
+  static final int  TRAILER_LENGTH = 12;
+
+  private HistoryFile() {
+  }
+
+  /**
+   * True if the file starts with the magic number, whatever version of the
+   * format it was written in.
+   */
+  static boolean isHistoryFile(final File file) {
+    try (InputStream is = new FileInputStream(file)) {
+      final byte[] header = new byte[HEADER_LENGTH];
+      if (is.read(header) != HEADER_LENGTH) {
+        return false;
+      }
+      final SafeDataInputStream dis = new SafeDataInputStream(
+          new ByteArrayInputStream(header));
+      return dis.readInt() == MAGIC;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Location of a results record within the file
+   */
+  static final class Block {
+    final long offset;
+    final int  length;
+
+    Block(final long offset, final int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  /**
+   * Contents of the index record
+   */
+  static final class Index {
+    final long                        classPath;
+    final long                        results;
+    final long                        superseded;
+    final Map<ClassName, List<Block>> blocks;
+
+    Index(final long classPath, final long results, final long superseded,
+        final Map<ClassName, List<Block>> blocks) {
+      this.classPath = classPath;
+      this.results = results;
+      this.superseded = superseded;
+      this.blocks = blocks;
+    }
+  }
+
+  static byte[] encodeClassPath(final Collection<ClassHistory> classes) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    dos.writeVarInt(classes.size());
+    for (final ClassHistory each : classes) {
+      final HierarchicalClassId id = each.getId();
+      dos.writeString(id.getName().asJavaName());
+      dos.writeLong(id.getId().getHash());
+      dos.writeString(id.getHierarchicalHash());
+      dos.writeString(each.getCoverageId());
+    }
+    dos.flush();
+    return bos.toByteArray();
+  }
+
+  static Map<ClassName, ClassHistory> decodeClassPath(final byte[] payload) {
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(payload));
+    final int count = dis.readVarInt();
+    final Map<ClassName, ClassHistory> classes = new LinkedHashMap<>();
+    for (int i = 0; i != count; i++) {
+      final ClassName name = ClassName.fromString(dis.readString());
+      final long hash = dis.readLong();
+      final HierarchicalClassId id = new HierarchicalClassId(
+          new ClassIdentifier(hash, name), dis.readString());
+      classes.put(name, new ClassHistory(id, dis.readString()));
+    }
+    return classes;
+  }
+
+  static byte[] encodeResults(final ClassName clazz,
+      final Map<MutationIdentifier, MutationStatusTestPair> results) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    dos.writeInternedString(clazz.asInternalName());
+    dos.writeVarInt(results.size());
+    for (final Map.Entry<MutationIdentifier, MutationStatusTestPair> each : results
+        .entrySet()) {
+      MutationResultCodec.writeIdentifier(dos, each.getKey());
+      MutationResultCodec.writeStatus(dos, each.getValue());
+    }
+    dos.flush();
+    return bos.toByteArray();
+  }
+
+  static ClassName decodeResultsClass(final byte[] payload) {
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(payload));
+    return ClassName.fromString(dis.readInternedString());
+  }
+
+  static void decodeResults(final byte[] payload,
+      final Map<MutationIdentifier, MutationStatusTestPair> into) {
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(payload));
+    dis.readInternedString();
+    final int count = dis.readVarInt();
+    for (int i = 0; i != count; i++) {
+      final MutationIdentifier id = MutationResultCodec.readIdentifier(dis);
+      into.put(id, MutationResultCodec.readStatus(dis));
+    }
+  }
+
+  static byte[] encodeIndex(final Index index) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    dos.writeLong(index.classPath);
+    dos.writeLong(index.results);
+    dos.writeLong(index.superseded);
+    dos.writeVarInt(index.blocks.size());
+    for (final Map.Entry<ClassName, List<Block>> each : index.blocks
+        .entrySet()) {
+      dos.writeString(each.getKey().asJavaName());
+      dos.writeVarInt(each.getValue().size());
+      for (final Block block : each.getValue()) {
+        dos.writeLong(block.offset);
+        dos.writeInt(block.length);
+      }
+    }
+    dos.flush();
+    return bos.toByteArray();
+  }
+
+  static Index decodeIndex(final byte[] payload) {
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(payload));
+    final long classPath = dis.readLong();
+    final long results = dis.readLong();
+    final long superseded = dis.readLong();
+    final int count = dis.readVarInt();
+    final Map<ClassName, List<Block>> index = new LinkedHashMap<>();
+    for (int i = 0; i != count; i++) {
+      final ClassName name = ClassName.fromString(dis.readString());
+      final int blocks = dis.readVarInt();
+      final List<Block> list = new ArrayList<>(blocks);
+      for (int j = 0; j != blocks; j++) {
+        list.add(new Block(dis.readLong(), dis.readInt()));
+      }
+      index.put(name, list);
+    }
+    return new Index(classPath, results, superseded, index);
+  }
+
+}
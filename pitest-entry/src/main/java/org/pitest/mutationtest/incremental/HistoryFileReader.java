@@ -0,0 +1,273 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.HistoryFile.Block;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+
+/**
+ * Reads a binary history file. The class path and index are read when the file
+ * is opened, results are read a class at a time on request.
+ *
+ * The class path is that written by the last run to complete, results are read
+ * from every run.
+ */
+final class HistoryFileReader {
+
+  private static final Logger          LOG       = Log.getLogger();
+
+  private final FileChannel            channel;
+  private final long                   size;
+  private Map<ClassName, ClassHistory> classPath = Collections.emptyMap();
+  private Map<ClassName, List<Block>>  index     = new LinkedHashMap<>();
+  private long                         classPathOffset;
+  private long                         results;
+  private long                         superseded;
+  private boolean                      complete;
+
+  private HistoryFileReader(final FileChannel channel) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+  }
+
+  static HistoryFileReader open(final File file) throws IOException {
+    final HistoryFileReader reader = new HistoryFileReader(FileChannel.open(
+        file.toPath(), StandardOpenOption.READ));
+    try {
+      reader.readIndex();
+      return reader;
+    } catch (final IOException | RuntimeException e) {
+      reader.close();
+      throw e;
+    }
+  }
+
+  Map<ClassName, ClassHistory> classPath() {
+    return this.classPath;
+  }
+
+  Map<ClassName, List<Block>> index() {
+    return this.index;
+  }
+
+  /**
+   * Offset of the class path record read by {@link #classPath()}
+   */
+  long classPathOffset() {
+    return this.classPathOffset;
+  }
+
+  /**
+   * Number of results in the file, including those superseded
+   */
+  long results() {
+    return this.results;
+  }
+
+  /**
+   * Number of results in the file superseded by later records
+   */
+  long superseded() {
+    return this.superseded;
+  }
+
+  /**
+   * True if the file ends with an index, so can be appended to
+   */
+  boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Reads all results recorded for a class. Where a mutation was recorded
+   * more than once the last record wins.
+   */
+  Map<MutationIdentifier, MutationStatusTestPair> readResults(
+      final ClassName clazz) throws IOException {
+    final List<Block> blocks = this.index.get(clazz);
+    if (blocks == null) {
+      return Collections.emptyMap();
+    }
+    final Map<MutationIdentifier, MutationStatusTestPair> results = new HashMap<>();
+    for (final Block each : blocks) {
+      HistoryFile.decodeResults(
+          read(each.offset + HistoryFile.RECORD_HEADER, each.length), results);
+    }
+    return results;
+  }
+
+  void close() {
+    try {
+      this.channel.close();
+    } catch (final IOException e) {
+      LOG.fine("Could not close history file " + e.getMessage());
+    }
+  }
+
+  private void readIndex() throws IOException {
+    final SafeDataInputStream header = stream(read(0,
+        HistoryFile.HEADER_LENGTH));
+    header.readInt();
+    final byte version = header.readByte();
+    if (version != HistoryFile.VERSION) {
+      throw new IOException("Unsupported history file version " + version);
+    }
+    if (readFromTrailer()) {
+      this.complete = true;
+    } else {
+      LOG.warning("History file has no index, probably because the last run"
+          + " did not complete. Recovering what results it holds.");
+      scan();
+    }
+  }
+
+  private boolean readFromTrailer() throws IOException {
+    final int trailerSize = HistoryFile.RECORD_HEADER
+        + HistoryFile.TRAILER_LENGTH;
+    if (this.size < (HistoryFile.HEADER_LENGTH + trailerSize)) {
+      return false;
+    }
+    final SafeDataInputStream trailer = stream(read(this.size - trailerSize,
+        trailerSize));
+    if ((trailer.readByte() != HistoryFile.TRAILER)
+        || (trailer.readInt() != HistoryFile.TRAILER_LENGTH)) {
+      return false;
+    }
+    final long indexOffset = trailer.readLong();
+    if ((trailer.readInt() != HistoryFile.MAGIC)
+        || (indexOffset < HistoryFile.HEADER_LENGTH)
+        || (indexOffset > (this.size - trailerSize))) {
+      return false;
+    }
+
+    final SafeDataInputStream header = stream(read(indexOffset,
+        HistoryFile.RECORD_HEADER));
+    if (header.readByte() != HistoryFile.INDEX) {
+      return false;
+    }
+    final HistoryFile.Index decoded = HistoryFile.decodeIndex(read(indexOffset
+        + HistoryFile.RECORD_HEADER, header.readInt()));
+    final Map<ClassName, ClassHistory> classes = readClassPath(decoded.classPath);
+    if (classes == null) {
+      return false;
+    }
+    this.index = decoded.blocks;
+    this.classPath = classes;
+    this.classPathOffset = decoded.classPath;
+    this.results = decoded.results;
+    this.superseded = decoded.superseded;
+    return true;
+  }
+
+  private Map<ClassName, ClassHistory> readClassPath(final long offset)
+      throws IOException {
+    if ((offset < HistoryFile.HEADER_LENGTH)
+        || ((offset + HistoryFile.RECORD_HEADER) > this.size)) {
+      return null;
+    }
+    final SafeDataInputStream header = stream(read(offset,
+        HistoryFile.RECORD_HEADER));
+    if (header.readByte() != HistoryFile.CLASS_PATH) {
+      return null;
+    }
+    return HistoryFile.decodeClassPath(read(offset + HistoryFile.RECORD_HEADER,
+        header.readInt()));
+  }
+
+  private void scan() throws IOException {
+    // the class path of a run cut short does not describe the classes whose
+    // results it did not get to write, so that of the last complete run is
+    // used if there is one
+    long latest = -1;
+    long position = HistoryFile.HEADER_LENGTH;
+    while ((position + HistoryFile.RECORD_HEADER) <= this.size) {
+      final SafeDataInputStream header = stream(read(position,
+          HistoryFile.RECORD_HEADER));
+      final byte type = header.readByte();
+      final int length = header.readInt();
+      final long payloadStart = position + HistoryFile.RECORD_HEADER;
+      if ((length < 0) || ((payloadStart + length) > this.size)) {
+        break;
+      }
+      if (type == HistoryFile.CLASS_PATH) {
+        latest = position;
+      } else if (type == HistoryFile.RESULTS) {
+        final ClassName clazz = HistoryFile.decodeResultsClass(read(
+            payloadStart, length));
+        blocksFor(clazz).add(new Block(position, length));
+      } else if (type == HistoryFile.TRAILER) {
+        this.classPathOffset = latest;
+      } else if (type != HistoryFile.INDEX) {
+        break;
+      }
+      position = payloadStart + length;
+    }
+    if (this.classPathOffset == 0) {
+      this.classPathOffset = latest;
+    }
+    final Map<ClassName, ClassHistory> classes = readClassPath(
+        this.classPathOffset);
+    if (classes != null) {
+      this.classPath = classes;
+    }
+  }
+
+  private List<Block> blocksFor(final ClassName clazz) {
+    List<Block> blocks = this.index.get(clazz);
+    if (blocks == null) {
+      blocks = new ArrayList<>();
+      this.index.put(clazz, blocks);
+    }
+    return blocks;
+  }
+
+  private byte[] read(final long position, final int length)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    long at = position;
+    while (buffer.hasRemaining()) {
+      final int count = this.channel.read(buffer, at);
+      if (count < 0) {
+        throw new IOException("Unexpected end of history file");
+      }
+      at = at + count;
+    }
+    return buffer.array();
+  }
+
+  private static SafeDataInputStream stream(final byte[] bytes) {
+    return new SafeDataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.HistoryFile.Block;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * Appends records to a binary history file. Results are held back and written
+ * a group at a time, each group as one results record per class, so the file
+ * is flushed once per group rather than once per result.
+ */
+class HistoryFileWriter {
+
+  private final SafeDataOutputStream           dos;
+  private final int                            groupSize;
+  private final Map<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> pending = new LinkedHashMap<>();
+  private final Map<ClassName, List<Block>>    index    = new LinkedHashMap<>();
+  private final Set<ClassName>                 classes  = new HashSet<>();
+
+  private long                                 position;
+  private long                                 classPath = -1;
+  private int                                  pendingCount;
+  private long                                 results;
+  private long                                 superseded;
+
+  private HistoryFileWriter(final File file, final boolean append,
+      final int groupSize) {
+    this.groupSize = groupSize;
+    try {
+      final File parent = file.getAbsoluteFile().getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      this.position = append ? file.length() : 0;
+      this.dos = new SafeDataOutputStream(new BufferedOutputStream(
+          new FileOutputStream(file, append)));
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Starts a new file, replacing any that exists
+   */
+  HistoryFileWriter(final File file, final int groupSize) {
+    this(file, false, groupSize);
+    this.dos.writeInt(HistoryFile.MAGIC);
+    this.dos.writeByte(HistoryFile.VERSION);
+    this.position = HistoryFile.HEADER_LENGTH;
+  }
+
+  /**
+   * Appends to a complete file, indexing its records together with those
+   * written
+   */
+  static HistoryFileWriter appendTo(final File file,
+      final HistoryFileReader existing, final int groupSize) {
+    final HistoryFileWriter writer = new HistoryFileWriter(file, true,
+        groupSize);
+    for (final Map.Entry<ClassName, List<Block>> each : existing.index()
+        .entrySet()) {
+      writer.index.put(each.getKey(), new ArrayList<>(each.getValue()));
+    }
+    writer.classPath = existing.classPathOffset();
+    writer.results = existing.results();
+    writer.superseded = existing.superseded();
+    return writer;
+  }
+
+  void writeClassPath(final Collection<ClassHistory> classes) {
+    this.classPath = this.position;
+    this.classes.clear();
+    for (final ClassHistory each : classes) {
+      this.classes.add(each.getName());
+    }
+    writeRecord(HistoryFile.CLASS_PATH, HistoryFile.encodeClassPath(classes));
+    this.dos.flush();
+  }
+
+  /**
+   * Holds a result to be written with the next group.
+   *
+   * @param supersedes
+   *          true if the file already holds a result for the mutation
+   */
+  void writeResult(final MutationIdentifier id,
+      final MutationStatusTestPair status, final boolean supersedes) {
+    Map<MutationIdentifier, MutationStatusTestPair> forClass = this.pending
+        .get(id.getClassName());
+    if (forClass == null) {
+      forClass = new LinkedHashMap<>();
+      this.pending.put(id.getClassName(), forClass);
+    }
+    if (forClass.put(id, status) != null) {
+      return;
+    }
+    this.results++;
+    if (supersedes) {
+      this.superseded++;
+    }
+    this.pendingCount++;
+    if (this.pendingCount >= this.groupSize) {
+      commit();
+    }
+  }
+
+  /**
+   * Writes all held results to the file and flushes it.
+   */
+  void commit() {
+    for (final Map.Entry<ClassName, Map<MutationIdentifier, MutationStatusTestPair>> each : this.pending
+        .entrySet()) {
+      final long offset = this.position;
+      final byte[] payload = HistoryFile.encodeResults(each.getKey(),
+          each.getValue());
+      writeRecord(HistoryFile.RESULTS, payload);
+      blocksFor(each.getKey()).add(new Block(offset, payload.length));
+    }
+    this.pending.clear();
+    this.pendingCount = 0;
+    this.dos.flush();
+  }
+
+  /**
+   * Commits held results, then writes the index and trailer and closes the
+   * file.
+   */
+  void close() {
+    commit();
+    final long indexOffset = this.position;
+    writeRecord(HistoryFile.INDEX, HistoryFile.encodeIndex(new HistoryFile.Index(
+        this.classPath, this.results, this.superseded, this.index)));
+    this.dos.writeByte(HistoryFile.TRAILER);
+    this.dos.writeInt(HistoryFile.TRAILER_LENGTH);
+    this.dos.writeLong(indexOffset);
+    this.dos.writeInt(HistoryFile.MAGIC);
+    this.dos.close();
+  }
+
+  /**
+   * True if a quarter of the results in the file are superseded, if it holds
+   * results for classes no longer on the class path, or if so many classes
+   * have results split across records that rewriting it would be worthwhile.
+   */
+  boolean needsCompaction() {
+    int fragmented = 0;
+    boolean removed = false;
+    for (final Map.Entry<ClassName, List<Block>> each : this.index
+        .entrySet()) {
+      if (each.getValue().size() > 1) {
+        fragmented++;
+      }
+      removed = removed
+          || (!this.classes.isEmpty() && !this.classes.contains(each.getKey()));
+    }
+    return ((this.superseded * 4) > this.results) || removed
+        || ((fragmented * 4) > this.index.size());
+  }
+
+  private List<Block> blocksFor(final ClassName clazz) {
+    List<Block> blocks = this.index.get(clazz);
+    if (blocks == null) {
+      blocks = new ArrayList<>();
+      this.index.put(clazz, blocks);
+    }
+    return blocks;
+  }
+
+  private void writeRecord(final byte type, final byte[] payload) {
+    this.dos.writeByte(type);
+    this.dos.writeBytes(payload);
+    this.position = this.position + HistoryFile.RECORD_HEADER + payload.length;
+  }
+
+}
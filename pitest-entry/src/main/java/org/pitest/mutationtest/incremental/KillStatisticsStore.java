@@ -0,0 +1,78 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.build.KillStatistics;
+import org.pitest.util.Log;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Keeps the counts of mutants killed by each test in a file alongside the
+ * history file, so that later runs start with the tests that have killed
+ * mutants before.
+ *
+ * The file is named after the history output file with a .kills suffix. It
+ * holds no results, so may be deleted at any time at the cost of tests being
+ * run in their default order by the next run.
+ */
+public final class KillStatisticsStore {
+
+  private static final Logger LOG    = Log.getLogger();
+
+  private static final int    MAGIC  = 0x5049544b;
+  private static final String SUFFIX = ".kills";
+
+  private KillStatisticsStore() {
+  }
+
+  /**
+   * The file kill statistics are kept in for the given history file
+   */
+  public static File locationFor(final File history) {
+    return new File(history.getPath() + SUFFIX);
+  }
+
+  /**
+   * Reads statistics from the file, or returns empty statistics if it is
+   * missing or cannot be read.
+   */
+  public static KillStatistics read(final File from) {
+    if ((from == null) || !from.exists()) {
+      return new KillStatistics();
+    }
+    try (InputStream is = new BufferedInputStream(new FileInputStream(from))) {
+      final SafeDataInputStream dis = new SafeDataInputStream(is);
+      if (dis.readInt() != MAGIC) {
+        return new KillStatistics();
+      }
+      return KillStatistics.read(dis);
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read kill statistics " + e.getMessage());
+      return new KillStatistics();
+    }
+  }
+
+  public static void write(final File to, final KillStatistics stats) {
+    if (to == null) {
+      return;
+    }
+    try (OutputStream os = new BufferedOutputStream(new FileOutputStream(to))) {
+      final SafeDataOutputStream dos = new SafeDataOutputStream(os);
+      dos.writeInt(MAGIC);
+      stats.write(dos);
+      dos.flush();
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not write kill statistics " + e.getMessage());
+    }
+  }
+
+}
@@ -42,9 +42,15 @@ enum Tag {
   mutation, sourceFile, mutatedClass, mutatedMethod, methodDescription, lineNumber, mutator, index, killingTest, description, block;
 }
 
+/**
+ * Writes mutations.xml a mutation at a time. Each mutation node is built in a
+ * buffer reused for the whole report and written straight to the output, so
+ * no string is created per node.
+ */
 public class XMLReportListener implements MutationResultListener {
 
-  private final Writer out;
+  private final Writer        out;
+  private final StringBuilder node = new StringBuilder();
 
   public XMLReportListener(final ResultOutputStrategy outputStrategy) {
     this(outputStrategy.createWriterForFile("mutations.xml"));
@@ -61,65 +67,49 @@ public class XMLReportListener implements MutationResultListener {
   }
 
   private void writeMutationResultXML(final MutationResult result) {
-    write(makeNode(makeMutationNode(result), makeMutationAttributes(result),
-        mutation) + "\n");
-  }
-
-  private String makeMutationAttributes(final MutationResult result) {
-    return "detected='" + result.getStatus().isDetected() + "' status='"
-        + result.getStatus() + "' numberOfTestsRun='"
-        + result.getNumberOfTestsRun() + "'";
-  }
-
-  private String makeMutationNode(final MutationResult mutation) {
-    final MutationDetails details = mutation.getDetails();
-    return makeNode(clean(details.getFilename()), sourceFile)
-        + makeNode(clean(details.getClassName().asJavaName()), mutatedClass)
-        + makeNode(clean(details.getMethod().name()), mutatedMethod)
-        + makeNode(clean(details.getId().getLocation().getMethodDesc()),
-            methodDescription)
-        + makeNode("" + details.getLineNumber(), lineNumber)
-        + makeNode(clean(details.getMutator()), mutator)
-        + makeNode("" + details.getFirstIndex(), index)
-        + makeNode("" + details.getBlock(), block)
-        + makeNode(createKillingTestDesc(mutation.getKillingTest()),
-            killingTest)
-        + makeNode(clean(details.getDescription()), description);
-  }
-
-  private String clean(final String value) {
-    return StringUtil.escapeBasicHtmlChars(value);
+    final MutationDetails details = result.getDetails();
+    this.node.setLength(0);
+    this.node.append('<').append(mutation).append(" detected='")
+        .append(result.getStatus().isDetected()).append("' status='")
+        .append(result.getStatus()).append("' numberOfTestsRun='")
+        .append(result.getNumberOfTestsRun()).append("'>");
+    appendNode(details.getFilename(), sourceFile);
+    appendNode(details.getClassName().asJavaName(), mutatedClass);
+    appendNode(details.getMethod().name(), mutatedMethod);
+    appendNode(details.getId().getLocation().getMethodDesc(),
+        methodDescription);
+    appendNode(details.getLineNumber(), lineNumber);
+    appendNode(details.getMutator(), mutator);
+    appendNode(details.getFirstIndex(), index);
+    appendNode(details.getBlock(), block);
+    appendNode(createKillingTestDesc(result.getKillingTest()), killingTest);
+    appendNode(details.getDescription(), description);
+    this.node.append("</").append(mutation).append(">\n");
+    write(this.node);
   }
 
-  private String makeNode(final String value, final String attributes,
-      final Tag tag) {
+  private void appendNode(final String value, final Tag tag) {
     if (value != null) {
-      return "<" + tag + " " + attributes + ">" + value + "</" + tag + ">";
+      this.node.append('<').append(tag).append('>');
+      StringUtil.escapeBasicHtmlChars(value, this.node);
+      this.node.append("</").append(tag).append('>');
     } else {
-      return "<" + tag + attributes + "/>";
+      this.node.append('<').append(tag).append("/>");
     }
-
   }
 
-  private String makeNode(final String value, final Tag tag) {
-    if (value != null) {
-      return "<" + tag + ">" + value + "</" + tag + ">";
-    } else {
-      return "<" + tag + "/>";
-    }
+  private void appendNode(final int value, final Tag tag) {
+    this.node.append('<').append(tag).append('>').append(value).append("</")
+        .append(tag).append('>');
   }
 
   private String createKillingTestDesc(final Optional<String> killingTest) {
-    if (killingTest.isPresent()) {
-      return clean(killingTest.get());
-    } else {
-      return null;
-    }
+    return killingTest.orElse(null);
   }
 
-  private void write(final String value) {
+  private void write(final CharSequence value) {
     try {
-      this.out.write(value);
+      this.out.append(value);
     } catch (final IOException e) {
       throw Unchecked.translateCheckedException(e);
     }
@@ -2,7 +2,6 @@ package org.pitest.mutationtest.tooling;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
 import org.pitest.classpath.ClassPath;
@@ -12,15 +11,13 @@ import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
-import java.util.Optional;
 import org.pitest.functional.SideEffect1;
-import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
-import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
-import org.pitest.mutationtest.incremental.WriterFactory;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+import org.pitest.mutationtest.incremental.CoverageStore;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
 import org.pitest.process.JavaAgent;
@@ -75,9 +72,6 @@ public class EntryPoint {
 
     final ClassPath cp = data.getClassPath();
 
-    final Optional<Reader> reader = data.createHistoryReader();
-    final WriterFactory historyWriter = data.createHistoryWriter();
-
     // workaround for apparent java 1.5 JVM bug . . . might not play nicely
     // with distributed testing
     final JavaAgent jac = new JarCreatingJarFinder(
@@ -101,9 +95,13 @@ public class EntryPoint {
     final Timings timings = new Timings();
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        data.getNumberOfThreads(),
+        coverageLocation(data, data.getHistoryInputLocation()),
+        coverageLocation(data, data.getHistoryOutputLocation()));
 
-    final HistoryStore history = new ObjectOutputStreamHistoryStore(historyWriter, reader);
+    final BinaryHistoryStore history = new BinaryHistoryStore(
+        data.getHistoryInputLocation(), data.getHistoryOutputLocation());
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
@@ -119,11 +117,23 @@ public class EntryPoint {
     } finally {
       jac.close();
       ja.close();
-      historyWriter.close();
+      history.close();
+      cp.close();
+      code.getClassPath().close();
     }
 
   }
 
+  // coverage is stored alongside the history so that unchanged tests need
+  // not be run again
+  private static File coverageLocation(final ReportOptions data,
+      final File history) {
+    if ((history == null) || !data.isReuseCoverage()) {
+      return null;
+    }
+    return CoverageStore.locationFor(history);
+  }
+
   private void selectTestPlugin(ReportOptions data) {
     if ((data.getTestPlugin() == null) || data.getTestPlugin().equals("")) {
       if (junit5PluginIsOnClasspath()) {
@@ -31,8 +31,10 @@ import org.pitest.util.FileUtil;
 import org.pitest.util.PitError;
 import org.pitest.util.Unchecked;
 
+import sun.pitest.ActiveMutant;
 import sun.pitest.CodeCoverageStore;
 import sun.pitest.InvokeReceiver;
+import sun.pitest.ProbeHitReceiver;
 
 public class JarCreatingJarFinder implements JavaAgent {
 
@@ -98,6 +100,8 @@ public class JarCreatingJarFinder implements JavaAgent {
       addClass(HotSwapAgent.class, jos);
       addClass(CodeCoverageStore.class, jos);
       addClass(InvokeReceiver.class, jos);
+      addClass(ProbeHitReceiver.class, jos);
+      addClass(ActiveMutant.class, jos);
     }
   }
 
@@ -22,19 +22,24 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.CommonSuperClassCache;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.TestTimings;
+import org.pitest.coverage.export.TimingsExporter;
 import org.pitest.functional.FCollection;
 import java.util.Optional;
 import org.pitest.help.Help;
@@ -45,11 +50,14 @@ import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.build.KillStatistics;
+import org.pitest.mutationtest.build.KillStatisticsListener;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
 import org.pitest.mutationtest.build.MutationGrouper;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.build.MutationSource;
 import org.pitest.mutationtest.build.MutationTestBuilder;
+import org.pitest.mutationtest.build.PrebuiltMutants;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
 import org.pitest.mutationtest.build.TestPrioritiser;
 import org.pitest.mutationtest.build.WorkerFactory;
@@ -57,9 +65,11 @@ import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
+import org.pitest.mutationtest.incremental.CommonSuperClassStore;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
 import org.pitest.mutationtest.incremental.IncrementalAnalyser;
+import org.pitest.mutationtest.incremental.KillStatisticsStore;
 import org.pitest.mutationtest.statistics.MutationStatisticsListener;
 import org.pitest.mutationtest.statistics.Score;
 import org.pitest.util.Log;
@@ -123,17 +133,31 @@ public class MutationCoverage {
 
     final EngineArguments args = EngineArguments.arguments()
         .withExcludedMethods(this.data.getExcludedMethods())
-        .withMutators(this.data.getMutators());
+        .withMutators(this.data.getMutators())
+        .withSchemata(useMutantSchemata());
     final MutationEngine engine = this.strategies.factory().createEngine(args);
 
+    final KillStatistics kills = readKillStatistics();
     final List<MutationResultListener> config = createConfig(t0, coverageData,
-        stats, engine);
+        stats, engine, kills);
 
     history().initialize();
+    final ClassPath cp = this.data.getClassPath();
+    final ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
+        cp));
+    final CommonSuperClassStore superClasses = readCommonSuperClasses(bas);
+
+    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
+        .getLaunchOptions());
+    final PrebuiltMutants prebuilt = this.data.isSendPrebuiltMutants()
+        ? new PrebuiltMutants() : null;
+    final WorkerFactory wf = createWorkerFactory(mutationConfig, args,
+        prebuilt, coverageData.getTestTimings(), kills);
 
     this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
     final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine, args);
+        mutationConfig, wf, prebuilt, bas);
+    CommonSuperClassCache.shared().clearFound();
     this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
     LOG.info("Created  " + tus.size() + " mutation test units");
@@ -149,9 +173,21 @@ public class MutationCoverage {
     final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
         numberOfThreads(), config);
     this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
+    try {
+      mae.run(tus);
+    } finally {
+      wf.shutdown();
+      cp.close();
+    }
+    writeCommonSuperClasses(superClasses);
+    writeKillStatistics(kills);
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
 
+    if (this.data.shouldExportTimings()) {
+      new TimingsExporter(this.strategies.output()).recordTimings(coverageData
+          .getTestTimings());
+    }
+
     LOG.info("Completed in " + timeSpan(t0));
 
     printStats(stats);
@@ -180,7 +216,8 @@ private int numberOfThreads() {
 
   private List<MutationResultListener> createConfig(final long t0,
       final CoverageDatabase coverageData,
-      final MutationStatisticsListener stats, final MutationEngine engine) {
+      final MutationStatisticsListener stats, final MutationEngine engine,
+      final KillStatistics kills) {
     final List<MutationResultListener> ls = new ArrayList<>();
 
     ls.add(stats);
@@ -194,6 +231,7 @@ private int numberOfThreads() {
 
     ls.add(mutationReportListener);
     ls.add(new HistoryListener(history()));
+    ls.add(new KillStatisticsListener(kills));
 
     if (!this.data.isVerbose()) {
       ls.add(new SpinnerListener(System.out));
@@ -245,41 +283,96 @@ private int numberOfThreads() {
   }
 
   private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args) {
+      final CoverageDatabase coverageData, final MutationConfig mutationConfig,
+      final WorkerFactory wf, final PrebuiltMutants prebuilt,
+      final ClassByteArraySource bas) {
 
-    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
-        .getLaunchOptions());
+    // interceptors and prioritisers hold state, so each thread gets its own
+    final Supplier<MutationSource> sources = () -> {
+      final TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
+          .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
+              coverageData);
 
-    final ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
-        this.data.getClassPath()));
+      final MutationInterceptor interceptor = this.settings.getInterceptor()
+          .createInterceptor(this.data, bas);
 
-    final TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
-        .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
-            coverageData);
-
-    final MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+      return new MutationSource(mutationConfig, testPrioritiser, bas,
+          interceptor, prebuilt);
+    };
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
         new DefaultCodeHistory(this.code, history()), coverageData);
 
-    final WorkerFactory wf = new WorkerFactory(this.baseDir, coverage()
-        .getConfiguration(), mutationConfig, args,
-        new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
-            this.data.getTimeoutConstant()), this.data.isVerbose(), this.data
-            .getClassPath().getLocalClassPath());
-
     final MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+        sources, grouper, this.data.getNumberOfThreads(),
+        this.data.isBalanceMutationUnits());
 
     return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
   }
 
+  // common super classes are shared by all mutaters in this process, so
+  // start each run from those kept by the last
+  private CommonSuperClassStore readCommonSuperClasses(
+      final ClassByteArraySource bas) {
+    final CommonSuperClassStore store = new CommonSuperClassStore(bas);
+    CommonSuperClassCache.shared().clear();
+    if (this.data.getHistoryInputLocation() != null) {
+      store.read(CommonSuperClassStore.locationFor(this.data
+          .getHistoryInputLocation()), CommonSuperClassCache.shared());
+    }
+    return store;
+  }
+
+  private void writeCommonSuperClasses(final CommonSuperClassStore store) {
+    if (this.data.getHistoryOutputLocation() != null) {
+      store.write(CommonSuperClassStore.locationFor(this.data
+          .getHistoryOutputLocation()), CommonSuperClassCache.shared());
+    }
+  }
+
+  // tests that have killed mutants before are run first, so that mutants
+  // are killed after running fewer tests
+  private KillStatistics readKillStatistics() {
+    if (this.data.getHistoryInputLocation() == null) {
+      return new KillStatistics();
+    }
+    return KillStatisticsStore.read(KillStatisticsStore.locationFor(this.data
+        .getHistoryInputLocation()));
+  }
+
+  private void writeKillStatistics(final KillStatistics kills) {
+    if (this.data.getHistoryOutputLocation() != null) {
+      KillStatisticsStore.write(KillStatisticsStore.locationFor(this.data
+          .getHistoryOutputLocation()), kills);
+    }
+  }
+
+  // minions analysing several mutants at once load each into its own class
+  // loader, so have no use for a schema
+  private boolean useMutantSchemata() {
+    if (this.data.isUseMutantSchemata() && (this.data.getMinionThreads() > 1)) {
+      LOG.warning("Mutant schemata are not used when minionThreads is above 1");
+      return false;
+    }
+    return this.data.isUseMutantSchemata();
+  }
+
+  private WorkerFactory createWorkerFactory(final MutationConfig mutationConfig,
+      final EngineArguments args, final PrebuiltMutants prebuilt,
+      final TestTimings testTimings, final KillStatistics kills) {
+    return new WorkerFactory(this.baseDir, coverage()
+        .getConfiguration(), mutationConfig, args,
+        new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
+            this.data.getTimeoutConstant()), this.data.isVerbose(), this.data
+            .getClassPath().getLocalClassPath(),
+            this.data.getMaxMutationsPerMinion(), prebuilt, testTimings,
+            this.data.getTimeoutPercentile(), kills,
+            this.data.getMinionThreads());
+  }
+
   private void checkMutationsFound(final List<MutationAnalysisUnit> tus) {
     if (tus.isEmpty()) {
       if (this.data.shouldFailWhenNoMutations()) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2011 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect1;
+
+/**
+ * Connection to a minion that is held open across many exchanges, allowing
+ * the minion to be sent more work once it has reported the last batch done.
+ *
+ * Unlike {@link CommunicationThread} each exchange runs on the calling thread.
+ */
+public class CommunicationChannel {
+
+  private static final Logger   LOG = Log.getLogger();
+
+  private final ServerSocket    socket;
+  private final ReceiveStrategy receive;
+
+  private Socket                clientSocket;
+  private SafeDataOutputStream  dos;
+  private SafeDataInputStream   dis;
+
+  public CommunicationChannel(final ServerSocket socket,
+      final ReceiveStrategy receive) {
+    this.socket = socket;
+    this.receive = receive;
+  }
+
+  /**
+   * Sends data to the minion, then passes everything it sends back to the
+   * receive strategy until it signals it is done.
+   *
+   * @param send
+   *          side effect writing the data for this exchange
+   * @return exit code reported by the minion, or UNKNOWN_ERROR if the
+   *         connection failed
+   */
+  public ExitCode converse(final SideEffect1<SafeDataOutputStream> send) {
+    try {
+      connectIfRequired();
+      send.apply(this.dos);
+      this.dos.flush();
+      return receiveResults();
+    } catch (final IOException | RuntimeException e) {
+      LOG.log(Level.WARNING, "Error while communicating with child process", e);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  /**
+   * Asks the minion to shut down, then closes the connection.
+   */
+  public void close() {
+    try {
+      if (this.dos != null) {
+        this.dos.writeByte(Id.DONE);
+        this.dos.flush();
+      }
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Could not signal shutdown to child process", e);
+    } finally {
+      closeQuietly();
+    }
+  }
+
+  private void connectIfRequired() throws IOException {
+    if (this.clientSocket == null) {
+      this.clientSocket = this.socket.accept();
+      this.dos = new SafeDataOutputStream(new BufferedOutputStream(
+          this.clientSocket.getOutputStream()));
+      this.dis = new SafeDataInputStream(new BufferedInputStream(
+          this.clientSocket.getInputStream()));
+    }
+  }
+
+  private ExitCode receiveResults() {
+    byte control = this.dis.readByte();
+    while (control != Id.DONE) {
+      this.receive.apply(control, this.dis);
+      control = this.dis.readByte();
+    }
+    return ExitCode.fromCode(this.dis.readInt());
+  }
+
+  private void closeQuietly() {
+    try {
+      if (this.clientSocket != null) {
+        this.clientSocket.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Could not close socket", e);
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CompactIntSetTest {
+
+  private final CompactIntSet testee = new CompactIntSet();
+
+  @Test
+  public void shouldBeEmptyWhenCreated() {
+    assertThat(this.testee.isEmpty()).isTrue();
+    assertThat(values()).isEmpty();
+  }
+
+  @Test
+  public void shouldReturnValuesInAscendingOrder() {
+    this.testee.add(1000);
+    this.testee.add(3);
+    this.testee.add(70);
+    assertThat(values()).containsExactly(3, 70, 1000);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicates() {
+    this.testee.add(3);
+    this.testee.add(1000);
+    this.testee.add(3);
+    this.testee.add(1000);
+    assertThat(this.testee.size()).isEqualTo(2);
+    assertThat(values()).containsExactly(3, 1000);
+  }
+
+  @Test
+  public void shouldStaySparseWhenValuesAreFarApart() {
+    for (int i = 0; i != 100; i++) {
+      this.testee.add(i * 1000);
+    }
+    assertThat(this.testee.isBitmap()).isFalse();
+    assertThat(this.testee.size()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldBecomeBitmapWhenValuesAreDense() {
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i != 300; i = i + 2) {
+      this.testee.add(i);
+      expected.add(i);
+    }
+    assertThat(this.testee.isBitmap()).isTrue();
+    assertThat(values()).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void shouldAddToBitmapBeyondItsCurrentSize() {
+    for (int i = 0; i != 300; i++) {
+      this.testee.add(i);
+    }
+    this.testee.add(10000);
+    this.testee.add(5);
+    assertThat(this.testee.size()).isEqualTo(301);
+    assertThat(values()).endsWith(299, 10000);
+  }
+
+  private List<Integer> values() {
+    final List<Integer> values = new ArrayList<>();
+    this.testee.forEach(values::add);
+    return values;
+  }
+
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.coverage.CoverageMother.aBlockLocation;
@@ -125,6 +126,17 @@ public class CoverageDataTest {
         .singletonList(this.foo)));
   }
 
+  @Test
+  public void shouldMapEachClassToLinesOnce() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.getNumberOfCoveredLines(Collections.singletonList(this.foo));
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    this.testee.getNumberOfCoveredLines(Collections.singletonList(this.foo));
+    verify(this.lm, times(1)).mapLines(this.foo);
+  }
+
   @Test
   public void shouldReturnNotTestsWhenNoTestsCoverClass() {
     assertTrue(this.testee.getTestsForClass(this.foo).isEmpty());
@@ -262,6 +274,60 @@ public class CoverageDataTest {
     assertEquals(4, actual.getNumberOfCoveredLines());
   }
 
+  @Test
+  public void shouldReturnTestsCoveringAnyBlockOnLineInNameOrder() {
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    final HashMap<BlockLocation, Set<Integer>> map = makeCoverageMapForBlock(
+        block.withBlock(1), 1);
+    map.putAll(makeCoverageMapForBlock(block.withBlock(2), 1, 2));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(map);
+
+    this.testee.calculateClassCoverage(new CoverageResult(new Description(
+        "zTest"), 1, true, Collections.singleton(block.withBlock(1).build())));
+    this.testee.calculateClassCoverage(new CoverageResult(new Description(
+        "aTest"), 1, true, Collections.singleton(block.withBlock(2).build())));
+
+    assertEquals(Arrays.asList("aTest", "zTest"), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, 1)),
+        testInfoToString()));
+    assertEquals(Arrays.asList("aTest"), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, 2)),
+        testInfoToString()));
+  }
+
+  @Test
+  public void shouldIncludeBlocksCoveredAfterLinesWereFirstRequested() {
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    final HashMap<BlockLocation, Set<Integer>> map = makeCoverageMapForBlock(
+        block.withBlock(1), 1);
+    map.putAll(makeCoverageMapForBlock(block.withBlock(2), 2));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(map);
+
+    this.testee.calculateClassCoverage(new CoverageResult(new Description(
+        "aTest"), 1, true, Collections.singleton(block.withBlock(1).build())));
+    assertEquals(1, this.testee.getNumberOfCoveredLines(Collections
+        .singletonList(this.foo)));
+
+    this.testee.calculateClassCoverage(new CoverageResult(new Description(
+        "bTest"), 1, true, Collections.singleton(block.withBlock(2).build())));
+    assertEquals(2, this.testee.getNumberOfCoveredLines(Collections
+        .singletonList(this.foo)));
+  }
+
+  @Test
+  public void shouldBuildFromExistingBlockCoverage() {
+    final BlockLocation block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo)).build();
+    final TestInfo ti = new TestInfo(null, "aTest", 0,
+        Optional.<ClassName> empty(), 1);
+    this.testee = new CoverageData(this.code, this.lm, Collections.singletonMap(
+        block, Collections.singleton(ti)));
+
+    assertEquals(Arrays.asList(ti), this.testee.getTestsForClass(this.foo));
+  }
+
   private static Function<TestInfo, Integer> testInfoToExecutionTime() {
     return a -> a.getTime();
   }
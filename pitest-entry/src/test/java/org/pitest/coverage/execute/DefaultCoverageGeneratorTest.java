@@ -0,0 +1,58 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DefaultCoverageGeneratorTest {
+
+  @Test
+  public void shouldSplitTestsIntoEvenContiguousSlices() {
+    final List<List<String>> actual = DefaultCoverageGenerator.split(
+        tests(10), 3, a -> 1);
+    assertEquals(Arrays.asList(Arrays.asList("t0", "t1", "t2", "t3"),
+        Arrays.asList("t4", "t5", "t6"), Arrays.asList("t7", "t8", "t9")),
+        actual);
+  }
+
+  @Test
+  public void shouldBalanceSlicesByCost() {
+    final List<List<String>> actual = DefaultCoverageGenerator.split(
+        tests(5), 2, a -> a.equals("t0") ? 4 : 1);
+    assertEquals(Arrays.asList(Arrays.asList("t0"),
+        Arrays.asList("t1", "t2", "t3", "t4")), actual);
+  }
+
+  @Test
+  public void shouldCreateNoMoreSlicesThanRequested() {
+    final List<List<String>> actual = DefaultCoverageGenerator.split(
+        tests(100), 7, a -> a.length());
+    assertEquals(7, actual.size());
+    final List<String> joined = new ArrayList<>();
+    for (final List<String> each : actual) {
+      joined.addAll(each);
+    }
+    assertEquals(tests(100), joined);
+  }
+
+  @Test
+  public void shouldCreateSingleSliceWhenNoTests() {
+    assertEquals(Arrays.asList(Collections.emptyList()),
+        DefaultCoverageGenerator.split(Collections.<String> emptyList(), 1,
+            a -> 1));
+  }
+
+  private static List<String> tests(final int count) {
+    final List<String> tests = new ArrayList<>();
+    for (int i = 0; i != count; i++) {
+      tests.add("t" + i);
+    }
+    return tests;
+  }
+
+}
@@ -14,8 +14,6 @@ import org.pitest.testapi.Description;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
 
-import sun.pitest.CodeCoverageStore;
-
 // does this test add any value?
 public class ReceiveTest {
 
@@ -60,16 +58,35 @@ public class ReceiveTest {
     assertEquals(true, this.result.isGreenTest());
   }
 
+  @Test
+  public void shouldReportExecutionAndCpuTimes() {
+    recordTestCoverage(42, 7, 0, 0, true);
+    assertEquals(42, this.result.getExecutionTime());
+    assertEquals(7, this.result.getCpuTime());
+  }
+
+  @Test
+  public void shouldReportUnmeasuredCpuTime() {
+    recordTestCoverage(42, -1, 0, 0, true);
+    assertEquals(-1, this.result.getCpuTime());
+  }
+
   private void recordTestCoverage(final int executionTime, final int classId,
       final int probeNumber, final boolean testPassed) {
-    when(this.is.readInt()).thenReturn(classId, executionTime);
+    recordTestCoverage(executionTime, 0, classId, probeNumber, testPassed);
+  }
+
+  private void recordTestCoverage(final int executionTime, final int cpuTime,
+      final int classId, final int probeNumber, final boolean testPassed) {
+    when(this.is.readVarInt()).thenReturn(classId);
     when(this.is.readString()).thenReturn("foo");
     this.testee.apply(Id.CLAZZ, this.is);
 
-    when(this.is.read(Description.class)).thenReturn(this.description);
-    when(this.is.readInt()).thenReturn(1);
-    when(this.is.readLong()).thenReturn(1l,
-        CodeCoverageStore.encode(classId, probeNumber));
+    when(this.is.readInternedString()).thenReturn(
+        this.description.getFirstTestClass());
+    when(this.is.readString()).thenReturn(this.description.getName());
+    when(this.is.readVarInt()).thenReturn(classId + 1, probeNumber + 1, 0, 0,
+        executionTime, cpuTime + 1);
     when(this.is.readBoolean()).thenReturn(testPassed);
     this.testee.apply(Id.OUTCOME, this.is);
   }
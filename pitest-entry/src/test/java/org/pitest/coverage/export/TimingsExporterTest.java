@@ -0,0 +1,56 @@
+package org.pitest.coverage.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.coverage.TestTimings;
+import org.pitest.util.ResultOutputStrategy;
+
+public class TimingsExporterTest {
+
+  private TimingsExporter testee;
+
+  private final Writer    out = new StringWriter();
+
+  @Before
+  public void setup() {
+    this.testee = new TimingsExporter(createOutputStrategy());
+  }
+
+  private ResultOutputStrategy createOutputStrategy() {
+    return sourceFile -> TimingsExporterTest.this.out;
+  }
+
+  @Test
+  public void shouldWriteValidXMLDocumentWhenNoTimings() {
+    this.testee.recordTimings(new TestTimings());
+    final String actual = this.out.toString();
+    assertThat(actual).contains("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    assertThat(actual).contains("<timings>");
+    assertThat(actual).contains("</timings>");
+  }
+
+  @Test
+  public void shouldExportPercentilesOfEachTest() {
+    final TestTimings timings = new TestTimings();
+    timings.record("Foo.test<1>", 10, 4);
+    timings.record("Foo.test<1>", 30, 6);
+    timings.record("Bar.test", 5, -1);
+    this.testee.recordTimings(timings);
+
+    final String actual = this.out.toString();
+    assertThat(actual).contains("<test name='Foo.test&#60;1&#62;'>");
+    assertThat(actual).contains(
+        "<wall runs='2' mean='20' p50='10' p90='30' p99='30' p100='30'/>");
+    assertThat(actual).contains(
+        "<cpu runs='2' mean='5' p50='4' p90='6' p99='6' p100='6'/>");
+    final String bar = actual.substring(actual.indexOf("<test name='Bar.test'>"));
+    assertThat(bar.substring(0, bar.indexOf("</test>"))).contains("<wall")
+        .doesNotContain("<cpu");
+  }
+
+}
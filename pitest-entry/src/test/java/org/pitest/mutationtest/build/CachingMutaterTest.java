@@ -0,0 +1,60 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class CachingMutaterTest {
+
+  private CachingMutater testee;
+
+  @Mock
+  private Mutater        child;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new CachingMutater(this.child);
+  }
+
+  @Test
+  public void shouldGenerateEachMutantOnce() {
+    final MutationIdentifier id = aMutationId().build();
+    final Mutant mutant = mutant(id);
+    when(this.child.getMutation(id)).thenReturn(mutant);
+
+    assertThat(this.testee.getMutation(id)).isSameAs(mutant);
+    assertThat(this.testee.getMutation(id)).isSameAs(mutant);
+    verify(this.child, times(1)).getMutation(id);
+  }
+
+  @Test
+  public void shouldReportOnlyMutantsAlreadyGenerated() {
+    final MutationIdentifier generated = aMutationId().withIndex(1).build();
+    final MutationIdentifier notGenerated = aMutationId().withIndex(2).build();
+    when(this.child.getMutation(generated)).thenReturn(mutant(generated));
+    this.testee.getMutation(generated);
+
+    assertThat(this.testee.generated(generated)).isPresent();
+    assertThat(this.testee.generated(notGenerated)).isEmpty();
+  }
+
+  private static Mutant mutant(final MutationIdentifier id) {
+    final MutationDetails details = MutationDetailsMother.aMutationDetail()
+        .withId(id).build();
+    return new Mutant(details, new byte[] { 1, 2, 3 });
+  }
+
+}
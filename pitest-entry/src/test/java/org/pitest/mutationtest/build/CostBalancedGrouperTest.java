@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.LocationMother;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class CostBalancedGrouperTest {
+
+  @Test
+  public void shouldCreateNoUnitsWhenNoMutations() {
+    final CostBalancedGrouper testee = new CostBalancedGrouper(2, 0);
+    assertTrue(testee.groupMutations(null,
+        Collections.<MutationDetails> emptyList()).isEmpty());
+  }
+
+  @Test
+  public void shouldGroupEveryMutationExactlyOnce() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 50; i++) {
+      mutations.add(createDetails("foo" + (i % 7), i * 3));
+    }
+
+    final List<MutationDetails> grouped = new ArrayList<>();
+    for (final List<MutationDetails> each : new CostBalancedGrouper(4, 0)
+        .groupMutations(null, mutations)) {
+      grouped.addAll(each);
+    }
+
+    assertEquals(mutations.size(), grouped.size());
+    assertEquals(new HashSet<>(mutations), new HashSet<>(grouped));
+  }
+
+  @Test
+  public void shouldSplitClassCoveredBySlowTestsAcrossUnits() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 8; i++) {
+      mutations.add(createDetails("slow", 1000));
+    }
+    for (int i = 0; i != 8; i++) {
+      mutations.add(createDetails("fast" + i, 0));
+    }
+
+    final List<List<MutationDetails>> actual = new CostBalancedGrouper(2, 0)
+        .groupMutations(null, mutations);
+
+    long max = 0;
+    for (final List<MutationDetails> each : actual) {
+      max = Math.max(max, MutationCost.of(each));
+    }
+    assertTrue(actual.size() > 1);
+    assertTrue(max < (MutationCost.of(mutations) / 2));
+  }
+
+  @Test
+  public void shouldReturnMostCostlyUnitsFirst() {
+    final List<List<MutationDetails>> actual = new CostBalancedGrouper(1, 0)
+        .groupMutations(null, Arrays.asList(createDetails("a", 1),
+            createDetails("b", 500), createDetails("c", 20),
+            createDetails("d", 100)));
+
+    for (int i = 1; i < actual.size(); i++) {
+      assertTrue(MutationCost.of(actual.get(i - 1)) >= MutationCost.of(actual
+          .get(i)));
+    }
+  }
+
+  @Test
+  public void shouldNotExceedUnitSize() {
+    final List<MutationDetails> mutations = new ArrayList<>();
+    for (int i = 0; i != 30; i++) {
+      mutations.add(createDetails("foo" + (i % 3), 1));
+    }
+
+    for (final List<MutationDetails> each : new CostBalancedGrouper(1, 4)
+        .groupMutations(null, mutations)) {
+      assertTrue(each.size() <= 4);
+    }
+  }
+
+  private static MutationDetails createDetails(final String clazz,
+      final int testTime) {
+    final MutationDetails details = new MutationDetails(aMutationId()
+        .withLocation(
+            LocationMother.aLocation().withClass(ClassName.fromString(clazz)))
+        .build(), "", "desc", 42, 0);
+    details.addTestsInOrder(Collections.singletonList(new TestInfo("FooTest",
+        "test", testTime, Optional.<ClassName> empty(), 1)));
+    return details;
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class KillStatisticsTest {
+
+  private final KillStatistics testee = new KillStatistics();
+
+  @Test
+  public void shouldLeaveOrderUnchangedWhenNoKillsRecorded() {
+    final MutationDetails mutation = this.testee.orderTests(mutation("foo", 1,
+        "a", "b", "c"));
+    assertThat(names(mutation)).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void shouldRunTestsThatKilledMutantsOnSameLineFirst() {
+    this.testee.record(killed(mutation("foo", 1), "c"));
+    final MutationDetails mutation = this.testee.orderTests(mutation("foo", 1,
+        "a", "b", "c"));
+    assertThat(names(mutation)).containsExactly("c", "a", "b");
+  }
+
+  @Test
+  public void shouldRunTestsThatKilledMutantsOnSameLineBeforeThoseThatKilledElsewhereInClass() {
+    this.testee.record(killed(mutation("foo", 2), "b"));
+    this.testee.record(killed(mutation("foo", 2), "b"));
+    this.testee.record(killed(mutation("foo", 1), "c"));
+    final MutationDetails mutation = this.testee.orderTests(mutation("foo", 1,
+        "a", "b", "c"));
+    assertThat(names(mutation)).containsExactly("c", "b", "a");
+  }
+
+  @Test
+  public void shouldIgnoreKillsInOtherClasses() {
+    this.testee.record(killed(mutation("bar", 1), "c"));
+    final MutationDetails mutation = this.testee.orderTests(mutation("foo", 1,
+        "a", "b", "c"));
+    assertThat(names(mutation)).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void shouldIgnoreMutantsThatSurvived() {
+    this.testee.record(new MutationResult(mutation("foo", 1),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED)));
+    assertThat(this.testee.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotReorderTestsOfGivenMutation() {
+    this.testee.record(killed(mutation("foo", 1), "c"));
+    final MutationDetails mutation = mutation("foo", 1, "a", "b", "c");
+    final MutationDetails ordered = this.testee.orderTests(mutation);
+    assertThat(names(ordered)).containsExactly("c", "a", "b");
+    assertThat(names(mutation)).containsExactly("a", "b", "c");
+    assertThat(ordered).isEqualTo(mutation);
+  }
+
+  @Test
+  public void shouldIgnoreKillsRestoredFromHistory() {
+    this.testee.record(new MutationResult(mutation("foo", 1),
+        new MutationStatusTestPair(0, DetectionStatus.KILLED, "c")));
+    assertThat(this.testee.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldReadWhatItWrites() {
+    this.testee.record(killed(mutation("foo", 1), "c"));
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    this.testee.write(dos);
+    dos.flush();
+
+    final KillStatistics actual = KillStatistics.read(new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray())));
+    final MutationDetails mutation = actual.orderTests(mutation("foo", 1, "a",
+        "b", "c"));
+    assertThat(names(mutation)).containsExactly("c", "a", "b");
+  }
+
+  private static MutationResult killed(final MutationDetails mutation,
+      final String test) {
+    return new MutationResult(mutation, new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, test));
+  }
+
+  private static MutationDetails mutation(final String clazz, final int line,
+      final String... tests) {
+    final MutationDetails md = new MutationDetails(aMutationId().withLocation(
+        aLocation(clazz)).build(), "file", "desc", line, 0);
+    final List<TestInfo> tis = new ArrayList<>();
+    for (final String each : tests) {
+      tis.add(new TestInfo("FooTest", each, 1, Optional.<ClassName> empty(), 1));
+    }
+    md.addTestsInOrder(tis);
+    return md;
+  }
+
+  private static List<String> names(final MutationDetails mutation) {
+    final List<String> names = new ArrayList<>();
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      names.add(each.getName());
+    }
+    return names;
+  }
+
+}
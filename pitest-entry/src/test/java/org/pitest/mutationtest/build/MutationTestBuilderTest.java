@@ -3,19 +3,26 @@ package org.pitest.mutationtest.build;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.NullAnalyser;
 import org.pitest.mutationtest.engine.MutationDetails;
 
@@ -80,6 +87,42 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldFindMutationsInEveryClassWhenUsingManyThreads() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 20; i++) {
+      classes.add(ClassName.fromString("foo" + i));
+    }
+    final Supplier<MutationSource> sources = () -> new MutationSource(null,
+        null, null, null) {
+      @Override
+      public Collection<MutationDetails> createMutations(final ClassName clazz) {
+        return Arrays.asList(createDetails(clazz.asJavaName()));
+      }
+    };
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        sources, new DefaultGrouper(0), 4, false);
+
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(classes);
+    assertEquals(20, actual.size());
+  }
+
+  @Test
+  public void shouldDiscardPrebuiltMutantsOfMutationsWithKnownStatus() {
+    final MutationDetails mutation = createDetails("foo");
+    when(this.source.createMutations(any(ClassName.class))).thenReturn(
+        Arrays.asList(mutation));
+    this.testee = new MutationTestBuilder(this.wf, mutations -> Arrays.asList(
+        new MutationResult(mutation, new MutationStatusTestPair(0,
+            DetectionStatus.KILLED, "aTest"))), this.source,
+        new DefaultGrouper(0));
+
+    this.testee.createMutationTestUnits(Arrays.asList(ClassName
+        .fromString("foo")));
+    verify(this.wf).discardPrebuiltMutants(Arrays.asList(mutation));
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
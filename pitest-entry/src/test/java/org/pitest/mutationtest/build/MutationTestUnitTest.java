@@ -5,13 +5,16 @@ import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.MutationConfig;
@@ -56,7 +59,7 @@ public class MutationTestUnitTest {
     this.tests = new ArrayList<>();
     this.testee = new MutationTestUnit(this.mutations, this.tests,
         new WorkerFactory(null, TestPluginArguments.defaults(), this.mutationConfig, EngineArguments.arguments(), this.timeout,
-            false, null));
+            false, null, 0));
 
   }
 
@@ -78,6 +81,30 @@ public class MutationTestUnitTest {
     assertThat(this.testee.priority()).isEqualTo(42);
   }
 
+  @Test
+  public void shouldGiveHigherPriorityToMutationsCoveredBySlowTests() {
+    final MutationDetails slow = MutationDetailsMother.aMutationDetail()
+        .build();
+    slow.addTestsInOrder(Collections.singletonList(new TestInfo("FooTest",
+        "slow", 1000, Optional.<ClassName> empty(), 1)));
+    final MutationTestUnit slowUnit = new MutationTestUnit(
+        Collections.singletonList(slow), this.tests, null, true);
+    this.testee = new MutationTestUnit(MutationDetailsMother.aMutationDetail()
+        .build(42), this.tests, null, true);
+    assertThat(slowUnit.priority()).isGreaterThan(this.testee.priority());
+  }
+
+  @Test
+  public void shouldIgnoreTestTimesWhenNotPrioritisingByCost() {
+    final MutationDetails slow = MutationDetailsMother.aMutationDetail()
+        .build();
+    slow.addTestsInOrder(Collections.singletonList(new TestInfo("FooTest",
+        "slow", 1000, Optional.<ClassName> empty(), 1)));
+    this.testee = new MutationTestUnit(Collections.singletonList(slow),
+        this.tests, null);
+    assertThat(this.testee.priority()).isEqualTo(1);
+  }
+
   private void addMutation() {
     this.mutations.add(new MutationDetails(aMutationId().build(), "file", "desc",
         0, 0));
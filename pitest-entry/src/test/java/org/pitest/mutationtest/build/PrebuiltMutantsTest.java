@@ -0,0 +1,46 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class PrebuiltMutantsTest {
+
+  private final PrebuiltMutants testee = new PrebuiltMutants();
+
+  @Test
+  public void shouldReturnBytesHeldForRequestedMutations() {
+    final MutationDetails a = mutation(1);
+    final MutationDetails b = mutation(2);
+    final byte[] bytes = new byte[] { 1 };
+    this.testee.add(a.getId(), bytes);
+
+    final Map<MutationIdentifier, byte[]> actual = this.testee.take(Arrays
+        .asList(a, b));
+    assertThat(actual).containsOnlyKeys(a.getId());
+    assertThat(actual.get(a.getId())).isSameAs(bytes);
+  }
+
+  @Test
+  public void shouldReleaseBytesOnceTaken() {
+    final MutationDetails a = mutation(1);
+    this.testee.add(a.getId(), new byte[] { 1 });
+    this.testee.take(Arrays.asList(a));
+
+    assertThat(this.testee.size()).isEqualTo(0);
+    assertThat(this.testee.take(Arrays.asList(a))).isEmpty();
+  }
+
+  private static MutationDetails mutation(final int index) {
+    return MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withIndex(index)).build();
+  }
+
+}
@@ -0,0 +1,101 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class MutationAnalysisExecutorTest {
+
+  private final List<String> handled = Collections
+      .synchronizedList(new ArrayList<String>());
+
+  @Test
+  public void shouldDeliverResultsAsUnitsComplete() {
+    final CountDownLatch fastHandled = new CountDownLatch(1);
+    final MutationResultListener listener = new RecordingListener() {
+      @Override
+      public void handleMutationResult(final ClassMutationResults results) {
+        super.handleMutationResult(results);
+        fastHandled.countDown();
+      }
+    };
+
+    final MutationAnalysisUnit slow = unit("slow", fastHandled);
+    final MutationAnalysisUnit fast = unit("fast", null);
+
+    new MutationAnalysisExecutor(2, Arrays.asList(listener)).run(Arrays.asList(
+        slow, fast));
+
+    assertEquals(Arrays.asList("fast", "slow"), this.handled);
+  }
+
+  @Test
+  public void shouldDeliverEveryResultToEveryListener() {
+    final List<MutationAnalysisUnit> units = new ArrayList<>();
+    for (int i = 0; i != 10; i++) {
+      units.add(unit("clazz" + i, null));
+    }
+
+    new MutationAnalysisExecutor(3, Arrays.<MutationResultListener> asList(
+        new RecordingListener(), new RecordingListener())).run(units);
+
+    assertEquals(20, this.handled.size());
+  }
+
+  private MutationAnalysisUnit unit(final String clazz,
+      final CountDownLatch waitFor) {
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        if (waitFor != null) {
+          waitFor.await(10, TimeUnit.SECONDS);
+        }
+        final MutationDetails details = new MutationDetails(aMutationId()
+            .withLocation(aLocation(clazz)).build(), "file", "desc", 1, 0);
+        return new MutationMetaData(Arrays.asList(new MutationResult(details,
+            new MutationStatusTestPair(1, DetectionStatus.KILLED, "test"))));
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private class RecordingListener implements MutationResultListener {
+
+    @Override
+    public void runStart() {
+    }
+
+    @Override
+    public void handleMutationResult(final ClassMutationResults results) {
+      MutationAnalysisExecutorTest.this.handled.add(results.getMutatedClass()
+          .asJavaName());
+    }
+
+    @Override
+    public void runEnd() {
+    }
+
+  }
+
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.incremental;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV        = BigInteger.TEN.toString(16);
+
+  @Rule
+  public TemporaryFolder      testFolder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private File                file;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+    this.file = new File(this.testFolder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final HierarchicalClassId foo = classId("foo");
+    final HierarchicalClassId bar = classId("bar");
+    record(this.file, Arrays.asList(foo, bar));
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<>();
+    expected.put(foo.getName(), new ClassHistory(foo, COV));
+    expected.put(bar.getName(), new ClassHistory(bar, COV));
+    assertEquals(expected, read(this.file).getHistoricClassPath());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult foo = killed(mutant("foo", 1), "fooTest");
+    final MutationResult bar = survived(mutant("bar", 1));
+    record(this.file, Arrays.asList(classId("foo"), classId("bar")), foo, bar);
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(foo.getStatusTestPair(),
+        testee.getHistoricResults().get(foo.getDetails().getId()));
+    assertEquals(bar.getStatusTestPair(),
+        testee.getHistoricResults().get(bar.getDetails().getId()));
+    assertNull(testee.getHistoricResults().get(mutant("foo", 2).getId()));
+    assertEquals(2, testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldRetrieveResultsWrittenAcrossManyGroups() {
+    final BinaryHistoryStore writer = new BinaryHistoryStore(null, this.file, 1);
+    writer.recordClassPath(Arrays.asList(classId("foo")), this.coverage);
+    for (int i = 0; i != 10; i++) {
+      writer.recordResult(survived(mutant("foo", i)));
+    }
+    writer.close();
+
+    final BinaryHistoryStore testee = read(this.file);
+    for (int i = 0; i != 10; i++) {
+      assertEquals(DetectionStatus.SURVIVED, testee.getHistoricResults()
+          .get(mutant("foo", i).getId()).getStatus());
+    }
+  }
+
+  @Test
+  public void shouldKeepLastOfResultsRecordedForTheSameMutation() {
+    final BinaryHistoryStore writer = new BinaryHistoryStore(null, this.file, 1);
+    writer.recordClassPath(Arrays.asList(classId("foo")), this.coverage);
+    writer.recordResult(survived(mutant("foo", 1)));
+    writer.recordResult(killed(mutant("foo", 1), "fooTest"));
+    writer.close();
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(DetectionStatus.KILLED, testee.getHistoricResults()
+        .get(mutant("foo", 1).getId()).getStatus());
+    assertEquals(1, testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldNotWriteFileWhenNoOutputSupplied() {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(null, null);
+    testee.initialize();
+    testee.recordClassPath(Arrays.asList(classId("foo")), this.coverage);
+    testee.recordResult(survived(mutant("foo", 1)));
+    testee.close();
+    assertTrue(testee.getHistoricResults().isEmpty());
+  }
+
+  @Test
+  public void shouldRecoverResultsFromFileWithoutIndex() throws IOException {
+    final MutationResult foo = killed(mutant("foo", 1), "fooTest");
+    record(this.file, Arrays.asList(classId("foo")), foo);
+    truncateIndex(this.file);
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertFalse(testee.getHistoricClassPath().isEmpty());
+    assertEquals(foo.getStatusTestPair(),
+        testee.getHistoricResults().get(foo.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldReadPreviousResultsWhileReplacingThem() {
+    final MutationResult before = survived(mutant("foo", 1));
+    record(this.file, Arrays.asList(classId("foo")), before);
+
+    final BinaryHistoryStore testee = new BinaryHistoryStore(this.file,
+        this.file);
+    testee.initialize();
+    testee.recordClassPath(Arrays.asList(classId("foo")), this.coverage);
+    assertEquals(before.getStatusTestPair(),
+        testee.getHistoricResults().get(before.getDetails().getId()));
+    final MutationResult after = killed(mutant("foo", 1), "fooTest");
+    testee.recordResult(after);
+    testee.close();
+
+    assertEquals(after.getStatusTestPair(), read(this.file)
+        .getHistoricResults().get(after.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldAppendToHistoryWhenReplacingIt() throws IOException {
+    final List<HierarchicalClassId> classes = Arrays.asList(classId("a"),
+        classId("b"), classId("c"), classId("d"), classId("e"));
+    record(this.file, classes, survived(mutant("a", 1)),
+        survived(mutant("b", 1)), survived(mutant("c", 1)),
+        survived(mutant("d", 1)), survived(mutant("e", 1)));
+    final byte[] before = Files.readAllBytes(this.file.toPath());
+
+    final MutationResult after = killed(mutant("a", 1), "aTest");
+    replace(this.file, classes, after);
+
+    final byte[] appended = Files.readAllBytes(this.file.toPath());
+    assertTrue(appended.length > before.length);
+    assertArrayEquals(before, Arrays.copyOf(appended, before.length));
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(after.getStatusTestPair(), testee.getHistoricResults()
+        .get(after.getDetails().getId()));
+    assertEquals(DetectionStatus.SURVIVED, testee.getHistoricResults()
+        .get(mutant("b", 1).getId()).getStatus());
+  }
+
+  @Test
+  public void shouldNotAppendResultsTakenFromHistory() throws IOException {
+    final MutationResult foo = killed(mutant("foo", 1), "fooTest");
+    record(this.file, Arrays.asList(classId("foo")), foo);
+
+    replace(this.file, Arrays.asList(classId("foo")), new MutationResult(
+        foo.getDetails(), new MutationStatusTestPair(0, DetectionStatus.KILLED,
+            "fooTest")));
+
+    assertEquals(1, blocksFor(this.file, "foo"));
+    assertEquals(foo.getStatusTestPair(), read(this.file)
+        .getHistoricResults().get(foo.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldCompactHistoryWhenManyResultsAreSuperseded()
+      throws IOException {
+    record(this.file, Arrays.asList(classId("foo")),
+        survived(mutant("foo", 1)), survived(mutant("foo", 2)));
+
+    replace(this.file, Arrays.asList(classId("foo")),
+        killed(mutant("foo", 1), "fooTest"), survived(mutant("foo", 2)));
+
+    assertEquals(1, blocksFor(this.file, "foo"));
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(DetectionStatus.KILLED, testee.getHistoricResults()
+        .get(mutant("foo", 1).getId()).getStatus());
+    assertEquals(DetectionStatus.SURVIVED, testee.getHistoricResults()
+        .get(mutant("foo", 2).getId()).getStatus());
+  }
+
+  @Test
+  public void shouldDropResultsOfClassesNoLongerOnClassPath() {
+    record(this.file, Arrays.asList(classId("foo"), classId("bar")),
+        survived(mutant("foo", 1)), survived(mutant("bar", 1)));
+
+    replace(this.file, Arrays.asList(classId("foo")),
+        survived(mutant("foo", 1)));
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertNull(testee.getHistoricResults().get(mutant("bar", 1).getId()));
+    assertEquals(1, testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldUseClassPathOfLastCompleteRunWhenRecovering()
+      throws IOException {
+    record(this.file, Arrays.asList(classId("foo")),
+        survived(mutant("foo", 1)));
+    final BinaryHistoryStore crashed = new BinaryHistoryStore(this.file,
+        this.file);
+    crashed.initialize();
+    crashed.recordClassPath(Arrays.asList(classId("bar")), this.coverage);
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(Collections.singleton(ClassName.fromString("foo")),
+        testee.getHistoricClassPath().keySet());
+    assertEquals(DetectionStatus.SURVIVED, testee.getHistoricResults()
+        .get(mutant("foo", 1).getId()).getStatus());
+  }
+
+  @Test
+  public void shouldReadHistoryWrittenInTextFormat() throws IOException {
+    final MutationResult foo = killed(mutant("foo", 1), "fooTest");
+    final FileWriterFactory text = new FileWriterFactory(this.file);
+    final ObjectOutputStreamHistoryStore legacy = new ObjectOutputStreamHistoryStore(
+        text, Optional.<Reader> empty());
+    legacy.recordClassPath(Arrays.asList(classId("foo")), this.coverage);
+    legacy.recordResult(foo);
+    text.close();
+
+    final BinaryHistoryStore testee = read(this.file);
+    assertEquals(foo.getStatusTestPair(),
+        testee.getHistoricResults().get(foo.getDetails().getId()));
+  }
+
+  @Test
+  public void shouldIgnoreUnreadableHistory() throws IOException {
+    try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(this.file), "UTF-8"))) {
+      pw.println("rubbish");
+    }
+    final BinaryHistoryStore testee = read(this.file);
+    assertTrue(testee.getHistoricResults().isEmpty());
+  }
+
+  private void record(final File to, final List<HierarchicalClassId> ids,
+      final MutationResult... results) {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(null, to);
+    testee.initialize();
+    testee.recordClassPath(ids, this.coverage);
+    for (final MutationResult each : results) {
+      testee.recordResult(each);
+    }
+    testee.close();
+  }
+
+  private void replace(final File file, final List<HierarchicalClassId> ids,
+      final MutationResult... results) {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(file, file);
+    testee.initialize();
+    testee.recordClassPath(ids, this.coverage);
+    for (final MutationResult each : results) {
+      testee.recordResult(each);
+    }
+    testee.close();
+  }
+
+  private static int blocksFor(final File file, final String clazz)
+      throws IOException {
+    final HistoryFileReader reader = HistoryFileReader.open(file);
+    try {
+      return reader.index().get(ClassName.fromString(clazz)).size();
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static BinaryHistoryStore read(final File from) {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(from, null);
+    testee.initialize();
+    return testee;
+  }
+
+  private static void truncateIndex(final File file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - HistoryFile.RECORD_HEADER
+          - HistoryFile.TRAILER_LENGTH);
+    }
+  }
+
+  private static HierarchicalClassId classId(final String name) {
+    return new HierarchicalClassId(new ClassIdentifier(0,
+        ClassName.fromString(name)), "");
+  }
+
+  private static MutationDetails mutant(final String clazz, final int index) {
+    final MutationIdentifier id = aMutationId()
+        .withLocation(aLocation(clazz)).withIndex(index).build();
+    return new MutationDetails(id, "file", "desc", 42, 0);
+  }
+
+  private static MutationResult killed(final MutationDetails details,
+      final String test) {
+    return new MutationResult(details, new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, test));
+  }
+
+  private static MutationResult survived(final MutationDetails details) {
+    return new MutationResult(details, new MutationStatusTestPair(1,
+        DetectionStatus.SURVIVED, null));
+  }
+
+}
@@ -0,0 +1,85 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.CommonSuperClassCache;
+import org.pitest.classpath.ClassloaderByteArraySource;
+
+public class CommonSuperClassStoreTest {
+
+  private static final String       A          = CommonSuperClassCache.key(
+      "java/lang/Integer", "java/lang/Long");
+  private static final String       B          = CommonSuperClassCache.key(
+      "foo/Bar", "java/lang/Long");
+
+  @Rule
+  public TemporaryFolder            testFolder = new TemporaryFolder();
+
+  private final ClassByteArraySource classes   = ClassloaderByteArraySource
+      .fromContext();
+
+  private File                      file;
+
+  @Before
+  public void setUp() {
+    this.file = new File(this.testFolder.getRoot(), "history.superclasses");
+  }
+
+  @Test
+  public void shouldReadEntriesWhoseHierarchiesAreUnchanged() {
+    write(this.classes, A, B);
+
+    final CommonSuperClassCache actual = new CommonSuperClassCache();
+    new CommonSuperClassStore(this.classes).read(this.file, actual);
+    assertThat(actual.entries()).containsOnlyKeys(A, B);
+  }
+
+  @Test
+  public void shouldDropEntriesWhoseHierarchiesHaveChanged() {
+    write(this.classes, A, B);
+
+    // foo/Bar has appeared since the entries were written
+    final ClassByteArraySource changed = name -> name.equals("foo/Bar")
+        ? this.classes.getBytes("java/lang/Object") : this.classes
+            .getBytes(name);
+    final CommonSuperClassCache actual = new CommonSuperClassCache();
+    new CommonSuperClassStore(changed).read(this.file, actual);
+    assertThat(actual.entries()).containsOnlyKeys(A);
+  }
+
+  @Test
+  public void shouldIgnoreMissingFile() {
+    final CommonSuperClassCache actual = new CommonSuperClassCache();
+    new CommonSuperClassStore(this.classes).read(this.file, actual);
+    assertThat(actual.entries()).isEmpty();
+  }
+
+  @Test
+  public void shouldHashTypesThatCannotBeFound() {
+    final ClassByteArraySource none = name -> Optional.empty();
+    final CommonSuperClassStore testee = new CommonSuperClassStore(none);
+    assertThat(testee.hierarchyHash("foo/Bar")).isEqualTo(
+        testee.hierarchyHash("foo/Bar"));
+  }
+
+  private void write(final ClassByteArraySource source, final String... keys) {
+    final Map<String, String> entries = new HashMap<>();
+    for (final String each : keys) {
+      entries.put(each, "java/lang/Number");
+    }
+    final CommonSuperClassCache cache = new CommonSuperClassCache();
+    cache.addAll(entries);
+    new CommonSuperClassStore(source).write(this.file, cache);
+  }
+
+}
@@ -0,0 +1,226 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoSource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.Repository;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+public class CoverageStoreTest {
+
+  private static final ClassName TEST       = ClassName.fromString("java.lang.Integer");
+  private static final ClassName COVERED    = ClassName.fromString("java.lang.Long");
+  private static final String    CLASS_PATH = "aClassPath";
+
+  @Rule
+  public TemporaryFolder         testFolder = new TemporaryFolder();
+
+  private final ClassInfoSource  classes    = new Repository(
+      ClassloaderByteArraySource.fromContext());
+
+  private File                   file;
+
+  @Before
+  public void setUp() {
+    this.file = CoverageStore.locationFor(new File(this.testFolder.getRoot(),
+        "history"));
+  }
+
+  @Test
+  public void shouldPlaceCoverageAlongsideHistory() {
+    assertThat(this.file.getName()).isEqualTo("history.coverage");
+  }
+
+  @Test
+  public void shouldReadCoverageOfUnchangedTests() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final Map<ClassName, List<CoverageResult>> actual = new CoverageStore(
+        this.classes, CLASS_PATH).read(this.file);
+    assertThat(actual).containsOnlyKeys(TEST);
+    final CoverageResult cr = actual.get(TEST).get(0);
+    assertThat(cr.getTestUnitDescription()).isEqualTo(
+        result(true).getTestUnitDescription());
+    assertThat(cr.getExecutionTime()).isEqualTo(42);
+    assertThat(cr.getCpuTime()).isEqualTo(-1);
+    assertThat(cr.isGreenTest()).isTrue();
+    assertThat(cr.getCoverage()).containsExactly(block());
+  }
+
+  @Test
+  public void shouldDropCoverageOfTestsWhoseCoveredCodeHasChanged() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final ClassInfoSource changed = name -> name.equals(COVERED)
+        ? this.classes.fetchClass(ClassName.fromString("java.lang.Short"))
+        : this.classes.fetchClass(name);
+    assertThat(new CoverageStore(changed, CLASS_PATH).read(this.file)).isEmpty();
+  }
+
+  @Test
+  public void shouldDropCoverageOfTestsThatHaveChanged() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final ClassInfoSource changed = name -> name.equals(TEST)
+        ? this.classes.fetchClass(ClassName.fromString("java.lang.Short"))
+        : this.classes.fetchClass(name);
+    assertThat(new CoverageStore(changed, CLASS_PATH).read(this.file)).isEmpty();
+  }
+
+  @Test
+  public void shouldDropCoverageOfTestsCoveringClassesThatCannotBeFound() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final ClassInfoSource missing = name -> name.equals(COVERED)
+        ? Optional.<ClassInfo> empty() : this.classes.fetchClass(name);
+    assertThat(new CoverageStore(missing, CLASS_PATH).read(this.file)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotStoreTestClassesWithFailingTestsAddedLater() {
+    final CoverageStore testee = new CoverageStore(this.classes, CLASS_PATH);
+    try (CoverageStore.Writer writer = testee.writerFor(this.file)) {
+      writer.add(result(true));
+      writer.add(new CoverageResult(new Description("aTest", "java.lang.Short"),
+          1, true, Collections.singletonList(block())));
+      writer.add(result(false));
+      writer.commit();
+    }
+
+    assertThat(new CoverageStore(this.classes, CLASS_PATH).read(this.file))
+        .containsOnlyKeys(ClassName.fromString("java.lang.Short"));
+  }
+
+  @Test
+  public void shouldStoreResultsOfInterleavedBatches() {
+    final CoverageStore testee = new CoverageStore(this.classes, CLASS_PATH);
+    final CoverageResult other = new CoverageResult(new Description("aTest",
+        "java.lang.Short"), 1, true, Collections.singletonList(block()));
+    try (CoverageStore.Writer writer = testee.writerFor(this.file)) {
+      final CoverageStore.Writer.Batch one = writer.batch();
+      final CoverageStore.Writer.Batch two = writer.batch();
+      one.add(result(true));
+      two.add(other);
+      one.add(result(true));
+      two.add(other);
+      writer.commit();
+    }
+
+    final Map<ClassName, List<CoverageResult>> actual = new CoverageStore(
+        this.classes, CLASS_PATH).read(this.file);
+    assertThat(actual.get(TEST)).hasSize(2);
+    assertThat(actual.get(ClassName.fromString("java.lang.Short"))).hasSize(2);
+  }
+
+  @Test
+  public void shouldKeepPreviousCoverageUntilNewCoverageCommitted() {
+    final CoverageStore testee = new CoverageStore(this.classes, CLASS_PATH);
+    testee.write(this.file, Arrays.asList(result(true)));
+    try (CoverageStore.Writer writer = testee.writerFor(this.file)) {
+      writer.add(new CoverageResult(new Description("aTest", "java.lang.Short"),
+          1, true, Collections.singletonList(block())));
+    }
+
+    assertThat(new CoverageStore(this.classes, CLASS_PATH).read(this.file))
+        .containsOnlyKeys(TEST);
+  }
+
+  @Test
+  public void shouldDropAllCoverageWhenClassPathHasChanged() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final CoverageStore testee = new CoverageStore(this.classes, "changed");
+    assertThat(testee.read(this.file)).isEmpty();
+    assertThat(testee.timeOf(TEST)).isEqualTo(42);
+  }
+
+  @Test
+  public void shouldNotUseCoverageWhenClassPathUnknown() {
+    new CoverageStore(this.classes, "").write(this.file,
+        Arrays.asList(result(true)));
+
+    assertThat(new CoverageStore(this.classes, "").read(this.file)).isEmpty();
+  }
+
+  @Test
+  public void shouldFingerprintContentsOfClassPathDirectories()
+      throws Exception {
+    final File dir = this.testFolder.newFolder("classes");
+    final File clazz = new File(dir, "Foo.class");
+    Files.write(clazz.toPath(), new byte[] { 1 });
+    final String before = CoverageStore.fingerprintOf(dir.getPath());
+    assertThat(CoverageStore.fingerprintOf(dir.getPath())).isEqualTo(before);
+
+    Files.write(clazz.toPath(), new byte[] { 2 });
+    assertThat(CoverageStore.fingerprintOf(dir.getPath())).isNotEqualTo(
+        before);
+  }
+
+  @Test
+  public void shouldNotStoreTestClassesWithFailingTests() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true), result(false)));
+
+    assertThat(new CoverageStore(this.classes, CLASS_PATH).read(this.file)).isEmpty();
+  }
+
+  @Test
+  public void shouldProvideTimesOfChangedTests() {
+    new CoverageStore(this.classes, CLASS_PATH).write(this.file,
+        Arrays.asList(result(true)));
+
+    final ClassInfoSource changed = name -> name.equals(TEST)
+        ? this.classes.fetchClass(ClassName.fromString("java.lang.Short"))
+        : this.classes.fetchClass(name);
+    final CoverageStore testee = new CoverageStore(changed, CLASS_PATH);
+    assertThat(testee.read(this.file)).isEmpty();
+    assertThat(testee.timeOf(TEST)).isEqualTo(42);
+  }
+
+  @Test
+  public void shouldTreatTimeOfUnknownTestsAsOne() {
+    final CoverageStore testee = new CoverageStore(this.classes, CLASS_PATH);
+    testee.read(this.file);
+    assertThat(testee.timeOf(TEST)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnNothingWhenFileMissing() {
+    assertThat(new CoverageStore(this.classes, CLASS_PATH).read(this.file)).isEmpty();
+  }
+
+  private static CoverageResult result(final boolean green) {
+    return new CoverageResult(new Description("aTest", TEST.asJavaName()), 42,
+        green, Collections.singletonList(block()));
+  }
+
+  private static BlockLocation block() {
+    return new BlockLocation(Location.location(COVERED,
+        MethodName.fromString("valueOf"), "(J)Ljava/lang/Long;"), 3);
+  }
+
+}
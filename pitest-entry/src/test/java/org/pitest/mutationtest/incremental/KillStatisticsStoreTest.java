@@ -0,0 +1,64 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.KillStatistics;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class KillStatisticsStoreTest {
+
+  @Rule
+  public TemporaryFolder testFolder = new TemporaryFolder();
+
+  private File           file;
+
+  @Before
+  public void setUp() {
+    this.file = KillStatisticsStore.locationFor(new File(this.testFolder
+        .getRoot(), "history"));
+  }
+
+  @Test
+  public void shouldPlaceStatisticsAlongsideHistory() {
+    assertThat(this.file.getName()).isEqualTo("history.kills");
+  }
+
+  @Test
+  public void shouldReadWhatItWrites() {
+    final KillStatistics stats = new KillStatistics();
+    stats.record(new MutationResult(new MutationDetails(aMutationId()
+        .withLocation(aLocation("foo")).build(), "file", "desc", 1, 0),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "aTest")));
+    KillStatisticsStore.write(this.file, stats);
+
+    assertThat(KillStatisticsStore.read(this.file).isEmpty()).isFalse();
+  }
+
+  @Test
+  public void shouldReturnEmptyStatisticsWhenFileMissing() {
+    assertThat(KillStatisticsStore.read(this.file).isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldReturnEmptyStatisticsWhenFileNotRecognised()
+      throws IOException {
+    try (FileOutputStream fos = new FileOutputStream(this.file)) {
+      fos.write(new byte[] { 1, 2, 3, 4, 5 });
+    }
+    assertThat(KillStatisticsStore.read(this.file).isEmpty()).isTrue();
+  }
+
+}
@@ -42,6 +42,7 @@ import org.pitest.classinfo.HierarchicalClassId;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.CoverageGenerator;
+import org.pitest.coverage.TestTimings;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.EngineArguments;
@@ -107,6 +108,7 @@ public class MutationCoverageReportTest {
     this.data = new ReportOptions();
     this.data.setSourceDirs(Collections.<File> emptyList());
     when(this.coverage.calculateCoverage()).thenReturn(this.coverageDb);
+    when(this.coverageDb.getTestTimings()).thenReturn(new TestTimings());
     when(
         this.listenerFactory.getListener(Matchers.<Properties> any(),
             any(ListenerArguments.class))).thenReturn(this.listener);
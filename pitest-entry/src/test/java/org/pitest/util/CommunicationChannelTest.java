@@ -0,0 +1,113 @@
+package org.pitest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyByte;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.functional.SideEffect1;
+
+public class CommunicationChannelTest {
+
+  private CommunicationChannel              testee;
+
+  @Mock
+  private ServerSocket                      socket;
+
+  @Mock
+  private SideEffect1<SafeDataOutputStream> sendDataSideEffect;
+
+  @Mock
+  private ReceiveStrategy                   receiveStrategy;
+
+  @Mock
+  private Socket                            clientSocket;
+
+  private ByteArrayOutputStream             fromMinion;
+
+  private ByteArrayOutputStream             toMinion;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new CommunicationChannel(this.socket, this.receiveStrategy);
+
+    when(this.socket.accept()).thenReturn(this.clientSocket);
+
+    this.fromMinion = new ByteArrayOutputStream();
+    this.toMinion = new ByteArrayOutputStream();
+    when(this.clientSocket.getOutputStream()).thenReturn(this.toMinion);
+  }
+
+  @Test
+  public void shouldReportTheExitCodeSentByTheMinionProcess() throws Exception {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(this.fromMinion);
+    dos.writeByte(Id.DONE);
+    dos.writeInt(ExitCode.TIMEOUT.getCode());
+    mockClientSocketInputStream();
+    assertEquals(ExitCode.TIMEOUT, this.testee.converse(this.sendDataSideEffect));
+  }
+
+  @Test
+  public void shouldAcceptOnlyOneConnectionForManyExchanges() throws Exception {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(this.fromMinion);
+    dos.writeByte(Id.DESCRIBE);
+    dos.writeByte(Id.DONE);
+    dos.writeInt(ExitCode.OK.getCode());
+    dos.writeByte(Id.DESCRIBE);
+    dos.writeByte(Id.DONE);
+    dos.writeInt(ExitCode.OK.getCode());
+    mockClientSocketInputStream();
+
+    assertEquals(ExitCode.OK, this.testee.converse(this.sendDataSideEffect));
+    assertEquals(ExitCode.OK, this.testee.converse(this.sendDataSideEffect));
+
+    verify(this.socket, times(1)).accept();
+    verify(this.sendDataSideEffect, times(2)).apply(
+        any(SafeDataOutputStream.class));
+    verify(this.receiveStrategy, times(2)).apply(anyByte(),
+        any(SafeDataInputStream.class));
+  }
+
+  @Test
+  public void shouldReportUnknownErrorWhenMinionDisconnects() throws Exception {
+    mockClientSocketInputStream();
+    assertEquals(ExitCode.UNKNOWN_ERROR,
+        this.testee.converse(this.sendDataSideEffect));
+  }
+
+  @Test
+  public void shouldSignalMinionToShutDownWhenClosed() throws Exception {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(this.fromMinion);
+    dos.writeByte(Id.DONE);
+    dos.writeInt(ExitCode.OK.getCode());
+    mockClientSocketInputStream();
+
+    this.testee.converse(this.sendDataSideEffect);
+    this.testee.close();
+
+    final byte[] sent = this.toMinion.toByteArray();
+    assertEquals(Id.DONE, sent[sent.length - 1]);
+    verify(this.clientSocket).close();
+    verify(this.socket).close();
+  }
+
+  private void mockClientSocketInputStream() throws IOException {
+    final ByteArrayInputStream bis = new ByteArrayInputStream(
+        this.fromMinion.toByteArray());
+    when(this.clientSocket.getInputStream()).thenReturn(bis);
+  }
+
+}
@@ -24,10 +24,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.logging.Level;
 
+import org.antlr.stringtemplate.AutoIndentWriter;
 import org.antlr.stringtemplate.StringTemplate;
 import org.antlr.stringtemplate.StringTemplateGroup;
 import org.pitest.classinfo.ClassInfo;
@@ -41,6 +48,7 @@ import org.pitest.util.FileUtil;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.ResultOutputStrategy;
+import org.pitest.util.Unchecked;
 
 public class MutationHtmlReportListener implements MutationResultListener {
 
@@ -54,14 +62,40 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   private final String                    css;
 
+  // templates are parsed once and shared, instances are created per page
+  private final StringTemplateGroup       templates          = new StringTemplateGroup(
+                                                                 "mutation_test");
+
+  // source file pages are rendered on a bounded pool. When the queue is full
+  // the listener thread renders the page itself, so results are never
+  // buffered faster than pages can be written.
+  private final ThreadPoolExecutor        pagePool;
+  private final Map<String, MutationTestSummaryData> pendingPages = new ConcurrentHashMap<>();
+  private final Map<String, Object>       pageLocks          = new ConcurrentHashMap<>();
+  private final AtomicReference<RuntimeException> pageFailure = new AtomicReference<>();
+
   public MutationHtmlReportListener(final CoverageDatabase coverage,
       final ResultOutputStrategy outputStrategy,
       Collection<String> mutatorNames, final SourceLocator... locators) {
+    this(Runtime.getRuntime().availableProcessors(), coverage, outputStrategy,
+        mutatorNames, locators);
+  }
+
+  MutationHtmlReportListener(final int threads,
+      final CoverageDatabase coverage,
+      final ResultOutputStrategy outputStrategy,
+      Collection<String> mutatorNames, final SourceLocator... locators) {
     this.coverage = coverage;
     this.outputStrategy = outputStrategy;
     this.sourceRoots = new HashSet<>(Arrays.asList(locators));
     this.mutatorNames = new HashSet<>(mutatorNames);
     this.css = loadCss();
+    this.pagePool = new ThreadPoolExecutor(threads, threads, 10,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(threads * 4), r -> {
+          final Thread t = new Thread(r, "pit html report");
+          t.setDaemon(true);
+          return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
   private String loadCss() {
@@ -74,34 +108,68 @@ public class MutationHtmlReportListener implements MutationResultListener {
     return "";
   }
 
-  private void generateAnnotatedSourceFile(
+  private void submitAnnotatedSourceFile(
       final MutationTestSummaryData mutationMetaData) {
-
-
     final String fileName = mutationMetaData.getPackageName()
         + File.separator + mutationMetaData.getFileName() + ".html";
+    this.pendingPages.put(fileName, mutationMetaData);
+    this.pagePool.execute(() -> {
+      try {
+        generateAnnotatedSourceFile(fileName);
+      } catch (final RuntimeException ex) {
+        this.pageFailure.compareAndSet(null, ex);
+      }
+    });
+  }
 
-    try (Writer writer = this.outputStrategy.createWriterForFile(fileName)) {
+  // A page is rewritten each time a class in its source file completes. The
+  // latest summary is taken under a per page lock, so a page is never written
+  // by two threads at once and is always left holding the latest results.
+  private void generateAnnotatedSourceFile(final String fileName) {
+    synchronized (pageLock(fileName)) {
+      final MutationTestSummaryData mutationMetaData = this.pendingPages
+          .remove(fileName);
+      if (mutationMetaData == null) {
+        return;
+      }
 
-      final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-      final StringTemplate st = group
-          .getInstanceOf("templates/mutation/mutation_report");
-      st.setAttribute("css", this.css);
+      try (Writer writer = this.outputStrategy.createWriterForFile(fileName)) {
 
-      st.setAttribute("tests", mutationMetaData.getTests());
+        final StringTemplate st = this.templates
+            .getInstanceOf("templates/mutation/mutation_report");
+        st.setAttribute("css", this.css);
 
-      st.setAttribute("mutators", mutationMetaData.getMutators());
+        st.setAttribute("tests", mutationMetaData.getTests());
 
-      final SourceFile sourceFile = createAnnotatedSourceFile(mutationMetaData);
+        st.setAttribute("mutators", mutationMetaData.getMutators());
 
-      st.setAttribute("sourceFile", sourceFile);
-      st.setAttribute("mutatedClasses", mutationMetaData.getMutatedClasses());
+        final SourceFile sourceFile = createAnnotatedSourceFile(mutationMetaData);
 
-      writer.write(st.toString());
+        st.setAttribute("sourceFile", sourceFile);
+        st.setAttribute("mutatedClasses", mutationMetaData.getMutatedClasses());
+
+        st.write(new AutoIndentWriter(writer));
+
+      } catch (final IOException ex) {
+        Log.getLogger().log(Level.WARNING, "Error while writing report", ex);
+      }
+    }
+  }
 
+  private Object pageLock(final String fileName) {
+    return this.pageLocks.computeIfAbsent(fileName, k -> new Object());
+  }
 
-    } catch (final IOException ex) {
-      Log.getLogger().log(Level.WARNING, "Error while writing report", ex);
+  private void awaitSourceFiles() {
+    this.pagePool.shutdown();
+    try {
+      this.pagePool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    final RuntimeException failure = this.pageFailure.get();
+    if (failure != null) {
+      throw failure;
     }
   }
 
@@ -173,6 +241,7 @@ public class MutationHtmlReportListener implements MutationResultListener {
   }
 
   public void onRunEnd() {
+    awaitSourceFiles();
     createIndexPages();
     createCssFile();
   }
@@ -189,8 +258,7 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   private void createIndexPages() {
 
-    final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-    final StringTemplate st = group
+    final StringTemplate st = this.templates
         .getInstanceOf("templates/mutation/mutation_package_index");
 
     final Writer writer = this.outputStrategy.createWriterForFile("index.html");
@@ -216,8 +284,7 @@ public class MutationHtmlReportListener implements MutationResultListener {
   }
 
   private void createPackageIndexPage(final PackageSummaryData psData) {
-    final StringTemplateGroup group = new StringTemplateGroup("mutation_test");
-    final StringTemplate st = group
+    final StringTemplate st = this.templates
         .getInstanceOf("templates/mutation/package_index");
 
     final Writer writer = this.outputStrategy.createWriterForFile(psData
@@ -240,6 +307,7 @@ public class MutationHtmlReportListener implements MutationResultListener {
 
   @Override
   public void runEnd() {
+    awaitSourceFiles();
     createIndexPages();
     createCssFile();
   }
@@ -248,8 +316,10 @@ public class MutationHtmlReportListener implements MutationResultListener {
   public void handleMutationResult(final ClassMutationResults metaData) {
     final PackageSummaryData packageData = collectPackageSummaries(metaData);
 
-    generateAnnotatedSourceFile(packageData.getForSourceFile(metaData
-        .getFileName()));
+    // the summary keeps changing as later classes in the file complete, so
+    // the page is rendered from a copy
+    submitAnnotatedSourceFile(packageData.getForSourceFile(
+        metaData.getFileName()).copy());
 
   }
 
@@ -46,6 +46,14 @@ public class MutationTestSummaryData {
     this.numberOfCoveredLines = numberOfCoveredLines;
   }
 
+  /**
+   * Copy that is unaffected by later calls to add
+   */
+  public MutationTestSummaryData copy() {
+    return new MutationTestSummaryData(this.fileName, this.mutations,
+        this.mutators, this.classes, this.numberOfCoveredLines);
+  }
+
   public MutationTotals getTotals() {
     final MutationTotals mt = new MutationTotals();
     mt.addFiles(1);
@@ -19,6 +19,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Collection;
@@ -94,7 +95,28 @@ public class MutationHtmlReportListenerTest {
         .thenReturn(Optional.<Reader> empty());
     this.testee.handleMutationResult(MutationTestResultMother
         .createClassResults(mr));
+    this.testee.runEnd();
     verify(this.sourceLocator).locate(any(Collection.class), eq(fileName));
   }
 
+  @Test
+  public void shouldWriteEverySourceFileBeforeRunEnds() {
+    when(this.sourceLocator.locate(any(Collection.class), any(String.class)))
+        .thenReturn(Optional.<Reader> empty());
+    this.testee = new MutationHtmlReportListener(2, this.coverageDb,
+        this.outputStrategy, Collections.<String>emptyList(), this.sourceLocator);
+    for (int i = 0; i != 20; i++) {
+      final MutationResult mr = new MutationResult(
+          MutationTestResultMother.createDetails("foo" + i + ".java"),
+          new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+      this.testee.handleMutationResult(MutationTestResultMother
+          .createClassResults(mr));
+    }
+    this.testee.runEnd();
+    for (int i = 0; i != 20; i++) {
+      verify(this.outputStrategy).createWriterForFile(
+          "default" + File.separator + "foo" + i + ".java.html");
+    }
+  }
+
 }
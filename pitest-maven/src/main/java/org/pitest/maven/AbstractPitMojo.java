@@ -162,6 +162,13 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(defaultValue = "3000", property = "timeoutConstant")
   private long                        timeoutConstant;
 
+  /**
+   * Percentile of recorded test times to treat as the normal duration of a
+   * test. If zero the time recorded during coverage is used.
+   */
+  @Parameter(defaultValue = "0", property = "timeoutPercentile")
+  private int                         timeoutPercentile;
+
   /**
    * Maximum number of mutations to allow per class
    */
@@ -225,12 +232,65 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(property = "mutationUnitSize")
   private int                         mutationUnitSize;
 
+  /**
+   * Maximum number of mutations a minion process may analyse before it is
+   * replaced.
+   *
+   * If set to 0 a new minion is launched for each unit of analysis.
+   */
+  @Parameter(defaultValue = "0", property = "maxMutationsPerMinion")
+  private int                         maxMutationsPerMinion;
+
+  /**
+   * Send mutants generated while building units of analysis to the minions
+   * rather than generating them again
+   */
+  @Parameter(defaultValue = "false", property = "sendPrebuiltMutants")
+  private boolean                     sendPrebuiltMutants;
+
+  /**
+   * Combine the mutants of each class into a single mutant schema, selecting
+   * the active mutant at runtime rather than redefining the class for each one
+   */
+  @Parameter(defaultValue = "false", property = "mutantSchemata")
+  private boolean                     mutantSchemata;
+
+  /**
+   * Number of mutants each minion analyses at once, each in its own class
+   * loader.
+   *
+   * Values above 1 are only safe for tests that share no state outside the
+   * classes of the project.
+   */
+  @Parameter(defaultValue = "1", property = "minionThreads")
+  private int                         minionThreads;
+
+  /**
+   * Group mutations into units of similar estimated cost when analysing in
+   * more than one thread, rather than a unit per class
+   */
+  @Parameter(defaultValue = "false", property = "balanceMutationUnits")
+  private boolean                     balanceMutationUnits;
+
+  /**
+   * Reuse the coverage stored alongside the history file for tests that have
+   * not changed, when nothing on the classpath has changed
+   */
+  @Parameter(defaultValue = "false", property = "reuseCoverage")
+  private boolean                     reuseCoverage;
+
   /**
    * Export line coverage data
    */
   @Parameter(defaultValue = "false", property = "exportLineCoverage")
   private boolean                     exportLineCoverage;
 
+  /**
+   * Export histograms of per test run times
+   */
+  @Parameter(defaultValue = "false", property = "exportTimings")
+  private boolean                     exportTimings;
+
   /**
    * Mutation score threshold at which to fail build
    */
@@ -495,6 +555,10 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.timeoutConstant;
   }
 
+  public int getTimeoutPercentile() {
+    return this.timeoutPercentile;
+  }
+
   public ArrayList<String> getExcludedTestClasses() {
     return excludedTestClasses;
   }
@@ -543,6 +607,30 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.mutationUnitSize;
   }
 
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public boolean isSendPrebuiltMutants() {
+    return this.sendPrebuiltMutants;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public int getMinionThreads() {
+    return this.minionThreads;
+  }
+
+  public boolean isBalanceMutationUnits() {
+    return this.balanceMutationUnits;
+  }
+
+  public boolean isReuseCoverage() {
+    return this.reuseCoverage;
+  }
+
   public boolean isTimestampedReports() {
     return this.timestampedReports;
   }
@@ -567,6 +655,10 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.exportLineCoverage;
   }
 
+  public boolean isExportTimings() {
+    return this.exportTimings;
+  }
+
   protected RunDecision shouldRun() {
     RunDecision decision = new RunDecision();
 
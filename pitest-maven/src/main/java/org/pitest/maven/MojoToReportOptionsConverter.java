@@ -119,6 +119,7 @@ public class MojoToReportOptionsConverter {
     data.setFeatures(determineFeatures());
     data.setTimeoutConstant(this.mojo.getTimeoutConstant());
     data.setTimeoutFactor(this.mojo.getTimeoutFactor());
+    data.setTimeoutPercentile(this.mojo.getTimeoutPercentile());
     if (hasValue(this.mojo.getAvoidCallsTo())) {
       data.setLoggingClasses(this.mojo.getAvoidCallsTo());
     }
@@ -134,12 +135,19 @@ public class MojoToReportOptionsConverter {
     setTestGroups(data);
 
     data.setMutationUnitSize(this.mojo.getMutationUnitSize());
+    data.setMaxMutationsPerMinion(this.mojo.getMaxMutationsPerMinion());
+    data.setSendPrebuiltMutants(this.mojo.isSendPrebuiltMutants());
+    data.setUseMutantSchemata(this.mojo.isMutantSchemata());
+    data.setMinionThreads(this.mojo.getMinionThreads());
+    data.setBalanceMutationUnits(this.mojo.isBalanceMutationUnits());
+    data.setReuseCoverage(this.mojo.isReuseCoverage());
     data.setShouldCreateTimestampedReports(this.mojo.isTimestampedReports());
     data.setDetectInlinedCode(this.mojo.isDetectInlinedCode());
 
     determineHistory(data);
     
     data.setExportLineCoverage(this.mojo.isExportLineCoverage());
+    data.setExportTimings(this.mojo.isExportTimings());
     data.setMutationEngine(this.mojo.getMutationEngine());
     data.setJavaExecutable(this.mojo.getJavaExecutable());
     data.setFreeFormProperties(createPluginProperties());
@@ -141,6 +141,11 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
     assertEquals(42, actual.getTimeoutConstant());
   }
 
+  public void testParsesTimeOutPercentile() {
+    final ReportOptions actual = parseConfig("<timeoutPercentile>99</timeoutPercentile>");
+    assertEquals(99, actual.getTimeoutPercentile());
+  }
+
   public void testParsesListOfTargetTestClassGlobs() {
     final String xml = "<targetTests>" + //
         "                      <param>foo*</param>" + //
@@ -220,6 +225,30 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
         .isDetectInlinedCode());
   }
 
+  public void testParsesMutantSchemataFlag() {
+    assertTrue(parseConfig("<mutantSchemata>true</mutantSchemata>")
+        .isUseMutantSchemata());
+    assertFalse(parseConfig("<mutantSchemata>false</mutantSchemata>")
+        .isUseMutantSchemata());
+  }
+
+  public void testParsesMinionThreads() {
+    final ReportOptions actual = parseConfig("<minionThreads>4</minionThreads>");
+    assertEquals(4, actual.getMinionThreads());
+  }
+
+  public void testParsesBalanceMutationUnits() {
+    final ReportOptions actual = parseConfig(
+        "<balanceMutationUnits>true</balanceMutationUnits>");
+    assertTrue(actual.isBalanceMutationUnits());
+  }
+
+  public void testParsesReuseCoverage() {
+    final ReportOptions actual = parseConfig(
+        "<reuseCoverage>true</reuseCoverage>");
+    assertTrue(actual.isReuseCoverage());
+  }
+
   public void testDefaultsToHtmlReportWhenNoOutputFormatsSpecified() {
     final ReportOptions actual = parseConfig("");
     assertEquals(new HashSet<>(Arrays.asList("HTML")),
@@ -313,6 +342,11 @@ public class MojoToReportOptionsConverterTest extends BasePitMojoTest {
     assertFalse(actual.shouldExportLineCoverage());
   }
 
+  public void testParsesTimingsExportFlagWhenSet() {
+    final ReportOptions actual = parseConfig("<exportTimings>true</exportTimings>");
+    assertTrue(actual.shouldExportTimings());
+  }
+
   public void testParsesEngineWhenSet() {
     final ReportOptions actual = parseConfig("<mutationEngine>foo</mutationEngine>");
     assertEquals("foo", actual.getMutationEngine());
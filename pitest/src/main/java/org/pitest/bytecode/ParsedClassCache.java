@@ -0,0 +1,113 @@
+package org.pitest.bytecode;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.pitest.classinfo.ClassName;
+
+/**
+ * Cache of parsed classes, shared by everything in a process that analyses the
+ * same class bytes, so that each class is parsed once rather than once per
+ * analysis.
+ *
+ * Entries are keyed by class name and checked against the bytes they were
+ * parsed from, so a class is parsed again if it is requested with different
+ * bytes. The cache is bounded by the size of the class files it holds and
+ * parsed classes are softly referenced, so they may be dropped under memory
+ * pressure and parsed again on next use.
+ *
+ * Classes are parsed with expanded frames. They are shared and must not be
+ * modified. ASM resets the labels of a method when it is visited, so a class
+ * must not be visited by two threads at once.
+ */
+public final class ParsedClassCache {
+
+  // weight is the total length of the cached class files
+  private static final long             DEFAULT_MAX_WEIGHT = 16 * 1024 * 1024;
+
+  private static final ParsedClassCache SHARED             = new ParsedClassCache(
+                                                               DEFAULT_MAX_WEIGHT);
+
+  private final long                    maxWeight;
+  private final Map<ClassName, Entry>   entries            = new LinkedHashMap<>(
+                                                               16, 0.75f, true);
+  private long                          weight;
+
+  ParsedClassCache(final long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public static ParsedClassCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the class parsed from the given bytes, parsing it if it is not
+   * already held.
+   */
+  public ClassNode classNode(final ClassName name, final byte[] bytes) {
+    final ClassNode cached = lookup(name, bytes);
+    if (cached != null) {
+      return cached;
+    }
+
+    final ClassNode node = parse(bytes);
+    store(name, bytes, node);
+    return node;
+  }
+
+  synchronized int size() {
+    return this.entries.size();
+  }
+
+  private synchronized ClassNode lookup(final ClassName name,
+      final byte[] bytes) {
+    final Entry entry = this.entries.get(name);
+    if ((entry == null) || !entry.isFor(bytes)) {
+      return null;
+    }
+    return entry.node.get();
+  }
+
+  private synchronized void store(final ClassName name, final byte[] bytes,
+      final ClassNode node) {
+    final Entry previous = this.entries.put(name, new Entry(bytes, node));
+    if (previous != null) {
+      this.weight = this.weight - previous.bytes.length;
+    }
+    this.weight = this.weight + bytes.length;
+
+    final Iterator<Entry> eldest = this.entries.values().iterator();
+    while ((this.weight > this.maxWeight) && (this.entries.size() > 1)) {
+      this.weight = this.weight - eldest.next().bytes.length;
+      eldest.remove();
+    }
+  }
+
+  private static ClassNode parse(final byte[] bytes) {
+    final ClassReader reader = new ClassReader(bytes);
+    final ClassNode node = new ClassNode();
+    reader.accept(node, ClassReader.EXPAND_FRAMES);
+    return node;
+  }
+
+  private static final class Entry {
+    private final byte[]                   bytes;
+    private final SoftReference<ClassNode> node;
+
+    Entry(final byte[] bytes, final ClassNode node) {
+      this.bytes = bytes;
+      this.node = new SoftReference<>(node);
+    }
+
+    boolean isFor(final byte[] other) {
+      return (this.bytes == other) || Arrays.equals(this.bytes, other);
+    }
+  }
+
+}
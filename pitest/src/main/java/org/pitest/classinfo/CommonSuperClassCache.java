@@ -0,0 +1,138 @@
+package org.pitest.classinfo;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Common super classes found while computing stack map frames, shared by
+ * everything in a process that writes classes.
+ *
+ * Entries found by a minion are sent to the parent process, which passes them
+ * on to later minions and keeps them between runs, so each pair of types need
+ * be looked up once rather than once per minion.
+ */
+public final class CommonSuperClassCache {
+
+  private static final CommonSuperClassCache SHARED    = new CommonSuperClassCache();
+
+  private static final String                SEPARATOR = "!_!";
+
+  private final Map<String, String>          known     = new ConcurrentHashMap<>();
+  private final Map<String, String>          found     = new ConcurrentHashMap<>();
+  private final Map<String, String>          view      = new RecordingView();
+
+  public static CommonSuperClassCache shared() {
+    return SHARED;
+  }
+
+  public static String key(final String type1, final String type2) {
+    return type1 + SEPARATOR + type2;
+  }
+
+  /**
+   * Map suitable for a {@link ComputeClassWriter}. Entries the writer adds are
+   * remembered as found until taken.
+   */
+  public Map<String, String> asMap() {
+    return this.view;
+  }
+
+  /**
+   * Adds entries found elsewhere. These are not reported as found.
+   */
+  public void addAll(final Map<String, String> entries) {
+    this.known.putAll(entries);
+  }
+
+  public Map<String, String> entries() {
+    return new HashMap<>(this.known);
+  }
+
+  /**
+   * Removes and returns the entries added through {@link #asMap()} since
+   * this was last called.
+   */
+  public Map<String, String> takeFound() {
+    final Map<String, String> taken = new HashMap<>();
+    for (final String each : this.found.keySet()) {
+      final String value = this.found.remove(each);
+      if (value != null) {
+        taken.put(each, value);
+      }
+    }
+    return taken;
+  }
+
+  /**
+   * Forgets the entries added through {@link #asMap()} without returning
+   * them, for processes that do not report what they find.
+   */
+  public void clearFound() {
+    this.found.clear();
+  }
+
+  public void clear() {
+    this.known.clear();
+    this.found.clear();
+  }
+
+  /**
+   * Returns the types an entry key was created from
+   */
+  public static String[] types(final String key) {
+    final int split = key.indexOf(SEPARATOR);
+    return new String[] { key.substring(0, split),
+        key.substring(split + SEPARATOR.length()) };
+  }
+
+  public static void write(final SafeDataOutputStream dos,
+      final Map<String, String> entries) {
+    dos.writeVarInt(entries.size());
+    for (final Map.Entry<String, String> each : entries.entrySet()) {
+      final String[] types = types(each.getKey());
+      dos.writeInternedString(types[0]);
+      dos.writeInternedString(types[1]);
+      dos.writeInternedString(each.getValue());
+    }
+  }
+
+  public static Map<String, String> read(final SafeDataInputStream dis) {
+    final int count = dis.readVarInt();
+    final Map<String, String> entries = new HashMap<>();
+    for (int i = 0; i != count; i++) {
+      final String type1 = dis.readInternedString();
+      final String type2 = dis.readInternedString();
+      entries.put(key(type1, type2), dis.readInternedString());
+    }
+    return entries;
+  }
+
+  private final class RecordingView extends AbstractMap<String, String> {
+
+    @Override
+    public String get(final Object key) {
+      return CommonSuperClassCache.this.known.get(key);
+    }
+
+    @Override
+    public String put(final String key, final String value) {
+      CommonSuperClassCache.this.found.put(key, value);
+      return CommonSuperClassCache.this.known.put(key, value);
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+      return Collections.unmodifiableMap(CommonSuperClassCache.this.known)
+          .entrySet();
+    }
+
+  }
+
+}
@@ -60,9 +60,21 @@ public class ComputeClassWriter extends ClassWriter {
     this.cache = cache;
   }
 
+  /**
+   * Creates a writer that copies methods passed to it unchanged from the
+   * given reader without rewriting them
+   */
+  public ComputeClassWriter(final ClassReader reader,
+      final ClassByteArraySource bytes, final Map<String, String> cache,
+      final int flags) {
+    super(reader, flags);
+    this.bytes = bytes;
+    this.cache = cache;
+  }
+
   @Override
   protected String getCommonSuperClass(final String type1, final String type2) {
-    final String key = type1 + "!_!" + type2;
+    final String key = CommonSuperClassCache.key(type1, type2);
     final String previous = this.cache.get(key);
     if (previous != null) {
       return previous;
@@ -14,28 +14,31 @@
  */
 package org.pitest.classpath;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import java.util.Optional;
-import org.pitest.util.StreamUtil;
 import org.pitest.util.Unchecked;
 
 /**
- * ClassPathRoot wrapping a jar or zip file
+ * ClassPathRoot wrapping a jar or zip file.
+ *
+ * The archive is opened on first use and its entries indexed, so lookups are
+ * cheap enough that the root is not treated as IO heavy. It is held open until
+ * the root is closed, after which the root may not be used.
  */
-public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
+public class ArchiveClassPathRoot implements ClassPathRoot, Closeable {
+
+  private final File   file;
 
-  private final File file;
+  private ArchiveIndex index;
+  private boolean      closed;
 
   public ArchiveClassPathRoot(final File file) {
     this.file = file;
@@ -43,36 +46,20 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   @Override
   public InputStream getData(final String name) throws IOException {
-    try (ZipFile zip = getRoot()) {
-      final ZipEntry entry = zip.getEntry(name.replace('.', '/') + ".class");
-      if (entry == null) {
-        return null;
-      }
-      return StreamUtil.copyStream(zip.getInputStream(entry));
+    final byte[] bytes = getRoot().classBytes(name);
+    if (bytes == null) {
+      return null;
     }
+    return new ByteArrayInputStream(bytes);
   }
 
   @Override
   public URL getResource(final String name) throws MalformedURLException {
-    final ZipFile zip = getRoot();
-    try {
-      final ZipEntry entry = zip.getEntry(name);
-      if (entry != null) {
-        return new URL("jar:file:" + zip.getName() + "!/" + entry.getName());
-      } else {
-        return null;
-      }
-    } finally {
-      closeQuietly(zip);
-    }
-
-  }
-
-  private static void closeQuietly(final ZipFile zip) {
-    try {
-      zip.close();
-    } catch (final IOException e) {
-      throw Unchecked.translateCheckedException(e);
+    final ArchiveIndex zip = getRoot();
+    if (zip.containsEntry(name)) {
+      return new URL("jar:file:" + zip.getName() + "!/" + name);
+    } else {
+      return null;
     }
   }
 
@@ -83,26 +70,7 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
 
   @Override
   public Collection<String> classNames() {
-    final List<String> names = new ArrayList<>();
-    final ZipFile root = getRoot();
-    try {
-      final Enumeration<? extends ZipEntry> entries = root.entries();
-      while (entries.hasMoreElements()) {
-        final ZipEntry entry = entries.nextElement();
-        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-          names.add(stringToClassName(entry.getName()));
-        }
-      }
-      return names;
-    } finally {
-      closeQuietly(root);
-    }
-
-  }
-
-  private String stringToClassName(final String name) {
-    return name.substring(0, (name.length() - ".class".length())).replace('/',
-        '.');
+    return getRoot().classNames();
   }
 
   @Override
@@ -110,13 +78,28 @@ public class ArchiveClassPathRoot implements ClassPathRoot, IOHeavyRoot {
     return Optional.ofNullable(this.file.getAbsolutePath());
   }
 
-  private ZipFile getRoot() {
-    try {
-      return new ZipFile(this.file);
-    } catch (final IOException ex) {
-      throw Unchecked.translateCheckedException(ex.getMessage() + " ("
-          + this.file + ")", ex);
+  @Override
+  public synchronized void close() throws IOException {
+    this.closed = true;
+    if (this.index != null) {
+      this.index.release();
+      this.index = null;
+    }
+  }
+
+  private synchronized ArchiveIndex getRoot() {
+    if (this.closed) {
+      throw new IllegalStateException(this + " has been closed");
+    }
+    if ((this.index == null) || this.index.isClosed()) {
+      try {
+        this.index = ArchiveIndex.acquire(this.file);
+      } catch (final IOException ex) {
+        throw Unchecked.translateCheckedException(ex.getMessage() + " ("
+            + this.file + ")", ex);
+      }
     }
+    return this.index;
   }
 
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.pitest.util.StreamUtil;
+
+/**
+ * Holds an archive open together with a table of the classes it contains, so
+ * that repeated lookups neither reopen the archive nor rescan its central
+ * directory.
+ *
+ * Indexes are shared between all roots for the same file and counted, the
+ * archive is closed once the last root using it is closed. An index for a file
+ * that has changed on disk is closed as soon as a fresh one replaces it, roots
+ * still holding the stale index acquire the fresh one on their next lookup.
+ */
+final class ArchiveIndex {
+
+  private static final Map<File, ArchiveIndex> OPEN = new HashMap<>();
+
+  private final File                    file;
+  private final ZipFile                 zip;
+  private final long                    lastModified;
+  private final long                    length;
+  private final Map<String, ZipEntry>   classes;
+  private final List<String>            classNames;
+
+  // guarded by OPEN
+  private int                           users;
+  private boolean                       closed;
+
+  private ArchiveIndex(final File file) throws IOException {
+    this.file = file;
+    this.lastModified = file.lastModified();
+    this.length = file.length();
+    this.zip = new ZipFile(file);
+    final List<String> names = new ArrayList<>();
+    this.classes = new HashMap<>();
+    final Enumeration<? extends ZipEntry> entries = this.zip.entries();
+    while (entries.hasMoreElements()) {
+      final ZipEntry entry = entries.nextElement();
+      if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+        final String name = entryToClassName(entry.getName());
+        names.add(name);
+        this.classes.put(name, entry);
+      }
+    }
+    this.classNames = Collections.unmodifiableList(names);
+  }
+
+  /**
+   * Returns the index for a file, which must be released once the caller has
+   * finished with it.
+   */
+  static ArchiveIndex acquire(final File file) throws IOException {
+    final File key = file.getAbsoluteFile();
+    synchronized (OPEN) {
+      ArchiveIndex index = OPEN.get(key);
+      if ((index != null) && !index.isCurrentFor(key)) {
+        OPEN.remove(key);
+        index.close();
+        index = null;
+      }
+      if (index == null) {
+        index = new ArchiveIndex(key);
+        OPEN.put(key, index);
+      }
+      index.users++;
+      return index;
+    }
+  }
+
+  void release() throws IOException {
+    synchronized (OPEN) {
+      if (this.closed) {
+        return;
+      }
+      this.users--;
+      if (this.users == 0) {
+        OPEN.remove(this.file);
+        close();
+      }
+    }
+  }
+
+  boolean isClosed() {
+    synchronized (OPEN) {
+      return this.closed;
+    }
+  }
+
+  private void close() throws IOException {
+    this.closed = true;
+    this.zip.close();
+  }
+
+  String getName() {
+    return this.zip.getName();
+  }
+
+  Collection<String> classNames() {
+    return this.classNames;
+  }
+
+  boolean containsEntry(final String name) {
+    return this.zip.getEntry(name) != null;
+  }
+
+  /**
+   * Reads a class straight into an array of its uncompressed size.
+   *
+   * @param name
+   *          java name of the class
+   * @return bytes of the class or null if the archive does not contain it
+   */
+  byte[] classBytes(final String name) throws IOException {
+    final ZipEntry entry = this.classes.get(name.replace('/', '.'));
+    if (entry == null) {
+      return null;
+    }
+    try (InputStream is = this.zip.getInputStream(entry)) {
+      final long size = entry.getSize();
+      if (size < 0 || size > Integer.MAX_VALUE) {
+        return StreamUtil.streamToByteArray(is);
+      }
+      return readFully(is, (int) size);
+    }
+  }
+
+  private boolean isCurrentFor(final File file) {
+    return (this.lastModified == file.lastModified())
+        && (this.length == file.length());
+  }
+
+  private static byte[] readFully(final InputStream is, final int size)
+      throws IOException {
+    final byte[] bs = new byte[size];
+    int read = 0;
+    while (read < size) {
+      final int count = is.read(bs, read, size - read);
+      if (count < 0) {
+        throw new IOException("Unexpected end of archive entry");
+      }
+      read = read + count;
+    }
+    return bs;
+  }
+
+  private static String entryToClassName(final String name) {
+    return name.substring(0, (name.length() - ".class".length())).replace('/',
+        '.');
+  }
+
+}
@@ -15,6 +15,7 @@
 
 package org.pitest.classpath;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,7 +36,7 @@ import org.pitest.util.Log;
 import org.pitest.util.PitError;
 import org.pitest.util.StreamUtil;
 
-public class ClassPath {
+public class ClassPath implements Closeable {
 
   private static final Logger         LOG = Log.getLogger();
 
@@ -140,6 +141,20 @@ public class ClassPath {
         new ClassPathRoot[0]));
   }
 
+  /**
+   * Releases the archives held open by this classpath. Components share their
+   * roots with the classpath they were taken from, so neither may be used
+   * after either is closed.
+   */
+  @Override
+  public void close() {
+    try {
+      this.root.close();
+    } catch (final IOException ex) {
+      LOG.warning("Could not close classpath " + ex.getMessage());
+    }
+  }
+
   private static Predicate<File> exists() {
     return a -> a.exists() && a.canRead();
   }
@@ -1,5 +1,6 @@
 package org.pitest.classpath;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -7,16 +8,22 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.pitest.functional.FCollection;
 import java.util.Optional;
 
 public class CompoundClassPathRoot implements ClassPathRoot,
-    Iterable<ClassPathRoot> {
+    Iterable<ClassPathRoot>, Closeable {
 
-  private final List<ClassPathRoot> roots = new ArrayList<>();
+  private final List<ClassPathRoot>      roots = new ArrayList<>();
+
+  // position of the first root holding each class, for the roots that can
+  // list every class they hold. Built on first use.
+  private volatile Map<String, Integer> index;
 
   public CompoundClassPathRoot(final List<ClassPathRoot> roots) {
     this.roots.addAll(wrapToAvoidIOOperations(roots));
@@ -24,13 +31,23 @@ public class CompoundClassPathRoot implements ClassPathRoot,
 
   @Override
   public InputStream getData(final String name) throws IOException {
-    for (final ClassPathRoot each : this.roots) {
-      final InputStream is = each.getData(name);
-      if (is != null) {
-        return is;
+    final Integer owner = index().get(name.replace('/', '.'));
+    final int end = owner == null ? this.roots.size() : owner;
+    // roots that cannot list their classes are still asked in classpath
+    // order, in case one before the owner also holds the class
+    for (int i = 0; i != end; i++) {
+      final ClassPathRoot each = this.roots.get(i);
+      if (!isIndexed(each)) {
+        final InputStream is = each.getData(name);
+        if (is != null) {
+          return is;
+        }
       }
     }
-    return null;
+    if (owner == null) {
+      return null;
+    }
+    return this.roots.get(owner).getData(name);
   }
 
   @Override
@@ -74,11 +91,54 @@ public class CompoundClassPathRoot implements ClassPathRoot,
     return Optional.ofNullable(classpath.toString());
   }
 
+  @Override
+  public void close() throws IOException {
+    for (final ClassPathRoot each : this.roots) {
+      if (each instanceof Closeable) {
+        ((Closeable) each).close();
+      }
+    }
+  }
+
   @Override
   public Iterator<ClassPathRoot> iterator() {
     return this.roots.iterator();
   }
 
+  private Map<String, Integer> index() {
+    Map<String, Integer> local = this.index;
+    if (local == null) {
+      synchronized (this) {
+        local = this.index;
+        if (local == null) {
+          local = buildIndex();
+          this.index = local;
+        }
+      }
+    }
+    return local;
+  }
+
+  private Map<String, Integer> buildIndex() {
+    final Map<String, Integer> names = new HashMap<>();
+    for (int i = 0; i != this.roots.size(); i++) {
+      final ClassPathRoot each = this.roots.get(i);
+      if (isIndexed(each)) {
+        // one boxed position shared by every class of the root
+        final Integer position = i;
+        for (final String name : each.classNames()) {
+          names.putIfAbsent(name, position);
+        }
+      }
+    }
+    return names;
+  }
+
+  private static boolean isIndexed(final ClassPathRoot root) {
+    return (root instanceof ArchiveClassPathRoot)
+        || (root instanceof NameCachingRoot);
+  }
+
   private  static List<ClassPathRoot> wrapToAvoidIOOperations(
       List<ClassPathRoot> roots) {
     return FCollection.map(roots, NameCachingRoot.toCachingRoot());
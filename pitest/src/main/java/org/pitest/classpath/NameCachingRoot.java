@@ -6,6 +6,8 @@ import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.function.Function;
 
 import org.pitest.classinfo.ClassName;
@@ -48,7 +50,9 @@ public class NameCachingRoot implements ClassPathRoot {
         return cachedNames;
       }
     }
-    final Collection<String> names = this.child.classNames();
+    // held as a set so that checking for a class is not a scan of the list
+    final Collection<String> names = Collections
+        .unmodifiableSet(new LinkedHashSet<>(this.child.classNames()));
     this.cache = new SoftReference<>(names);
     return  names;
   }
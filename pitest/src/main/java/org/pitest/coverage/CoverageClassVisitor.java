@@ -17,10 +17,14 @@
 
 package org.pitest.coverage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.pitest.classinfo.BridgeMethodFilter;
 import org.pitest.classinfo.MethodFilteringAdapter;
+import org.pitest.coverage.InstrumentedClassCache.MethodProbes;
 import org.pitest.coverage.analysis.CoverageAnalyser;
 
 import sun.pitest.CodeCoverageStore;
@@ -29,19 +33,41 @@ import sun.pitest.CodeCoverageStore;
  * Instruments a class with probes on each line
  */
 public class CoverageClassVisitor extends MethodFilteringAdapter {
-  private final int classId;
+  private final int                 classId;
+  private final int                 registeredId;
+  private final List<MethodProbes>  methods    = new ArrayList<>();
 
-  private int       probeCount = 0;
+  private int                       probeCount = 0;
 
   public CoverageClassVisitor(final int classId, final ClassWriter writer) {
+    this(classId, classId, writer);
+  }
+
+  /**
+   * @param classId
+   *          id compiled into the probes
+   * @param registeredId
+   *          id under which the class and its probes are registered, which
+   *          differs from the compiled id when the class is to be cached
+   */
+  public CoverageClassVisitor(final int classId, final int registeredId,
+      final ClassWriter writer) {
     super(writer, BridgeMethodFilter.INSTANCE);
     this.classId = classId;
+    this.registeredId = registeredId;
   }
 
   public void registerProbes(final int number) {
     this.probeCount = this.probeCount + number;
   }
 
+  public void registerMethod(final String name, final String desc,
+      final int firstProbe, final int lastProbe) {
+    CodeCoverageStore.registerMethod(this.registeredId, name, desc,
+        firstProbe, lastProbe);
+    this.methods.add(new MethodProbes(name, desc, firstProbe, lastProbe));
+  }
+
   @Override
   public MethodVisitor visitMethodIfRequired(final int access,
       final String name, final String desc, final String signature,
@@ -54,7 +80,15 @@ public class CoverageClassVisitor extends MethodFilteringAdapter {
 
   @Override
   public void visitEnd() {
-    CodeCoverageStore.registerClassProbes(this.classId, this.probeCount);
+    CodeCoverageStore.registerClassProbes(this.registeredId, this.probeCount);
+  }
+
+  int getProbeCount() {
+    return this.probeCount;
+  }
+
+  List<MethodProbes> getMethods() {
+    return this.methods;
   }
 
 }
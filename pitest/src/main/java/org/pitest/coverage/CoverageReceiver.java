@@ -8,7 +8,11 @@ public interface CoverageReceiver extends InvokeReceiver {
 
   void newTest();
 
+  /**
+   * @param cpuTime
+   *          cpu time used by the test, or -1 if it could not be measured
+   */
   void recordTestOutcome(Description description, boolean wasGreen,
-      int executionTime);
+      int executionTime, int cpuTime);
 
 }
\ No newline at end of file
@@ -8,14 +8,26 @@ public class CoverageResult {
 
   private final Description               testUnitDescription;
   private final int                       executionTime;
+  private final int                       cpuTime;
   private final Collection<BlockLocation> visitedBlocks;
   private final boolean                   greenSuite;
 
   public CoverageResult(final Description testUnitDescription,
       final int executionTime, final boolean greenSuite,
       final Collection<BlockLocation> visitedBlocks) {
+    this(testUnitDescription, executionTime, -1, greenSuite, visitedBlocks);
+  }
+
+  /**
+   * @param cpuTime
+   *          cpu time used by the test, or -1 if it was not measured
+   */
+  public CoverageResult(final Description testUnitDescription,
+      final int executionTime, final int cpuTime, final boolean greenSuite,
+      final Collection<BlockLocation> visitedBlocks) {
     this.testUnitDescription = testUnitDescription;
     this.executionTime = executionTime;
+    this.cpuTime = cpuTime;
     this.visitedBlocks = visitedBlocks;
     this.greenSuite = greenSuite;
   }
@@ -28,6 +40,10 @@ public class CoverageResult {
     return this.executionTime;
   }
 
+  public int getCpuTime() {
+    return this.cpuTime;
+  }
+
   public Collection<BlockLocation> getCoverage() {
     return this.visitedBlocks;
   }
@@ -43,7 +59,8 @@ public class CoverageResult {
   @Override
   public String toString() {
     return "CoverageResult [testUnitDescription=" + this.testUnitDescription
-        + ", executionTime=" + this.executionTime + ", coverage="
+        + ", executionTime=" + this.executionTime + ", cpuTime="
+        + this.cpuTime + ", coverage="
         + this.visitedBlocks + ", greenSuite=" + this.greenSuite + "]";
   }
 
@@ -3,25 +3,41 @@ package org.pitest.coverage;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.security.ProtectionDomain;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.pitest.bytecode.FrameOptions;
+import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ComputeClassWriter;
 import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.coverage.InstrumentedClassCache.RecordingByteSource;
 
 import sun.pitest.CodeCoverageStore;
 
 public class CoverageTransformer implements ClassFileTransformer {
 
-  private final Predicate<String>   filter;
-  private final Map<String, String> computeCache = new ConcurrentHashMap<>();
+  private final Predicate<String>      filter;
+  private final InstrumentedClassCache cache;
+  private final Map<String, String>    computeCache = new ConcurrentHashMap<>();
 
   public CoverageTransformer(final Predicate<String> filter) {
+    this(filter, null);
+  }
+
+  /**
+   * @param cache
+   *          holds classes instrumented in earlier runs, or null if classes
+   *          are always to be instrumented
+   */
+  public CoverageTransformer(final Predicate<String> filter,
+      final InstrumentedClassCache cache) {
     this.filter = filter;
+    this.cache = cache;
   }
 
   @Override
@@ -32,6 +48,10 @@ public class CoverageTransformer implements ClassFileTransformer {
     final boolean include = shouldInclude(className);
     if (include) {
       try {
+        if (this.cache != null) {
+          return transformUsingCache(pickLoader(loader), className,
+              classfileBuffer);
+        }
         return transformBytes(pickLoader(loader), className, classfileBuffer);
       } catch (final RuntimeException t) {
         System.err.println("RuntimeException while transforming  " + className);
@@ -56,6 +76,36 @@ public class CoverageTransformer implements ClassFileTransformer {
     return writer.toByteArray();
   }
 
+  private byte[] transformUsingCache(final ClassLoader loader,
+      final String className, final byte[] classfileBuffer) {
+    final ClassByteArraySource source = new ClassloaderByteArraySource(loader);
+    final Optional<byte[]> cached = this.cache.load(className,
+        classfileBuffer, source);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    if (!InstrumentedClassCache.canHoldPlaceholder(classfileBuffer)) {
+      return transformBytes(loader, className, classfileBuffer);
+    }
+
+    // the shared compute cache would hide classes the frames depend on, so
+    // each class is written with its own
+    final RecordingByteSource recorder = new RecordingByteSource(source);
+    final ClassReader reader = new ClassReader(classfileBuffer);
+    final ClassWriter writer = new ComputeClassWriter(recorder,
+        new HashMap<String, String>(), FrameOptions.pickFlags(classfileBuffer));
+
+    final int id = CodeCoverageStore.registerClass(className);
+    final CoverageClassVisitor visitor = new CoverageClassVisitor(
+        InstrumentedClassCache.PLACEHOLDER_ID, id, writer);
+    reader.accept(visitor, ClassReader.EXPAND_FRAMES);
+    final byte[] instrumented = writer.toByteArray();
+
+    this.cache.store(className, classfileBuffer, instrumented,
+        visitor.getProbeCount(), visitor.getMethods(), recorder.read());
+    return InstrumentedClassCache.withId(instrumented, id);
+  }
+
   private boolean shouldInclude(final String className) {
     return this.filter.test(className);
   }
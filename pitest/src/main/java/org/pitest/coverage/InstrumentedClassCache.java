@@ -0,0 +1,311 @@
+package org.pitest.coverage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassReader;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+import sun.pitest.CodeCoverageStore;
+
+/**
+ * Keeps coverage instrumented classes on disk, so that a class that has not
+ * changed since an earlier run need not be instrumented again.
+ *
+ * Each class is stored in its own file with a hash of its original bytes.
+ * Instrumented bytes hold a placeholder in place of the class id, which is
+ * assigned afresh on each load. Frames of the instrumented class depend on
+ * the hierarchy of the types they merge, so the hashes of every class read
+ * while computing them are stored and checked too.
+ *
+ * Classes are identified by the SHA-1 digest of their bytes. Entries written
+ * by a different version of pitest are ignored, and entries for classes that
+ * no longer exist are removed by {@link #prune(Predicate)}.
+ */
+public final class InstrumentedClassCache {
+
+  private static final Logger LOG            = Log.getLogger();
+
+  private static final String SUFFIX         = ".instrumented";
+  private static final int    FORMAT         = 2;
+  private static final String VERSION        = versionOfPitest();
+
+  private static final int    CONSTANT_INT   = 3;
+  private static final String ABSENT         = "";
+  private static final String TEMP_SUFFIX    = ".tmp";
+
+  /**
+   * Compiled into cached classes in place of the class id. Greater than
+   * Short.MAX_VALUE, so that it is always loaded from the constant pool.
+   */
+  static final int            PLACEHOLDER_ID = 0x7C1A5510;
+
+  private final File          dir;
+
+  public InstrumentedClassCache(final File dir) {
+    this.dir = dir;
+  }
+
+  /**
+   * The directory holding instrumented classes for a history file
+   */
+  public static File locationFor(final File history) {
+    return new File(history.getPath() + SUFFIX);
+  }
+
+  /**
+   * Returns the stored instrumented version of the class if its bytes, and
+   * those of every class read while instrumenting it, are unchanged. The
+   * class and its probes are registered with {@link CodeCoverageStore} under
+   * a new id.
+   */
+  Optional<byte[]> load(final String className, final byte[] original,
+      final ClassByteArraySource source) {
+    final File file = fileFor(className);
+    if (!file.exists()) {
+      return Optional.empty();
+    }
+    try (DataInputStream dis = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(file)))) {
+      if ((dis.readInt() != FORMAT) || !dis.readUTF().equals(VERSION)
+          || !dis.readUTF().equals(hash(original))) {
+        return Optional.empty();
+      }
+
+      final int dependencies = dis.readInt();
+      for (int i = 0; i != dependencies; i++) {
+        final String name = dis.readUTF();
+        if (!dis.readUTF().equals(hash(source.getBytes(name)))) {
+          return Optional.empty();
+        }
+      }
+
+      final int probeCount = dis.readInt();
+      final int methodCount = dis.readInt();
+      final List<MethodProbes> methods = new ArrayList<>(methodCount);
+      for (int i = 0; i != methodCount; i++) {
+        methods.add(new MethodProbes(dis.readUTF(), dis.readUTF(),
+            dis.readInt(), dis.readInt()));
+      }
+      final int idOffset = dis.readInt();
+      final byte[] bytes = new byte[dis.readInt()];
+      dis.readFully(bytes);
+
+      final int id = CodeCoverageStore.registerClass(className);
+      for (final MethodProbes each : methods) {
+        CodeCoverageStore.registerMethod(id, each.name, each.desc,
+            each.firstProbe, each.lastProbe);
+      }
+      CodeCoverageStore.registerClassProbes(id, probeCount);
+      return Optional.of(withId(bytes, idOffset, id));
+    } catch (final IOException | RuntimeException ex) {
+      LOG.fine("Could not read instrumented class " + className + ": " + ex);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores a class instrumented with {@link #PLACEHOLDER_ID} in place of its
+   * id. Failures are logged, as the class is simply instrumented again on the
+   * next run.
+   *
+   * @param dependencies
+   *          hashes, as returned by {@link #hash(Optional)}, of the classes
+   *          read while instrumenting the class
+   */
+  void store(final String className, final byte[] original,
+      final byte[] instrumented, final int probeCount,
+      final List<MethodProbes> methods, final Map<String, String> dependencies) {
+    try {
+      if (!this.dir.isDirectory() && !this.dir.mkdirs()) {
+        return;
+      }
+      // written aside then moved, as other minions may be reading the class
+      final File temp = File.createTempFile("class", TEMP_SUFFIX, this.dir);
+      try (DataOutputStream dos = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(temp)))) {
+        dos.writeInt(FORMAT);
+        dos.writeUTF(VERSION);
+        dos.writeUTF(hash(original));
+        dos.writeInt(dependencies.size());
+        for (final Map.Entry<String, String> each : dependencies.entrySet()) {
+          dos.writeUTF(each.getKey());
+          dos.writeUTF(each.getValue());
+        }
+        dos.writeInt(probeCount);
+        dos.writeInt(methods.size());
+        for (final MethodProbes each : methods) {
+          dos.writeUTF(each.name);
+          dos.writeUTF(each.desc);
+          dos.writeInt(each.firstProbe);
+          dos.writeInt(each.lastProbe);
+        }
+        dos.writeInt(placeholderOffset(instrumented));
+        dos.writeInt(instrumented.length);
+        dos.write(instrumented);
+      }
+      Files.move(temp.toPath(), fileFor(className).toPath(),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException ex) {
+      LOG.fine("Could not store instrumented class " + className + ": " + ex);
+    }
+  }
+
+  /**
+   * Removes the stored classes for which the given predicate, applied to the
+   * name of the class, is false, along with any files left behind by a
+   * minion that ended while storing a class. Must not be called while
+   * minions may be using the directory.
+   */
+  public void prune(final Predicate<String> exists) {
+    final File[] files = this.dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (final File each : files) {
+      if (each.getName().endsWith(TEMP_SUFFIX)
+          || !exists.test(each.getName())) {
+        if (!each.delete()) {
+          LOG.fine("Could not remove instrumented class " + each);
+        }
+      }
+    }
+  }
+
+  /**
+   * True if the class may be instrumented with {@link #PLACEHOLDER_ID}, which
+   * it must not already hold as a constant
+   */
+  static boolean canHoldPlaceholder(final byte[] original) {
+    return placeholderOffset(original) == -1;
+  }
+
+  /**
+   * Returns a copy of a class instrumented with {@link #PLACEHOLDER_ID},
+   * holding the given class id in its place
+   */
+  static byte[] withId(final byte[] instrumented, final int id) {
+    return withId(instrumented, placeholderOffset(instrumented), id);
+  }
+
+  static String hash(final Optional<byte[]> bytes) {
+    if (!bytes.isPresent()) {
+      return ABSENT;
+    }
+    return hash(bytes.get());
+  }
+
+  private static String hash(final byte[] bytes) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+      final StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (final byte each : digest) {
+        sb.append(Character.forDigit((each >> 4) & 0xf, 16)).append(
+            Character.forDigit(each & 0xf, 16));
+      }
+      return sb.toString();
+    } catch (final NoSuchAlgorithmException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private static byte[] withId(final byte[] instrumented, final int offset,
+      final int id) {
+    final byte[] bytes = instrumented.clone();
+    if (offset != -1) {
+      bytes[offset] = (byte) (id >>> 24);
+      bytes[offset + 1] = (byte) (id >>> 16);
+      bytes[offset + 2] = (byte) (id >>> 8);
+      bytes[offset + 3] = (byte) id;
+    }
+    return bytes;
+  }
+
+  // the class writer holds each constant once, so every probe refers to the
+  // same entry
+  private static int placeholderOffset(final byte[] bytes) {
+    final ClassReader reader = new ClassReader(bytes);
+    for (int i = 1; i < reader.getItemCount(); i++) {
+      final int offset = reader.getItem(i);
+      if ((offset > 0) && (bytes[offset - 1] == CONSTANT_INT)
+          && (reader.readInt(offset) == PLACEHOLDER_ID)) {
+        return offset;
+      }
+    }
+    return -1;
+  }
+
+  private File fileFor(final String className) {
+    return new File(this.dir, className.replace('/', '.'));
+  }
+
+  private static String versionOfPitest() {
+    final String version = InstrumentedClassCache.class.getPackage()
+        .getImplementationVersion();
+    return version == null ? "" : version;
+  }
+
+  /**
+   * Records the classes read while instrumenting a class, with their hashes
+   */
+  static final class RecordingByteSource implements ClassByteArraySource {
+
+    private final ClassByteArraySource child;
+    private final Map<String, String>  read = new LinkedHashMap<>();
+
+    RecordingByteSource(final ClassByteArraySource child) {
+      this.child = child;
+    }
+
+    @Override
+    public Optional<byte[]> getBytes(final String clazz) {
+      final Optional<byte[]> bytes = this.child.getBytes(clazz);
+      this.read.put(clazz, hash(bytes));
+      return bytes;
+    }
+
+    Map<String, String> read() {
+      return Collections.unmodifiableMap(this.read);
+    }
+
+  }
+
+  /**
+   * The range of probes of a method
+   */
+  static final class MethodProbes {
+    private final String name;
+    private final String desc;
+    private final int    firstProbe;
+    private final int    lastProbe;
+
+    MethodProbes(final String name, final String desc, final int firstProbe,
+        final int lastProbe) {
+      this.name = name;
+      this.desc = desc;
+      this.firstProbe = firstProbe;
+      this.lastProbe = lastProbe;
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+package org.pitest.coverage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.TimingHistogram;
+
+/**
+ * Wall clock and cpu times in milliseconds of each run of each test, keyed by
+ * qualified test name. Runs without mutation during coverage and runs against
+ * mutants that the test did not detect are recorded.
+ */
+public final class TestTimings {
+
+  private static final ThreadMXBean        THREADS = ManagementFactory
+                                                       .getThreadMXBean();
+
+  private final Map<String, TestTiming>    tests   = new ConcurrentHashMap<>();
+
+  /**
+   * @param cpu
+   *          cpu time, or a negative value if it was not measured
+   */
+  public void record(final String test, final long wall, final long cpu) {
+    final TestTiming timing = timingFor(test);
+    timing.wall.record(wall);
+    if (cpu >= 0) {
+      timing.cpu.record(cpu);
+    }
+  }
+
+  public void add(final TestTimings other) {
+    for (final Map.Entry<String, TestTiming> each : other.tests.entrySet()) {
+      final TestTiming timing = timingFor(each.getKey());
+      timing.wall.add(each.getValue().wall);
+      timing.cpu.add(each.getValue().cpu);
+    }
+  }
+
+  public boolean isEmpty() {
+    return this.tests.isEmpty();
+  }
+
+  public Optional<TimingHistogram> wallTimeOf(final String test) {
+    final TestTiming timing = this.tests.get(test);
+    if (timing == null) {
+      return Optional.empty();
+    }
+    return Optional.of(timing.wall);
+  }
+
+  public Optional<TimingHistogram> cpuTimeOf(final String test) {
+    final TestTiming timing = this.tests.get(test);
+    if ((timing == null) || (timing.cpu.getCount() == 0)) {
+      return Optional.empty();
+    }
+    return Optional.of(timing.cpu);
+  }
+
+  /**
+   * Names of all timed tests in alphabetical order
+   */
+  public Iterable<String> tests() {
+    return new TreeMap<>(this.tests).keySet();
+  }
+
+  public void write(final SafeDataOutputStream dos) {
+    final Map<String, TestTiming> copy = new TreeMap<>(this.tests);
+    dos.writeVarInt(copy.size());
+    for (final Map.Entry<String, TestTiming> each : copy.entrySet()) {
+      dos.writeString(each.getKey());
+      each.getValue().wall.write(dos);
+      each.getValue().cpu.write(dos);
+    }
+  }
+
+  public static TestTimings read(final SafeDataInputStream dis) {
+    final TestTimings timings = new TestTimings();
+    final int count = dis.readVarInt();
+    for (int i = 0; i != count; i++) {
+      final String test = dis.readString();
+      timings.tests.put(test, new TestTiming(TimingHistogram.read(dis),
+          TimingHistogram.read(dis)));
+    }
+    return timings;
+  }
+
+  /**
+   * Cpu time used so far by the calling thread in nanoseconds, or -1 if the
+   * jvm cannot measure it.
+   */
+  public static long currentThreadCpuTime() {
+    if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+      return -1;
+    }
+    return THREADS.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Milliseconds of cpu time between two readings of
+   * {@link #currentThreadCpuTime()}, or -1 if either was not measured
+   */
+  public static long cpuMillisBetween(final long start, final long end) {
+    if ((start < 0) || (end < 0)) {
+      return -1;
+    }
+    return (end - start) / 1000000;
+  }
+
+  private TestTiming timingFor(final String test) {
+    return this.tests.computeIfAbsent(test, k -> new TestTiming(
+        new TimingHistogram(), new TimingHistogram()));
+  }
+
+  private static final class TestTiming {
+    private final TimingHistogram wall;
+    private final TimingHistogram cpu;
+
+    TestTiming(final TimingHistogram wall, final TimingHistogram cpu) {
+      this.wall = wall;
+      this.cpu = cpu;
+    }
+  }
+
+}
@@ -9,8 +9,6 @@ import org.pitest.coverage.CoverageClassVisitor;
 import org.pitest.mutationtest.engine.gregor.analysis.DefaultInstructionCounter;
 import org.pitest.mutationtest.engine.gregor.analysis.InstructionTrackingMethodVisitor;
 
-import sun.pitest.CodeCoverageStore;
-
 /**
  * Need to count the number of blocks in the method. Storing method as a tree
  * enables a second scan by the instrumenting visitor
@@ -42,8 +40,8 @@ public class CoverageAnalyser extends MethodNode {
 
     this.parent.registerProbes(blocks.size());
     final int blockCount = blocks.size();
-    CodeCoverageStore.registerMethod(this.classId, this.name, this.desc,
-        this.probeOffset, (this.probeOffset + blocks.size()) - 1);
+    this.parent.registerMethod(this.name, this.desc, this.probeOffset,
+        (this.probeOffset + blocks.size()) - 1);
 
     // according to the jvm spec
     // "There must never be an uninitialized class instance in a local variable in code protected by an exception handler"
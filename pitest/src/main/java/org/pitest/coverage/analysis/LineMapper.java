@@ -5,9 +5,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.pitest.bytecode.ParsedClassCache;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.BlockLocation;
@@ -33,10 +33,8 @@ public class LineMapper implements LineMap {
     // classes generated at runtime eg by mocking frameworks
     // will be instrumented but not available on the classpath
     if (maybeBytes.isPresent()) {
-      final ClassReader cr = new ClassReader(maybeBytes.get());
-      final ClassNode classNode = new ClassNode();
-
-      cr.accept(classNode, ClassReader.EXPAND_FRAMES);
+      final ClassNode classNode = ParsedClassCache.shared().classNode(clazz,
+          maybeBytes.get());
       for (final Object m : classNode.methods) {
         final MethodNode mn = (MethodNode) m;
         final Location l = Location.location(clazz,
@@ -19,6 +19,7 @@ import java.lang.management.ThreadMXBean;
 import java.util.logging.Logger;
 
 import org.pitest.coverage.CoverageReceiver;
+import org.pitest.coverage.TestTimings;
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
@@ -45,11 +46,14 @@ public class CoverageDecorator extends TestUnitDecorator {
     final int threadsBeforeTest = this.threads.getThreadCount();
 
     final long t0 = System.currentTimeMillis();
+    final long cpu0 = TestTimings.currentThreadCpuTime();
     final ExitingResultCollector wrappedCollector = new ExitingResultCollector(
         rc);
     this.child().execute(wrappedCollector);
 
     final int executionTime = (int) (System.currentTimeMillis() - t0);
+    final int cpuTime = (int) TestTimings.cpuMillisBetween(cpu0,
+        TestTimings.currentThreadCpuTime());
 
     final int threadsAfterTest = this.threads.getThreadCount();
     if (threadsAfterTest > threadsBeforeTest) {
@@ -59,7 +63,7 @@ public class CoverageDecorator extends TestUnitDecorator {
     }
 
     this.invokeQueue.recordTestOutcome(child().getDescription(),
-        !wrappedCollector.shouldExit(), executionTime);
+        !wrappedCollector.shouldExit(), executionTime, cpuTime);
 
   }
 
@@ -32,6 +32,7 @@ import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.coverage.CoverageTransformer;
+import org.pitest.coverage.InstrumentedClassCache;
 import org.pitest.dependency.DependencyExtractor;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.PitHelpError;
@@ -79,7 +80,8 @@ public class CoverageMinion {
       CodeCoverageStore.init(invokeQueue);
 
       HotSwapAgent.addTransformer(new CoverageTransformer(
-          convertToJVMClassFilter(paramsFromParent.getFilter())));
+          convertToJVMClassFilter(paramsFromParent.getFilter()),
+          instrumentationCache(paramsFromParent)));
 
       final List<TestUnit> tus = getTestsFromParent(dis, paramsFromParent);
 
@@ -121,6 +123,15 @@ public class CoverageMinion {
         JavassistInputStreamInterceptorAdapater.inputStreamAdapterSupplier(JavassistCoverageInterceptor.class)));
   }
 
+  private static InstrumentedClassCache instrumentationCache(
+      final CoverageOptions paramsFromParent) {
+    if (paramsFromParent.getInstrumentationCache() == null) {
+      return null;
+    }
+    return new InstrumentedClassCache(
+        paramsFromParent.getInstrumentationCache());
+  }
+
   private static Predicate<String> convertToJVMClassFilter(
       final Predicate<String> child) {
     return a -> child.test(a.replace("/", "."));
@@ -1,5 +1,6 @@
 package org.pitest.coverage.execute;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.Collection;
 
@@ -34,16 +35,29 @@ public class CoverageOptions implements Serializable {
   private final boolean           verbose;
   private final TestPluginArguments pitConfig;
   private final int               maxDependencyDistance;
+  private final File              instrumentationCache;
 
   public CoverageOptions(final Collection<String> include, final Collection<String> exclude,
       final TestPluginArguments pitConfig, final boolean verbose,
       final int maxDependencyDistance) {
+    this(include, exclude, pitConfig, verbose, maxDependencyDistance, null);
+  }
+
+  /**
+   * @param instrumentationCache
+   *          directory in which instrumented classes are kept between runs, or
+   *          null if they are not to be kept
+   */
+  public CoverageOptions(final Collection<String> include, final Collection<String> exclude,
+      final TestPluginArguments pitConfig, final boolean verbose,
+      final int maxDependencyDistance, final File instrumentationCache) {
     Preconditions.checkNotNull(pitConfig);
     this.include = include;
     this.exclude = exclude;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
     this.maxDependencyDistance = maxDependencyDistance;
+    this.instrumentationCache = instrumentationCache;
   }
 
   public Predicate<String> getFilter() {
@@ -64,6 +78,10 @@ public class CoverageOptions implements Serializable {
     return this.maxDependencyDistance;
   }
 
+  public File getInstrumentationCache() {
+    return this.instrumentationCache;
+  }
+
   private static Predicate<String> commonClasses() {
     return Prelude.or(
         glob("java/*"),
@@ -1,7 +1,6 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
@@ -10,13 +9,16 @@ import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
 
 import sun.pitest.CodeCoverageStore;
+import sun.pitest.ProbeHitReceiver;
 
 public class CoveragePipe implements CoverageReceiver {
 
   private final SafeDataOutputStream dos;
+  private final HitWriter            hitWriter;
 
   public CoveragePipe(final OutputStream dos) {
     this.dos = new SafeDataOutputStream(dos);
+    this.hitWriter = new HitWriter(this.dos);
   }
 
   @Override
@@ -26,17 +28,16 @@ public class CoveragePipe implements CoverageReceiver {
 
   @Override
   public synchronized void recordTestOutcome(final Description description,
-      final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
-
+      final boolean wasGreen, final int executionTime, final int cpuTime) {
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
-    }
+    this.dos.writeInternedString(description.getFirstTestClass());
+    this.dos.writeString(description.getName());
+    CodeCoverageStore.readHits(this.hitWriter);
+    this.hitWriter.end();
     this.dos.writeBoolean(wasGreen);
-    this.dos.writeInt(executionTime);
+    this.dos.writeVarInt(executionTime);
+    // shifted by one so that an unmeasured time is sent as zero
+    this.dos.writeVarInt(cpuTime + 1);
 
   }
 
@@ -50,7 +51,7 @@ public class CoveragePipe implements CoverageReceiver {
   public synchronized void registerClass(final int id, final String className) {
 
     this.dos.writeByte(Id.CLAZZ);
-    this.dos.writeInt(id);
+    this.dos.writeVarInt(id);
     this.dos.writeString(className);
 
   }
@@ -59,11 +60,52 @@ public class CoveragePipe implements CoverageReceiver {
   public synchronized void registerProbes(int classId, String methodName,
       String methodDesc, int firstProbe, int lastProbe) {
     this.dos.writeByte(Id.PROBES);
-    this.dos.writeInt(classId);
-    this.dos.writeString(methodName);
-    this.dos.writeString(methodDesc);
-    this.dos.writeInt(firstProbe);
-    this.dos.writeInt(lastProbe);
+    this.dos.writeVarInt(classId);
+    this.dos.writeInternedString(methodName);
+    this.dos.writeInternedString(methodDesc);
+    this.dos.writeVarInt(firstProbe);
+    this.dos.writeVarInt(lastProbe);
+  }
+
+  /**
+   * Writes hits as a list of classes, each followed by its probes. Class ids
+   * are offset by one and probes are written as the (always positive) gap
+   * from the previous probe so that zero can terminate each list.
+   */
+  private static class HitWriter implements ProbeHitReceiver {
+    private final SafeDataOutputStream dos;
+    private boolean                    inClass;
+    private int                        lastProbe;
+
+    HitWriter(final SafeDataOutputStream dos) {
+      this.dos = dos;
+    }
+
+    @Override
+    public void classHit(final int classId) {
+      endClass();
+      this.dos.writeVarInt(classId + 1);
+      this.inClass = true;
+      this.lastProbe = -1;
+    }
+
+    @Override
+    public void probeHit(final int probe) {
+      this.dos.writeVarInt(probe - this.lastProbe);
+      this.lastProbe = probe;
+    }
+
+    void end() {
+      endClass();
+      this.dos.writeVarInt(0);
+    }
+
+    private void endClass() {
+      if (this.inClass) {
+        this.dos.writeVarInt(0);
+        this.inClass = false;
+      }
+    }
   }
 
 }
@@ -10,10 +10,17 @@ public class EngineArguments implements Serializable {
 
   private final Collection<String> mutators;
   private final Collection<String> excludedMethods;
+  private final boolean            useSchemata;
 
   public EngineArguments(Collection<String> mutators, Collection<String> excludedMethods) {
+    this(mutators, excludedMethods, false);
+  }
+
+  public EngineArguments(Collection<String> mutators,
+      Collection<String> excludedMethods, boolean useSchemata) {
     this.mutators = mutators;
     this.excludedMethods = excludedMethods;
+    this.useSchemata = useSchemata;
   }
 
   public static EngineArguments arguments() {
@@ -21,11 +28,23 @@ public class EngineArguments implements Serializable {
   }
 
   public EngineArguments withMutators(Collection<String> mutators) {
-    return new EngineArguments(mutators, this.excludedMethods);
+    return new EngineArguments(mutators, this.excludedMethods,
+        this.useSchemata);
   }
 
   public EngineArguments withExcludedMethods(Collection<String> excludedMethods) {
-    return new EngineArguments(this.mutators, excludedMethods);
+    return new EngineArguments(this.mutators, excludedMethods,
+        this.useSchemata);
+  }
+
+  /**
+   * Asks engines that support it to combine the mutants of each class into a
+   * single version of the class, from which mutants are enabled in turn
+   * rather than each being loaded by redefining the class.
+   */
+  public EngineArguments withSchemata(boolean useSchemata) {
+    return new EngineArguments(this.mutators, this.excludedMethods,
+        useSchemata);
   }
 
   public Collection<String> mutators() {
@@ -36,5 +55,9 @@ public class EngineArguments implements Serializable {
     return this.excludedMethods;
   }
 
+  public boolean useSchemata() {
+    return this.useSchemata;
+  }
+
 }
 
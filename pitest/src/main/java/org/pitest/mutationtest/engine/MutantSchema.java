@@ -0,0 +1,52 @@
+package org.pitest.mutationtest.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+
+/**
+ * A single version of a class containing several of its mutants. Each mutant
+ * is enabled by setting {@link sun.pitest.ActiveMutant} to its key, so that
+ * the class need be loaded only once for all of them.
+ */
+public final class MutantSchema {
+
+  private final ClassName                       clazz;
+  private final byte[]                          bytes;
+  private final Map<MutationIdentifier, Integer> keys;
+
+  public MutantSchema(final ClassName clazz, final byte[] bytes,
+      final Map<MutationIdentifier, Integer> keys) {
+    this.clazz = clazz;
+    this.bytes = bytes;
+    this.keys = Collections.unmodifiableMap(keys);
+  }
+
+  public ClassName getClassName() {
+    return this.clazz;
+  }
+
+  public byte[] getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Returns true if the schema contains the mutant
+   */
+  public boolean contains(final MutationIdentifier id) {
+    return this.keys.containsKey(id);
+  }
+
+  /**
+   * Returns the key that enables the mutant
+   */
+  public int keyFor(final MutationIdentifier id) {
+    return this.keys.get(id);
+  }
+
+  public int size() {
+    return this.keys.size();
+  }
+
+}
@@ -14,7 +14,9 @@
  */
 package org.pitest.mutationtest.engine;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
 import org.pitest.classinfo.ClassName;
 
@@ -32,6 +34,32 @@ public interface Mutater {
    */
   Mutant getMutation(MutationIdentifier id);
 
+  /**
+   * Creates the mutants matching the given MutationIdentifiers, in the same
+   * order. Mutants are created as the iterator is advanced, so only one need
+   * be held at a time.
+   *
+   * @param ids
+   *          the mutants to create
+   * @return an iterator over the Mutants
+   */
+  default Iterator<Mutant> getMutations(final List<MutationIdentifier> ids) {
+    return ids.stream().map(this::getMutation).iterator();
+  }
+
+  /**
+   * Combines mutants of a single class into one version of the class, from
+   * which each can be enabled in turn without redefining the class. Mutants
+   * that cannot be combined are left out of the schema.
+   *
+   * @param mutants
+   *          mutants of a single class
+   * @return a schema, or empty if the mutater does not create schemas
+   */
+  default Optional<MutantSchema> createSchema(final List<Mutant> mutants) {
+    return Optional.empty();
+  }
+
   /**
    * Scans for possible mutants in the given class
    *
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,27 +31,57 @@ import java.util.function.Predicate;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
 import org.pitest.bytecode.FrameOptions;
 import org.pitest.bytecode.NullVisitor;
+import org.pitest.bytecode.ParsedClassCache;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.ComputeClassWriter;
 import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class GregorMutater implements Mutater {
 
-  private final Map<String, String>       computeCache   = new HashMap<>();
+  private final Map<String, String>       computeCache;
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<>();
+  private final boolean                   useSchemata;
 
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
+    this(byteSource, filter, mutators, new HashMap<String, String>());
+  }
+
+  /**
+   * @param computeCache
+   *          common super classes of types, shared with other writers of
+   *          classes
+   */
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators,
+      final Map<String, String> computeCache) {
+    this(byteSource, filter, mutators, computeCache, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true, mutants of a class are combined into mutant schemas on
+   *          request
+   */
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators,
+      final Map<String, String> computeCache, final boolean useSchemata) {
+    this.computeCache = computeCache;
+    this.useSchemata = useSchemata;
     this.filter = filter;
     this.mutators.addAll(mutators);
     this.byteSource = byteSource;
@@ -65,25 +96,32 @@ public class GregorMutater implements Mutater {
     Optional<byte[]> bytes = GregorMutater.this.byteSource.getBytes(
         classToMutate.asInternalName());
     
-    return bytes.map(findMutations(context))
+    return bytes.map(findMutations(classToMutate, context))
         .orElse(Collections.<MutationDetails>emptyList());
 
   }
 
   private Function<byte[], List<MutationDetails>> findMutations(
-      final ClassContext context) {
-    return bytes -> findMutationsForBytes(context, bytes);
+      final ClassName classToMutate, final ClassContext context) {
+    return bytes -> findMutationsForBytes(classToMutate, context, bytes);
   }
 
   private List<MutationDetails> findMutationsForBytes(
-      final ClassContext context, final byte[] classToMutate) {
-
-    final ClassReader first = new ClassReader(classToMutate);
+      final ClassName classToMutate, final ClassContext context,
+      final byte[] bytes) {
+
+    // the class is replayed from the shared parsed class rather than parsed
+    // again. It was parsed with expanded frames, so the visitor sees
+    // exactly what a reader would give it.
+    final ClassNode first = ParsedClassCache.shared().classNode(classToMutate,
+        bytes);
     final NullVisitor nv = new NullVisitor();
     final MutatingClassVisitor mca = new MutatingClassVisitor(nv, context,
         filterMethods(), this.mutators);
 
-    first.accept(mca, ClassReader.EXPAND_FRAMES);
+    synchronized (first) {
+      first.accept(mca);
+    }
 
     return new ArrayList<>(context.getCollectedMutations());
   }
@@ -112,11 +150,74 @@ public class GregorMutater implements Mutater {
 
   }
 
+  /**
+   * Creates the mutants a class at a time. Each class is read once, the
+   * details of its mutations are found once and only the method holding a
+   * mutation is rewritten, the others are copied from the original bytes.
+   */
+  @Override
+  public Iterator<Mutant> getMutations(final List<MutationIdentifier> ids) {
+    final BatchMutater batch = new BatchMutater();
+    return ids.stream().map(batch::mutate).iterator();
+  }
+
+  @Override
+  public Optional<MutantSchema> createSchema(final List<Mutant> mutants) {
+    if (!this.useSchemata) {
+      return Optional.empty();
+    }
+    return new MutantSchemaBuilder(this.byteSource, this.computeCache)
+        .build(mutants);
+  }
+
   private static Predicate<MethodMutatorFactory> isMutatorFor(
       final MutationIdentifier id) {
     return a -> id.getMutator().equals(a.getGloballyUniqueId());
   }
 
+  private final class BatchMutater {
+
+    private ClassName             currentClass;
+    private byte[]                bytes;
+    private ClassReader           reader;
+    private List<MutationDetails> mutations;
+
+    Mutant mutate(final MutationIdentifier id) {
+      if (!id.getClassName().equals(this.currentClass)) {
+        read(id.getClassName());
+      }
+
+      final ClassContext context = new ClassContext();
+      context.setTargetMutation(Optional.of(id));
+      final ClassWriter w = new ComputeClassWriter(this.reader,
+          GregorMutater.this.byteSource, GregorMutater.this.computeCache,
+          FrameOptions.pickFlags(this.bytes));
+      final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
+          filterMethods(), FCollection.filter(GregorMutater.this.mutators,
+              isMutatorFor(id)));
+      this.reader.accept(new TargetMethodClassVisitor(mca, w, id.getLocation()),
+          ClassReader.EXPAND_FRAMES);
+
+      // blocks are counted across the whole class, so the details recorded
+      // while mutating a single method are taken from the full scan instead
+      final MutationDetails details = this.mutations.stream()
+          .filter(m -> m.matchesId(id)).findFirst()
+          .orElseGet(() -> context.getMutationDetails(id).get(0));
+      return new Mutant(details, w.toByteArray());
+    }
+
+    private void read(final ClassName clazz) {
+      this.currentClass = clazz;
+      this.bytes = GregorMutater.this.byteSource.getBytes(clazz.asJavaName())
+          .get();
+      this.reader = new ClassReader(this.bytes);
+      final ClassContext context = new ClassContext();
+      context.setTargetMutation(Optional.<MutationIdentifier> empty());
+      this.mutations = findMutationsForBytes(clazz, context, this.bytes);
+    }
+
+  }
+
   private Predicate<MethodInfo> filterMethods() {
     return and(this.filter, filterSyntheticMethods(),
         isGeneratedEnumMethod().negate(), isGroovyClass().negate());
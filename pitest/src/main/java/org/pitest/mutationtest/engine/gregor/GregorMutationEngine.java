@@ -21,6 +21,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.CommonSuperClassCache;
 import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationEngine;
@@ -35,22 +36,36 @@ public class GregorMutationEngine implements MutationEngine {
 
   private final Set<MethodMutatorFactory> mutationOperators = new LinkedHashSet<>();
   private final Predicate<MethodInfo>     methodFilter;
+  private final boolean                   useSchemata;
 
   public GregorMutationEngine(final MutationEngineConfiguration config) {
+    this(config, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true, mutaters created by the engine combine the mutants of a
+   *          class into mutant schemas
+   */
+  public GregorMutationEngine(final MutationEngineConfiguration config,
+      final boolean useSchemata) {
     this.methodFilter = config.methodFilter();
     this.mutationOperators.addAll(config.mutators());
+    this.useSchemata = useSchemata;
   }
 
   @Override
   public Mutater createMutator(final ClassByteArraySource byteSource) {
     return new GregorMutater(byteSource, this.methodFilter,
-        this.mutationOperators);
+        this.mutationOperators, CommonSuperClassCache.shared().asMap(),
+        this.useSchemata);
   }
 
   @Override
   public String toString() {
     return "GregorMutationEngine [filter=" + this.methodFilter
-        + ", mutationOperators=" + this.mutationOperators + "]";
+        + ", mutationOperators=" + this.mutationOperators + ", useSchemata="
+        + this.useSchemata + "]";
   }
 
   @Override
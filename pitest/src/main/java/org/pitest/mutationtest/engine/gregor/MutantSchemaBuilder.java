@@ -0,0 +1,206 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.pitest.bytecode.FrameOptions;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.ComputeClassWriter;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+
+import sun.pitest.ActiveMutant;
+
+/**
+ * Builds a mutant schema by giving each mutated method a copy of its body
+ * from each of its mutants. On entry the method switches on the active mutant
+ * to the matching copy, or to the original body.
+ *
+ * Only method bodies change, so the schema may replace the original class
+ * by redefinition. Mutants in constructors and static initialisers are left
+ * out, as code before the call to the super constructor cannot branch freely
+ * and static initialisers run only once.
+ */
+final class MutantSchemaBuilder {
+
+  private static final Logger        LOG = Log.getLogger();
+
+  private final ClassByteArraySource byteSource;
+  private final Map<String, String>  computeCache;
+
+  MutantSchemaBuilder(final ClassByteArraySource byteSource,
+      final Map<String, String> computeCache) {
+    this.byteSource = byteSource;
+    this.computeCache = computeCache;
+  }
+
+  Optional<MutantSchema> build(final List<Mutant> mutants) {
+    if (mutants.isEmpty()) {
+      return Optional.empty();
+    }
+    final ClassName clazz = mutants.get(0).getDetails().getClassName();
+    final Optional<byte[]> original = this.byteSource.getBytes(clazz
+        .asJavaName());
+    if (!original.isPresent()) {
+      return Optional.empty();
+    }
+
+    final ClassNode schema = parse(original.get());
+    final Map<MutationIdentifier, Integer> keys = new LinkedHashMap<>();
+    final Map<MethodNode, List<Variant>> variants = new LinkedHashMap<>();
+    for (final Mutant each : mutants) {
+      final MutationIdentifier id = each.getDetails().getId();
+      final MethodNode method = findMethod(schema, id.getLocation());
+      if ((method == null) || !canSwitch(method) || !id.getClassName().equals(
+          clazz)) {
+        continue;
+      }
+      final MethodNode mutated = findMethod(parse(each.getBytes()),
+          id.getLocation());
+      if (mutated == null) {
+        continue;
+      }
+      final int key = keys.size() + 1;
+      keys.put(id, key);
+      variants.computeIfAbsent(method, m -> new ArrayList<>()).add(
+          new Variant(key, mutated));
+    }
+
+    if (keys.isEmpty()) {
+      return Optional.empty();
+    }
+
+    for (final Map.Entry<MethodNode, List<Variant>> each : variants
+        .entrySet()) {
+      combine(each.getKey(), each.getValue());
+    }
+
+    try {
+      final ClassWriter w = new ComputeClassWriter(this.byteSource,
+          this.computeCache, FrameOptions.pickFlags(original.get()));
+      schema.accept(w);
+      return Optional.of(new MutantSchema(clazz, w.toByteArray(), keys));
+    } catch (final RuntimeException ex) {
+      // most likely a combined method is beyond the size limit
+      LOG.fine("Could not create mutant schema for " + clazz + ": "
+          + ex.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private static ClassNode parse(final byte[] bytes) {
+    final ClassNode node = new ClassNode();
+    new ClassReader(bytes).accept(node, ClassReader.SKIP_FRAMES);
+    return node;
+  }
+
+  private static MethodNode findMethod(final ClassNode clazz,
+      final Location location) {
+    for (final MethodNode each : clazz.methods) {
+      if (each.name.equals(location.getMethodName().name())
+          && each.desc.equals(location.getMethodDesc())) {
+        return each;
+      }
+    }
+    return null;
+  }
+
+  private static boolean canSwitch(final MethodNode method) {
+    return !method.name.equals("<init>") && !method.name.equals("<clinit>")
+        && ((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0);
+  }
+
+  private static void combine(final MethodNode method,
+      final List<Variant> variants) {
+    final InsnList insns = new InsnList();
+    final List<TryCatchBlockNode> handlers = new ArrayList<>();
+    final List<LocalVariableNode> locals = new ArrayList<>();
+
+    final LabelNode original = new LabelNode();
+    final int[] keys = new int[variants.size()];
+    final LabelNode[] labels = new LabelNode[variants.size()];
+    for (int i = 0; i != variants.size(); i++) {
+      keys[i] = variants.get(i).key;
+      labels[i] = new LabelNode();
+    }
+
+    insns.add(new MethodInsnNode(Opcodes.INVOKESTATIC,
+        ActiveMutant.CLASS_NAME, ActiveMutant.GET_METHOD, "()I", false));
+    insns.add(new LookupSwitchInsnNode(original, keys, labels));
+    copyBody(method, original, insns, handlers, locals);
+    for (int i = 0; i != variants.size(); i++) {
+      copyBody(variants.get(i).method, labels[i], insns, handlers, locals);
+    }
+
+    method.instructions = insns;
+    method.tryCatchBlocks = handlers;
+    method.localVariables = locals;
+    // these refer to labels of a single body
+    method.visibleLocalVariableAnnotations = null;
+    method.invisibleLocalVariableAnnotations = null;
+  }
+
+  // bodies always end in a return, throw or jump, so copies placed one after
+  // another cannot run into each other
+  private static void copyBody(final MethodNode from, final LabelNode entry,
+      final InsnList insns, final List<TryCatchBlockNode> handlers,
+      final List<LocalVariableNode> locals) {
+    final Map<LabelNode, LabelNode> labels = new HashMap<>();
+    for (final AbstractInsnNode each : from.instructions.toArray()) {
+      if (each instanceof LabelNode) {
+        labels.put((LabelNode) each, new LabelNode());
+      }
+    }
+
+    insns.add(entry);
+    for (final AbstractInsnNode each : from.instructions.toArray()) {
+      insns.add(each.clone(labels));
+    }
+
+    if (from.tryCatchBlocks != null) {
+      for (final TryCatchBlockNode each : from.tryCatchBlocks) {
+        handlers.add(new TryCatchBlockNode(labels.get(each.start),
+            labels.get(each.end), labels.get(each.handler), each.type));
+      }
+    }
+
+    if (from.localVariables != null) {
+      for (final LocalVariableNode each : from.localVariables) {
+        locals.add(new LocalVariableNode(each.name, each.desc, each.signature,
+            labels.get(each.start), labels.get(each.end), each.index));
+      }
+    }
+  }
+
+  private static final class Variant {
+    private final int        key;
+    private final MethodNode method;
+
+    Variant(final int key, final MethodNode method) {
+      this.key = key;
+      this.method = method;
+    }
+  }
+
+}
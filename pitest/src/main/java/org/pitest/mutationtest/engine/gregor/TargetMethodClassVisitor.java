@@ -0,0 +1,35 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.mutationtest.engine.Location;
+
+/**
+ * Passes the method holding a mutation to the mutating visitor and every other
+ * method straight to the class writer. A writer created from the reader of the
+ * original class then copies those methods across without rewriting them.
+ */
+class TargetMethodClassVisitor extends ClassVisitor {
+
+  private final ClassVisitor writer;
+  private final Location     target;
+
+  TargetMethodClassVisitor(final ClassVisitor mutating,
+      final ClassVisitor writer, final Location target) {
+    super(Opcodes.ASM6, mutating);
+    this.writer = writer;
+    this.target = target;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(final int access, final String name,
+      final String desc, final String signature, final String[] exceptions) {
+    if (this.target.getMethodName().name().equals(name)
+        && this.target.getMethodDesc().equals(desc)) {
+      return super.visitMethod(access, name, desc, signature, exceptions);
+    }
+    return this.writer.visitMethod(access, name, desc, signature, exceptions);
+  }
+
+}
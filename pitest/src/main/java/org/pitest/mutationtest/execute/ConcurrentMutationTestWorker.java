@@ -0,0 +1,259 @@
+package org.pitest.mutationtest.execute;
+
+import static org.pitest.util.Unchecked.translateCheckedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathRoot;
+import org.pitest.coverage.TestTimings;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.TestUnit;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+
+/**
+ * Analyses several mutants at once. Rather than replacing the class in the
+ * minion's own loader, each mutant is defined in a {@link MutantClassLoader}
+ * holding a fresh copy of the project's classes and tests.
+ *
+ * This is only safe for tests that share no state outside the project's own
+ * classes, such as files, system properties or static state held by
+ * libraries.
+ *
+ * When a test overruns, its mutant is reported as timed out and no further
+ * mutants are started. Once those already running have finished the minion
+ * must exit as it would after a single timeout, so that the remaining mutants
+ * are retried in a new minion.
+ *
+ * Each mutant's loader is closed once its mutant has been analysed, so that
+ * the loader and the classes it defined can be unloaded.
+ */
+public class ConcurrentMutationTestWorker {
+
+  private static final Logger                         LOG   = Log.getLogger();
+
+  // micro optimise debug logging
+  private static final boolean                        DEBUG = LOG
+      .isLoggable(Level.FINE);
+
+  private final Mutater                               mutater;
+  private final ClassLoader                           parent;
+  private final ClassPath                             projectClassPath;
+  private final Set<String>                           projectClasses;
+  private final Function<ClassLoader, List<TestUnit>> testFinder;
+  private final ExecutorService                       executor;
+  private final int                                   threads;
+
+  /**
+   * @param projectClassPath
+   *          class path from which each mutant's loader takes its own copies
+   *          of classes
+   * @param projectClasses
+   *          names of the classes in the project class path
+   * @param testFinder
+   *          finds the tests of the batch in a given loader
+   * @param executor
+   *          runs mutants, with at least the given number of threads
+   */
+  public ConcurrentMutationTestWorker(final Mutater mutater,
+      final ClassLoader parent, final ClassPath projectClassPath,
+      final Set<String> projectClasses,
+      final Function<ClassLoader, List<TestUnit>> testFinder,
+      final ExecutorService executor, final int threads) {
+    this.mutater = mutater;
+    this.parent = parent;
+    this.projectClassPath = projectClassPath;
+    this.projectClasses = projectClasses;
+    this.testFinder = testFinder;
+    this.executor = executor;
+    this.threads = threads;
+  }
+
+  /**
+   * The directories on the class path, which hold the project's compiled code
+   * and tests. Archives are assumed to hold dependencies.
+   */
+  public static ClassPath projectClassPath() {
+    return new ClassPath().getComponent(isNotAnArchive());
+  }
+
+  public static Set<String> classesIn(final ClassPath classPath) {
+    return new HashSet<>(classPath.classNames());
+  }
+
+  /**
+   * Analyses the mutants, returning {@link ExitCode#TIMEOUT} if a test
+   * overran. The overrunning test may still be running, so the caller should
+   * report the exit code and end the minion without reporting anything else.
+   */
+  public ExitCode run(final Collection<MutationDetails> range,
+      final Reporter r, final TimeoutLengthStrategy timeoutStrategy,
+      final Map<String, Long> expectedTestTimes, final TestTimings timings)
+      throws IOException {
+
+    final List<MutationIdentifier> ids = new ArrayList<>(range.size());
+    for (final MutationDetails mutation : range) {
+      ids.add(mutation.getId());
+    }
+    final Iterator<Mutant> mutants = this.mutater.getMutations(ids);
+
+    // mutants are created on this thread, and no more than one is held for
+    // each running thread
+    final Semaphore running = new Semaphore(this.threads);
+    final AtomicBoolean timedOut = new AtomicBoolean();
+    final List<Future<?>> futures = new ArrayList<>(range.size());
+    for (final MutationDetails mutation : range) {
+      running.acquireUninterruptibly();
+      if (timedOut.get()) {
+        running.release();
+        break;
+      }
+      final Mutant mutant = mutants.next();
+      futures.add(this.executor.submit(() -> {
+        try {
+          analyse(mutation, mutant, r, timeoutStrategy, expectedTestTimes,
+              timings, timedOut);
+        } finally {
+          running.release();
+        }
+      }));
+    }
+
+    for (final Future<?> each : futures) {
+      try {
+        each.get();
+      } catch (final InterruptedException | ExecutionException ex) {
+        throw translateCheckedException(ex);
+      }
+    }
+
+    return timedOut.get() ? ExitCode.TIMEOUT : ExitCode.OK;
+  }
+
+  private void analyse(final MutationDetails mutation, final Mutant mutant,
+      final Reporter r, final TimeoutLengthStrategy timeoutStrategy,
+      final Map<String, Long> expectedTestTimes, final TestTimings timings,
+      final AtomicBoolean timedOut) {
+    if (DEBUG) {
+      LOG.fine("Running mutation " + mutation);
+    }
+    final long t0 = System.currentTimeMillis();
+
+    final MutationIdentifier id = mutation.getId();
+    final MutantClassLoader loader = new MutantClassLoader(this.projectClassPath,
+        this.projectClasses, this.parent, id.getClassName(),
+        mutant.getBytes());
+    final Thread current = Thread.currentThread();
+    final ClassLoader previous = current.getContextClassLoader();
+    current.setContextClassLoader(loader);
+    TimeOutDecoratedTestSource testSource = null;
+    try {
+      r.describe(id);
+
+      final TimeOutFlag timeOut = new TimeOutFlag(r);
+      testSource = new TimeOutDecoratedTestSource(timeoutStrategy,
+          this.testFinder.apply(loader), timeOut, expectedTestTimes, timings);
+      final List<TestUnit> relevantTests = testSource.translateTests(mutation
+          .getTestsInOrder());
+
+      MutationStatusTestPair status;
+      if (relevantTests.isEmpty()) {
+        LOG.info("No test coverage for mutation  " + mutation + " in "
+            + mutation.getMethod());
+        status = new MutationStatusTestPair(0, DetectionStatus.RUN_ERROR);
+      } else {
+        status = MutationTestWorker.doTestsDetectMutation(
+            MutationTestWorker.createNewContainer(), relevantTests);
+      }
+      if (timeOut.timedOut) {
+        timedOut.set(true);
+        status = new MutationStatusTestPair(1, DetectionStatus.TIMED_OUT);
+      }
+
+      r.report(id, status);
+      if (DEBUG) {
+        LOG.fine("Mutation " + id + " detected = " + status + " in "
+            + (System.currentTimeMillis() - t0) + " ms.");
+      }
+    } catch (final IOException ex) {
+      throw translateCheckedException(ex);
+    } finally {
+      if (testSource != null) {
+        testSource.finish();
+      }
+      current.setContextClassLoader(previous);
+      loader.close();
+    }
+  }
+
+  private static Predicate<ClassPathRoot> isNotAnArchive() {
+    return a -> a.cacheLocation().isPresent()
+        && !a.cacheLocation().get().toLowerCase().endsWith(".jar")
+        && !a.cacheLocation().get().toLowerCase().endsWith(".zip");
+  }
+
+  /**
+   * Records that a test of a single mutant has overrun, rather than ending
+   * the minion while other mutants are still running
+   */
+  private static final class TimeOutFlag implements Reporter {
+
+    private final Reporter   child;
+    private volatile boolean timedOut;
+
+    TimeOutFlag(final Reporter child) {
+      this.child = child;
+    }
+
+    @Override
+    public void describe(final MutationIdentifier i) throws IOException {
+      this.child.describe(i);
+    }
+
+    @Override
+    public void report(final MutationIdentifier i,
+        final MutationStatusTestPair mutationDetected) throws IOException {
+      this.child.report(i, mutationDetected);
+    }
+
+    @Override
+    public void superClasses(final Map<String, String> found) {
+      this.child.superClasses(found);
+    }
+
+    @Override
+    public void timings(final TestTimings timings) {
+      this.child.timings(timings);
+    }
+
+    @Override
+    public void done(final ExitCode exitCode) {
+      this.timedOut = true;
+    }
+
+  }
+
+}
@@ -16,7 +16,10 @@ package org.pitest.mutationtest.execute;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
 
+import org.pitest.classinfo.CommonSuperClassCache;
+import org.pitest.coverage.TestTimings;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
@@ -35,7 +38,7 @@ public class DefaultReporter implements Reporter {
   public synchronized void describe(final MutationIdentifier i)
       throws IOException {
     this.w.writeByte(Id.DESCRIBE);
-    this.w.write(i);
+    MutationResultCodec.writeIdentifier(this.w, i);
     this.w.flush();
   }
 
@@ -43,8 +46,22 @@ public class DefaultReporter implements Reporter {
   public synchronized void report(final MutationIdentifier i,
       final MutationStatusTestPair mutationDetected) throws IOException {
     this.w.writeByte(Id.REPORT);
-    this.w.write(i);
-    this.w.write(mutationDetected);
+    MutationResultCodec.writeIdentifier(this.w, i);
+    MutationResultCodec.writeStatus(this.w, mutationDetected);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void superClasses(final Map<String, String> found) {
+    this.w.writeByte(Id.SUPER_CLASSES);
+    CommonSuperClassCache.write(this.w, found);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void timings(final TestTimings timings) {
+    this.w.writeByte(Id.TIMINGS);
+    timings.write(this.w);
     this.w.flush();
   }
 
@@ -16,12 +16,15 @@ package org.pitest.mutationtest.execute;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class MinionArguments implements Serializable {
 
@@ -34,11 +37,59 @@ public class MinionArguments implements Serializable {
   final TimeoutLengthStrategy       timeoutStrategy;
   final boolean                     verbose;
   final TestPluginArguments         pitConfig;
+  final Map<MutationIdentifier, byte[]> prebuiltMutants;
+  final Map<String, Long>           expectedTestTimes;
+  final int                         threads;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
       final TestPluginArguments pitConfig) {
+    this(mutations, tests, engine, engineArgs, timeoutStrategy, verbose,
+        pitConfig, Collections.<MutationIdentifier, byte[]> emptyMap());
+  }
+
+  /**
+   * @param prebuiltMutants
+   *          bytes of mutants already generated by the parent process, which
+   *          the minion uses rather than generating them again
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final TestPluginArguments pitConfig,
+      final Map<MutationIdentifier, byte[]> prebuiltMutants) {
+    this(mutations, tests, engine, engineArgs, timeoutStrategy, verbose,
+        pitConfig, prebuiltMutants, Collections.<String, Long> emptyMap());
+  }
+
+  /**
+   * @param expectedTestTimes
+   *          normal durations of tests, by qualified name, from which to
+   *          calculate timeouts in place of those recorded during coverage
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final TestPluginArguments pitConfig,
+      final Map<MutationIdentifier, byte[]> prebuiltMutants,
+      final Map<String, Long> expectedTestTimes) {
+    this(mutations, tests, engine, engineArgs, timeoutStrategy, verbose,
+        pitConfig, prebuiltMutants, expectedTestTimes, 1);
+  }
+
+  /**
+   * @param threads
+   *          number of mutants to analyse at once, each in its own class
+   *          loader. If one, mutants are analysed in turn in the minion's own
+   *          loader.
+   */
+  public MinionArguments(final Collection<MutationDetails> mutations,
+      final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
+      final TimeoutLengthStrategy timeoutStrategy, final boolean verbose,
+      final TestPluginArguments pitConfig,
+      final Map<MutationIdentifier, byte[]> prebuiltMutants,
+      final Map<String, Long> expectedTestTimes, final int threads) {
     this.mutations = mutations;
     this.testClasses = tests;
     this.engine = engine;
@@ -46,6 +97,9 @@ public class MinionArguments implements Serializable {
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
+    this.prebuiltMutants = prebuiltMutants;
+    this.expectedTestTimes = expectedTestTimes;
+    this.threads = threads;
   }
 
   public boolean isVerbose() {
@@ -0,0 +1,75 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.Closeable;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+
+/**
+ * Loads its own copy of each of the project's classes, so that a mutant can
+ * be defined in place of the original class without affecting any other
+ * loader. All other classes, including those of the JDK, pitest and test
+ * frameworks, come from the parent.
+ *
+ * Once closed the loader loads no further classes of its own, and drops the
+ * mutant, so that little is kept alive by anything still referring to it.
+ */
+final class MutantClassLoader extends DefaultPITClassloader implements
+    Closeable {
+
+  private final String         mutatedClass;
+  private volatile Set<String> isolated;
+  private volatile byte[]      mutant;
+
+  /**
+   * @param isolated
+   *          names of the classes in the class path to load in this loader
+   *          rather than the parent
+   */
+  MutantClassLoader(final ClassPath classPath, final Set<String> isolated,
+      final ClassLoader parent, final ClassName mutatedClass,
+      final byte[] mutant) {
+    super(classPath, parent);
+    this.isolated = isolated;
+    this.mutatedClass = mutatedClass.asJavaName();
+    this.mutant = mutant;
+  }
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve)
+      throws ClassNotFoundException {
+    final Set<String> isolated = this.isolated;
+    if (isolated == null) {
+      throw new ClassNotFoundException(name + " requested from closed loader");
+    }
+    if (!isolated.contains(name)) {
+      return super.loadClass(name, resolve);
+    }
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> c = findLoadedClass(name);
+      if (c == null) {
+        c = findClass(name);
+      }
+      if (resolve) {
+        resolveClass(c);
+      }
+      return c;
+    }
+  }
+
+  @Override
+  protected Class<?> defineClass(final String name, final byte[] b) {
+    if (name.equals(this.mutatedClass)) {
+      return super.defineClass(name, this.mutant);
+    }
+    return super.defineClass(name, b);
+  }
+
+  @Override
+  public void close() {
+    this.isolated = null;
+    this.mutant = null;
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010 Henry Coles
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Binary encoding of the messages a mutation test minion sends to the parent
+ * process. Class, method and mutator names are interned per connection so are
+ * sent only once.
+ */
+public final class MutationResultCodec {
+
+  private static final DetectionStatus[] STATUSES = DetectionStatus.values();
+
+  private MutationResultCodec() {
+  }
+
+  public static void writeIdentifier(final SafeDataOutputStream dos,
+      final MutationIdentifier id) {
+    final Location location = id.getLocation();
+    dos.writeInternedString(location.getClassName().asInternalName());
+    dos.writeInternedString(location.getMethodName().name());
+    dos.writeInternedString(location.getMethodDesc());
+    dos.writeInternedString(id.getMutator());
+    final List<Integer> indexes = id.getIndexes();
+    dos.writeVarInt(indexes.size());
+    for (final int each : indexes) {
+      dos.writeVarInt(each);
+    }
+  }
+
+  public static MutationIdentifier readIdentifier(final SafeDataInputStream dis) {
+    final Location location = Location.location(
+        ClassName.fromString(dis.readInternedString()),
+        MethodName.fromString(dis.readInternedString()),
+        dis.readInternedString());
+    final String mutator = dis.readInternedString();
+    final int count = dis.readVarInt();
+    final List<Integer> indexes = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      indexes.add(dis.readVarInt());
+    }
+    return new MutationIdentifier(location, indexes, mutator);
+  }
+
+  public static void writeStatus(final SafeDataOutputStream dos,
+      final MutationStatusTestPair status) {
+    dos.writeVarInt(status.getStatus().ordinal());
+    dos.writeVarInt(status.getNumberOfTestsRun());
+    dos.writeInternedString(status.getKillingTest().orElse(null));
+  }
+
+  public static MutationStatusTestPair readStatus(final SafeDataInputStream dis) {
+    final DetectionStatus status = STATUSES[dis.readVarInt()];
+    final int numberOfTestsRun = dis.readVarInt();
+    return new MutationStatusTestPair(numberOfTestsRun, status,
+        dis.readInternedString());
+  }
+
+}
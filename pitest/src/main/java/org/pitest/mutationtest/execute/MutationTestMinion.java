@@ -14,11 +14,16 @@
  */
 package org.pitest.mutationtest.execute;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
 import java.net.Socket;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -30,7 +35,10 @@ import org.pitest.boot.HotSwapAgent;
 import org.pitest.classinfo.CachingByteArraySource;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.CommonSuperClassCache;
+import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.coverage.TestTimings;
 import org.pitest.functional.F3;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.EngineArguments;
@@ -46,6 +54,7 @@ import org.pitest.testapi.TestUnit;
 import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
+import org.pitest.util.Id;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.SafeDataInputStream;
@@ -62,6 +71,12 @@ public class MutationTestMinion {
   private final Reporter            reporter;
   private final MinionSettings      plugins;
 
+  // created on the first batch to analyse mutants concurrently, then kept
+  // for the life of the minion
+  private ExecutorService           concurrentExecutor;
+  private ClassPath                 projectClassPath;
+  private Set<String>               projectClasses;
+
   public MutationTestMinion(MinionSettings plugins, final SafeDataInputStream dis,
       final Reporter reporter) {
     this.dis = dis;
@@ -72,11 +87,6 @@ public class MutationTestMinion {
   public void run() {
     try {
 
-      final MinionArguments paramsFromParent = this.dis
-          .read(MinionArguments.class);
-
-      Log.setVerbose(paramsFromParent.isVerbose());
-
       final ClassLoader loader = IsolationUtils.getContextClassLoader();
 
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
@@ -85,26 +95,115 @@ public class MutationTestMinion {
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
           byteSource);
 
-      final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
+      // the parent may send any number of batches of mutations to analyse
+      // before asking us to shut down, each preceded by any common super
+      // classes found since the last
+      byte control = this.dis.readByte();
+      while ((control == Id.ARGUMENTS) || (control == Id.SUPER_CLASSES)) {
+        if (control == Id.SUPER_CLASSES) {
+          CommonSuperClassCache.shared().addAll(
+              CommonSuperClassCache.read(this.dis));
+        } else {
+          final MinionArguments paramsFromParent = this.dis
+              .read(MinionArguments.class);
+          if (!analyse(paramsFromParent, loader, byteSource, hotswap)) {
+            return;
+          }
+        }
+        control = this.dis.readByte();
+      }
 
+    } catch (final Throwable ex) {
+      ex.printStackTrace(System.out);
+      LOG.log(Level.WARNING, "Error during mutation test", ex);
+      this.reporter.done(ExitCode.UNKNOWN_ERROR);
+    }
 
-      final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          engine.createMutator(byteSource), loader);
+  }
 
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
+  private boolean analyse(final MinionArguments paramsFromParent,
+      final ClassLoader loader, final ClassByteArraySource byteSource,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap) {
+    try {
 
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
+      Log.setVerbose(paramsFromParent.isVerbose());
+
+      final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
+      final PrebuiltMutater mutater = new PrebuiltMutater(
+          engine.createMutator(byteSource), paramsFromParent.mutations,
+          paramsFromParent.prebuiltMutants);
+      final Configuration testPlugin = createTestPlugin(paramsFromParent.pitConfig);
+
+      final TestTimings timings = new TestTimings();
+      if (paramsFromParent.threads > 1) {
+        final ExitCode exitCode = createConcurrentWorker(mutater, loader,
+            paramsFromParent.testClasses, testPlugin, paramsFromParent.threads)
+            .run(paramsFromParent.mutations, this.reporter,
+                paramsFromParent.timeoutStrategy,
+                paramsFromParent.expectedTestTimes, timings);
+        if (!exitCode.isOk()) {
+          // an overrunning test may still be running, so the parent will
+          // discard this minion and nothing more is sent
+          this.reporter.done(exitCode);
+          return false;
+        }
+      } else {
+        final MutationTestWorker worker = new MutationTestWorker(hotswap,
+            mutater, loader, paramsFromParent.engineArgs.useSchemata());
+
+        final List<TestUnit> tests = findTestsForTestClasses(loader,
+            paramsFromParent.testClasses, testPlugin);
+
+        final TimeOutDecoratedTestSource testSource = new TimeOutDecoratedTestSource(
+            paramsFromParent.timeoutStrategy, tests, this.reporter,
+            paramsFromParent.expectedTestTimes, timings);
+        try {
+          worker.run(paramsFromParent.mutations, this.reporter, testSource);
+        } finally {
+          testSource.finish();
+        }
+      }
 
+      final Map<String, String> found = CommonSuperClassCache.shared()
+          .takeFound();
+      if (!found.isEmpty()) {
+        this.reporter.superClasses(found);
+      }
+      if (!timings.isEmpty()) {
+        this.reporter.timings(timings);
+      }
       this.reporter.done(ExitCode.OK);
+      return true;
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
       this.reporter.done(ExitCode.UNKNOWN_ERROR);
+      return false;
     }
+  }
 
+  private ConcurrentMutationTestWorker createConcurrentWorker(
+      final PrebuiltMutater mutater, final ClassLoader loader,
+      final Collection<ClassName> testClasses, final Configuration testPlugin,
+      final int threads) {
+    if (this.concurrentExecutor == null) {
+      this.concurrentExecutor = Executors.newFixedThreadPool(threads, r -> {
+        final Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        thread.setName("concurrentMutationThread");
+        return thread;
+      });
+      this.projectClassPath = ConcurrentMutationTestWorker.projectClassPath();
+      this.projectClasses = ConcurrentMutationTestWorker
+          .classesIn(this.projectClassPath);
+    }
+    // test plugins are not known to be safe to use from several threads
+    return new ConcurrentMutationTestWorker(mutater, loader,
+        this.projectClassPath, this.projectClasses, l -> {
+          synchronized (testPlugin) {
+            return findTestsForTestClasses(l, testClasses, testPlugin);
+          }
+        }, this.concurrentExecutor, threads);
   }
 
   private MutationEngine createEngine(String engine, EngineArguments args) {
@@ -129,7 +228,8 @@ public class MutationTestMinion {
       final SafeDataInputStream dis = new SafeDataInputStream(
           s.getInputStream());
 
-      final Reporter reporter = new DefaultReporter(s.getOutputStream());
+      final Reporter reporter = new DefaultReporter(new BufferedOutputStream(
+          s.getOutputStream()));
       addMemoryWatchDog(reporter);
       final ClientPluginServices plugins = new ClientPluginServices(IsolationUtils.getContextClassLoader());
       final MinionSettings factory = new MinionSettings(plugins);
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,6 +31,7 @@ import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -43,6 +46,8 @@ import org.pitest.testapi.execute.containers.ConcreteResultCollector;
 import org.pitest.testapi.execute.containers.UnContainer;
 import org.pitest.util.Log;
 
+import sun.pitest.ActiveMutant;
+
 public class MutationTestWorker {
 
   private static final Logger                               LOG   = Log
@@ -55,43 +60,119 @@ public class MutationTestWorker {
   private final Mutater                                     mutater;
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
+  private final boolean                                     useSchemata;
+
+  // the schema the class currently holds, if any
+  private MutantSchema                                      installed;
+  // the last schema that could not be installed, which is not tried again
+  private MutantSchema                                      rejected;
 
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader) {
+    this(hotswap, mutater, loader, false);
+  }
+
+  /**
+   * @param useSchemata
+   *          if true, the mutants of each class are combined into a schema
+   *          where the mutater supports it, and enabled in turn from it rather
+   *          than redefining the class for each
+   */
+  public MutationTestWorker(
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final boolean useSchemata) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
+    this.useSchemata = useSchemata;
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
       final TimeOutDecoratedTestSource testSource) throws IOException {
 
+    final List<MutationIdentifier> ids = new ArrayList<>(range.size());
     for (final MutationDetails mutation : range) {
-      if (DEBUG) {
-        LOG.fine("Running mutation " + mutation);
+      ids.add(mutation.getId());
+    }
+    final Iterator<Mutant> mutants = this.mutater.getMutations(ids);
+
+    if (this.useSchemata) {
+      runFromSchemas(new ArrayList<>(range), mutants, r, testSource);
+      return;
+    }
+
+    for (final MutationDetails mutation : range) {
+      runMutation(r, testSource, mutation, mutants.next(), null);
+    }
+
+  }
+
+  // the mutants of each class are taken together, so that those that can be
+  // combined into a schema are enabled in turn from one version of the class
+  private void runFromSchemas(final List<MutationDetails> range,
+      final Iterator<Mutant> mutants, final Reporter r,
+      final TimeOutDecoratedTestSource testSource) throws IOException {
+    int start = 0;
+    while (start != range.size()) {
+      final ClassName clazz = range.get(start).getClassName();
+      int end = start + 1;
+      while ((end != range.size())
+          && range.get(end).getClassName().equals(clazz)) {
+        end++;
       }
-      final long t0 = System.currentTimeMillis();
-      processMutation(r, testSource, mutation);
-      if (DEBUG) {
-        LOG.fine("processed mutation in " + (System.currentTimeMillis() - t0)
-            + " ms.");
+
+      final List<Mutant> ofClass = new ArrayList<>(end - start);
+      for (int i = start; i != end; i++) {
+        ofClass.add(mutants.next());
+      }
+      final Optional<MutantSchema> schema = this.mutater.createSchema(ofClass);
+      if (DEBUG && schema.isPresent()) {
+        LOG.fine("Combined " + schema.get().size() + " of " + ofClass.size()
+            + " mutants of " + clazz + " into a schema");
+      }
+
+      for (int i = start; i != end; i++) {
+        final MutationIdentifier id = range.get(i).getId();
+        runMutation(r, testSource, range.get(i), ofClass.get(i - start),
+            schema.filter(s -> s.contains(id)).orElse(null));
       }
+      start = end;
     }
+  }
 
+  /**
+   * @param schema
+   *          schema containing the mutant, or null to load the mutant alone
+   */
+  private void runMutation(final Reporter r,
+      final TimeOutDecoratedTestSource testSource,
+      final MutationDetails mutation, final Mutant mutant,
+      final MutantSchema schema) throws IOException {
+    if (DEBUG) {
+      LOG.fine("Running mutation " + mutation);
+    }
+    final long t0 = System.currentTimeMillis();
+    processMutation(r, testSource, mutation, mutant, schema);
+    if (DEBUG) {
+      LOG.fine("processed mutation in " + (System.currentTimeMillis() - t0)
+          + " ms.");
+    }
   }
 
   private void processMutation(final Reporter r,
       final TimeOutDecoratedTestSource testSource,
-      final MutationDetails mutationDetails) throws IOException {
+      final MutationDetails mutationDetails, final Mutant mutatedClass,
+      final MutantSchema schema) throws IOException {
 
     final MutationIdentifier mutationId = mutationDetails.getId();
-    final Mutant mutatedClass = this.mutater.getMutation(mutationId);
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
     // bytes are returned
-    JavassistInterceptor.setMutant(mutatedClass);
+    JavassistInterceptor.setMutant(schema == null ? mutatedClass : new Mutant(
+        mutationDetails, schema.getBytes()));
 
     if (DEBUG) {
       LOG.fine("mutating method " + mutatedClass.getDetails().getMethod());
@@ -102,7 +183,7 @@ public class MutationTestWorker {
     r.describe(mutationId);
 
     final MutationStatusTestPair mutationDetected = handleMutation(
-        mutationDetails, mutatedClass, relevantTests);
+        mutationDetails, mutatedClass, schema, relevantTests);
 
     r.report(mutationId, mutationDetected);
     if (DEBUG) {
@@ -112,13 +193,16 @@ public class MutationTestWorker {
 
   private MutationStatusTestPair handleMutation(
       final MutationDetails mutationId, final Mutant mutatedClass,
-      final List<TestUnit> relevantTests) {
+      final MutantSchema schema, final List<TestUnit> relevantTests) {
     MutationStatusTestPair mutationDetected;
     if ((relevantTests == null) || relevantTests.isEmpty()) {
       LOG.info("No test coverage for mutation  " + mutationId + " in "
           + mutatedClass.getDetails().getMethod());
       mutationDetected = new MutationStatusTestPair(0,
           DetectionStatus.RUN_ERROR);
+    } else if ((schema != null) && install(schema)) {
+      mutationDetected = handleSchemaMutation(mutationId, schema,
+          relevantTests);
     } else {
       mutationDetected = handleCoveredMutation(mutationId, mutatedClass,
           relevantTests);
@@ -138,6 +222,7 @@ public class MutationTestWorker {
 
     final Container c = createNewContainer();
     final long t0 = System.currentTimeMillis();
+    this.installed = null;
     if (this.hotswap.apply(mutationId.getClassName(), this.loader,
         mutatedClass.getBytes())) {
       if (DEBUG) {
@@ -153,7 +238,42 @@ public class MutationTestWorker {
     return mutationDetected;
   }
 
-  private static Container createNewContainer() {
+  private boolean install(final MutantSchema schema) {
+    if (this.installed == schema) {
+      return true;
+    }
+    if (this.rejected == schema) {
+      return false;
+    }
+    this.installed = null;
+    final long t0 = System.currentTimeMillis();
+    if (!this.hotswap.apply(schema.getClassName(), this.loader,
+        schema.getBytes())) {
+      LOG.warning("Mutant schema for " + schema.getClassName()
+          + " was not viable, mutants will be loaded separately");
+      this.rejected = schema;
+      return false;
+    }
+    if (DEBUG) {
+      LOG.fine("replaced class with mutant schema in "
+          + (System.currentTimeMillis() - t0) + " ms");
+    }
+    this.installed = schema;
+    return true;
+  }
+
+  private MutationStatusTestPair handleSchemaMutation(
+      final MutationDetails mutationId, final MutantSchema schema,
+      final List<TestUnit> relevantTests) {
+    ActiveMutant.set(schema.keyFor(mutationId.getId()));
+    try {
+      return doTestsDetectMutation(createNewContainer(), relevantTests);
+    } finally {
+      ActiveMutant.set(ActiveMutant.NONE);
+    }
+  }
+
+  static Container createNewContainer() {
     final Container c = new UnContainer() {
       @Override
       public List<TestResult> execute(final TestUnit group) {
@@ -175,7 +295,7 @@ public class MutationTestWorker {
         + this.loader + ", hotswap=" + this.hotswap + "]";
   }
 
-  private MutationStatusTestPair doTestsDetectMutation(final Container c,
+  static MutationStatusTestPair doTestsDetectMutation(final Container c,
       final List<TestUnit> tests) {
     try {
       final CheckTestHasFailedResultListener listener = new CheckTestHasFailedResultListener();
@@ -190,7 +310,7 @@ public class MutationTestWorker {
 
   }
 
-  private MutationStatusTestPair createStatusTestPair(
+  private static MutationStatusTestPair createStatusTestPair(
       final CheckTestHasFailedResultListener listener) {
     if (listener.lastFailingTest().isPresent()) {
       return new MutationStatusTestPair(listener.getNumberOfTestsRun(),
@@ -202,7 +322,7 @@ public class MutationTestWorker {
     }
   }
 
-  private List<TestUnit> createEarlyExitTestGroup(final List<TestUnit> tests) {
+  private static List<TestUnit> createEarlyExitTestGroup(final List<TestUnit> tests) {
     return Collections.<TestUnit> singletonList(new MultipleTestGroup(tests));
   }
 
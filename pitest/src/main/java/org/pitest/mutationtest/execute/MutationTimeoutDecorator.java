@@ -15,10 +15,11 @@
 package org.pitest.mutationtest.execute;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.pitest.coverage.TestTimings;
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
@@ -31,14 +32,42 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final TestTimings           timings;
+  private final TestExecutionThread   thread;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
       final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime, null);
+  }
+
+  /**
+   * @param timings
+   *          receives the times of runs that complete without the test
+   *          failing. May be null.
+   */
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TestTimings timings) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime, timings, null);
+  }
+
+  /**
+   * @param thread
+   *          runs the test, shared with the other tests of the same mutant. If
+   *          null the test is run on a thread of its own.
+   */
+  MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TestTimings timings, final TestExecutionThread thread) {
     super(child);
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
+    this.timings = timings;
+    this.thread = thread;
   }
 
   @Override
@@ -47,16 +76,21 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     final long maxTime = this.timeOutStrategy
         .getAllowedTime(this.executionTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(rc);
+    final TestExecutionThread runner = this.thread != null ? this.thread
+        : new TestExecutionThread();
+    final Future<?> future = runner.submit(createRunnable(rc));
     executeFutureWithTimeOut(maxTime, future, rc);
     if (!future.isDone()) {
+      runner.abandon();
       this.timeOutSideEffect.apply();
+    } else if (this.thread == null) {
+      runner.finish();
     }
 
   }
 
   private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
+      final Future<?> future, final ResultCollector rc) {
     try {
       future.get(maxTime, TimeUnit.MILLISECONDS);
     } catch (final TimeoutException ex) {
@@ -68,19 +102,22 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     }
   }
 
-  private FutureTask<?> createFutureForChildTestUnit(final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<>(createRunnable(rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
-  }
-
   private Runnable createRunnable(final ResultCollector rc) {
+    // the thread may have run an earlier test of the mutant, so undo any
+    // change that test made to its context loader
+    final ClassLoader loader = Thread.currentThread().getContextClassLoader();
     return () -> {
       try {
+        Thread.currentThread().setContextClassLoader(loader);
+        final long t0 = System.currentTimeMillis();
+        final long cpu0 = TestTimings.currentThreadCpuTime();
         child().execute(rc);
+        // a failing test says little about how long the test normally takes
+        if ((this.timings != null) && !rc.shouldExit()) {
+          this.timings.record(child().getDescription().getQualifiedName(),
+              System.currentTimeMillis() - t0, TestTimings.cpuMillisBetween(
+                  cpu0, TestTimings.currentThreadCpuTime()));
+        }
       } catch (final Throwable ex) {
         rc.notifyEnd(child().getDescription(), ex);
       }
@@ -0,0 +1,81 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Returns mutants generated by the parent process where it sent them, and
+ * generates any others.
+ */
+class PrebuiltMutater implements Mutater {
+
+  private final Mutater                             child;
+  private final Map<MutationIdentifier, MutationDetails> details = new HashMap<>();
+  private final Map<MutationIdentifier, byte[]>     prebuilt;
+
+  PrebuiltMutater(final Mutater child,
+      final Collection<MutationDetails> mutations,
+      final Map<MutationIdentifier, byte[]> prebuilt) {
+    this.child = child;
+    this.prebuilt = prebuilt;
+    for (final MutationDetails each : mutations) {
+      this.details.put(each.getId(), each);
+    }
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    final Mutant mutant = prebuilt(id);
+    if (mutant != null) {
+      return mutant;
+    }
+    return this.child.getMutation(id);
+  }
+
+  @Override
+  public Iterator<Mutant> getMutations(final List<MutationIdentifier> ids) {
+    final List<MutationIdentifier> toGenerate = new ArrayList<>();
+    for (final MutationIdentifier each : ids) {
+      if (prebuilt(each) == null) {
+        toGenerate.add(each);
+      }
+    }
+    final Iterator<Mutant> generated = this.child.getMutations(toGenerate);
+    return ids.stream().map(id -> {
+      final Mutant mutant = prebuilt(id);
+      return mutant != null ? mutant : generated.next();
+    }).iterator();
+  }
+
+  private Mutant prebuilt(final MutationIdentifier id) {
+    final byte[] bytes = this.prebuilt.get(id);
+    final MutationDetails mutation = this.details.get(id);
+    if ((bytes != null) && (mutation != null)) {
+      return new Mutant(mutation, bytes);
+    }
+    return null;
+  }
+
+  @Override
+  public Optional<MutantSchema> createSchema(final List<Mutant> mutants) {
+    return this.child.createSchema(mutants);
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.child.findMutations(classToMutate);
+  }
+
+}
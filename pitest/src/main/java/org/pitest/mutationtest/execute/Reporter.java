@@ -15,7 +15,9 @@
 package org.pitest.mutationtest.execute;
 
 import java.io.IOException;
+import java.util.Map;
 
+import org.pitest.coverage.TestTimings;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
@@ -27,6 +29,17 @@ public interface Reporter {
   void report(MutationIdentifier i, MutationStatusTestPair mutationDetected)
       throws IOException;
 
+  /**
+   * Sends common super classes found while creating mutants, keyed as in
+   * {@link org.pitest.classinfo.CommonSuperClassCache}
+   */
+  void superClasses(Map<String, String> found);
+
+  /**
+   * Sends the times of test runs made while analysing mutations
+   */
+  void timings(TestTimings timings);
+
   void done(ExitCode exitCode);
 
 }
@@ -0,0 +1,51 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The thread on which the tests of a single mutant are run, so that a thread
+ * need not be started for every test. The thread is never shared with another
+ * mutant, so no thread local state set while testing one mutant can be seen
+ * while testing the next. Once a test overruns, its thread is abandoned and a
+ * new one started for the next test.
+ */
+final class TestExecutionThread {
+
+  private ExecutorService executor;
+
+  synchronized Future<?> submit(final Runnable test) {
+    if (this.executor == null) {
+      this.executor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        thread.setName("mutationTestThread");
+        return thread;
+      });
+    }
+    return this.executor.submit(test);
+  }
+
+  /**
+   * Abandons the current thread, which is still running a test that has
+   * overrun. The thread is interrupted, but may not stop.
+   */
+  synchronized void abandon() {
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Lets the thread end once it has finished any test it is running
+   */
+  synchronized void finish() {
+    if (this.executor != null) {
+      this.executor.shutdown();
+      this.executor = null;
+    }
+  }
+
+}
@@ -15,6 +15,7 @@
 
 package org.pitest.mutationtest.execute;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.TestTimings;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.testapi.TestUnit;
 
@@ -31,13 +33,35 @@ public class TimeOutDecoratedTestSource {
   private final Map<String, TestUnit> allTests = new HashMap<>();
   private final TimeoutLengthStrategy timeoutStrategy;
   private final Reporter              r;
+  private final Map<String, Long>     expectedTimes;
+  private final TestTimings           timings;
+
+  // runs the tests of the mutant the tests were last translated for
+  private TestExecutionThread         thread;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
       final List<TestUnit> allTests, final Reporter r) {
+    this(timeoutStrategy, allTests, r, Collections.<String, Long> emptyMap(),
+        null);
+  }
+
+  /**
+   * @param expectedTimes
+   *          normal durations of tests to use in place of the time recorded
+   *          during coverage
+   * @param timings
+   *          receives the times of test runs. May be null.
+   */
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final Map<String, Long> expectedTimes, final TestTimings timings) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
     this.r = r;
+    this.expectedTimes = expectedTimes;
+    this.timings = timings;
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -46,11 +70,29 @@ public class TimeOutDecoratedTestSource {
     }
   }
 
+  /**
+   * Returns the given tests decorated to run against a single mutant. The
+   * tests share a thread, which ends once the tests are translated for the
+   * next mutant or the source is finished with.
+   */
   public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
-    return testsInOrder.stream().flatMap(testToTestUnit()).collect(Collectors.toList());
+    finish();
+    this.thread = new TestExecutionThread();
+    return testsInOrder.stream().flatMap(testToTestUnit(this.thread)).collect(Collectors.toList());
   }
 
-  private Function<TestInfo, Stream<TestUnit>> testToTestUnit() {
+  /**
+   * Ends the thread the tests last translated ran on
+   */
+  public void finish() {
+    if (this.thread != null) {
+      this.thread.finish();
+      this.thread = null;
+    }
+  }
+
+  private Function<TestInfo, Stream<TestUnit>> testToTestUnit(
+      final TestExecutionThread thread) {
     return a -> {
       final TestUnit tu = TimeOutDecoratedTestSource.this.allTests.get(a
           .getName());
@@ -59,10 +101,20 @@ public class TimeOutDecoratedTestSource {
             .<TestUnit> of(new MutationTimeoutDecorator(tu,
                 new TimeOutSystemExitSideEffect(
                     TimeOutDecoratedTestSource.this.r),
-                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+                    TimeOutDecoratedTestSource.this.timeoutStrategy,
+                    expectedTime(a), TimeOutDecoratedTestSource.this.timings,
+                    thread));
       }
       return Stream.empty();
     };
   }
 
+  private long expectedTime(final TestInfo test) {
+    final Long expected = this.expectedTimes.get(test.getName());
+    if (expected != null) {
+      return expected;
+    }
+    return test.getTime();
+  }
+
 }
@@ -21,11 +21,16 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SafeDataInputStream {
 
   private final DataInputStream dis;
 
+  // strings received via readInternedString in the order first sent
+  private final List<String>    strings = new ArrayList<>();
+
   public SafeDataInputStream(final InputStream is) {
     this.dis = new DataInputStream(is);
   }
@@ -57,6 +62,36 @@ public class SafeDataInputStream {
     }
   }
 
+  public int readVarInt() {
+    try {
+      int value = 0;
+      int shift = 0;
+      byte b = this.dis.readByte();
+      while ((b & 0x80) != 0) {
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+        b = this.dis.readByte();
+      }
+      return value | (b << shift);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public String readInternedString() {
+    final int index = readVarInt();
+    if (index == 0) {
+      return null;
+    }
+
+    if (index > this.strings.size()) {
+      final String str = readString();
+      this.strings.add(str);
+      return str;
+    }
+    return this.strings.get(index - 1);
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends Serializable> T read(final Class<T> type) {
     try {
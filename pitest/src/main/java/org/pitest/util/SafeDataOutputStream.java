@@ -21,10 +21,15 @@ import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SafeDataOutputStream {
 
-  private final DataOutputStream dos;
+  private final DataOutputStream     dos;
+
+  // strings sent so far mapped to the index by which they are resent
+  private final Map<String, Integer> strings = new HashMap<>();
 
   public SafeDataOutputStream(final OutputStream os) {
     this.dos = new DataOutputStream(os);
@@ -57,6 +62,45 @@ public class SafeDataOutputStream {
     }
   }
 
+  /**
+   * Writes an int using between 1 and 5 bytes. Small non negative values are
+   * written most compactly.
+   */
+  public void writeVarInt(final int value) {
+    try {
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        this.dos.writeByte((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      this.dos.writeByte(remaining);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Writes a string that is likely to be sent more than once (e.g a class or
+   * method name). The string itself is sent only the first time, afterwards
+   * only its index within this stream is written. May be null.
+   */
+  public void writeInternedString(final String str) {
+    if (str == null) {
+      writeVarInt(0);
+      return;
+    }
+
+    final Integer index = this.strings.get(str);
+    if (index != null) {
+      writeVarInt(index);
+    } else {
+      final int newIndex = this.strings.size() + 1;
+      this.strings.put(str, newIndex);
+      writeVarInt(newIndex);
+      writeString(str);
+    }
+  }
+
   public <T extends Serializable> void write(final T value) {
     try {
       writeBytes(toByteArray(value));
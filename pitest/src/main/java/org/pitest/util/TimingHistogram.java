@@ -0,0 +1,145 @@
+package org.pitest.util;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations with buckets that widen as durations grow, so that
+ * any recorded value is reported to within about 1.5% however large it is.
+ *
+ * Values below 128 have a bucket each. Above that each power of two is
+ * split into 64 buckets.
+ */
+public final class TimingHistogram {
+
+  private static final int SUB_BUCKETS      = 64;
+  private static final int LINEAR_BUCKETS   = SUB_BUCKETS * 2;
+  private static final int SUB_BUCKET_SHIFT = 6;
+
+  private int[]            counts           = new int[LINEAR_BUCKETS];
+  private long             count;
+  private long             max;
+  private long             total;
+
+  public synchronized void record(final long value) {
+    final long v = Math.max(0, value);
+    final int index = indexFor(v);
+    if (index >= this.counts.length) {
+      this.counts = Arrays.copyOf(this.counts, index + SUB_BUCKETS);
+    }
+    this.counts[index]++;
+    this.count++;
+    this.total = this.total + v;
+    this.max = Math.max(this.max, v);
+  }
+
+  public synchronized void add(final TimingHistogram other) {
+    final int[] otherCounts;
+    synchronized (other) {
+      otherCounts = Arrays.copyOf(other.counts, other.counts.length);
+      this.count = this.count + other.count;
+      this.total = this.total + other.total;
+      this.max = Math.max(this.max, other.max);
+    }
+    if (otherCounts.length > this.counts.length) {
+      this.counts = Arrays.copyOf(this.counts, otherCounts.length);
+    }
+    for (int i = 0; i != otherCounts.length; i++) {
+      this.counts[i] = this.counts[i] + otherCounts[i];
+    }
+  }
+
+  public synchronized long getCount() {
+    return this.count;
+  }
+
+  public synchronized long getMax() {
+    return this.max;
+  }
+
+  public synchronized long getMean() {
+    if (this.count == 0) {
+      return 0;
+    }
+    return this.total / this.count;
+  }
+
+  /**
+   * Returns the smallest value that the given percentage of recorded values
+   * do not exceed, rounded up to the top of its bucket. Returns 0 if nothing
+   * has been recorded.
+   */
+  public synchronized long getValueAtPercentile(final double percentile) {
+    if (this.count == 0) {
+      return 0;
+    }
+    final double bounded = Math.min(100, Math.max(0, percentile));
+    final long target = Math.max(1,
+        (long) Math.ceil((bounded / 100) * this.count));
+    long seen = 0;
+    for (int i = 0; i != this.counts.length; i++) {
+      seen = seen + this.counts[i];
+      if (seen >= target) {
+        return Math.min(this.max, highestValueFor(i));
+      }
+    }
+    return this.max;
+  }
+
+  /**
+   * Writes the non empty buckets
+   */
+  public synchronized void write(final SafeDataOutputStream dos) {
+    int buckets = 0;
+    for (final int each : this.counts) {
+      if (each != 0) {
+        buckets++;
+      }
+    }
+    dos.writeVarInt(buckets);
+    for (int i = 0; i != this.counts.length; i++) {
+      if (this.counts[i] != 0) {
+        dos.writeVarInt(i);
+        dos.writeVarInt(this.counts[i]);
+      }
+    }
+    dos.writeLong(this.max);
+    dos.writeLong(this.total);
+  }
+
+  public static TimingHistogram read(final SafeDataInputStream dis) {
+    final TimingHistogram h = new TimingHistogram();
+    final int buckets = dis.readVarInt();
+    for (int i = 0; i != buckets; i++) {
+      final int index = dis.readVarInt();
+      final int count = dis.readVarInt();
+      if (index >= h.counts.length) {
+        h.counts = Arrays.copyOf(h.counts, index + SUB_BUCKETS);
+      }
+      h.counts[index] = count;
+      h.count = h.count + count;
+    }
+    h.max = dis.readLong();
+    h.total = dis.readLong();
+    return h;
+  }
+
+  static int indexFor(final long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+    final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_SHIFT;
+    final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+    return LINEAR_BUCKETS + ((shift - 1) * SUB_BUCKETS) + subBucket;
+  }
+
+  static long highestValueFor(final int index) {
+    if (index < LINEAR_BUCKETS) {
+      return index;
+    }
+    final int shift = ((index - LINEAR_BUCKETS) / SUB_BUCKETS) + 1;
+    final long subBucket = ((index - LINEAR_BUCKETS) % SUB_BUCKETS)
+        + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+}
@@ -0,0 +1,35 @@
+// placed in a sun package so non delegating classloaders are likely
+// to still delegate it's loading
+package sun.pitest;
+
+/**
+ * Selects which of the mutants compiled into a mutant schema is active. Code
+ * in a schema calls {@link #get()} on entry to each mutated method and runs
+ * the body of the mutant with that key, or the original body if there is
+ * none.
+ */
+public final class ActiveMutant {
+
+  public static final String CLASS_NAME = ActiveMutant.class.getName()
+                                            .replace('.', '/');
+  public static final String GET_METHOD = "get";
+
+  /**
+   * Key of no mutant, under which schemas run their original code
+   */
+  public static final int    NONE       = 0;
+
+  private static int         active     = NONE;
+
+  private ActiveMutant() {
+  }
+
+  public static int get() {
+    return active;
+  }
+
+  public static void set(final int key) {
+    active = key;
+  }
+
+}
@@ -21,10 +21,8 @@
 package sun.pitest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Store for line visit information.
@@ -48,8 +46,17 @@ public final class CodeCoverageStore {
   // before relationship significantly outperforms
   // both AtomicInteger array with bit per flag and integer per flag.
   // optimisation with other methods of ensuring a happens before not yet
-  // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<>();
+  // investigated. Packing flags into a long[] would also lose hits made
+  // concurrently to the same word, so a flag per probe is retained.
+  //
+  // Indexed directly by class id, replaced with a larger copy as classes are
+  // registered.
+  private static volatile boolean[][]          classHits         = new boolean[64][];
+
+  // ids of the classes hit since the last reset, so only those need be
+  // cleared or reported
+  private static int[]                         classesHit        = new int[64];
+  private static int                           numberOfClassesHit;
 
   public static void init(final InvokeReceiver invokeQueue) {
     CodeCoverageStore.invokeQueue = invokeQueue;
@@ -59,15 +66,13 @@ public final class CodeCoverageStore {
   }
 
   public static void visitSingleProbe(final int classId, final int probe) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     bs[probe + 1] = true;
   }
 
   public static void visitProbes(final int classId, final int offset,
       final boolean[] probes) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     for (int i = 0; i != probes.length; i++) {
       if (probes[i]) {
         bs[i + offset + 1] = true;
@@ -84,8 +89,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -93,8 +97,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -105,8 +108,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -120,8 +122,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -139,8 +140,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -161,8 +161,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -186,8 +185,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -214,8 +212,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -246,8 +243,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -281,8 +277,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -319,8 +314,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -360,8 +354,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -405,8 +398,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -453,8 +445,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -504,8 +495,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13, final boolean p14) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = hitsFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -553,22 +543,42 @@ public final class CodeCoverageStore {
     }
   }
 
+  private static boolean[] hitsFor(final int classId) {
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      recordClassHit(classId, bs);
+    }
+    return bs;
+  }
+
+  private static synchronized void recordClassHit(final int classId,
+      final boolean[] bs) {
+    // check again now we hold the lock so each class is recorded only once
+    if (bs[CLASS_HIT_INDEX]) {
+      return;
+    }
+    if (numberOfClassesHit == classesHit.length) {
+      classesHit = Arrays.copyOf(classesHit, classesHit.length * 2);
+    }
+    classesHit[numberOfClassesHit] = classId;
+    numberOfClassesHit++;
+    bs[CLASS_HIT_INDEX] = true;
+  }
+
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      CLASS_HITS.put(each.getKey(), new boolean[each.getValue().length]);
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != numberOfClassesHit; i++) {
+      Arrays.fill(hits[classesHit[i]], false);
     }
+    numberOfClassesHit = 0;
   }
 
   public static synchronized Collection<Long> getHits() {
     final Collection<Long> blockHits = new ArrayList<>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
-      // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
-        continue;
-      }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != numberOfClassesHit; i++) {
+      final int classId = classesHit[i];
+      final boolean[] bs = hits[classId];
       for (int probeId = 1; probeId != bs.length; probeId++) {
         if (bs[probeId]) {
           blockHits.add(encode(classId, probeId - 1));
@@ -578,6 +588,24 @@ public final class CodeCoverageStore {
     return blockHits;
   }
 
+  /**
+   * Reports the probes hit since the last reset without creating any
+   * intermediate collections.
+   */
+  public static synchronized void readHits(final ProbeHitReceiver receiver) {
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != numberOfClassesHit; i++) {
+      final int classId = classesHit[i];
+      final boolean[] bs = hits[classId];
+      receiver.classHit(classId);
+      for (int probeId = 1; probeId != bs.length; probeId++) {
+        if (bs[probeId]) {
+          receiver.probeHit(probeId - 1);
+        }
+      }
+    }
+  }
+
   public static int registerClass(final String className) {
     final int id = nextId();
     invokeQueue.registerClass(id, className);
@@ -606,12 +634,20 @@ public final class CodeCoverageStore {
     return ((long) classId << 32) | line;
   }
 
-  public static void registerClassProbes(final int classId, int probeCount) {
-    CLASS_HITS.put(classId, new boolean[probeCount + 1]);
+  public static synchronized void registerClassProbes(final int classId,
+      final int probeCount) {
+    boolean[][] hits = classHits;
+    if (classId >= hits.length) {
+      hits = Arrays.copyOf(hits, Math.max(hits.length * 2, classId + 1));
+    }
+    hits[classId] = new boolean[probeCount + 1];
+    classHits = hits;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    classHits = new boolean[64][];
+    classesHit = new int[64];
+    numberOfClassesHit = 0;
   }
 
 }
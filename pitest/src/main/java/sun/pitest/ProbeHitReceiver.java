@@ -0,0 +1,14 @@
+package sun.pitest;
+
+/**
+ * Receives the probes hit since the coverage store was last reset. For each
+ * class hit, classHit is called once followed by a call to probeHit for each
+ * probe hit within it, in ascending order.
+ */
+public interface ProbeHitReceiver {
+
+  void classHit(int classId);
+
+  void probeHit(int probe);
+
+}
@@ -0,0 +1,64 @@
+package org.pitest.bytecode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.objectweb.asm.tree.ClassNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+public class ParsedClassCacheTest {
+
+  private final ClassloaderByteArraySource source = new ClassloaderByteArraySource(
+      IsolationUtils.getContextClassLoader());
+
+  private final ClassName                  name   = ClassName
+      .fromClass(ParsedClassCacheTest.class);
+
+  @Test
+  public void shouldParseClass() {
+    final ParsedClassCache testee = new ParsedClassCache(Long.MAX_VALUE);
+    assertEquals(this.name.asInternalName(),
+        testee.classNode(this.name, bytes()).name);
+  }
+
+  @Test
+  public void shouldReturnSameParsedClassForSameBytes() {
+    final ParsedClassCache testee = new ParsedClassCache(Long.MAX_VALUE);
+    final ClassNode first = testee.classNode(this.name, bytes());
+    assertSame(first, testee.classNode(this.name, bytes()));
+  }
+
+  @Test
+  public void shouldParseAgainWhenBytesChange() {
+    final ParsedClassCache testee = new ParsedClassCache(Long.MAX_VALUE);
+    final ClassNode first = testee.classNode(this.name, bytes());
+    final ClassName other = ClassName.fromClass(ParsedClassCache.class);
+    final ClassNode second = testee.classNode(this.name, bytesFor(other));
+    assertNotSame(first, second);
+    assertEquals(other.asInternalName(), second.name);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedClassesWhenFull() {
+    final byte[] bytes = bytes();
+    final ParsedClassCache testee = new ParsedClassCache(bytes.length * 2);
+    testee.classNode(ClassName.fromString("a"), bytes);
+    testee.classNode(ClassName.fromString("b"), bytes);
+    final ClassNode c = testee.classNode(ClassName.fromString("c"), bytes);
+    assertEquals(2, testee.size());
+    assertSame(c, testee.classNode(ClassName.fromString("c"), bytes));
+  }
+
+  private byte[] bytes() {
+    return bytesFor(this.name);
+  }
+
+  private byte[] bytesFor(final ClassName clazz) {
+    return this.source.getBytes(clazz.asJavaName()).get();
+  }
+
+}
@@ -0,0 +1,74 @@
+package org.pitest.classinfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class CommonSuperClassCacheTest {
+
+  private final CommonSuperClassCache testee = new CommonSuperClassCache();
+
+  @Test
+  public void shouldReportEntriesFoundByWriters() {
+    final ComputeClassWriter writer = new ComputeClassWriter(
+        new ClassloaderByteArraySource(IsolationUtils.getContextClassLoader()),
+        this.testee.asMap(), 0);
+    writer.getCommonSuperClass("java/lang/Integer", "java/lang/Long");
+
+    assertThat(this.testee.takeFound()).containsEntry(
+        CommonSuperClassCache.key("java/lang/Integer", "java/lang/Long"),
+        "java/lang/Number");
+    assertThat(this.testee.takeFound()).isEmpty();
+    assertThat(this.testee.entries()).hasSize(1);
+  }
+
+  @Test
+  public void shouldNotReportEntriesAddedFromElsewhere() {
+    this.testee.addAll(Collections.singletonMap(
+        CommonSuperClassCache.key("a", "b"), "c"));
+    assertThat(this.testee.takeFound()).isEmpty();
+    assertThat(this.testee.asMap().get(CommonSuperClassCache.key("a", "b")))
+        .isEqualTo("c");
+  }
+
+  @Test
+  public void shouldKeepEntriesWhenFoundEntriesCleared() {
+    this.testee.asMap().put(CommonSuperClassCache.key("a", "b"), "c");
+    this.testee.clearFound();
+    assertThat(this.testee.takeFound()).isEmpty();
+    assertThat(this.testee.entries()).containsOnlyKeys(
+        CommonSuperClassCache.key("a", "b"));
+  }
+
+  @Test
+  public void shouldSplitKeysIntoTypes() {
+    assertThat(CommonSuperClassCache.types(CommonSuperClassCache.key("a/B",
+        "c/D"))).containsExactly("a/B", "c/D");
+  }
+
+  @Test
+  public void shouldWriteAndReadEntries() {
+    final Map<String, String> entries = new HashMap<>();
+    entries.put(CommonSuperClassCache.key("a/B", "c/D"), "java/lang/Object");
+    entries.put(CommonSuperClassCache.key("c/D", "a/B"), "java/lang/Object");
+
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    CommonSuperClassCache.write(dos, entries);
+    dos.flush();
+
+    assertThat(CommonSuperClassCache.read(new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray())))).isEqualTo(entries);
+  }
+
+}
@@ -14,22 +14,37 @@
  */
 package org.pitest.classpath;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.StreamUtil;
 
 public class ArchiveClassPathRootTest {
 
+  @Rule
+  public TemporaryFolder       testFolder = new TemporaryFolder();
+
   private ArchiveClassPathRoot testee;
 
   @Before
@@ -41,6 +56,11 @@ public class ArchiveClassPathRootTest {
     this.testee = new ArchiveClassPathRoot(new File("mytests.jar"));
   }
 
+  @After
+  public void tearDown() throws IOException {
+    this.testee.close();
+  }
+
   @Test
   public void classNamesShouldReturnAllClassNamesIArchive() {
     final Collection<String> expected = Arrays.asList(
@@ -70,6 +90,68 @@ public class ArchiveClassPathRootTest {
     }
   }
 
+  @Test
+  public void shouldReturnTheCompleteClassBytes() throws Exception {
+    final byte[] expected;
+    try (ZipFile zip = new ZipFile("mytests.jar")) {
+      expected = StreamUtil.streamToByteArray(zip.getInputStream(new ZipEntry(
+          "injar/p1/P1Test.class")));
+    }
+    final byte[] actual = StreamUtil.streamToByteArray(this.testee
+        .getData("injar.p1.P1Test"));
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  public void shouldShareOneIndexBetweenRootsForTheSameArchive()
+      throws Exception {
+    final ArchiveClassPathRoot other = new ArchiveClassPathRoot(new File(
+        "mytests.jar"));
+    assertSame(this.testee.classNames(), other.classNames());
+    other.close();
+  }
+
+  @Test
+  public void shouldCloseArchiveWhenLastRootUsingItIsClosed()
+      throws Exception {
+    final ArchiveClassPathRoot other = new ArchiveClassPathRoot(new File(
+        "mytests.jar"));
+    final ArchiveIndex index = ArchiveIndex.acquire(new File("mytests.jar"));
+    this.testee.classNames();
+    other.classNames();
+    index.release();
+    this.testee.close();
+    assertFalse(index.isClosed());
+    other.close();
+    assertTrue(index.isClosed());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotReopenArchiveWhenUsedAfterBeingClosed()
+      throws Exception {
+    this.testee.classNames();
+    this.testee.close();
+    this.testee.getData("injar.p1.P1Test");
+  }
+
+  @Test
+  public void shouldCloseStaleIndexWhenArchiveChanges() throws Exception {
+    final File jar = this.testFolder.newFile("changing.jar");
+    Files.copy(new File("mytests.jar").toPath(), jar.toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+    final ArchiveClassPathRoot root = new ArchiveClassPathRoot(jar);
+    final ArchiveIndex stale = ArchiveIndex.acquire(jar);
+    assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+    final ArchiveIndex fresh = ArchiveIndex.acquire(jar);
+    try {
+      assertTrue(stale.isClosed());
+      assertNotNull(root.getData("injar.p1.P1Test"));
+    } finally {
+      fresh.release();
+      root.close();
+    }
+  }
+
   @Test
   public void getResourceShouldReturnNullForAnUnknownResource()
       throws Exception {
@@ -2,7 +2,9 @@ package org.pitest.classpath;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -89,6 +91,63 @@ public class CompoundClassPathRootTest {
     verify(this.heavyChild).getData("Heavy");
   }
 
-}
+  @Test
+  public void shouldReturnClassDataFromFirstArchiveHoldingClass()
+      throws IOException {
+    final ArchiveClassPathRoot first = mock(ArchiveClassPathRoot.class);
+    final ArchiveClassPathRoot second = mock(ArchiveClassPathRoot.class);
+    when(first.classNames()).thenReturn(Collections.singletonList("com.Foo"));
+    when(second.classNames()).thenReturn(Collections.singletonList("com.Foo"));
+    final InputStream is = Mockito.mock(InputStream.class);
+    when(first.getData("com/Foo")).thenReturn(is);
+
+    this.testee = new CompoundClassPathRoot(Arrays.<ClassPathRoot> asList(
+        first, second));
+
+    assertThat(this.testee.getData("com/Foo")).isSameAs(is);
+    verify(second, never()).getData(any(String.class));
+  }
+
+  @Test
+  public void shouldNotQueryArchivesForClassesTheyDoNotContain()
+      throws IOException {
+    final ArchiveClassPathRoot archive = mock(ArchiveClassPathRoot.class);
+    when(archive.classNames()).thenReturn(Collections.singletonList("Foo"));
+
+    this.testee = new CompoundClassPathRoot(Arrays.<ClassPathRoot> asList(
+        archive));
+
+    assertThat(this.testee.getData("Bar")).isNull();
+    verify(archive, never()).getData(any(String.class));
+  }
+
+  @Test
+  public void shouldQueryRootsThatCannotListClassesInClasspathOrder()
+      throws IOException {
+    final ArchiveClassPathRoot archive = mock(ArchiveClassPathRoot.class);
+    when(archive.classNames()).thenReturn(Collections.singletonList("Foo"));
+    final InputStream is = Mockito.mock(InputStream.class);
+    when(this.child1.getData("Foo")).thenReturn(is);
+
+    this.testee = new CompoundClassPathRoot(Arrays.<ClassPathRoot> asList(
+        this.child1, archive, this.child2));
+
+    assertThat(this.testee.getData("Foo")).isSameAs(is);
+    verify(archive, never()).getData(any(String.class));
+    verify(this.child2, never()).getData(any(String.class));
+  }
 
+  @Test
+  public void shouldListClassesOfEachArchiveOnlyOnce() throws IOException {
+    final ArchiveClassPathRoot archive = mock(ArchiveClassPathRoot.class);
+    when(archive.classNames()).thenReturn(Collections.singletonList("Foo"));
+
+    this.testee = new CompoundClassPathRoot(Arrays.<ClassPathRoot> asList(
+        archive));
+
+    this.testee.getData("Foo");
+    this.testee.getData("Bar");
+    verify(archive, times(1)).classNames();
+  }
 
+}
@@ -0,0 +1,163 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.instrument.IllegalClassFormatException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Vector;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.CheckClassAdapter;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+public class InstrumentedClassCacheTest {
+
+  private static final String  VECTOR = "java/util/Vector";
+
+  @Rule
+  public TemporaryFolder       testFolder = new TemporaryFolder();
+
+  private final ClassLoader    loader     = IsolationUtils
+      .getContextClassLoader();
+
+  private final ClassByteArraySource bytes = new ClassloaderByteArraySource(
+      this.loader);
+
+  @Mock
+  private InvokeReceiver       invokeQueue;
+
+  private File                 dir;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    CodeCoverageStore.init(this.invokeQueue);
+    this.dir = InstrumentedClassCache.locationFor(new File(this.testFolder
+        .getRoot(), "history"));
+  }
+
+  @After
+  public void tearDown() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Test
+  public void shouldPlaceClassesAlongsideHistory() {
+    assertThat(this.dir.getName()).isEqualTo("history.instrumented");
+  }
+
+  @Test
+  public void shouldReadClassesInstrumentedInEarlierRuns()
+      throws IllegalClassFormatException {
+    transform();
+    assertThat(new InstrumentedClassCache(this.dir).load(VECTOR, original(),
+        this.bytes)).isPresent();
+  }
+
+  @Test
+  public void shouldGenerateValidClassesFromCache()
+      throws IllegalClassFormatException {
+    assertValid(transform());
+    assertValid(transform());
+  }
+
+  @Test
+  public void shouldGiveEachLoadOfCachedClassANewId()
+      throws IllegalClassFormatException {
+    final byte[] first = transform();
+    final byte[] second = transform();
+    assertThat(first).isNotEqualTo(second);
+    assertThat(first.length).isEqualTo(second.length);
+  }
+
+  @Test
+  public void shouldNotReadClassWhenItsBytesHaveChanged()
+      throws IllegalClassFormatException {
+    transform();
+    assertThat(new InstrumentedClassCache(this.dir).load(VECTOR,
+        this.bytes.getBytes("java.util.ArrayList").get(), this.bytes))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldNotReadClassWhenAClassItDependsOnHasChanged() {
+    final InstrumentedClassCache testee = new InstrumentedClassCache(this.dir);
+    testee.store(VECTOR, original(), original(), 0,
+        Collections.<InstrumentedClassCache.MethodProbes> emptyList(),
+        Collections.singletonMap("java/lang/Object", "42"));
+    assertThat(testee.load(VECTOR, original(), this.bytes)).isEmpty();
+  }
+
+  @Test
+  public void shouldRemoveClassesThatNoLongerExistWhenPruned()
+      throws IllegalClassFormatException {
+    transform();
+    new InstrumentedClassCache(this.dir).prune(name -> false);
+    assertThat(new InstrumentedClassCache(this.dir).load(VECTOR, original(),
+        this.bytes)).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepClassesThatStillExistWhenPruned()
+      throws IllegalClassFormatException {
+    transform();
+    new InstrumentedClassCache(this.dir).prune(name -> name
+        .equals("java.util.Vector"));
+    assertThat(new InstrumentedClassCache(this.dir).load(VECTOR, original(),
+        this.bytes)).isPresent();
+  }
+
+  @Test
+  public void shouldDistinguishClassesByDigestOfTheirBytes() {
+    final byte[] a = new byte[] { 1, 0 };
+    final byte[] b = new byte[] { 0, 1 };
+    assertThat(InstrumentedClassCache.hash(Optional.of(a))).hasSize(40)
+        .isNotEqualTo(InstrumentedClassCache.hash(Optional.of(b)));
+  }
+
+  @Test
+  public void shouldNotUsePlaceholderForClassesAlreadyHoldingIt() {
+    assertThat(InstrumentedClassCache.canHoldPlaceholder(original())).isTrue();
+    assertThat(InstrumentedClassCache.canHoldPlaceholder(this.bytes.getBytes(
+        HoldsPlaceholder.class.getName()).get())).isFalse();
+  }
+
+  static class HoldsPlaceholder {
+    int value() {
+      return 0x7C1A5510;
+    }
+  }
+
+  private byte[] transform() throws IllegalClassFormatException {
+    final CoverageTransformer testee = new CoverageTransformer(s -> true,
+        new InstrumentedClassCache(this.dir));
+    return testee.transform(this.loader, VECTOR, null, null, original());
+  }
+
+  private byte[] original() {
+    return this.bytes.getBytes(Vector.class.getName()).get();
+  }
+
+  private void assertValid(final byte[] bs) {
+    final StringWriter sw = new StringWriter();
+    CheckClassAdapter.verify(new ClassReader(bs), false, new PrintWriter(sw));
+    assertThat(sw.toString()).isEmpty();
+  }
+
+}
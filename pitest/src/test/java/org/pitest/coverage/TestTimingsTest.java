@@ -0,0 +1,70 @@
+package org.pitest.coverage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class TestTimingsTest {
+
+  private final TestTimings testee = new TestTimings();
+
+  @Test
+  public void shouldRecordWallAndCpuTimesOfEachTest() {
+    this.testee.record("foo", 10, 4);
+    this.testee.record("foo", 20, 6);
+    this.testee.record("bar", 1, 1);
+    assertEquals(2, this.testee.wallTimeOf("foo").get().getCount());
+    assertEquals(20, this.testee.wallTimeOf("foo").get().getMax());
+    assertEquals(6, this.testee.cpuTimeOf("foo").get().getMax());
+    assertEquals(1, this.testee.wallTimeOf("bar").get().getCount());
+  }
+
+  @Test
+  public void shouldNotRecordUnmeasuredCpuTime() {
+    this.testee.record("foo", 10, -1);
+    assertTrue(this.testee.wallTimeOf("foo").isPresent());
+    assertFalse(this.testee.cpuTimeOf("foo").isPresent());
+  }
+
+  @Test
+  public void shouldAddTimesFromOtherTimings() {
+    final TestTimings other = new TestTimings();
+    this.testee.record("foo", 10, 4);
+    other.record("foo", 30, 8);
+    other.record("bar", 2, 2);
+    this.testee.add(other);
+    assertEquals(2, this.testee.wallTimeOf("foo").get().getCount());
+    assertEquals(30, this.testee.wallTimeOf("foo").get().getMax());
+    assertTrue(this.testee.wallTimeOf("bar").isPresent());
+  }
+
+  @Test
+  public void shouldReadWhatItWrites() {
+    this.testee.record("foo", 10, 4);
+    this.testee.record("bar", 2, -1);
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    this.testee.write(dos);
+    dos.flush();
+
+    final TestTimings actual = TestTimings.read(new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray())));
+    assertEquals(10, actual.wallTimeOf("foo").get().getMax());
+    assertEquals(4, actual.cpuTimeOf("foo").get().getMax());
+    assertFalse(actual.cpuTimeOf("bar").isPresent());
+  }
+
+  @Test
+  public void shouldNotReportNegativeCpuTimeWhenUnmeasured() {
+    assertEquals(-1, TestTimings.cpuMillisBetween(-1, 100));
+    assertEquals(2, TestTimings.cpuMillisBetween(1000000, 3000000));
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
+import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+import org.pitest.simpletest.ExcludedPrefixIsolationStrategy;
+import org.pitest.simpletest.TransformingClassLoader;
+
+import sun.pitest.ActiveMutant;
+
+public class MutantSchemaBuilderTest extends MutatorTestBase {
+
+  @Before
+  public void setUp() {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(), i -> true,
+        Collections.<MethodMutatorFactory> singletonList(
+            MathMutator.MATH_MUTATOR), new HashMap<String, String>(), true);
+  }
+
+  public static class HasMutants implements Callable<String> {
+    private final int i;
+
+    public HasMutants() {
+      this.i = Integer.parseInt("2") + 1;
+    }
+
+    @Override
+    public String call() {
+      return "" + add(this.i, 2) + "," + multiply(3, 4);
+    }
+
+    private static int add(final int a, final int b) {
+      return a + b;
+    }
+
+    private int multiply(final int a, final int b) {
+      try {
+        return a * b;
+      } catch (final RuntimeException ex) {
+        return -1;
+      }
+    }
+  }
+
+  @Test
+  public void shouldNotCreateSchemaWhenNotEnabled() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    assertThat(this.engine.createSchema(mutants())).isEmpty();
+  }
+
+  @Test
+  public void shouldLeaveMutantsInConstructorsOutOfSchema() {
+    final List<Mutant> mutants = mutants();
+    final MutantSchema schema = this.engine.createSchema(mutants).get();
+    assertThat(mutants).hasSize(3);
+    assertThat(schema.size()).isEqualTo(2);
+    for (final Mutant each : mutants) {
+      assertThat(schema.contains(each.getDetails().getId())).isEqualTo(
+          !each.getDetails().getMethod().name().equals("<init>"));
+    }
+  }
+
+  @Test
+  public void shouldRunOriginalCodeWhenNoMutantActive() throws Exception {
+    final MutantSchema schema = this.engine.createSchema(mutants()).get();
+    assertThat(callWithActive(schema, ActiveMutant.NONE)).isEqualTo("5,12");
+  }
+
+  @Test
+  public void shouldBehaveAsEachMutantWhenItIsActive() throws Exception {
+    final List<Mutant> mutants = mutants();
+    final MutantSchema schema = this.engine.createSchema(mutants).get();
+    for (final Mutant each : mutants) {
+      if (schema.contains(each.getDetails().getId())) {
+        assertThat(callWithActive(schema, schema.keyFor(each.getDetails()
+            .getId()))).isEqualTo(mutateAndCall(new HasMutants(), each));
+      }
+    }
+  }
+
+  private List<Mutant> mutants() {
+    return getMutants(findMutationsFor(HasMutants.class));
+  }
+
+  private static String callWithActive(final MutantSchema schema,
+      final int key) throws Exception {
+    final ClassName clazz = ClassName.fromClass(HasMutants.class);
+    final ClassLoader loader = new TransformingClassLoader(
+        (name, bytes) -> name.equals(clazz.asJavaName()) ? schema.getBytes()
+            : bytes, new ExcludedPrefixIsolationStrategy());
+    // the loader holds its own copy of the switch
+    loader.loadClass(ActiveMutant.class.getName())
+        .getMethod("set", int.class).invoke(null, key);
+    final Callable<?> c = (Callable<?>) loader.loadClass(clazz.asJavaName())
+        .newInstance();
+    return (String) c.call();
+  }
+
+}
@@ -19,13 +19,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
 
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.CheckClassAdapter;
+import org.objectweb.asm.util.TraceClassVisitor;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.config.Mutator;
 import org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.InvertNegsMutator;
@@ -355,6 +364,41 @@ public class TestGregorMutater extends MutatorTestBase {
     assertThat(actualDetails).isEmpty();
   }
 
+  @Test
+  public void shouldCreateSameMutantsInBatchAsOneAtATime() {
+    createTesteeWith(Mutator.all());
+    final List<MutationDetails> actualDetails = new ArrayList<>();
+    actualDetails.addAll(findMutationsFor(HasTwoMutableMethods.class));
+    actualDetails.addAll(findMutationsFor(HasMultipleMutations.class));
+    actualDetails.addAll(findMutationsFor(HasTwoMutableMethods.class));
+
+    final List<MutationIdentifier> ids = FCollection.map(actualDetails,
+        MutationDetails::getId);
+    final Iterator<Mutant> batch = this.engine.getMutations(ids);
+    for (final MutationIdentifier each : ids) {
+      final Mutant expected = this.engine.getMutation(each);
+      final Mutant actual = batch.next();
+      assertEquals(expected.getDetails(), actual.getDetails());
+      assertEquals(asText(expected.getBytes()), asText(actual.getBytes()));
+      assertVerifies(actual.getBytes());
+    }
+    assertFalse(batch.hasNext());
+  }
+
+  private static String asText(final byte[] bytes) {
+    // frames of unmutated methods are copied rather than recomputed
+    final StringWriter sw = new StringWriter();
+    new ClassReader(bytes).accept(new TraceClassVisitor(new PrintWriter(sw)),
+        ClassReader.SKIP_FRAMES);
+    return sw.toString();
+  }
+
+  private static void assertVerifies(final byte[] bytes) {
+    final StringWriter sw = new StringWriter();
+    CheckClassAdapter.verify(new ClassReader(bytes), false,
+        new PrintWriter(sw));
+    assertEquals("", sw.toString());
+  }
 
   private static Predicate<MutationDetails> isInFinallyBlock() {
     return a -> a.isInFinallyBlock();
@@ -0,0 +1,201 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.coverage.TestInfo;
+import org.pitest.coverage.TestTimings;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodMutatorFactory;
+import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+import org.pitest.util.ExitCode;
+
+public class ConcurrentMutationTestWorkerTest {
+
+  private ConcurrentMutationTestWorker testee;
+
+  private Mutater                      mutater;
+
+  private ExecutorService              executor;
+
+  @Mock
+  private Reporter                     reporter;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.mutater = new GregorMutater(new ClassPathByteArraySource(),
+        i -> true, Collections.<MethodMutatorFactory> singletonList(
+            MathMutator.MATH_MUTATOR));
+    this.executor = Executors.newFixedThreadPool(2);
+    this.testee = new ConcurrentMutationTestWorker(this.mutater,
+        getClass().getClassLoader(), new ClassPath(), new HashSet<>(
+            Arrays.asList(HasMutants.class.getName())),
+        loader -> Collections.singletonList(checkAddsOne()),
+        this.executor, 2);
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  public static class HasMutants {
+    public static int addOne(final int i) {
+      return i + 1;
+    }
+
+    public static int addTwo(final int i) {
+      return i + 2;
+    }
+  }
+
+  @Test
+  public void shouldReportResultOfEachMutant() throws IOException {
+    final List<MutationDetails> mutations = findMutations();
+    assertThat(mutations).hasSize(2);
+
+    run(mutations);
+
+    for (final MutationDetails each : mutations) {
+      verify(this.reporter).describe(each.getId());
+      if (each.getMethod().name().equals("addOne")) {
+        verify(this.reporter).report(each.getId(),
+            new MutationStatusTestPair(1, DetectionStatus.KILLED, "addsOne"));
+      } else {
+        verify(this.reporter).report(each.getId(),
+            new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+      }
+    }
+    verify(this.reporter, never()).done(ExitCode.TIMEOUT);
+  }
+
+  @Test
+  public void shouldReturnTimeoutWithoutReportingDoneWhenATestOverruns()
+      throws IOException {
+    this.testee = new ConcurrentMutationTestWorker(this.mutater,
+        getClass().getClassLoader(), new ClassPath(), new HashSet<>(
+            Arrays.asList(HasMutants.class.getName())),
+        loader -> Collections.singletonList(overruns()), this.executor, 2);
+
+    final ExitCode actual = this.testee.run(findMutations(), this.reporter,
+        normalDuration -> 10, new HashMap<String, Long>(), new TestTimings());
+
+    assertThat(actual).isEqualTo(ExitCode.TIMEOUT);
+    verify(this.reporter, never()).done(any(ExitCode.class));
+  }
+
+  @Test
+  public void shouldNotChangeClassInParentLoader() throws IOException {
+    run(findMutations());
+    assertThat(HasMutants.addOne(1)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReportRunErrorWhenNoTestsFound() throws IOException {
+    final MutationDetails mutation = findMutations().get(0);
+    final MutationDetails uncovered = new MutationDetails(mutation.getId(),
+        mutation.getFilename(), mutation.getDescription(),
+        mutation.getLineNumber(), mutation.getBlock());
+
+    run(Collections.singletonList(uncovered));
+
+    verify(this.reporter).report(uncovered.getId(),
+        new MutationStatusTestPair(0, DetectionStatus.RUN_ERROR));
+  }
+
+  private void run(final List<MutationDetails> mutations) throws IOException {
+    assertThat(this.testee.run(mutations, this.reporter,
+        normalDuration -> 10000, new HashMap<String, Long>(),
+        new TestTimings())).isEqualTo(ExitCode.OK);
+  }
+
+  private List<MutationDetails> findMutations() {
+    final List<MutationDetails> mutations = this.mutater
+        .findMutations(ClassName.fromClass(HasMutants.class));
+    for (final MutationDetails each : mutations) {
+      each.addTestsInOrder(Collections.singletonList(new TestInfo(null,
+          "addsOne", 1, Optional.<ClassName> empty(), 1)));
+    }
+    return mutations;
+  }
+
+  private static TestUnit overruns() {
+    return new TestUnit() {
+
+      @Override
+      public void execute(final ResultCollector rc) {
+        rc.notifyStart(getDescription());
+        try {
+          Thread.sleep(1000);
+          rc.notifyEnd(getDescription());
+        } catch (final InterruptedException ex) {
+          rc.notifyEnd(getDescription(), ex);
+        }
+      }
+
+      @Override
+      public Description getDescription() {
+        return new Description("addsOne");
+      }
+
+    };
+  }
+
+  // checks the class in the loader the worker leaves as the context loader
+  private static TestUnit checkAddsOne() {
+    return new TestUnit() {
+
+      @Override
+      public void execute(final ResultCollector rc) {
+        rc.notifyStart(getDescription());
+        try {
+          final Object actual = Thread.currentThread().getContextClassLoader()
+              .loadClass(HasMutants.class.getName())
+              .getMethod("addOne", int.class).invoke(null, 1);
+          if (actual.equals(2)) {
+            rc.notifyEnd(getDescription());
+          } else {
+            rc.notifyEnd(getDescription(), new AssertionError(actual));
+          }
+        } catch (final ReflectiveOperationException ex) {
+          rc.notifyEnd(getDescription(), ex);
+        }
+      }
+
+      @Override
+      public Description getDescription() {
+        return new Description("addsOne");
+      }
+
+    };
+  }
+
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.pitest.coverage.TestTimings;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -35,7 +36,7 @@ public class DefaultReporterTest {
     this.testee.describe(mi);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.DESCRIBE, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
+    assertEquals(MutationResultCodec.readIdentifier(is), mi);
   }
 
   @Test
@@ -47,8 +48,8 @@ public class DefaultReporterTest {
     this.testee.report(mi, ms);
     final SafeDataInputStream is = resultToStream();
     assertEquals(Id.REPORT, is.readByte());
-    assertEquals(is.read(MutationIdentifier.class), mi);
-    assertEquals(is.read(MutationStatusTestPair.class), ms);
+    assertEquals(MutationResultCodec.readIdentifier(is), mi);
+    assertEquals(MutationResultCodec.readStatus(is), ms);
   }
 
   private SafeDataInputStream resultToStream() {
@@ -65,4 +66,14 @@ public class DefaultReporterTest {
     assertEquals(is.readInt(), ExitCode.TIMEOUT.getCode());
   }
 
+  @Test
+  public void shouldSendTestTimings() {
+    final TestTimings timings = new TestTimings();
+    timings.record("foo", 10, 5);
+    this.testee.timings(timings);
+    final SafeDataInputStream is = resultToStream();
+    assertEquals(Id.TIMINGS, is.readByte());
+    assertEquals(10, TestTimings.read(is).wallTimeOf("foo").get().getMax());
+  }
+
 }
@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
@@ -26,6 +28,7 @@ import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
 import org.pitest.util.PitError;
 import org.pitest.util.SafeDataInputStream;
 
@@ -69,6 +72,7 @@ public class MutationTestMinionTest {
     this.args = new MinionArguments(this.mutations, this.tests,  "anEgine", EngineArguments.arguments(),
         this.timeoutStrategy, false, TestPluginArguments.defaults());
 
+    when(this.is.readByte()).thenReturn(Id.ARGUMENTS, Id.DONE);
     when(this.is.read(MinionArguments.class)).thenReturn(this.args);
     when(this.engine.createMutator(any(ClassByteArraySource.class)))
     .thenReturn(this.mutater);
@@ -91,10 +95,29 @@ public class MutationTestMinionTest {
   public void shouldReportErrorWhenOneOccursDuringAnalysis() {
     this.mutations.add(new MutationDetails(aMutationId().withIndex(0)
         .withMutator("foo").build(), "file", "desc", 0, 0));
-    when(this.mutater.getMutation(any(MutationIdentifier.class))).thenThrow(
-        new PitError("foo"));
+    when(this.mutater.getMutations(anyListOf(MutationIdentifier.class)))
+        .thenThrow(new PitError("foo"));
     this.testee.run();
     verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
   }
 
+  @Test
+  public void shouldAnalyseEachBatchSentByParent() {
+    when(this.is.readByte()).thenReturn(Id.ARGUMENTS, Id.ARGUMENTS, Id.DONE);
+    this.testee.run();
+    verify(this.reporter, times(2)).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldStopAcceptingBatchesAfterAnError() {
+    when(this.is.readByte()).thenReturn(Id.ARGUMENTS, Id.ARGUMENTS, Id.DONE);
+    this.mutations.add(new MutationDetails(aMutationId().withIndex(0)
+        .withMutator("foo").build(), "file", "desc", 0, 0));
+    when(this.mutater.getMutations(anyListOf(MutationIdentifier.class)))
+        .thenThrow(new PitError("foo"));
+    this.testee.run();
+    verify(this.reporter, times(1)).done(ExitCode.UNKNOWN_ERROR);
+    verify(this.is, times(1)).read(MinionArguments.class);
+  }
+
 }
@@ -1,6 +1,9 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -10,18 +13,24 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutantSchema;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
@@ -53,6 +62,8 @@ public class MutationTestWorkerTest {
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
+    when(this.mutater.getMutations(anyListOf(MutationIdentifier.class)))
+        .thenAnswer(generateEachMutant());
     this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
         this.loader);
   }
@@ -127,6 +138,91 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @Test
+  public void shouldInstallSchemaOnceForAllOfItsMutants() throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final Map<MutationIdentifier, Integer> keys = new HashMap<>();
+    keys.put(mutantOne.getId(), 1);
+    keys.put(mutantTwo.getId(), 2);
+    final byte[] schemaBytes = new byte[1];
+    when(this.mutater.createSchema(anyListOf(Mutant.class))).thenReturn(
+        Optional.of(new MutantSchema(ClassName.fromString("foo"), schemaBytes,
+            keys)));
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    verify(this.hotswapper, times(1)).apply(ClassName.fromString("foo"),
+        this.loader, schemaBytes);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+    verify(this.reporter).report(mutantTwo.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  @Test
+  public void shouldNotRetryASchemaThatWasNotViable() throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final Map<MutationIdentifier, Integer> keys = new HashMap<>();
+    keys.put(mutantOne.getId(), 1);
+    keys.put(mutantTwo.getId(), 2);
+    final byte[] schemaBytes = new byte[1];
+    when(this.mutater.createSchema(anyListOf(Mutant.class))).thenReturn(
+        Optional.of(new MutantSchema(ClassName.fromString("foo"), schemaBytes,
+            keys)));
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            same(schemaBytes))).thenReturn(false);
+
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    verify(this.hotswapper, times(1)).apply(ClassName.fromString("foo"),
+        this.loader, schemaBytes);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+    verify(this.reporter).report(mutantTwo.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  @Test
+  public void shouldLoadMutantsSeparatelyWhenNoSchemaCreated()
+      throws IOException {
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.mutater.createSchema(anyListOf(Mutant.class))).thenReturn(
+        Optional.empty());
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makeFailingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, true);
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    verify(this.hotswapper).apply(ClassName.fromString("foo"), this.loader,
+        this.mutater.getMutation(mutantOne.getId()).getBytes());
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "atest"));
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -161,6 +257,15 @@ public class MutationTestWorkerTest {
     };
   }
 
+  private Answer<Iterator<Mutant>> generateEachMutant() {
+    return invocation -> {
+      @SuppressWarnings("unchecked")
+      final List<MutationIdentifier> ids = (List<MutationIdentifier>) invocation
+          .getArguments()[0];
+      return ids.stream().map(this.mutater::getMutation).iterator();
+    };
+  }
+
   public MutationDetails makeMutant(final String clazz, final int index) {
     final MutationIdentifier id = aMutationId()
         .withLocation(aLocation().withClass(ClassName.fromString(clazz)))
@@ -14,18 +14,28 @@
  */
 package org.pitest.mutationtest.execute;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.coverage.TestTimings;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
@@ -76,4 +86,111 @@ public class MutationTimeoutDecoratorTest {
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect).apply();
   }
+
+  @Test
+  public void shouldRecordTimeOfRunsThatPass() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    when(this.child.getDescription()).thenReturn(new Description("foo"));
+    final TestTimings timings = new TestTimings();
+    this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, timings);
+    this.testee.execute(this.rc);
+    assertEquals(1, timings.wallTimeOf("foo").get().getCount());
+  }
+
+  @Test
+  public void shouldNotRecordTimeOfRunsThatFail() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    when(this.child.getDescription()).thenReturn(new Description("foo"));
+    when(this.rc.shouldExit()).thenReturn(true);
+    final TestTimings timings = new TestTimings();
+    this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, timings);
+    this.testee.execute(this.rc);
+    assertFalse(timings.wallTimeOf("foo").isPresent());
+  }
+
+  @Test
+  public void shouldNotShareThreadLocalStateBetweenTests() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    final ThreadLocal<String> local = new ThreadLocal<>();
+    final InheritableThreadLocal<String> inherited = new InheritableThreadLocal<>();
+    final List<String> seen = new ArrayList<>();
+    doAnswer(invocation -> {
+      seen.add(local.get());
+      seen.add(inherited.get());
+      local.set("set by earlier test");
+      inherited.set("set by earlier test");
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    this.testee.execute(this.rc);
+    assertEquals(Arrays.asList(null, null, null, null), seen);
+  }
+
+  @Test
+  public void shouldRunTestsOfTheSameMutantOnOneThread() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    final List<Thread> threads = recordThreads();
+    final TestExecutionThread mutant = new TestExecutionThread();
+    decoratorOn(mutant).execute(this.rc);
+    decoratorOn(mutant).execute(this.rc);
+    mutant.finish();
+    assertSame(threads.get(0), threads.get(1));
+  }
+
+  @Test
+  public void shouldNotShareThreadsBetweenMutants() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    final List<Thread> threads = recordThreads();
+    final TestExecutionThread first = new TestExecutionThread();
+    decoratorOn(first).execute(this.rc);
+    first.finish();
+    final TestExecutionThread second = new TestExecutionThread();
+    decoratorOn(second).execute(this.rc);
+    second.finish();
+    assertNotSame(threads.get(0), threads.get(1));
+  }
+
+  @Test
+  public void shouldRunTestsAfterAnOverrunOnANewThread() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        50l);
+    final List<Thread> threads = new ArrayList<>();
+    doAnswer(invocation -> {
+      threads.add(Thread.currentThread());
+      if (threads.size() == 1) {
+        Thread.sleep(100);
+      }
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+    final TestExecutionThread mutant = new TestExecutionThread();
+    decoratorOn(mutant).execute(this.rc);
+    decoratorOn(mutant).execute(this.rc);
+    mutant.finish();
+    verify(this.sideEffect).apply();
+    assertNotSame(threads.get(0), threads.get(1));
+  }
+
+  private List<Thread> recordThreads() {
+    final List<Thread> threads = new ArrayList<>();
+    doAnswer(invocation -> {
+      threads.add(Thread.currentThread());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+    return threads;
+  }
+
+  private MutationTimeoutDecorator decoratorOn(
+      final TestExecutionThread thread) {
+    return new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, null, thread);
+  }
+
 }
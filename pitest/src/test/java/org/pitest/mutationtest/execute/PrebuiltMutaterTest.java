@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationDetailsMother;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class PrebuiltMutaterTest {
+
+  @Mock
+  private Mutater         child;
+
+  private MutationDetails mutation;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.mutation = MutationDetailsMother.aMutationDetail()
+        .withId(aMutationId().withIndex(1)).build();
+  }
+
+  @Test
+  public void shouldReturnPrebuiltMutantWithoutGeneratingIt() {
+    final byte[] bytes = new byte[] { 1, 2 };
+    final PrebuiltMutater testee = new PrebuiltMutater(this.child,
+        Arrays.asList(this.mutation),
+        Collections.singletonMap(this.mutation.getId(), bytes));
+
+    final Mutant actual = testee.getMutation(this.mutation.getId());
+    assertThat(actual.getBytes()).isSameAs(bytes);
+    assertThat(actual.getDetails()).isEqualTo(this.mutation);
+    verify(this.child, never()).getMutation(any(MutationIdentifier.class));
+  }
+
+  @Test
+  public void shouldGenerateMutantsThatWereNotSent() {
+    final Mutant generated = new Mutant(this.mutation, new byte[] { 3 });
+    when(this.child.getMutation(this.mutation.getId())).thenReturn(generated);
+    final PrebuiltMutater testee = new PrebuiltMutater(this.child,
+        Arrays.asList(this.mutation),
+        Collections.<MutationIdentifier, byte[]> emptyMap());
+
+    assertThat(testee.getMutation(this.mutation.getId())).isSameAs(generated);
+  }
+
+}
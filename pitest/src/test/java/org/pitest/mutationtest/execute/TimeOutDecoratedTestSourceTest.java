@@ -16,10 +16,15 @@ package org.pitest.mutationtest.execute;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -71,6 +76,23 @@ public class TimeOutDecoratedTestSourceTest {
     assertEquals(1, actual.size());
   }
 
+  @Test
+  public void shouldCalculateTimeoutFromExpectedTimeWhenOneSupplied() {
+    when(this.timeoutStrategy.getAllowedTime(anyLong())).thenReturn(1000L);
+    final Map<String, Long> expected = Collections.singletonMap("one", 100L);
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one"), makeTestUnit("two")), this.reporter,
+        expected, null);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays.asList(
+        new TestInfo("foo", "one", 42, Optional.<ClassName> empty(), 0),
+        new TestInfo("foo", "two", 42, Optional.<ClassName> empty(), 0)));
+    for (final TestUnit each : actual) {
+      each.execute(mock(ResultCollector.class));
+    }
+    verify(this.timeoutStrategy).getAllowedTime(100);
+    verify(this.timeoutStrategy).getAllowedTime(42);
+  }
+
   private TestUnit makeTestUnit(final String name) {
     return new TestUnit() {
       private final Description description = new Description(name);
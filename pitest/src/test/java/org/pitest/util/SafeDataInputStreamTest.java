@@ -15,6 +15,7 @@
 package org.pitest.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -43,4 +44,56 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldRoundTripVarInts() {
+    final int[] values = { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1,
+        Integer.MIN_VALUE };
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    for (final int each : values) {
+      dos.writeVarInt(each);
+    }
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    for (final int each : values) {
+      assertEquals(each, dis.readVarInt());
+    }
+  }
+
+  @Test
+  public void shouldWriteSmallVarIntsAsSingleByte() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeVarInt(127);
+    assertEquals(1, o.size());
+  }
+
+  @Test
+  public void shouldRoundTripInternedStrings() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("foo");
+    dos.writeInternedString(null);
+    dos.writeInternedString("bar");
+    dos.writeInternedString("foo");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertEquals("foo", dis.readInternedString());
+    assertNull(dis.readInternedString());
+    assertEquals("bar", dis.readInternedString());
+    assertEquals("foo", dis.readInternedString());
+  }
+
+  @Test
+  public void shouldSendInternedStringsOnlyOnce() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("com/example/AClassWithALongName");
+    final int sizeAfterFirstWrite = o.size();
+    dos.writeInternedString("com/example/AClassWithALongName");
+    assertEquals(sizeAfterFirstWrite + 1, o.size());
+  }
+
 }
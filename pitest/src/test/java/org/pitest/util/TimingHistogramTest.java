@@ -0,0 +1,98 @@
+package org.pitest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class TimingHistogramTest {
+
+  private final TimingHistogram testee = new TimingHistogram();
+
+  @Test
+  public void shouldReportZeroWhenNothingRecorded() {
+    assertEquals(0, this.testee.getCount());
+    assertEquals(0, this.testee.getValueAtPercentile(99));
+    assertEquals(0, this.testee.getMean());
+  }
+
+  @Test
+  public void shouldReportSmallValuesExactly() {
+    for (int i = 1; i != 101; i++) {
+      this.testee.record(i);
+    }
+    assertEquals(50, this.testee.getValueAtPercentile(50));
+    assertEquals(99, this.testee.getValueAtPercentile(99));
+    assertEquals(100, this.testee.getValueAtPercentile(100));
+    assertEquals(100, this.testee.getMax());
+  }
+
+  @Test
+  public void shouldReportLargeValuesToWithinTwoPercent() {
+    final long[] values = { 1000, 12345, 600000, 86400000 };
+    for (final long each : values) {
+      final TimingHistogram h = new TimingHistogram();
+      h.record(each);
+      h.record(Long.MAX_VALUE / 4);
+      final long actual = h.getValueAtPercentile(50);
+      assertTrue(actual >= each);
+      assertTrue(actual <= (each * 1.02));
+    }
+  }
+
+  @Test
+  public void shouldReportHighPercentileAboveOccasionalOutlier() {
+    for (int i = 0; i != 99; i++) {
+      this.testee.record(10);
+    }
+    this.testee.record(5000);
+    assertEquals(10, this.testee.getValueAtPercentile(99));
+    assertTrue(this.testee.getValueAtPercentile(100) >= 5000);
+  }
+
+  @Test
+  public void shouldPlaceEachValueInBucketThatCoversIt() {
+    for (long value = 0; value < 100000; value = value + 7) {
+      final int index = TimingHistogram.indexFor(value);
+      assertTrue(TimingHistogram.highestValueFor(index) >= value);
+      if (index > 0) {
+        assertTrue(TimingHistogram.highestValueFor(index - 1) < value);
+      }
+    }
+  }
+
+  @Test
+  public void shouldAddCountsFromAnotherHistogram() {
+    final TimingHistogram other = new TimingHistogram();
+    this.testee.record(1);
+    other.record(3);
+    other.record(100000);
+    this.testee.add(other);
+    assertEquals(3, this.testee.getCount());
+    assertEquals(100000, this.testee.getMax());
+    assertEquals(3, this.testee.getValueAtPercentile(60));
+  }
+
+  @Test
+  public void shouldReadWhatItWrites() {
+    this.testee.record(3);
+    this.testee.record(3);
+    this.testee.record(70000);
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    this.testee.write(dos);
+    dos.flush();
+
+    final TimingHistogram actual = TimingHistogram
+        .read(new SafeDataInputStream(new ByteArrayInputStream(bos
+            .toByteArray())));
+    assertEquals(3, actual.getCount());
+    assertEquals(70000, actual.getMax());
+    assertEquals(this.testee.getMean(), actual.getMean());
+    assertEquals(3, actual.getValueAtPercentile(50));
+  }
+
+}
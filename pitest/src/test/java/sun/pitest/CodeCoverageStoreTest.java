@@ -32,7 +32,9 @@ import java.util.concurrent.Future;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.pitest.functional.SideEffect2;
 
@@ -99,6 +101,53 @@ public class CodeCoverageStoreTest {
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReportHitsToReceiverGroupedByClass() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 3);
+    final int unhitClassId = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(unhitClassId, 3);
+
+    CodeCoverageStore.visitProbes(classId, 0, new boolean[] { true, false,
+        true });
+
+    final ProbeHitReceiver receiver = Mockito.mock(ProbeHitReceiver.class);
+    CodeCoverageStore.readHits(receiver);
+
+    final InOrder order = Mockito.inOrder(receiver);
+    order.verify(receiver).classHit(classId);
+    order.verify(receiver).probeHit(0);
+    order.verify(receiver).probeHit(2);
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldNotReportClassesHitBeforeReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 1);
+    final int otherClassId = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(otherClassId, 1);
+
+    CodeCoverageStore.visitProbes(classId, 0, true);
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitProbes(otherClassId, 0, true);
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(otherClassId, 0));
+  }
+
+  @Test
+  public void shouldSupportManyRegisteredClasses() {
+    int classId = 0;
+    for (int i = 0; i != 1000; i++) {
+      classId = CodeCoverageStore.registerClass("foo" + i);
+      CodeCoverageStore.registerClassProbes(classId, 1);
+    }
+    CodeCoverageStore.visitProbes(classId, 0, true);
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 0));
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {